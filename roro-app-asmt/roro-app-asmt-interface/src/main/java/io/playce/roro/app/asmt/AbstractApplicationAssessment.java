@@ -22,6 +22,7 @@ package io.playce.roro.app.asmt;
 
 import io.playce.roro.app.asmt.result.ApplicationAssessmentResult;
 import io.playce.roro.app.asmt.util.ApplicationFileUtil;
+import io.playce.roro.app.asmt.util.ArchiveEntryHandler;
 import io.playce.roro.common.dto.assessment.ApplicationDto;
 import io.playce.roro.common.dto.assessment.InventoryProcessDto;
 import io.playce.roro.common.exception.InsufficientException;
@@ -222,11 +223,23 @@ public abstract class AbstractApplicationAssessment implements ApplicationAssess
      * @throws Exception
      */
     protected void extract(ApplicationAssessmentResult result) throws Exception {
+        extract(result, null);
+    }
+
+    /**
+     * handler 가 accept 한 entry 는 disk 에 기록하지 않고 handler 로 처리한다.
+     *
+     * @param result
+     * @param handler
+     *
+     * @throws Exception
+     */
+    protected void extract(ApplicationAssessmentResult result, ArchiveEntryHandler handler) throws Exception {
         File f = new File(result.getApplicationFile());
 
         if (f.exists()) {
             if (f.isFile()) {
-                ApplicationFileUtil.unzip(result.getApplicationFile(), result.getAssessmentDir(), result);
+                ApplicationFileUtil.unzip(result.getApplicationFile(), result.getAssessmentDir(), result, handler);
                 log.debug("Application extracted to [{}].", result.getAssessmentDir());
             } else {
                 result.setAssessmentDir(result.getApplicationFile());
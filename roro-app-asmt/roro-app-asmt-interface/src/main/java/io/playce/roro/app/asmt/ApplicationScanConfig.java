@@ -59,6 +59,8 @@ public class ApplicationScanConfig {
 
     private Remove remove;
     private Copy copy;
+    private ClassAnalysis classAnalysis = new ClassAnalysis();
+    private Extract extract = new Extract();
 
     public List<String> getFileExtensions() {
         String extensions = SettingsHandler.getSettingsValue(APPSCAN_FILE_EXTENSIONS);
@@ -114,4 +116,24 @@ public class ApplicationScanConfig {
             return Boolean.parseBoolean(SettingsHandler.getSettingsValue(APPSCAN_COPY_ONLY_MATCHED_EXTENSIONS));
         }
     }
+
+    @Getter
+    @Setter
+    public static class ClassAnalysis {
+        // bytecode : class 파일을 decompile 하지 않고 분석, decompile : decompile 한 source 를 분석
+        private String mode = "bytecode";
+        // class 파일 내용의 hash 별 분석 결과를 work dir 에 저장하여 재사용
+        private boolean cacheEnabled = true;
+        // cache 디렉토리의 최대 크기 (MB). 초과하면 오래 사용되지 않은 결과부터 삭제
+        private long cacheMaxSize = 1024;
+        // 지정된 기간 (일) 동안 사용되지 않은 결과는 삭제
+        private int cacheMaxAge = 30;
+    }
+
+    @Getter
+    @Setter
+    public static class Extract {
+        // 검사 대상 텍스트 파일은 disk 에 압축을 해제하지 않고 압축 파일에서 읽어 검사 (class, jar 파일은 압축 해제)
+        private boolean streaming = false;
+    }
 }
\ No newline at end of file
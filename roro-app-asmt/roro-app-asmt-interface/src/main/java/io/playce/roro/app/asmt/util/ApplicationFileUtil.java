@@ -31,6 +31,7 @@ import io.playce.roro.common.property.CommonProperties;
 import io.playce.roro.common.util.CommandUtil;
 import io.playce.roro.common.util.SSHUtil;
 import io.playce.roro.common.util.WinRmUtils;
+import io.playce.roro.common.util.support.CharsetSniffer;
 import io.playce.roro.common.util.support.TargetHost;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
@@ -41,6 +42,8 @@ import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
 import org.apache.commons.exec.ExecuteException;
 import org.apache.commons.exec.PumpStreamHandler;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -65,6 +68,10 @@ import java.util.zip.ZipInputStream;
 @Slf4j
 public class ApplicationFileUtil {
 
+    private static final long MAX_EXTRACT_FILE_SIZE = 10 * 1024 * 1024;
+    private static final String MODULE_POSTFIX = "_roro";
+    private static final CharsetSniffer CHARSET_SNIFFER = new CharsetSniffer();
+
     private static String extensions_find_options = null;
 
     /**
@@ -349,70 +356,117 @@ public class ApplicationFileUtil {
      * @throws Exception the exception
      */
     public static String unzip(String archiveFile, String targetDir, ApplicationAssessmentResult result) throws Exception {
+        return unzip(archiveFile, targetDir, result, null);
+    }
+
+    /**
+     * <pre>
+     * 압축 파일을 해제한다.
+     *
+     * handler 가 지정되면 handler 가 accept 한 entry 는 disk 에 기록하지 않고 압축 해제된 내용을 handler 로 전달하며,
+     * EAR 파일의 module(war, jar) 은 disk 에 기록하지 않고 module 내의 entry 를 같은 방법으로 처리한다.
+     * (module 은 discover 시 압축을 해제하는 경로와 같은 {module}_roro 디렉토리를 기준으로 처리된다.)
+     * </pre>
+     *
+     * @param archiveFile the archive file
+     * @param targetDir   the target dir
+     * @param result      the result
+     * @param handler     disk 에 기록하지 않고 처리할 entry 의 handler (null 이면 모든 entry 를 disk 에 기록한다.)
+     *
+     * @return the string
+     *
+     * @throws Exception the exception
+     */
+    public static String unzip(String archiveFile, String targetDir, ApplicationAssessmentResult result, ArchiveEntryHandler handler) throws Exception {
         String fqfn = null;
-        String entryName = null;
 
         // switching separator to current system.
         archiveFile = FilenameUtils.separatorsToSystem(archiveFile);
         targetDir = FilenameUtils.separatorsToSystem(targetDir);
 
-        InputStream is = new FileInputStream(archiveFile);
+        InputStream is = new BufferedInputStream(new FileInputStream(archiveFile));
 
-        int seq = 0;
         if (archiveFile.toLowerCase().endsWith(".zip") || archiveFile.toLowerCase().endsWith(".ear") ||
                 archiveFile.toLowerCase().endsWith(".war") || archiveFile.toLowerCase().endsWith(".jar")) {
             ZipInputStream zis = new ZipInputStream(is);
-            FileOutputStream fos = null;
 
-            ZipEntry entry = null;
-            while ((entry = zis.getNextEntry()) != null) {
-                entryName = FilenameUtils.separatorsToSystem(entry.getName());
+            try {
+                fqfn = unzip(zis, targetDir, archiveFile.toLowerCase().endsWith(".ear"), result, handler);
+            } finally {
+                IOUtils.closeQuietly(zis);
+            }
+        } else if (archiveFile.toLowerCase().endsWith(".tar.gz")) {
+            TarArchiveInputStream fin = new TarArchiveInputStream(new GzipCompressorInputStream(is));
 
-                if (seq++ == 0) {
-                    fqfn = targetDir + File.separator + entryName;
-                }
+            try {
+                int seq = 0;
+                TarArchiveEntry entry = null;
+                while ((entry = fin.getNextTarEntry()) != null) {
+                    String entryName = FilenameUtils.separatorsToSystem(entry.getName());
 
-                if (entry.isDirectory()) {
-                    File dir = new File(targetDir, entryName);
-                    if (!dir.exists()) {
-                        dir.mkdirs();
+                    if (seq++ == 0) {
+                        fqfn = targetDir + File.separator + entryName;
                     }
 
-                    continue;
-                }
+                    if (entry.isDirectory()) {
+                        File dir = new File(targetDir, entryName);
+                        if (!dir.exists()) {
+                            dir.mkdirs();
+                        }
+
+                        continue;
+                    }
 
-                unzip(targetDir, entryName, zis, result);
+                    unzip(targetDir, entryName, entry.getSize(), fin, false, result, handler);
+                }
+            } finally {
+                IOUtils.closeQuietly(fin);
             }
+        } else {
+            IOUtils.closeQuietly(is);
 
-            IOUtils.closeQuietly(zis);
-        } else if (archiveFile.toLowerCase().endsWith(".tar.gz")) {
-            TarArchiveInputStream fin = new TarArchiveInputStream(new GzipCompressorInputStream(is));
-            FileOutputStream fos = null;
+            // throw new Exception("Unzip only supports [tar.gz], [zip], [ear], [war] and [jar] files.");
+            throw new NotsupportedException("Application does support only zip, tar.gz, ear, war and jar.");
+        }
 
-            TarArchiveEntry entry = null;
-            while ((entry = fin.getNextTarEntry()) != null) {
-                entryName = FilenameUtils.separatorsToSystem(entry.getName());
+        return fqfn;
+    }
 
-                if (seq++ == 0) {
-                    fqfn = targetDir + File.separator + entryName;
-                }
+    /**
+     * @param zis
+     * @param targetDir
+     * @param ear
+     * @param result
+     * @param handler
+     *
+     * @return 첫번째 entry 의 경로
+     *
+     * @throws Exception
+     */
+    private static String unzip(ZipInputStream zis, String targetDir, boolean ear, ApplicationAssessmentResult result, ArchiveEntryHandler handler) throws Exception {
+        String fqfn = null;
 
-                if (entry.isDirectory()) {
+        int seq = 0;
+        ZipEntry entry = null;
+        while ((entry = zis.getNextEntry()) != null) {
+            String entryName = FilenameUtils.separatorsToSystem(entry.getName());
+
+            if (seq++ == 0) {
+                fqfn = targetDir + File.separator + entryName;
+            }
+
+            if (entry.isDirectory()) {
+                if (handler == null) {
                     File dir = new File(targetDir, entryName);
                     if (!dir.exists()) {
                         dir.mkdirs();
                     }
-
-                    continue;
                 }
 
-                unzip(targetDir, entryName, fin, result);
+                continue;
             }
 
-            IOUtils.closeQuietly(fin);
-        } else {
-            // throw new Exception("Unzip only supports [tar.gz], [zip], [ear], [war] and [jar] files.");
-            throw new NotsupportedException("Application does support only zip, tar.gz, ear, war and jar.");
+            unzip(targetDir, entryName, entry.getSize(), zis, ear, result, handler);
         }
 
         return fqfn;
@@ -421,30 +475,83 @@ public class ApplicationFileUtil {
     /**
      * @param targetDir
      * @param entryName
+     * @param size      entry 의 크기 (알 수 없는 경우 -1)
      * @param fin
+     * @param ear       EAR 파일의 entry 인지 여부
      * @param result
+     * @param handler
      *
      * @throws Exception
      */
-    private static void unzip(String targetDir, String entryName, InputStream fin, ApplicationAssessmentResult result) throws Exception {
+    private static void unzip(String targetDir, String entryName, long size, InputStream fin, boolean ear,
+                              ApplicationAssessmentResult result, ArchiveEntryHandler handler) throws Exception {
+        String fileName = FilenameUtils.getName(entryName);
+        boolean archive = isArchive(fileName);
+
         // 파일 크기가 10MB 초과 파일에 대해서는 Skip 한다.
         // 분석 대상 텍스트 파일이 아닐 가능성이 크며, 압축해제 시간을 단축시키기 위함.
-        if (fin.available() > 10 * 1024 * 1024) {
-            // 추가 분석 대상 Library인 경우 10MB 를 넘더라도 압축을 해제한다.
-            if (!result.getAnalysisLibList().contains(FilenameUtils.getName(entryName))) {
-                log.info("[{}] file will be skip to extract. Too large({}).", entryName, fin.available());
+        // 압축 파일(EAR module, 라이브러리, 추가 분석 대상 Library)은 10MB 를 넘더라도 압축을 해제한다.
+        if (size > MAX_EXTRACT_FILE_SIZE && !archive) {
+            log.info("[{}] file will be skip to extract. Too large({}).", entryName, size);
+            return;
+        }
+
+        File currFile = new File(targetDir, entryName);
+
+        if (handler != null && ear && isModule(entryName)) {
+            // EAR module 은 disk 에 기록하지 않고 module 내의 entry 를 처리한다.
+            CountingInputStream module = new CountingInputStream(CloseShieldInputStream.wrap(fin));
+            unzip(new ZipInputStream(module), currFile.getAbsolutePath() + MODULE_POSTFIX, false, result, handler);
+            org.apache.commons.io.IOUtils.consume(module);
+
+            if (result != null) {
+                ApplicationSSHUtil.parseFile(targetDir, currFile, module.getByteCount(), () -> null, result);
+            }
+            return;
+        }
+
+        if (handler != null && !archive && handler.accept(currFile)) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(size > 0 ? (int) size : 8192);
+            org.apache.commons.io.IOUtils.copyLarge(fin, buffer, 0, MAX_EXTRACT_FILE_SIZE + 1);
+
+            // 크기를 알 수 없는 entry 는 읽은 후 크기를 확인한다.
+            if (buffer.size() > MAX_EXTRACT_FILE_SIZE) {
+                log.info("[{}] file will be skip to extract. Too large({}).", entryName, buffer.size());
                 return;
             }
+
+            byte[] contents = buffer.toByteArray();
+
+            if (result != null) {
+                ApplicationSSHUtil.parseFile(targetDir, currFile, contents.length, () -> getFileContents(contents), result);
+            }
+
+            handler.handle(currFile, contents);
+            return;
         }
 
         io.playce.roro.common.util.FileUtil.unzip(targetDir, entryName, fin);
 
         if (result != null) {
-            File currFile = new File(targetDir, entryName);
             ApplicationSSHUtil.parseFile(targetDir, currFile, result);
         }
     }
 
+    private static boolean isArchive(String fileName) {
+        String name = fileName.toLowerCase();
+        return name.endsWith(".jar") || name.endsWith(".war") || name.endsWith(".ear") || name.endsWith(".zip");
+    }
+
+    /**
+     * EAR 의 lib 디렉토리에 있지 않은 war, jar 파일은 module 로 처리한다.
+     */
+    private static boolean isModule(String entryName) {
+        String name = entryName.toLowerCase();
+        String parent = FilenameUtils.getName(FilenameUtils.getPathNoEndSeparator(entryName));
+
+        return (name.endsWith(".war") || name.endsWith(".jar")) && !"lib".equals(parent);
+    }
+
     /**
      * @param file
      *
@@ -490,24 +597,8 @@ public class ApplicationFileUtil {
 
         try {
             //*
-            CharsetDetector detector = new CharsetDetector();
-
             try (InputStream input = new FileInputStream(file)) {
-                byte[] data = org.apache.commons.io.IOUtils.toByteArray(input, file.length());
-                detector.setDeclaredEncoding("UTF-8");
-                detector.setText(data);
-                detector.detectAll();
-
-                for (com.ibm.icu.text.CharsetMatch m : detector.detectAll()) {
-                    if (m.getName().toLowerCase().equals("euc-kr")) {
-                        contents = m.getString();
-                        break;
-                    }
-                }
-
-                if (contents == null) {
-                    contents = detector.detect().getString();
-                }
+                contents = getFileContents(org.apache.commons.io.IOUtils.toByteArray(input, file.length()));
             }
             /*/
             String charset = detectCharset(file);
@@ -549,6 +640,16 @@ public class ApplicationFileUtil {
         return contents;
     }
 
+    /**
+     * @param data 파일 내용
+     *
+     * @return
+     */
+    public static String getFileContents(byte[] data) {
+        // UTF-8 여부를 먼저 확인하고, UTF-8 이 아닌 경우에만 앞부분으로 ICU CharsetDetector 를 실행한다.
+        return CHARSET_SNIFFER.toString(data, null);
+    }
+
     /**
      * @param targetDir
      * @param dir
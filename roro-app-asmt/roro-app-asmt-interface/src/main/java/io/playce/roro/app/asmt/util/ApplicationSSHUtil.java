@@ -22,10 +22,10 @@ package io.playce.roro.app.asmt.util;
 
 import com.jcraft.jsch.Channel;
 import com.jcraft.jsch.ChannelSftp;
-import com.jcraft.jsch.Session;
 import com.jcraft.jsch.SftpException;
 import io.playce.roro.app.asmt.result.ApplicationAssessmentResult;
 import io.playce.roro.common.exception.RoRoException;
+import io.playce.roro.common.ssh.SSHSessionLease;
 import io.playce.roro.common.util.ManifestUtil;
 import io.playce.roro.common.util.SSHUtil;
 import io.playce.roro.common.util.support.TargetHost;
@@ -44,6 +44,7 @@ import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Set;
 import java.util.Vector;
+import java.util.function.Supplier;
 
 /**
  * <pre>
@@ -69,7 +70,7 @@ public class ApplicationSSHUtil {
      * @throws RoRoException the ro ro exception
      */
     public static void getDir(TargetHost targetHost, String source, String target, ApplicationAssessmentResult result) throws RoRoException {
-        Session session = null;
+        SSHSessionLease lease = null;
         Channel channel = null;
 
         try {
@@ -79,10 +80,9 @@ public class ApplicationSSHUtil {
                     targetHost.getUsername() + "@" + targetHost.getIpAddress() + ":" + source,
                     target);
 
-            //JSch jsch = new JSch();
-            session = getSession(targetHost, 20 * 1000);
+            lease = SSHUtil.leaseSession(targetHost);
 
-            channel = session.openChannel("sftp");
+            channel = lease.getSession().openChannel("sftp");
             channel.connect();
             ((ChannelSftp) channel).setFilenameEncoding("UTF-8");
 
@@ -100,13 +100,7 @@ public class ApplicationSSHUtil {
             logger.error("Unhandled exception occurred during getDir().", e);
             throw new RoRoException(e.getMessage(), e);
         } finally {
-            if (channel != null && channel.isConnected()) {
-                channel.disconnect();
-            }
-
-            if (session != null && session.isConnected()) {
-                session.disconnect();
-            }
+            SSHUtil.close(channel, lease);
         }
     }
 
@@ -180,19 +174,6 @@ public class ApplicationSSHUtil {
         }
     }
 
-    /**
-     * Gets session.
-     *
-     * @param targetHost the target host
-     *
-     * @return the session
-     *
-     * @throws Exception the exception
-     */
-    private static Session getSession(TargetHost targetHost, int connectTimeout) throws Exception {
-        return SSHUtil.getSession(targetHost, connectTimeout);
-    }
-
     /**
      * @param targetDir
      * @param currFile
@@ -201,6 +182,19 @@ public class ApplicationSSHUtil {
      * @throws Exception
      */
     public static void parseFile(String targetDir, File currFile, ApplicationAssessmentResult result) throws Exception {
+        parseFile(targetDir, currFile, currFile.length(), () -> ApplicationFileUtil.getFileContents(currFile), result);
+    }
+
+    /**
+     * disk 에 존재하지 않는 파일(압축 파일의 entry 등)의 정보를 추가한다.
+     *
+     * @param targetDir the target dir
+     * @param currFile  압축을 해제했을 경우의 경로 (jar 파일인 경우 실제 파일이어야 한다.)
+     * @param length    파일 크기
+     * @param contents  파일 내용 (descriptor, build, config 파일인 경우에만 호출된다.)
+     * @param result    the result
+     */
+    public static void parseFile(String targetDir, File currFile, long length, Supplier<String> contents, ApplicationAssessmentResult result) throws Exception {
         // File currFile = new File(targetDir, entryName);
         String fileName = currFile.getName();
 
@@ -217,7 +211,7 @@ public class ApplicationSSHUtil {
                     ApplicationAssessmentResult.File descriptorFile = new ApplicationAssessmentResult.File();
                     descriptorFile.setFile(fileName);
                     descriptorFile.setLocation(location);
-                    descriptorFile.setContents(ApplicationFileUtil.getFileContents(currFile));
+                    descriptorFile.setContents(contents.get());
                     result.getDescriptorFiles().add(descriptorFile);
                 }
             }
@@ -228,7 +222,7 @@ public class ApplicationSSHUtil {
                     ApplicationAssessmentResult.File buildFile = new ApplicationAssessmentResult.File();
                     buildFile.setFile(fileName);
                     buildFile.setLocation(location);
-                    buildFile.setContents(ApplicationFileUtil.getFileContents(currFile));
+                    buildFile.setContents(contents.get());
                     result.getBuildFiles().add(buildFile);
                 }
             }
@@ -268,9 +262,9 @@ public class ApplicationSSHUtil {
 
                     if (fileName.endsWith(".properties")) {
                         // unescape for unicode
-                        configFile.setContents(StringEscapeUtils.unescapeJava(ApplicationFileUtil.getFileContents(currFile)));
+                        configFile.setContents(StringEscapeUtils.unescapeJava(contents.get()));
                     } else {
-                        configFile.setContents(ApplicationFileUtil.getFileContents(currFile));
+                        configFile.setContents(contents.get());
                     }
                     result.getConfigFiles().add(configFile);
                 }
@@ -295,9 +289,9 @@ public class ApplicationSSHUtil {
                     }
 
                     if (size == null) {
-                        result.getFileSummaryMap().get(extension.toLowerCase()).setFileSize(currFile.length());
+                        result.getFileSummaryMap().get(extension.toLowerCase()).setFileSize(length);
                     } else {
-                        result.getFileSummaryMap().get(extension.toLowerCase()).setFileSize(size + currFile.length());
+                        result.getFileSummaryMap().get(extension.toLowerCase()).setFileSize(size + length);
                     }
                 }
             }
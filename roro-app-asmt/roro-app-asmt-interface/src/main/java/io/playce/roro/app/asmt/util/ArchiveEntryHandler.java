@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.util;
+
+import java.io.File;
+
+/**
+ * <pre>
+ * ApplicationFileUtil.unzip() 에서 압축 파일의 entry 를 disk 에 기록하지 않고 처리하기 위한 handler.
+ *
+ * accept() 가 true 를 반환한 entry 는 disk 에 기록되지 않으며, 압축 해제된 내용이 handle() 로 전달된다.
+ * file 은 압축을 해제했을 경우의 경로이며 실제로 존재하지 않는다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public interface ArchiveEntryHandler {
+
+    /**
+     * entry 를 disk 에 기록하지 않고 handle() 로 처리할지 여부
+     *
+     * @param file 압축을 해제했을 경우의 경로
+     */
+    boolean accept(File file);
+
+    /**
+     * accept() 된 entry 를 처리한다.
+     *
+     * @param file     압축을 해제했을 경우의 경로
+     * @param contents entry 의 내용
+     */
+    void handle(File file, byte[] contents) throws Exception;
+}
+//end of ArchiveEntryHandler.java
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * ApplicationFileUtil.unzip() 이 크기가 큰 entry 를 읽지 않고 건너뛰는지 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class ApplicationFileUtilTest {
+
+    private static final int LARGE_SIZE = 10 * 1024 * 1024 + 1;
+    private static final byte[] SMALL = "key=value".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void oversizedEntryIsSkippedByEntrySize() throws Exception {
+        File archive = createArchive();
+        File targetDir = new File(tempDir, "target");
+
+        List<String> accepted = new ArrayList<>();
+        Map<String, byte[]> handled = new LinkedHashMap<>();
+        ApplicationFileUtil.unzip(archive.getAbsolutePath(), targetDir.getAbsolutePath(), null, new ArchiveEntryHandler() {
+            @Override
+            public boolean accept(File file) {
+                accepted.add(file.getName());
+                return true;
+            }
+
+            @Override
+            public void handle(File file, byte[] contents) {
+                handled.put(file.getName(), contents);
+            }
+        });
+
+        // 크기가 기록된 entry 는 accept() 를 호출하기 전에 건너뛰고, 크기를 알 수 없는 entry 는 읽은 후에 건너뛴다.
+        assertEquals(Arrays.asList("deflated.properties", "small.properties"), accepted);
+        assertEquals(1, handled.size());
+        assertArrayEquals(SMALL, handled.get("small.properties"));
+
+        assertFalse(new File(targetDir, "stored.properties").exists());
+        assertFalse(new File(targetDir, "deflated.properties").exists());
+        assertFalse(new File(targetDir, "small.properties").exists());
+    }
+
+    @Test
+    void oversizedEntryIsNotExtracted() throws Exception {
+        File archive = createArchive();
+        File targetDir = new File(tempDir, "target");
+
+        ApplicationFileUtil.unzip(archive.getAbsolutePath(), targetDir.getAbsolutePath(), null);
+
+        assertFalse(new File(targetDir, "stored.properties").exists());
+        assertTrue(new File(targetDir, "small.properties").isFile());
+    }
+
+    /**
+     * 크기가 local header 에 기록되는 STORED entry, 크기를 알 수 없는 DEFLATED entry 와 작은 entry 를 가진 zip 파일을 생성한다.
+     */
+    private File createArchive() throws IOException {
+        byte[] large = new byte[LARGE_SIZE];
+        Arrays.fill(large, (byte) 'a');
+
+        CRC32 crc = new CRC32();
+        crc.update(large);
+
+        File archive = new File(tempDir, "large.zip");
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(archive))) {
+            ZipEntry stored = new ZipEntry("stored.properties");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(large.length);
+            stored.setCompressedSize(large.length);
+            stored.setCrc(crc.getValue());
+            zos.putNextEntry(stored);
+            zos.write(large);
+            zos.closeEntry();
+
+            zos.putNextEntry(new ZipEntry("deflated.properties"));
+            zos.write(large);
+            zos.closeEntry();
+
+            zos.putNextEntry(new ZipEntry("small.properties"));
+            zos.write(SMALL);
+            zos.closeEntry();
+        }
+
+        return archive;
+    }
+}
+//end of ApplicationFileUtilTest.java
@@ -30,6 +30,7 @@ import io.playce.roro.app.asmt.java.policy.Policy;
 import io.playce.roro.app.asmt.result.ApplicationAssessmentResult;
 import io.playce.roro.app.asmt.support.ApplicationAssessmentHelper;
 import io.playce.roro.app.asmt.util.ApplicationFileUtil;
+import io.playce.roro.app.asmt.util.ArchiveEntryHandler;
 import io.playce.roro.common.cancel.InventoryProcessCancelInfo;
 import io.playce.roro.common.code.Domain1013;
 import io.playce.roro.common.dto.assessment.ApplicationDto;
@@ -82,6 +83,7 @@ public class JavaAssessment extends AbstractApplicationAssessment {
         ApplicationDto application = (ApplicationDto) inventoryProcess;
 
         ApplicationAssessmentResult result = new ApplicationAssessmentResult();
+        ApplicationAnalyzer analyzer = null;
 
         /**
          * 1. Application 파일 다운로드
@@ -155,12 +157,22 @@ public class JavaAssessment extends AbstractApplicationAssessment {
                 if (InventoryProcessCancelInfo.hasCancelRequest(inventoryProcess.getInventoryProcessId())) {
                     return result;
                 }
-                extract(result);
+
+                // 압축 파일인 경우 검사 대상 텍스트 파일은 압축을 해제하면서 검사한다.
+                if (applicationScanConfig.getExtract().isStreaming() && new File(result.getApplicationFile()).isFile()) {
+                    analyzer = new ApplicationAnalyzer(new Policy(application.getAnalysisStringList()), result, result.getAssessmentDir(), applicationScanConfig);
+                    extract(result, analyzer.getArchiveEntryHandler());
+                } else {
+                    extract(result);
+                }
 
                 if (InventoryProcessCancelInfo.hasCancelRequest(inventoryProcess.getInventoryProcessId())) {
+                    if (analyzer != null) {
+                        analyzer.cancel();
+                    }
                     return result;
                 }
-                discover(result, inventoryProcess);
+                discover(result, inventoryProcess, analyzer);
 
                 // HardCodedIP 중복 제거 및 Filename, IP, Port로 정렬
                 result.setHardCodedIpList(result.getHardCodedIpList().stream()
@@ -205,6 +217,9 @@ public class JavaAssessment extends AbstractApplicationAssessment {
             if (e instanceof UnknownHostException) {
                 throw new Exception("UnknownHostException occurred. Please add '127.0.0.1 " + e.getMessage() + "' to your hosts file.");
             } else if (e instanceof InterruptedException) {
+                if (analyzer != null) {
+                    analyzer.cancel();
+                }
                 cancel(application.getTargetHost().getIpAddress(), application.getTargetHost().getPort(), result.getApplicationDir());
                 throw e;
             } else {
@@ -249,7 +264,18 @@ public class JavaAssessment extends AbstractApplicationAssessment {
 
     @Override
     protected void discover(ApplicationAssessmentResult result, InventoryProcessDto inventoryProcess) throws Exception {
-        ApplicationAnalyzer analyzer = null;
+        discover(result, inventoryProcess, null);
+    }
+
+    /**
+     * @param result
+     * @param inventoryProcess
+     * @param analyzer         압축 해제 시 생성한 analyzer (null 이면 새로 생성하며, 압축 해제 시 검사 대기 중인 task 를 포함하여 분석한다.)
+     *
+     * @throws Exception
+     */
+    private void discover(ApplicationAssessmentResult result, InventoryProcessDto inventoryProcess, ApplicationAnalyzer analyzer) throws Exception {
+        ArchiveEntryHandler handler = analyzer != null ? analyzer.getArchiveEntryHandler() : null;
 
         try {
             ApplicationAssessmentResult.EEModule eeModule = null;
@@ -281,7 +307,7 @@ public class JavaAssessment extends AbstractApplicationAssessment {
                                         continue;
                                     }
 
-                                    ApplicationFileUtil.unzip(ejb.getAbsolutePath(), ejb.getAbsolutePath() + postfix, result);
+                                    ApplicationFileUtil.unzip(ejb.getAbsolutePath(), ejb.getAbsolutePath() + postfix, result, handler);
                                     break;
                                 }
                             }
@@ -306,7 +332,7 @@ public class JavaAssessment extends AbstractApplicationAssessment {
                                         continue;
                                     }
 
-                                    ApplicationFileUtil.unzip(java.getAbsolutePath(), java.getAbsolutePath() + postfix, result);
+                                    ApplicationFileUtil.unzip(java.getAbsolutePath(), java.getAbsolutePath() + postfix, result, handler);
                                     break;
                                 }
                             }
@@ -331,7 +357,7 @@ public class JavaAssessment extends AbstractApplicationAssessment {
                                         continue;
                                     }
 
-                                    ApplicationFileUtil.unzip(webFile.getAbsolutePath(), webFile.getAbsolutePath() + postfix, result);
+                                    ApplicationFileUtil.unzip(webFile.getAbsolutePath(), webFile.getAbsolutePath() + postfix, result, handler);
                                     break;
                                 }
                             }
@@ -361,16 +387,18 @@ public class JavaAssessment extends AbstractApplicationAssessment {
                             continue;
                         }
 
-                        ApplicationFileUtil.unzip(lib.getAbsolutePath(), lib.getAbsolutePath() + postfix, result);
+                        ApplicationFileUtil.unzip(lib.getAbsolutePath(), lib.getAbsolutePath() + postfix, result, handler);
                         break;
                     }
                 }
             }
 
-            ApplicationDto application = (ApplicationDto) inventoryProcess;
-            Policy policy = new Policy(application.getAnalysisStringList());
+            if (analyzer == null) {
+                ApplicationDto application = (ApplicationDto) inventoryProcess;
+                Policy policy = new Policy(application.getAnalysisStringList());
 
-            analyzer = new ApplicationAnalyzer(policy, result, result.getAssessmentDir(), applicationScanConfig);
+                analyzer = new ApplicationAnalyzer(policy, result, result.getAssessmentDir(), applicationScanConfig);
+            }
             analyzer.analyze(result.getAssessmentDir());
         } catch (Exception e) {
             if (e instanceof InterruptedException) {
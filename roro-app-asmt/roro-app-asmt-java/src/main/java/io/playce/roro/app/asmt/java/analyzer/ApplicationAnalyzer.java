@@ -23,12 +23,16 @@ package io.playce.roro.app.asmt.java.analyzer;
 import io.playce.roro.app.asmt.ApplicationScanConfig;
 import io.playce.roro.app.asmt.java.policy.Policy;
 import io.playce.roro.app.asmt.java.threadpool.executor.AssessmentThreadPoolExecutor;
+import io.playce.roro.app.asmt.java.threadpool.task.DependencyCheckCollector;
 import io.playce.roro.app.asmt.java.threadpool.task.DependencyCheckTask;
 import io.playce.roro.app.asmt.java.threadpool.task.DeprecatedScanTask;
 import io.playce.roro.app.asmt.result.ApplicationAssessmentResult;
 import io.playce.roro.app.asmt.support.ApplicationAssessmentHelper;
+import io.playce.roro.app.asmt.util.ArchiveEntryHandler;
+import io.playce.roro.common.property.CommonProperties;
 import io.playce.roro.common.util.CommandUtil;
 import io.playce.roro.common.util.ThreadLocalUtils;
+import io.playce.roro.common.util.support.CharsetSniffer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
@@ -39,6 +43,7 @@ import java.io.*;
 import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 import java.util.regex.Pattern;
 
 import static io.playce.roro.common.util.ThreadLocalUtils.APP_SCAN_ERROR;
@@ -54,6 +59,11 @@ import static io.playce.roro.common.util.ThreadLocalUtils.APP_SCAN_ERROR;
 @Slf4j
 public class ApplicationAnalyzer {
 
+    /**
+     * 압축 해제 중 검사 대기할 수 있는 파일 내용의 최대 크기 (KB)
+     */
+    private static final int MAX_PENDING_KILOBYTES = 64 * 1024;
+
     /**
      * The constant CHECK_FILE_EXTENSIONS.
      */
@@ -74,6 +84,22 @@ public class ApplicationAnalyzer {
      * The Executor.
      */
     private AssessmentThreadPoolExecutor executor;
+    /**
+     * The Collector.
+     */
+    private DependencyCheckCollector collector;
+    /**
+     * The Class reader.
+     */
+    private ClassContentsReader classReader;
+    /**
+     * The Charset sniffer. (디렉토리별 charset 판별 결과를 분석 단위로 재사용한다.)
+     */
+    private CharsetSniffer charsetSniffer = new CharsetSniffer();
+    /**
+     * 압축 해제 중 검사 대기 중인 파일 내용의 크기 (KB)
+     */
+    private Semaphore pending = new Semaphore(MAX_PENDING_KILOBYTES);
     private String assessmentDir;
 
     private List<String> fileExtensions;
@@ -91,6 +117,12 @@ public class ApplicationAnalyzer {
         this.policy = policy;
         this.result = result;
         this.executor = new AssessmentThreadPoolExecutor(result.getApplicationDir());
+        this.collector = new DependencyCheckCollector();
+
+        ApplicationScanConfig.ClassAnalysis classAnalysis = applicationScanConfig.getClassAnalysis();
+        File cacheDir = classAnalysis.isCacheEnabled() ? new File(CommonProperties.getWorkDir(), "appscan" + File.separator + "class-cache") : null;
+        this.classReader = new ClassContentsReader(classAnalysis.getMode(), cacheDir,
+                classAnalysis.getCacheMaxSize() * 1024 * 1024, classAnalysis.getCacheMaxAge());
         this.assessmentDir = assessmentDir;
 
         this.fileExtensions = applicationScanConfig.getFileExtensions();
@@ -123,7 +155,7 @@ public class ApplicationAnalyzer {
 
         if (version != null) {
             for (int v = 6; v <= version; v++) {
-                executor.execute(new DeprecatedScanTask(v, new File(assessmentDir), result));
+                executor.execute(new DeprecatedScanTask(v, new File(assessmentDir), collector));
             }
 
             deps(new File(assessmentDir));
@@ -138,6 +170,9 @@ public class ApplicationAnalyzer {
         } catch (InterruptedException e) {
             // ignore
         }
+
+        // 모든 task 가 종료된 후 수집된 결과를 추가한다.
+        collector.collect(result);
     }
 
     /**
@@ -164,12 +199,8 @@ public class ApplicationAnalyzer {
             } else {
                 extension = FilenameUtils.getExtension(f.getName()).toLowerCase();
 
-                if (fileExtensions.contains(extension) &&
-                        !excludeFilePattern.matcher(f.getName()).matches() &&
-                        !f.getAbsolutePath().contains("node_modules")) {
-                    if (!f.getName().equals("build.xml") && !f.getName().equals("pom.xml") && !f.getName().endsWith(".jar")) {
-                        executor.execute(new DependencyCheckTask(f, extension, rootPath, policy, result, excludeDomains));
-                    }
+                if (isCheckTarget(f, extension)) {
+                    executor.execute(new DependencyCheckTask(f, extension, rootPath, policy, result, collector, classReader, charsetSniffer, excludeDomains));
                 }
 
                 if (jarfile == null) {
@@ -190,6 +221,65 @@ public class ApplicationAnalyzer {
         }
     }
 
+    /**
+     * DependencyCheckTask 로 검사할 파일인지 여부
+     *
+     * @param file      the file
+     * @param extension the extension
+     */
+    private boolean isCheckTarget(File file, String extension) {
+        return fileExtensions.contains(extension) &&
+                !excludeFilePattern.matcher(file.getName()).matches() &&
+                !file.getAbsolutePath().contains("node_modules") &&
+                !file.getName().equals("build.xml") && !file.getName().equals("pom.xml") && !file.getName().endsWith(".jar");
+    }
+
+    /**
+     * <pre>
+     * 압축 파일을 해제하면서 검사 대상 파일을 disk 에 기록하지 않고 DependencyCheckTask 로 검사하기 위한 handler.
+     *
+     * 1. class 파일은 jdeprscan, jdeps 의 분석 대상이므로 disk 에 기록한다.
+     * 2. 압축 해제가 검사보다 빠른 경우 메모리 사용량이 증가하지 않도록,
+     *    검사 대기 중인 파일 내용의 크기가 MAX_PENDING_KILOBYTES 를 넘으면 압축 해제를 대기한다.
+     * </pre>
+     *
+     * @return the archive entry handler
+     */
+    public ArchiveEntryHandler getArchiveEntryHandler() {
+        return new ArchiveEntryHandler() {
+            @Override
+            public boolean accept(File file) {
+                String extension = FilenameUtils.getExtension(file.getName()).toLowerCase();
+
+                return !"class".equals(extension) &&
+                        !file.getAbsolutePath().replaceAll(assessmentDir, "").startsWith("/target/") &&
+                        isCheckTarget(file, extension);
+            }
+
+            @Override
+            public void handle(File file, byte[] contents) throws Exception {
+                String extension = FilenameUtils.getExtension(file.getName()).toLowerCase();
+                DependencyCheckTask task = new DependencyCheckTask(file, contents, extension, assessmentDir, policy, result, collector, classReader, charsetSniffer, excludeDomains);
+
+                int permits = (int) Math.min(MAX_PENDING_KILOBYTES, Math.max(1, (contents.length + 1023) / 1024));
+                pending.acquire(permits);
+
+                try {
+                    executor.execute(() -> {
+                        try {
+                            task.run();
+                        } finally {
+                            pending.release(permits);
+                        }
+                    });
+                } catch (Exception e) {
+                    pending.release(permits);
+                    throw e;
+                }
+            }
+        };
+    }
+
     /**
      * Gets version.
      *
@@ -355,10 +445,13 @@ public class ApplicationAnalyzer {
         }
     }
 
+    /**
+     * 실행 중인 task 를 interrupt 하고, 대기 중인 task 는 실행하지 않는다.
+     */
     public void cancel() {
         try {
             if (!executor.getExecutor().isTerminated()) {
-                executor.getExecutor().shutdown();
+                executor.getExecutor().shutdownNow();
             }
         } catch (Exception ignored) {
             // ignore
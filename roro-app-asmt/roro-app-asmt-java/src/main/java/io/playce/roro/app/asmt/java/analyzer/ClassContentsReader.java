@@ -0,0 +1,262 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.java.analyzer;
+
+import io.playce.roro.app.asmt.java.threadpool.task.RoRoOutputSinkFactory2;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.benf.cfr.reader.api.CfrDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <pre>
+ * DependencyCheckTask 에서 검사할 class 파일의 내용을 읽는다.
+ *
+ * 1. bytecode  : ClassFileAnalyzer 로 constant pool 등을 읽어 생성한 문자열 (분석에 실패하면 decompile 한다.)
+ * 2. decompile : CFR 로 decompile 한 source
+ *
+ * cacheDir 이 지정되면 class 파일 내용의 SHA-256 hash 를 key 로 결과를 저장하므로,
+ * 같은 application 을 다시 분석하는 경우 변경되지 않은 class 는 다시 분석하지 않는다.
+ *
+ * cache 에는 검사 결과(Check, DataSource 등)가 아닌 class 내용 문자열을 저장한다.
+ * 검사 결과는 Policy 의 pattern 과 excludeDomains 에 따라 달라지므로, 문자열을 저장하면 Policy 가 변경되어도 cache 를 그대로 사용할 수 있다.
+ * 비용의 대부분은 decompile 에서 발생하며 문자열에 대한 pattern 검사는 DependencyPatternFilter 로 후보 line 만 검사한다.
+ *
+ * cache 파일은 사용될 때마다 수정 시간을 갱신하며, 생성 시 cacheMaxAge 동안 사용되지 않은 파일과
+ * cacheMaxSize 를 초과하는 만큼 오래 사용되지 않은 파일을 삭제한다. (PRUNE_INTERVAL 에 한 번만 수행한다.)
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Slf4j
+public class ClassContentsReader {
+
+    public static final String MODE_BYTECODE = "bytecode";
+    public static final String MODE_DECOMPILE = "decompile";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final long PRUNE_INTERVAL = TimeUnit.HOURS.toMillis(1);
+    private static final Map<String, Long> PRUNED_TIMES = new ConcurrentHashMap<>();
+
+    private final boolean decompile;
+    private final File cacheDir;
+
+    /**
+     * Instantiates a new Class contents reader.
+     *
+     * @param mode     bytecode 또는 decompile
+     * @param cacheDir cache 를 저장할 디렉토리 (null 이면 cache 를 사용하지 않는다.)
+     */
+    public ClassContentsReader(String mode, File cacheDir) {
+        this(mode, cacheDir, 0, 0);
+    }
+
+    /**
+     * Instantiates a new Class contents reader.
+     *
+     * @param mode          bytecode 또는 decompile
+     * @param cacheDir      cache 를 저장할 디렉토리 (null 이면 cache 를 사용하지 않는다.)
+     * @param cacheMaxSize  cacheDir 의 최대 크기 (byte, 0 이하이면 제한하지 않는다.)
+     * @param cacheMaxAge   마지막으로 사용된 후 cache 를 유지할 기간 (일, 0 이하이면 제한하지 않는다.)
+     */
+    public ClassContentsReader(String mode, File cacheDir, long cacheMaxSize, int cacheMaxAge) {
+        this.decompile = MODE_DECOMPILE.equalsIgnoreCase(mode);
+
+        if (cacheDir != null) {
+            // 이전 버전의 디렉토리도 함께 정리되도록 상위 디렉토리 기준으로 삭제한다.
+            prune(cacheDir, cacheMaxSize, cacheMaxAge);
+
+            // 분석 방법 또는 결과 형식이 변경되면 다른 디렉토리를 사용한다.
+            cacheDir = new File(cacheDir, decompile ? MODE_DECOMPILE : MODE_BYTECODE + "-" + ClassFileAnalyzer.VERSION);
+        }
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * class 파일의 내용을 읽는다.
+     *
+     * @param classFile the class file
+     */
+    public String read(File classFile) throws IOException {
+        byte[] bytes = Files.readAllBytes(classFile.toPath());
+
+        File cacheFile = null;
+        if (cacheDir != null) {
+            cacheFile = getCacheFile(bytes);
+
+            if (cacheFile.exists()) {
+                try (InputStream input = new GZIPInputStream(Files.newInputStream(cacheFile.toPath()))) {
+                    String contents = IOUtils.toString(input, StandardCharsets.UTF_8);
+
+                    // 오래 사용되지 않은 파일부터 삭제할 수 있도록 사용 시간을 기록한다.
+                    cacheFile.setLastModified(System.currentTimeMillis());
+
+                    return contents;
+                } catch (IOException e) {
+                    log.debug("Unable to read class cache [{}]. Reason : [{}]", cacheFile.getAbsolutePath(), e.getMessage());
+                }
+            }
+        }
+
+        String contents = null;
+        if (!decompile) {
+            try {
+                contents = ClassFileAnalyzer.analyze(bytes);
+            } catch (IOException e) {
+                log.warn("Unable to analyze [{}] class. It will be decompiled. Reason : [{}]", classFile.getAbsolutePath(), e.getMessage());
+            }
+        }
+
+        if (contents == null) {
+            contents = decompile(classFile.getAbsolutePath());
+        }
+
+        if (cacheFile != null && contents != null) {
+            write(cacheFile, contents);
+        }
+
+        return contents;
+    }
+
+    private String decompile(String classFile) {
+        RoRoOutputSinkFactory2 sinkFactory = new RoRoOutputSinkFactory2();
+        CfrDriver driver = new CfrDriver.Builder().withOutputSink(sinkFactory).build();
+        driver.analyse(Collections.singletonList(classFile));
+
+        return sinkFactory.getResult();
+    }
+
+    private File getCacheFile(byte[] bytes) {
+        String hash = sha256(bytes);
+        return new File(new File(cacheDir, hash.substring(0, 2)), hash + ".gz");
+    }
+
+    /**
+     * 여러 task 가 같은 class 를 동시에 기록할 수 있으므로 임시 파일에 기록한 후 이동한다.
+     */
+    private void write(File cacheFile, String contents) {
+        Path temp = null;
+
+        try {
+            Files.createDirectories(cacheFile.getParentFile().toPath());
+            temp = Files.createTempFile(cacheFile.getParentFile().toPath(), cacheFile.getName(), ".tmp");
+
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                output.write(contents.getBytes(StandardCharsets.UTF_8));
+            }
+
+            Files.move(temp, cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.debug("Unable to write class cache [{}]. Reason : [{}]", cacheFile.getAbsolutePath(), e.getMessage());
+
+            if (temp != null) {
+                temp.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * 사용되지 않은 cache 파일을 삭제한다.
+     */
+    static void prune(File cacheDir, long maxSize, int maxAge) {
+        if ((maxSize <= 0 && maxAge <= 0) || !cacheDir.isDirectory()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Long pruned = PRUNED_TIMES.get(cacheDir.getAbsolutePath());
+        if (pruned != null && now - pruned < PRUNE_INTERVAL) {
+            return;
+        }
+        PRUNED_TIMES.put(cacheDir.getAbsolutePath(), now);
+
+        List<File> files;
+        try (Stream<Path> stream = Files.walk(cacheDir.toPath())) {
+            files = stream.filter(Files::isRegularFile).map(Path::toFile).collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Unable to list class cache [{}]. Reason : [{}]", cacheDir.getAbsolutePath(), e.getMessage());
+            return;
+        }
+
+        // 오래 사용되지 않은 파일이 앞에 오도록 정렬한다. (정렬 중 수정 시간이 바뀌지 않도록 미리 읽는다.)
+        Map<File, Long> modifiedTimes = new HashMap<>();
+        for (File file : files) {
+            modifiedTimes.put(file, file.lastModified());
+        }
+        files.sort(Comparator.comparing(modifiedTimes::get));
+
+        long expired = maxAge > 0 ? now - TimeUnit.DAYS.toMillis(maxAge) : Long.MIN_VALUE;
+        long totalSize = 0;
+        for (File file : files) {
+            totalSize += file.length();
+        }
+
+        int deleted = 0;
+        for (File file : files) {
+            if (modifiedTimes.get(file) < expired || (maxSize > 0 && totalSize > maxSize)) {
+                long length = file.length();
+
+                if (file.delete()) {
+                    totalSize -= length;
+                    deleted++;
+                }
+            }
+        }
+
+        if (deleted > 0) {
+            log.info("{} class cache files are deleted from [{}]. Remaining : {} files, {} bytes", deleted, cacheDir.getAbsolutePath(), files.size() - deleted, totalSize);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+
+            char[] chars = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                chars[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                chars[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+
+            return new String(chars);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
+//end of ClassContentsReader.java
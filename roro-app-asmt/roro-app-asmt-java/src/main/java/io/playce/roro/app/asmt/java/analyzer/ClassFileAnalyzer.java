@@ -0,0 +1,571 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.java.analyzer;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * <pre>
+ * class 파일을 decompile 하지 않고 constant pool, annotation, method 호출 정보를 읽어
+ * DependencyCheckTask 의 pattern 으로 검사할 수 있는 source 형태의 문자열을 생성한다.
+ *
+ * package com.playce;
+ *
+ * import javax.sql.DataSource;                                  <- 참조하는 class (API Usage)
+ *
+ * &#64;Controller                                                   <- annotation (Servlet)
+ * public class com.playce.Sample extends javax.servlet.http.HttpServlet {   <- 상속 (Servlet)
+ *     "jdbc:oracle:thin:@192.168.0.1:1521:orcl"                 <- 문자열 상수 (JDBC, IP, HTTP)
+ *     DataSource = javax.naming.Context.lookup("jdbc/roroDS")   <- 문자열 상수로 호출한 lookup, getDataSource (JNDI)
+ * }
+ *
+ * 줄 번호는 decompile 한 source 와 같이 원본 source 의 줄 번호와 일치하지 않는다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class ClassFileAnalyzer {
+
+    /**
+     * 생성되는 문자열의 형식이 변경되면 증가시킨다. (cache 의 key 로 사용)
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_ENUM = 0x4000;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private static final int LDC = 0x12;
+    private static final int LDC_W = 0x13;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int LOOKUPSWITCH = 0xab;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int WIDE = 0xc4;
+    private static final int IINC = 0x84;
+
+    /**
+     * opcode 별 instruction 길이. 0 은 가변 길이 또는 정의되지 않은 opcode
+     */
+    private static final int[] INSTRUCTION_LENGTHS = new int[256];
+
+    static {
+        fill(0x00, 0x0f, 1);
+        fill(0x10, 0x10, 2);
+        fill(0x11, 0x11, 3);
+        fill(0x12, 0x12, 2);
+        fill(0x13, 0x14, 3);
+        fill(0x15, 0x19, 2);
+        fill(0x1a, 0x35, 1);
+        fill(0x36, 0x3a, 2);
+        fill(0x3b, 0x83, 1);
+        fill(0x84, 0x84, 3);
+        fill(0x85, 0x98, 1);
+        fill(0x99, 0xa8, 3);
+        fill(0xa9, 0xa9, 2);
+        fill(0xac, 0xb1, 1);
+        fill(0xb2, 0xb8, 3);
+        fill(0xb9, 0xba, 5);
+        fill(0xbb, 0xbb, 3);
+        fill(0xbc, 0xbc, 2);
+        fill(0xbd, 0xbd, 3);
+        fill(0xbe, 0xbf, 1);
+        fill(0xc0, 0xc1, 3);
+        fill(0xc2, 0xc3, 1);
+        fill(0xc5, 0xc5, 4);
+        fill(0xc6, 0xc7, 3);
+        fill(0xc8, 0xc9, 5);
+    }
+
+    private final ByteBuffer buffer;
+
+    private int[] tags;
+    private int[] offsets;
+    private String[] utf8s;
+
+    private final Set<String> imports = new TreeSet<>();
+    private final List<String> annotations = new ArrayList<>();
+    private final List<String> members = new ArrayList<>();
+
+    private ClassFileAnalyzer(byte[] bytes) {
+        this.buffer = ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * class 파일의 내용을 분석하여 source 형태의 문자열을 반환한다.
+     *
+     * @param bytes class 파일의 내용
+     *
+     * @throws IOException class 파일 형식이 아닌 경우
+     */
+    public static String analyze(byte[] bytes) throws IOException {
+        try {
+            return new ClassFileAnalyzer(bytes).analyze();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NullPointerException e) {
+            // 잘못된 constant pool index (UTF8 이 아닌 항목을 참조하는 경우 등) 도 decompile 로 분석하도록 IOException 으로 변환한다.
+            throw new IOException("Invalid class file format.", e);
+        }
+    }
+
+    private String analyze() throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Invalid class file magic.");
+        }
+
+        // minor_version, major_version
+        buffer.getInt();
+
+        readConstantPool();
+
+        int accessFlags = u2();
+        String className = getClassName(u2());
+        int superClass = u2();
+        String superClassName = superClass == 0 ? null : getClassName(superClass);
+
+        List<String> interfaces = new ArrayList<>();
+        int interfaceCount = u2();
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaces.add(getClassName(u2()));
+        }
+
+        boolean referencesDataSource = false;
+        for (int i = 1; i < tags.length; i++) {
+            if (tags[i] == CONSTANT_CLASS) {
+                String name = getClassName(i);
+                addImport(name);
+                referencesDataSource |= "javax.sql.DataSource".equals(name);
+            } else if (tags[i] == CONSTANT_NAME_AND_TYPE || tags[i] == CONSTANT_METHOD_TYPE) {
+                addDescriptorImports(utf8s[u2(offsets[i] + (tags[i] == CONSTANT_NAME_AND_TYPE ? 2 : 0))]);
+            }
+        }
+
+        // fields
+        int fieldCount = u2();
+        for (int i = 0; i < fieldCount; i++) {
+            readMember(false);
+        }
+
+        // methods
+        int methodCount = u2();
+        for (int i = 0; i < methodCount; i++) {
+            for (String[] call : readMember(true)) {
+                String line = call[0] + "." + call[1] + "(" + quote(call[2]) + ")";
+
+                if (referencesDataSource && "lookup".equals(call[1])) {
+                    line = "DataSource = " + line;
+                }
+
+                members.add(line);
+            }
+        }
+
+        // class attributes
+        readAttributes(false);
+
+        for (int i = 1; i < tags.length; i++) {
+            if (tags[i] == CONSTANT_STRING) {
+                members.add(quote(utf8s[u2(offsets[i])]));
+            }
+        }
+
+        imports.remove(className.replace('$', '.'));
+
+        return toSource(accessFlags, className, superClassName, interfaces);
+    }
+
+    private String toSource(int accessFlags, String className, String superClassName, List<String> interfaces) {
+        StringBuilder sb = new StringBuilder();
+
+        int index = className.lastIndexOf('.');
+        if (index > 0) {
+            sb.append("package ").append(className, 0, index).append(";\n\n");
+        }
+
+        for (String name : imports) {
+            sb.append("import ").append(name).append(";\n");
+        }
+        sb.append('\n');
+
+        for (String annotation : annotations) {
+            sb.append(annotation).append('\n');
+        }
+
+        sb.append("public ");
+        if ((accessFlags & ACC_ANNOTATION) != 0) {
+            sb.append("@interface ");
+        } else if ((accessFlags & ACC_INTERFACE) != 0) {
+            sb.append("interface ");
+        } else if ((accessFlags & ACC_ENUM) != 0) {
+            sb.append("enum ");
+        } else {
+            sb.append("class ");
+        }
+        sb.append(className);
+
+        if (superClassName != null && !"java.lang.Object".equals(superClassName)) {
+            sb.append(" extends ").append(superClassName);
+        }
+        if (!interfaces.isEmpty()) {
+            sb.append((accessFlags & ACC_INTERFACE) != 0 ? " extends " : " implements ").append(String.join(", ", interfaces));
+        }
+        sb.append(" {\n");
+
+        for (String member : members) {
+            sb.append("    ").append(member).append('\n');
+        }
+        sb.append("}\n");
+
+        return sb.toString();
+    }
+
+    private void readConstantPool() throws IOException {
+        int count = u2();
+
+        tags = new int[count];
+        offsets = new int[count];
+        utf8s = new String[count];
+
+        for (int i = 1; i < count; i++) {
+            int tag = u1();
+            tags[i] = tag;
+            offsets[i] = buffer.position();
+
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    int length = u2();
+                    utf8s[i] = new DataInputStream(new ByteArrayInputStream(buffer.array(), offsets[i], length + 2)).readUTF();
+                    skip(length);
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    skip(2);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    skip(3);
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    skip(4);
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    skip(8);
+                    // 8 byte 상수는 2개의 index 를 차지한다.
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag + " at index " + i + ".");
+            }
+        }
+    }
+
+    /**
+     * field 또는 method 를 읽고, method 인 경우 문자열 상수를 인자로 호출한 lookup, getDataSource 목록을 반환한다.
+     */
+    private List<String[]> readMember(boolean method) {
+        // access_flags, name_index
+        skip(4);
+        addDescriptorImports(utf8s[u2()]);
+
+        return readAttributes(method);
+    }
+
+    private List<String[]> readAttributes(boolean method) {
+        List<String[]> calls = new ArrayList<>();
+
+        int attributeCount = u2();
+        for (int i = 0; i < attributeCount; i++) {
+            String name = utf8s[u2()];
+            int length = buffer.getInt();
+            int end = buffer.position() + length;
+
+            if ("RuntimeVisibleAnnotations".equals(name) || "RuntimeInvisibleAnnotations".equals(name)) {
+                int count = u2();
+                for (int j = 0; j < count; j++) {
+                    annotations.add(readAnnotation());
+                }
+            } else if (method && "Code".equals(name)) {
+                // max_stack, max_locals
+                skip(4);
+                int codeLength = buffer.getInt();
+                readCode(buffer.position(), codeLength, calls);
+                skip(codeLength);
+
+                int exceptionTableLength = u2();
+                skip(exceptionTableLength * 8);
+
+                // Code 의 attribute (LineNumberTable 등) 에는 필요한 정보가 없다.
+                readAttributes(false);
+            }
+
+            buffer.position(end);
+        }
+
+        return calls;
+    }
+
+    /**
+     * 문자열 상수를 load (ldc) 한 직후 호출하는 lookup(String), getDataSource(String) 을 찾는다.
+     */
+    private void readCode(int start, int length, List<String[]> calls) {
+        int pc = 0;
+        String lastString = null;
+
+        while (pc < length) {
+            int opcode = u1(start + pc);
+            int size = INSTRUCTION_LENGTHS[opcode];
+
+            if (opcode == TABLESWITCH) {
+                int padding = 3 - (pc % 4);
+                int low = buffer.getInt(start + pc + 1 + padding + 4);
+                int high = buffer.getInt(start + pc + 1 + padding + 8);
+                size = 1 + padding + 12 + (high - low + 1) * 4;
+            } else if (opcode == LOOKUPSWITCH) {
+                int padding = 3 - (pc % 4);
+                int pairs = buffer.getInt(start + pc + 1 + padding + 4);
+                size = 1 + padding + 8 + pairs * 8;
+            } else if (opcode == WIDE) {
+                size = u1(start + pc + 1) == IINC ? 6 : 4;
+            }
+
+            if (size <= 0) {
+                // 알 수 없는 opcode 또는 잘못된 switch 이후는 분석하지 않는다.
+                return;
+            }
+
+            String string = null;
+            if (opcode == LDC || opcode == LDC_W) {
+                int index = opcode == LDC ? u1(start + pc + 1) : u2(start + pc + 1);
+                if (tags[index] == CONSTANT_STRING) {
+                    string = utf8s[u2(offsets[index])];
+                }
+            } else if (lastString != null && (opcode == INVOKEVIRTUAL || opcode == INVOKESTATIC || opcode == INVOKEINTERFACE)) {
+                int ref = offsets[u2(start + pc + 1)];
+                int nameAndType = offsets[u2(ref + 2)];
+                String methodName = utf8s[u2(nameAndType)];
+                String descriptor = utf8s[u2(nameAndType + 2)];
+
+                if (("lookup".equals(methodName) || "getDataSource".equals(methodName)) && descriptor.startsWith("(Ljava/lang/String;)")) {
+                    calls.add(new String[]{getClassName(u2(ref)), methodName, lastString});
+                }
+            }
+
+            lastString = string;
+            pc += size;
+        }
+    }
+
+    private String readAnnotation() {
+        String type = utf8s[u2()];
+        addDescriptorImports(type);
+
+        StringBuilder sb = new StringBuilder("@").append(getSimpleName(toClassName(type)));
+
+        List<String> values = new ArrayList<>();
+        int pairCount = u2();
+        for (int i = 0; i < pairCount; i++) {
+            String name = utf8s[u2()];
+            String value = readElementValue();
+
+            if (value != null) {
+                values.add(name + " = " + value);
+            }
+        }
+
+        if (!values.isEmpty()) {
+            sb.append('(').append(String.join(", ", values)).append(')');
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * 문자열, class, 문자열 배열 값만 반환하며 나머지는 null 을 반환한다.
+     */
+    private String readElementValue() {
+        char tag = (char) u1();
+
+        switch (tag) {
+            case 's':
+                return quote(utf8s[u2()]);
+            case 'c':
+                String descriptor = utf8s[u2()];
+                addDescriptorImports(descriptor);
+                return descriptor.startsWith("L") ? toClassName(descriptor) + ".class" : null;
+            case 'e':
+                skip(4);
+                return null;
+            case '@':
+                readAnnotation();
+                return null;
+            case '[':
+                List<String> values = new ArrayList<>();
+                int count = u2();
+                for (int i = 0; i < count; i++) {
+                    String value = readElementValue();
+                    if (value != null) {
+                        values.add(value);
+                    }
+                }
+                return values.isEmpty() ? null : "{" + String.join(", ", values) + "}";
+            default:
+                // B, C, D, F, I, J, S, Z
+                skip(2);
+                return null;
+        }
+    }
+
+    /**
+     * descriptor 에 포함된 class (Ljava/lang/String; 등) 를 import 목록에 추가한다.
+     */
+    private void addDescriptorImports(String descriptor) {
+        int index = descriptor.indexOf('L');
+
+        while (index >= 0) {
+            int end = descriptor.indexOf(';', index);
+            if (end < 0) {
+                break;
+            }
+
+            // generic signature 의 type argument (Ljava/util/List<Ljava/lang/String;>;) 는 '<' 까지만 class 이름이다.
+            int typeArgument = descriptor.indexOf('<', index);
+            if (typeArgument > 0 && typeArgument < end) {
+                end = typeArgument;
+            }
+
+            addImport(descriptor.substring(index + 1, end).replace('/', '.'));
+            index = descriptor.indexOf('L', end);
+        }
+    }
+
+    private void addImport(String name) {
+        if (!name.isEmpty() && name.charAt(0) != '[') {
+            imports.add(name.replace('$', '.'));
+        } else if (name.startsWith("[")) {
+            addDescriptorImports(name.replace('.', '/'));
+        }
+    }
+
+    private String getClassName(int index) {
+        return utf8s[u2(offsets[index])].replace('/', '.');
+    }
+
+    private static String toClassName(String descriptor) {
+        if (descriptor.startsWith("L") && descriptor.endsWith(";")) {
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+        return descriptor;
+    }
+
+    private static String getSimpleName(String className) {
+        return className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+
+        return sb.append('"').toString();
+    }
+
+    private int u1() {
+        return buffer.get() & 0xFF;
+    }
+
+    private int u1(int position) {
+        return buffer.get(position) & 0xFF;
+    }
+
+    private int u2() {
+        return buffer.getShort() & 0xFFFF;
+    }
+
+    private int u2(int position) {
+        return buffer.getShort(position) & 0xFFFF;
+    }
+
+    private void skip(int length) {
+        buffer.position(buffer.position() + length);
+    }
+
+    private static void fill(int from, int to, int length) {
+        for (int opcode = from; opcode <= to; opcode++) {
+            INSTRUCTION_LENGTHS[opcode] = length;
+        }
+    }
+}
+//end of ClassFileAnalyzer.java
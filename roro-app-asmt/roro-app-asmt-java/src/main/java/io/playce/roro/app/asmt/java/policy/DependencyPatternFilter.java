@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.java.policy;
+
+import io.playce.roro.common.util.support.AhoCorasickMatcher;
+
+import java.util.List;
+
+/**
+ * <pre>
+ * Policy 의 pattern 을 적용하기 전에, 각 pattern 이 일치하기 위해 반드시 포함되어야 하는 문자열로 line 을 걸러낸다.
+ *
+ * 1. 모든 pattern 의 필수 문자열(jdbc:, javax.ejb., ://, localhost, 숫자 + "." 등)을 하나의 Aho-Corasick automaton 으로 만들어
+ *    line 을 한 번만 읽고 일치할 가능성이 있는 pattern 을 bit mask 로 반환한다.
+ * 2. IP pattern 은 숫자와 "." 로 구성된 4개의 숫자 그룹(a.b.c.d)이 있는 line 만 후보로 한다.
+ * 3. 후보가 아닌 pattern 은 일치하지 않는 것이 보장되므로 정규식을 실행하지 않으며, 후보인 경우에만 정규식으로 확인한다.
+ * 4. 사용자 정의 pattern 중 정규식 문자가 포함된 pattern 이 있으면 사용자 정의 pattern 은 항상 후보로 한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class DependencyPatternFilter {
+
+    public static final int API = 1;
+    public static final int SERVLET = 1 << 1;
+    public static final int JDBC = 1 << 2;
+    public static final int JNDI = 1 << 3;
+    public static final int HTTP = 1 << 4;
+    public static final int IP = 1 << 5;
+    public static final int LOCALHOST = 1 << 6;
+    public static final int CUSTOM = 1 << 7;
+
+    private static final String[] API_LITERALS = {
+            "javax.ejb.", "javax.resource.", "javax.jms.", "javax.naming.", "javax.persistence.", "javax.transaction.",
+            "java.sql.", "org.springframework.ejb.", "org.springframework.jndi.", "weblogic.", "com.ibm.websphere.",
+            "com.ibm.wsspi.", "org.jboss.", "jeus."
+    };
+    private static final String[] SERVLET_LITERALS = {
+            "extends HttpServlet", "extends javax.servlet.http.HttpServlet", "@Controller", "@RestController"
+    };
+    // DataSource.*\.lookup, name.*jndiName.*value, \.getDataSource\(
+    private static final String[] JNDI_LITERALS = {"DataSource", "jndiName"};
+
+    private static final String REGEX_CHARACTERS = "\\^$|?*+()[]{}";
+
+    private final AhoCorasickMatcher<Integer> matcher;
+    private final int alwaysCandidates;
+
+    /**
+     * @param customPatterns Policy 에 등록된 사용자 정의 pattern
+     */
+    public DependencyPatternFilter(List<String> customPatterns) {
+        AhoCorasickMatcher.Builder<Integer> builder = AhoCorasickMatcher.builder();
+
+        for (String literal : API_LITERALS) {
+            builder.add(literal, API);
+        }
+        for (String literal : SERVLET_LITERALS) {
+            builder.add(literal, SERVLET);
+        }
+        builder.add("jdbc:", JDBC);
+        for (String literal : JNDI_LITERALS) {
+            builder.add(literal, JNDI);
+        }
+        builder.add("://", HTTP);
+        for (char c = '0'; c <= '9'; c++) {
+            builder.add(c + ".", IP);
+        }
+        builder.add("localhost", LOCALHOST);
+
+        int always = 0;
+        if (customPatterns != null) {
+            for (String pattern : customPatterns) {
+                if (isLiteral(pattern)) {
+                    builder.add(pattern, CUSTOM);
+                } else {
+                    always |= CUSTOM;
+                }
+            }
+        }
+
+        this.matcher = builder.build();
+        this.alwaysCandidates = always;
+    }
+
+    /**
+     * line 과 일치할 가능성이 있는 pattern 의 bit mask 를 반환한다.
+     */
+    public int getCandidates(String line) {
+        int[] candidates = {alwaysCandidates};
+        matcher.scan(line, index -> candidates[0] |= matcher.getValue(index));
+
+        if ((candidates[0] & IP) != 0 && !hasDottedNumbers(line)) {
+            candidates[0] &= ~IP;
+        }
+
+        return candidates[0];
+    }
+
+    /**
+     * "." 하나로 연결된 숫자 그룹이 4개 이상 연속되는지 확인한다. (IP pattern 이 일치하기 위한 필요 조건)
+     */
+    static boolean hasDottedNumbers(String line) {
+        int groups = 0;
+        int i = 0;
+        int length = line.length();
+
+        while (i < length) {
+            if (isDigit(line.charAt(i))) {
+                int end = i;
+                while (end < length && isDigit(line.charAt(end))) {
+                    end++;
+                }
+
+                if (++groups >= 4) {
+                    return true;
+                }
+
+                if (end < length && line.charAt(end) == '.') {
+                    i = end + 1;
+                } else {
+                    groups = 0;
+                    i = end;
+                }
+            } else {
+                groups = 0;
+                i++;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Policy 는 사용자 정의 pattern 의 "." 만 escape 하므로, 나머지 정규식 문자가 없으면 문자열 그대로 비교할 수 있다.
+     */
+    private static boolean isLiteral(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (REGEX_CHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
+//end of DependencyPatternFilter.java
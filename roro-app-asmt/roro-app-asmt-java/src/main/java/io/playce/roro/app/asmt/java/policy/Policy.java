@@ -131,6 +131,7 @@ public class Policy {
     }
 
     private Pattern etcPattern;
+    private DependencyPatternFilter patternFilter;
 
     /**
      * Instantiates a new Policy.
@@ -158,6 +159,8 @@ public class Policy {
         if (patterns.size() > 0) {
             etcPattern = Pattern.compile(regex.toString());
         }
+
+        patternFilter = new DependencyPatternFilter(patterns);
     }
 
     /**
@@ -250,6 +253,15 @@ public class Policy {
         return httpPattern;
     }
 
+    /**
+     * Gets pattern filter.
+     *
+     * @return the pattern filter
+     */
+    public DependencyPatternFilter getPatternFilter() {
+        return patternFilter;
+    }
+
     /**
      * Gets localhost port pattern.
      *
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.java.threadpool.task;
+
+import io.playce.roro.app.asmt.result.ApplicationAssessmentResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <pre>
+ * 병렬로 실행되는 DependencyCheckTask, DeprecatedScanTask 의 결과를 수집한다.
+ *
+ * 1. 각 task 는 파일 단위로 결과를 모은 후 한 번에 add 하며, task 간에 lock 을 사용하지 않는다.
+ * 2. DataSource 는 type + value 를 key 로 하는 ConcurrentHashMap 으로 찾으므로 목록 전체를 탐색하지 않는다.
+ * 3. 모든 task 가 종료된 후 collect() 로 ApplicationAssessmentResult 에 정렬된 순서로 추가하므로,
+ *    task 의 실행 순서와 관계없이 같은 결과가 생성된다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class DependencyCheckCollector {
+
+    private static final Comparator<ApplicationAssessmentResult.DataSource.Use> USE_ORDER =
+            Comparator.comparing(ApplicationAssessmentResult.DataSource.Use::getFileName)
+                    .thenComparing(ApplicationAssessmentResult.DataSource.Use::getLine);
+
+    private static final Comparator<ApplicationAssessmentResult.HardCodedIp> HARD_CODED_IP_ORDER =
+            Comparator.comparing(ApplicationAssessmentResult.HardCodedIp::getFileName)
+                    .thenComparing(ApplicationAssessmentResult.HardCodedIp::getLineNum)
+                    .thenComparing(ApplicationAssessmentResult.HardCodedIp::getIpAddress)
+                    .thenComparing(ApplicationAssessmentResult.HardCodedIp::getPort, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Map<String, DataSourceEntry> dataSources = new ConcurrentHashMap<>();
+    private final Queue<ApplicationAssessmentResult.Check> checks = new ConcurrentLinkedQueue<>();
+    private final Queue<ApplicationAssessmentResult.HardCodedIp> hardCodedIps = new ConcurrentLinkedQueue<>();
+    private final Queue<ApplicationAssessmentResult.Deprecated> deprecatedList = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 파일 하나의 검사 결과를 추가한다.
+     *
+     * @param check        검출된 항목이 없으면 null
+     * @param dataSources  파일 내에서 type + value 로 병합된 DataSource
+     * @param hardCodedIps the hard coded ips
+     */
+    public void add(ApplicationAssessmentResult.Check check,
+                    Collection<ApplicationAssessmentResult.DataSource> dataSources,
+                    Collection<ApplicationAssessmentResult.HardCodedIp> hardCodedIps) {
+        if (check != null) {
+            checks.add(check);
+        }
+
+        for (ApplicationAssessmentResult.DataSource dataSource : dataSources) {
+            // 먼저 등록된 DataSource 의 type, value, jdbcProperties 를 사용하고 uses 만 병합한다.
+            this.dataSources.computeIfAbsent(getKey(dataSource.getType(), dataSource.getValue()), k -> new DataSourceEntry(dataSource))
+                    .uses.addAll(dataSource.getUses());
+        }
+
+        this.hardCodedIps.addAll(hardCodedIps);
+    }
+
+    /**
+     * Add deprecated.
+     *
+     * @param deprecated the deprecated
+     */
+    public void addDeprecated(ApplicationAssessmentResult.Deprecated deprecated) {
+        deprecatedList.add(deprecated);
+    }
+
+    /**
+     * 수집된 결과를 정렬하여 result 에 추가한다. 모든 task 가 종료된 후 호출해야 한다.
+     *
+     * @param result the result
+     */
+    public void collect(ApplicationAssessmentResult result) {
+        List<ApplicationAssessmentResult.Check> checkList = new ArrayList<>(checks);
+        checkList.sort(Comparator.comparing(ApplicationAssessmentResult.Check::getFileName));
+        result.getCheckList().addAll(checkList);
+
+        List<DataSourceEntry> entries = new ArrayList<>(dataSources.values());
+        entries.sort(Comparator.comparing((DataSourceEntry e) -> e.dataSource.getType())
+                .thenComparing(e -> e.dataSource.getValue()));
+        for (DataSourceEntry entry : entries) {
+            ApplicationAssessmentResult.DataSource dataSource = new ApplicationAssessmentResult.DataSource();
+            dataSource.setType(entry.dataSource.getType());
+            dataSource.setValue(entry.dataSource.getValue());
+            dataSource.setJdbcProperties(entry.dataSource.getJdbcProperties());
+
+            List<ApplicationAssessmentResult.DataSource.Use> uses = new ArrayList<>(entry.uses);
+            uses.sort(USE_ORDER);
+            dataSource.setUses(uses);
+
+            result.getDataSourceList().add(dataSource);
+        }
+
+        List<ApplicationAssessmentResult.HardCodedIp> hardCodedIpList = new ArrayList<>(hardCodedIps);
+        hardCodedIpList.sort(HARD_CODED_IP_ORDER);
+        result.getHardCodedIpList().addAll(hardCodedIpList);
+
+        List<ApplicationAssessmentResult.Deprecated> deprecateds = new ArrayList<>(deprecatedList);
+        deprecateds.sort(Comparator.comparing(ApplicationAssessmentResult.Deprecated::getRelease));
+        result.getDeprecatedList().addAll(deprecateds);
+    }
+
+    /**
+     * DataSource 를 구분하는 key
+     */
+    static String getKey(String type, String value) {
+        return type + '\u0000' + value;
+    }
+
+    private static class DataSourceEntry {
+        private final ApplicationAssessmentResult.DataSource dataSource;
+        private final Queue<ApplicationAssessmentResult.DataSource.Use> uses = new ConcurrentLinkedQueue<>();
+
+        private DataSourceEntry(ApplicationAssessmentResult.DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
+//end of DependencyCheckCollector.java
@@ -20,24 +20,26 @@
  */
 package io.playce.roro.app.asmt.java.threadpool.task;
 
+import io.playce.roro.app.asmt.java.analyzer.ClassContentsReader;
+import io.playce.roro.app.asmt.java.policy.DependencyPatternFilter;
 import io.playce.roro.app.asmt.java.policy.Policy;
 import io.playce.roro.app.asmt.result.ApplicationAssessmentResult;
 import io.playce.roro.app.asmt.result.ApplicationAssessmentResult.DataSource.JdbcProperty;
 import io.playce.roro.common.code.Domain1109;
 import io.playce.roro.common.dto.info.JdbcInfo;
-import io.playce.roro.common.util.FileUtil;
 import io.playce.roro.common.util.JdbcURLParser;
 import io.playce.roro.common.util.WellKnownPortUtil;
+import io.playce.roro.common.util.support.CharsetSniffer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
-import org.benf.cfr.reader.api.CfrDriver;
 
 import java.io.*;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -72,25 +74,64 @@ public class DependencyCheckTask extends BaseTask {
      * The Result.
      */
     private ApplicationAssessmentResult result;
+    /**
+     * The Collector.
+     */
+    private DependencyCheckCollector collector;
+    /**
+     * The Class reader.
+     */
+    private ClassContentsReader classReader;
+    private CharsetSniffer charsetSniffer;
+    /**
+     * 압축 파일에서 disk 에 기록하지 않고 읽은 파일 내용 (null 이면 file 을 읽는다.)
+     */
+    private byte[] contents;
 
     private List<String> excludeDomains;
 
     /**
      * Instantiates a new Dependency check task.
      *
-     * @param file      the file
-     * @param extension the extension
-     * @param rootPath  the root path
-     * @param policy    the policy
-     * @param result    the result
+     * @param file           the file
+     * @param extension      the extension
+     * @param rootPath       the root path
+     * @param policy         the policy
+     * @param result         the result
+     * @param collector      the collector
+     * @param classReader    the class reader
+     * @param charsetSniffer the charset sniffer
+     */
+    public DependencyCheckTask(File file, String extension, String rootPath, Policy policy, ApplicationAssessmentResult result,
+                               DependencyCheckCollector collector, ClassContentsReader classReader, CharsetSniffer charsetSniffer, List<String> excludeDomains) {
+        this(file, null, extension, rootPath, policy, result, collector, classReader, charsetSniffer, excludeDomains);
+    }
+
+    /**
+     * 압축 파일의 entry 와 같이 disk 에 존재하지 않는 파일을 검사한다.
+     *
+     * @param file           압축을 해제했을 경우의 경로
+     * @param contents       파일 내용
+     * @param extension      the extension
+     * @param rootPath       the root path
+     * @param policy         the policy
+     * @param result         the result
+     * @param collector      the collector
+     * @param classReader    the class reader
+     * @param charsetSniffer the charset sniffer
      */
-    public DependencyCheckTask(File file, String extension, String rootPath, Policy policy, ApplicationAssessmentResult result, List<String> excludeDomains) {
+    public DependencyCheckTask(File file, byte[] contents, String extension, String rootPath, Policy policy, ApplicationAssessmentResult result,
+                               DependencyCheckCollector collector, ClassContentsReader classReader, CharsetSniffer charsetSniffer, List<String> excludeDomains) {
         super(file.getAbsoluteFile() + " Dependency Check Task");
         this.file = file;
+        this.contents = contents;
         this.extension = extension;
         this.rootPath = rootPath;
         this.policy = policy;
         this.result = result;
+        this.collector = collector;
+        this.classReader = classReader;
+        this.charsetSniffer = charsetSniffer;
         this.excludeDomains = excludeDomains;
 
         // log.debug("[{}] Dependency Check Task has been started.", file.getAbsolutePath());
@@ -116,25 +157,9 @@ public class DependencyCheckTask extends BaseTask {
         }
     }
     /*/
-    private String readClass(String classFile) {
-        // String classString = null;
-        //
-        // try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-        //     RoRoOutputSinkFactory sinkFactory = new RoRoOutputSinkFactory(new PrintStream(baos));
-        //     CfrDriver driver = new CfrDriver.Builder().withOutputSink(sinkFactory).build();
-        //     driver.analyse(Collections.singletonList(classFile));
-        //     classString = baos.toString("UTF-8");
-        // } catch (Exception e) {
-        //     log.warn("Unhandled exception occurred while decompile [{}] class. Reason : [{}]", classFile, e.getMessage());
-        // }
-        //
-        // return classString;
-
-        RoRoOutputSinkFactory2 sinkFactory = new RoRoOutputSinkFactory2();
-        CfrDriver driver = new CfrDriver.Builder().withOutputSink(sinkFactory).build();
-        driver.analyse(Collections.singletonList(classFile));
-
-        return sinkFactory.getResult();
+    private String readClass(File classFile) throws IOException {
+        // bytecode 분석 또는 decompile 과 결과 cache 는 ClassContentsReader 에서 처리한다.
+        return classReader.read(classFile);
     }
     //*/
 
@@ -160,7 +185,11 @@ public class DependencyCheckTask extends BaseTask {
                     }
                 }
 
-                check(readClass(file.getAbsolutePath()), extension);
+                String classContents = readClass(file);
+
+                if (StringUtils.isNotEmpty(classContents)) {
+                    check(() -> new LineReader(classContents), extension);
+                }
             } else {
                 if (result.getApplicationType() == null) {
                     if ("java".equals(extension)) {
@@ -175,11 +204,17 @@ public class DependencyCheckTask extends BaseTask {
                 }
 
                 //*
-                String fileContents = FileUtil.getFileContents(file);
-
-                if (StringUtils.isNotEmpty(fileContents)) {
-                    check(fileContents, extension);
+                // 파일 전체를 문자열로 변환하지 않고 charset 을 판별한 후 line 단위로 읽는다.
+                LineSource source;
+                if (contents != null) {
+                    byte[] data = contents;
+                    contents = null;
+                    source = () -> new LineReader(charsetSniffer.newReader(data, file.getParent()));
+                } else {
+                    source = () -> new LineReader(charsetSniffer.newReader(file));
                 }
+
+                check(source, extension);
                 /*/
                 CharsetDetector detector = new CharsetDetector();
 
@@ -215,28 +250,43 @@ public class DependencyCheckTask extends BaseTask {
     }
 
     /**
-     * @param contents
+     * @param source
      * @param extension
      * @throws IOException
      */
-    private void check(String contents, String extension) throws IOException {
+    private void check(LineSource source, String extension) throws IOException {
+        try (LineReader buffer = source.open()) {
+            check(buffer, source, extension);
+        }
+    }
+
+    /**
+     * @param buffer
+     * @param source    JNDI Name 을 찾기 위해 파일을 다시 읽을 때 사용한다.
+     * @param extension
+     * @throws IOException
+     */
+    private void check(LineReader buffer, LineSource source, String extension) throws IOException {
         String fileName = file.getAbsolutePath().substring(rootPath.length() + 1).replaceAll("(_roro(\\d+)?)", "!");
 
-        Pattern apiPattern = policy.getApiPattern();
-        Pattern servletPattern = policy.getServletPattern();
-        Pattern jdbcPattern = policy.getJdbcPattern();
-        Pattern jndiPattern = policy.getJndiPattern();
-        Pattern notJndiPattern = policy.getNotJndiPattern();
-        Pattern ipPattern = policy.getIpPattern();
-        Pattern notIpPattern = policy.getNotIpPattern();
-        Pattern etcPattern = policy.getEtcPattern();
-        Pattern ipPortPattern = policy.getIpPortPattern();
-        Pattern httpPattern = policy.getHttpPattern();
-        Pattern localhostPortPattern = policy.getLocalhostPortPattern();
+        // line 마다 Matcher 를 생성하지 않고 reset() 으로 재사용한다.
+        Matcher apiMatcher = policy.getApiPattern().matcher("");
+        Matcher servletMatcher = policy.getServletPattern().matcher("");
+        Matcher jdbcMatcher = policy.getJdbcPattern().matcher("");
+        Matcher jndiMatcher = policy.getJndiPattern().matcher("");
+        Matcher notJndiMatcher = policy.getNotJndiPattern().matcher("");
+        Matcher ipMatcher = policy.getIpPattern().matcher("");
+        Matcher notIpMatcher = policy.getNotIpPattern().matcher("");
+        Matcher etcMatcher = policy.getEtcPattern() == null ? null : policy.getEtcPattern().matcher("");
+        Matcher ipPortMatcher = policy.getIpPortPattern().matcher("");
+        Matcher httpMatcher = policy.getHttpPattern().matcher("");
+        Matcher localhostPortMatcher = policy.getLocalhostPortPattern().matcher("");
+        DependencyPatternFilter patternFilter = policy.getPatternFilter();
 
         Matcher match;
         Matcher portMatcher;
         boolean isFound;
+        int candidates;
 
         String lineStr;
         int lineNum = 1;
@@ -247,216 +297,186 @@ public class DependencyCheckTask extends BaseTask {
         ApplicationAssessmentResult.DataSource.Use use;
 
         ApplicationAssessmentResult.HardCodedIp hardCodedIp;
-        try (BufferedReader buffer = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(contents.getBytes())))) {
-            while ((lineStr = buffer.readLine()) != null) {
-                // API Usage 여부
-                match = apiPattern.matcher(lineStr);
-                if (match.matches()) {
+
+        // 파일 단위로 결과를 모은 후 collector 에 한 번에 추가한다.
+        Map<String, ApplicationAssessmentResult.DataSource> dataSources = new LinkedHashMap<>();
+        List<ApplicationAssessmentResult.HardCodedIp> hardCodedIps = new ArrayList<>();
+
+        while ((lineStr = buffer.readLine()) != null) {
+            // 일치할 가능성이 있는 pattern 만 정규식으로 확인한다.
+            candidates = patternFilter.getCandidates(lineStr);
+            if (candidates == 0) {
+                lineNum++;
+                continue;
+            }
+
+            // API Usage 여부
+            match = apiMatcher.reset(lineStr);
+            if ((candidates & DependencyPatternFilter.API) != 0 && match.matches()) {
+                point = new ApplicationAssessmentResult.Check.Point();
+                point.setLine(lineNum);
+                point.setValue(lineStr.trim());
+                check.getApiUsages().add(point);
+            }
+
+            // Servlet 상속 여부
+            if ("class".equals(extension) || "java".equals(extension)) {
+                match = servletMatcher.reset(lineStr);
+                if ((candidates & DependencyPatternFilter.SERVLET) != 0 && match.matches()) {
                     point = new ApplicationAssessmentResult.Check.Point();
                     point.setLine(lineNum);
                     point.setValue(lineStr.trim());
-                    check.getApiUsages().add(point);
-                }
-
-                // Servlet 상속 여부
-                if ("class".equals(extension) || "java".equals(extension)) {
-                    match = servletPattern.matcher(lineStr);
-                    if (match.matches()) {
-                        point = new ApplicationAssessmentResult.Check.Point();
-                        point.setLine(lineNum);
-                        point.setValue(lineStr.trim());
-                        check.getServletExtends().add(point);
-                    }
+                    check.getServletExtends().add(point);
                 }
+            }
 
-                // jdbc 사용 여부
-                if (!"js".equals(extension)) {
-                    match = jdbcPattern.matcher(lineStr);
-                    if (match.matches()) {
-                        if (!lineStr.contains("<jdbc:") && !lineStr.contains("</jdbc:") && !lineStr.contains("-jdbc:")) {
-                            String type = Domain1109.JDBC.name();
-                            String value = getJdbcUrl(lineStr.replaceAll("</pre>", "")
-                                    .replaceAll("</strong>", "")
-                                    .replaceAll("<br/>", "")
-                                    .replaceAll("<br>", "").trim());
-
-                            dataSource = result.getDataSourceList().stream().filter(ds -> type.equals(ds.getType()) && value.equals(ds.getValue())).findAny().orElse(null);
-
-                            if (dataSource == null) {
-                                dataSource = new ApplicationAssessmentResult.DataSource();
-                                dataSource.setType(type);
-                                dataSource.setValue(value);
-                                dataSource.setJdbcProperties(getJdbcProperties(value));
-
-                                result.getDataSourceList().add(dataSource);
-                            }
+            // jdbc 사용 여부
+            if (!"js".equals(extension)) {
+                match = jdbcMatcher.reset(lineStr);
+                if ((candidates & DependencyPatternFilter.JDBC) != 0 && match.matches()) {
+                    if (!lineStr.contains("<jdbc:") && !lineStr.contains("</jdbc:") && !lineStr.contains("-jdbc:")) {
+                        String type = Domain1109.JDBC.name();
+                        String value = getJdbcUrl(lineStr.replaceAll("</pre>", "")
+                                .replaceAll("</strong>", "")
+                                .replaceAll("<br/>", "")
+                                .replaceAll("<br>", "").trim());
+
+                        dataSource = dataSources.get(DependencyCheckCollector.getKey(type, value));
+
+                        if (dataSource == null) {
+                            dataSource = new ApplicationAssessmentResult.DataSource();
+                            dataSource.setType(type);
+                            dataSource.setValue(value);
+                            dataSource.setJdbcProperties(getJdbcProperties(value));
+
+                            dataSources.put(DependencyCheckCollector.getKey(type, value), dataSource);
+                        }
 
-                            use = new ApplicationAssessmentResult.DataSource.Use();
-                            use.setFileName(fileName);
-                            use.setLine(lineNum);
-                            use.setValue(lineStr.trim());
+                        use = new ApplicationAssessmentResult.DataSource.Use();
+                        use.setFileName(fileName);
+                        use.setLine(lineNum);
+                        use.setValue(lineStr.trim());
 
-                            dataSource.getUses().add(use);
-                        }
+                        dataSource.getUses().add(use);
                     }
+                }
 
-                    // jndi 사용 여부
-                    match = jndiPattern.matcher(lineStr);
-                    if (match.matches()) {
-                        match = notJndiPattern.matcher(lineStr);
+                // jndi 사용 여부
+                match = jndiMatcher.reset(lineStr);
+                if ((candidates & DependencyPatternFilter.JNDI) != 0 && match.matches()) {
+                    match = notJndiMatcher.reset(lineStr);
 
-                        if (!match.matches()) {
-                            String type = Domain1109.JNDI.name();
-                            String value = getJndiName(lineStr.trim(), contents);
+                    if (!match.matches()) {
+                        String type = Domain1109.JNDI.name();
+                        String value = getJndiName(lineStr.trim(), source);
 
-                            dataSource = result.getDataSourceList().stream().filter(ds -> type.equals(ds.getType()) && value.equals(ds.getValue())).findAny().orElse(null);
+                        dataSource = dataSources.get(DependencyCheckCollector.getKey(type, value));
 
-                            if (dataSource == null) {
-                                dataSource = new ApplicationAssessmentResult.DataSource();
-                                dataSource.setType(type);
-                                dataSource.setValue(value);
+                        if (dataSource == null) {
+                            dataSource = new ApplicationAssessmentResult.DataSource();
+                            dataSource.setType(type);
+                            dataSource.setValue(value);
 
-                                result.getDataSourceList().add(dataSource);
-                            }
+                            dataSources.put(DependencyCheckCollector.getKey(type, value), dataSource);
+                        }
 
-                            use = new ApplicationAssessmentResult.DataSource.Use();
-                            use.setFileName(fileName);
-                            use.setLine(lineNum);
-                            use.setValue(lineStr.trim());
+                        use = new ApplicationAssessmentResult.DataSource.Use();
+                        use.setFileName(fileName);
+                        use.setLine(lineNum);
+                        use.setValue(lineStr.trim());
 
-                            dataSource.getUses().add(use);
-                        }
+                        dataSource.getUses().add(use);
                     }
                 }
+            }
 
-                // HTTP Pattern 사용 여부
-                isFound = false;
-                match = httpPattern.matcher(lineStr);
-                while (match.find()) {
-                    for (int i = 0; i < match.groupCount(); i++) {
-                        if (match.group(i) != null && match.group(i).contains("://")) {
-                            hardCodedIp = new ApplicationAssessmentResult.HardCodedIp();
-
-                            String url = match.group(i);
-                            if (url.toLowerCase().startsWith("https")) {
-                                hardCodedIp.setProtocol("HTTPS");
-                                hardCodedIp.setPort(443);
-                            } else if (url.toLowerCase().startsWith("wss")) {
-                                hardCodedIp.setProtocol("WSS");
-                                hardCodedIp.setPort(443);
-                            } else if (url.toLowerCase().startsWith("http")) {
-                                hardCodedIp.setProtocol("HTTP");
-                                hardCodedIp.setPort(80);
-                            } else if (url.toLowerCase().startsWith("ws")) {
-                                hardCodedIp.setProtocol("WS");
-                                hardCodedIp.setPort(80);
-                            }
-
-                            url = url.substring(url.indexOf("://") + 3);
-
-                            String[] ipPort = url.split(":");
-
-                            boolean isExcluded = false;
-                            for (String excludeDomain : excludeDomains) {
-                                if (ipPort[0].contains(excludeDomain)) {
-                                    isExcluded = true;
-                                    break;
-                                }
-                            }
-
-                            if (isExcluded) {
-                                continue;
-                            }
+            // HTTP Pattern 사용 여부
+            isFound = false;
+            match = httpMatcher.reset(lineStr);
+            while ((candidates & DependencyPatternFilter.HTTP) != 0 && match.find()) {
+                for (int i = 0; i < match.groupCount(); i++) {
+                    if (match.group(i) != null && match.group(i).contains("://")) {
+                        hardCodedIp = new ApplicationAssessmentResult.HardCodedIp();
+
+                        String url = match.group(i);
+                        if (url.toLowerCase().startsWith("https")) {
+                            hardCodedIp.setProtocol("HTTPS");
+                            hardCodedIp.setPort(443);
+                        } else if (url.toLowerCase().startsWith("wss")) {
+                            hardCodedIp.setProtocol("WSS");
+                            hardCodedIp.setPort(443);
+                        } else if (url.toLowerCase().startsWith("http")) {
+                            hardCodedIp.setProtocol("HTTP");
+                            hardCodedIp.setPort(80);
+                        } else if (url.toLowerCase().startsWith("ws")) {
+                            hardCodedIp.setProtocol("WS");
+                            hardCodedIp.setPort(80);
+                        }
 
-                            hardCodedIp.setFileName(fileName);
-                            hardCodedIp.setLineNum(lineNum);
-                            hardCodedIp.setIpAddress(ipPort[0]);
-                            if (ipPort.length > 1 && StringUtils.isNotEmpty(ipPort[1]) && NumberUtils.isDigits(ipPort[1])) {
-                                hardCodedIp.setPort(Integer.parseInt(ipPort[1]));
-                            }
+                        url = url.substring(url.indexOf("://") + 3);
 
-                            if (!isFound) {
-                                point = new ApplicationAssessmentResult.Check.Point();
-                                point.setLine(lineNum);
-                                point.setValue(lineStr.trim());
-                                check.getIpPatterns().add(point);
+                        String[] ipPort = url.split(":");
 
-                                isFound = true;
+                        boolean isExcluded = false;
+                        for (String excludeDomain : excludeDomains) {
+                            if (ipPort[0].contains(excludeDomain)) {
+                                isExcluded = true;
+                                break;
                             }
-
-                            result.getHardCodedIpList().add(hardCodedIp);
                         }
-                    }
-                }
-
-                // IP Pattern 사용 여부
-                isFound = false;
-                match = ipPattern.matcher(lineStr);
-                if (match.matches()) {
-                    match = notIpPattern.matcher(lineStr);
-
-                    if (!match.matches()) {
-                        portMatcher = ipPortPattern.matcher(lineStr);
-                        while (portMatcher.find()) {
-                            for (int i = 0; i < portMatcher.groupCount(); i++) {
-                                String connection = portMatcher.group(i);
-
-                                if (StringUtils.isNotEmpty(connection)) {
-                                    String[] ipPort = connection.split(":");
-                                    if (StringUtils.isNotEmpty(ipPort[0])) {
-                                        boolean isExcluded = false;
-                                        for (String excludeDomain : excludeDomains) {
-                                            if (ipPort[0].contains(excludeDomain)) {
-                                                isExcluded = true;
-                                                break;
-                                            }
-                                        }
 
-                                        if (isExcluded) {
-                                            continue;
-                                        }
-
-                                        hardCodedIp = new ApplicationAssessmentResult.HardCodedIp();
-                                        hardCodedIp.setFileName(fileName);
-                                        hardCodedIp.setLineNum(lineNum);
-                                        hardCodedIp.setIpAddress(ipPort[0]);
-                                        if (ipPort.length > 1 && StringUtils.isNotEmpty(ipPort[1]) && NumberUtils.isDigits(ipPort[1])) {
-                                            hardCodedIp.setPort(Integer.parseInt(ipPort[1]));
-                                            hardCodedIp.setProtocol(WellKnownPortUtil.getType("TCP", Integer.parseInt(ipPort[1]), null));
-                                        }
+                        if (isExcluded) {
+                            continue;
+                        }
 
-                                        if (!isFound) {
-                                            point = new ApplicationAssessmentResult.Check.Point();
-                                            point.setLine(lineNum);
-                                            point.setValue(lineStr.trim());
-                                            check.getIpPatterns().add(point);
+                        hardCodedIp.setFileName(fileName);
+                        hardCodedIp.setLineNum(lineNum);
+                        hardCodedIp.setIpAddress(ipPort[0]);
+                        if (ipPort.length > 1 && StringUtils.isNotEmpty(ipPort[1]) && NumberUtils.isDigits(ipPort[1])) {
+                            hardCodedIp.setPort(Integer.parseInt(ipPort[1]));
+                        }
 
-                                            isFound = true;
-                                        }
+                        if (!isFound) {
+                            point = new ApplicationAssessmentResult.Check.Point();
+                            point.setLine(lineNum);
+                            point.setValue(lineStr.trim());
+                            check.getIpPatterns().add(point);
 
-                                        result.getHardCodedIpList().add(hardCodedIp);
-                                    }
-                                }
-                            }
+                            isFound = true;
                         }
+
+                        hardCodedIps.add(hardCodedIp);
                     }
                 }
+            }
 
-                if (lineStr.contains("localhost") && !excludeDomains.contains("localhost")) {
-                    point = new ApplicationAssessmentResult.Check.Point();
-                    point.setLine(lineNum);
-                    point.setValue(lineStr.trim());
-                    check.getIpPatterns().add(point);
+            // IP Pattern 사용 여부
+            isFound = false;
+            match = ipMatcher.reset(lineStr);
+            if ((candidates & DependencyPatternFilter.IP) != 0 && match.matches()) {
+                match = notIpMatcher.reset(lineStr);
 
-                    portMatcher = localhostPortPattern.matcher(lineStr);
+                if (!match.matches()) {
+                    portMatcher = ipPortMatcher.reset(lineStr);
                     while (portMatcher.find()) {
                         for (int i = 0; i < portMatcher.groupCount(); i++) {
                             String connection = portMatcher.group(i);
 
                             if (StringUtils.isNotEmpty(connection)) {
                                 String[] ipPort = connection.split(":");
-
                                 if (StringUtils.isNotEmpty(ipPort[0])) {
+                                    boolean isExcluded = false;
+                                    for (String excludeDomain : excludeDomains) {
+                                        if (ipPort[0].contains(excludeDomain)) {
+                                            isExcluded = true;
+                                            break;
+                                        }
+                                    }
+
+                                    if (isExcluded) {
+                                        continue;
+                                    }
+
                                     hardCodedIp = new ApplicationAssessmentResult.HardCodedIp();
                                     hardCodedIp.setFileName(fileName);
                                     hardCodedIp.setLineNum(lineNum);
@@ -466,41 +486,84 @@ public class DependencyCheckTask extends BaseTask {
                                         hardCodedIp.setProtocol(WellKnownPortUtil.getType("TCP", Integer.parseInt(ipPort[1]), null));
                                     }
 
-                                    result.getHardCodedIpList().add(hardCodedIp);
+                                    if (!isFound) {
+                                        point = new ApplicationAssessmentResult.Check.Point();
+                                        point.setLine(lineNum);
+                                        point.setValue(lineStr.trim());
+                                        check.getIpPatterns().add(point);
+
+                                        isFound = true;
+                                    }
+
+                                    hardCodedIps.add(hardCodedIp);
                                 }
                             }
                         }
                     }
                 }
+            }
 
-                // 사용자 정의 의존성 사용 여부
-                if (etcPattern != null) {
-                    match = etcPattern.matcher(lineStr);
-                    if (match.matches()) {
-                        point = new ApplicationAssessmentResult.Check.Point();
-                        point.setLine(lineNum);
-                        point.setValue(lineStr.trim());
-                        check.getCustomPatterns().add(point);
+            if ((candidates & DependencyPatternFilter.LOCALHOST) != 0 && !excludeDomains.contains("localhost")) {
+                point = new ApplicationAssessmentResult.Check.Point();
+                point.setLine(lineNum);
+                point.setValue(lineStr.trim());
+                check.getIpPatterns().add(point);
+
+                portMatcher = localhostPortMatcher.reset(lineStr);
+                while (portMatcher.find()) {
+                    for (int i = 0; i < portMatcher.groupCount(); i++) {
+                        String connection = portMatcher.group(i);
+
+                        if (StringUtils.isNotEmpty(connection)) {
+                            String[] ipPort = connection.split(":");
+
+                            if (StringUtils.isNotEmpty(ipPort[0])) {
+                                hardCodedIp = new ApplicationAssessmentResult.HardCodedIp();
+                                hardCodedIp.setFileName(fileName);
+                                hardCodedIp.setLineNum(lineNum);
+                                hardCodedIp.setIpAddress(ipPort[0]);
+                                if (ipPort.length > 1 && StringUtils.isNotEmpty(ipPort[1]) && NumberUtils.isDigits(ipPort[1])) {
+                                    hardCodedIp.setPort(Integer.parseInt(ipPort[1]));
+                                    hardCodedIp.setProtocol(WellKnownPortUtil.getType("TCP", Integer.parseInt(ipPort[1]), null));
+                                }
+
+                                hardCodedIps.add(hardCodedIp);
+                            }
+                        }
                     }
                 }
+            }
 
-                lineNum++;
+            // 사용자 정의 의존성 사용 여부
+            if (etcMatcher != null && (candidates & DependencyPatternFilter.CUSTOM) != 0) {
+                match = etcMatcher.reset(lineStr);
+                if (match.matches()) {
+                    point = new ApplicationAssessmentResult.Check.Point();
+                    point.setLine(lineNum);
+                    point.setValue(lineStr.trim());
+                    check.getCustomPatterns().add(point);
+                }
             }
+
+            lineNum++;
         }
 
         if (check.getApiUsages().size() > 0 || check.getServletExtends().size() > 0 || check.getIpPatterns().size() > 0 || check.getCustomPatterns().size() > 0) {
             check.setFileName(fileName);
-            result.getCheckList().add(check);
+        } else {
+            check = null;
         }
+
+        collector.add(check, dataSources.values(), hardCodedIps);
     }
 
     /**
      * @param name
-     * @param contents
+     * @param source
      * @return
      * @throws IOException
      */
-    private String getJndiName(String name, String contents) throws IOException {
+    private String getJndiName(String name, LineSource source) throws IOException {
         try {
             if (name.contains("property") && name.contains("name") && name.contains("value")) {
                 // <property name="jndiName" value="jdbc/roroDS"/>
@@ -529,7 +592,7 @@ public class DependencyCheckTask extends BaseTask {
                 } else {
                     // 변수로 지정된 JNDI Name인 경우 바인딩 된 값을 조회
                     if (StringUtils.isNotEmpty(name)) {
-                        try (BufferedReader buffer = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(contents.getBytes())))) {
+                        try (LineReader buffer = source.open()) {
                             Pattern pattern = Pattern.compile("(.*String.*" + name + ".*=.*)");
 
                             String lineStr;
@@ -610,5 +673,65 @@ public class DependencyCheckTask extends BaseTask {
 
         return jdbcProperties;
     }
+
+    /**
+     * 검사할 내용을 처음부터 읽기 위한 LineReader 를 생성한다.
+     */
+    @FunctionalInterface
+    private interface LineSource {
+        LineReader open() throws IOException;
+    }
+
+    /**
+     * 문자열 또는 Reader 를 BufferedReader.readLine() 과 같은 기준(\n, \r, \r\n)으로 line 단위로 읽는다.
+     * 문자열인 경우 byte 로 변환하여 다시 읽지 않기 위해 직접 나눈다.
+     */
+    private static class LineReader implements Closeable {
+        private final String contents;
+        private final BufferedReader reader;
+        private int position;
+
+        private LineReader(String contents) {
+            this.contents = contents;
+            this.reader = null;
+        }
+
+        private LineReader(BufferedReader reader) {
+            this.contents = null;
+            this.reader = reader;
+        }
+
+        private String readLine() throws IOException {
+            if (reader != null) {
+                return reader.readLine();
+            }
+
+            int length = contents.length();
+            if (position >= length) {
+                return null;
+            }
+
+            int end = position;
+            while (end < length && contents.charAt(end) != '\n' && contents.charAt(end) != '\r') {
+                end++;
+            }
+
+            String line = contents.substring(position, end);
+
+            if (end < length - 1 && contents.charAt(end) == '\r' && contents.charAt(end + 1) == '\n') {
+                end++;
+            }
+            position = end + 1;
+
+            return line;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
 }
 //end of DependencyCheckTask.java
\ No newline at end of file
@@ -46,21 +46,21 @@ public class DeprecatedScanTask extends BaseTask {
 
     private Integer version;
     private File assessmentFile;
-    private ApplicationAssessmentResult applicationAssessmentResult;
+    private DependencyCheckCollector collector;
 
     /**
      * Instantiates a new Deprecated scan task.
      *
-     * @param version                     the version
-     * @param assessmentFile              the assessment file
-     * @param applicationAssessmentResult the application assessment result
+     * @param version        the version
+     * @param assessmentFile the assessment file
+     * @param collector      the collector
      */
-    public DeprecatedScanTask(Integer version, File assessmentFile, ApplicationAssessmentResult applicationAssessmentResult) {
+    public DeprecatedScanTask(Integer version, File assessmentFile, DependencyCheckCollector collector) {
         super(assessmentFile.getAbsoluteFile() + " Deprecated API Scan Task");
 
         this.version = version;
         this.assessmentFile = assessmentFile;
-        this.applicationAssessmentResult = applicationAssessmentResult;
+        this.collector = collector;
 
         log.debug("[{}, {}] Deprecated Scan Task has been started.", assessmentFile.getAbsolutePath(), version);
     }
@@ -160,7 +160,7 @@ public class DeprecatedScanTask extends BaseTask {
             }
 
             if (deprecated.getUses().size() > 0) {
-                applicationAssessmentResult.getDeprecatedList().add(deprecated);
+                collector.addDeprecated(deprecated);
             }
         } catch (Exception e) {
             log.error("Exception occurred while execute DeprecatedScanTask.parse().", e);
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.java.analyzer;
+
+import io.playce.roro.app.asmt.ApplicationScanConfig;
+import io.playce.roro.app.asmt.java.policy.Policy;
+import io.playce.roro.app.asmt.result.ApplicationAssessmentResult;
+import io.playce.roro.app.asmt.util.ApplicationFileUtil;
+import io.playce.roro.common.util.JsonUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * EAR 파일을 disk 에 압축 해제하여 분석한 결과와 압축을 해제하면서(streaming) 분석한 결과가 같은지 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class ApplicationAnalyzerTest {
+
+    private static final String CUSTOM_PATTERN = "ROROTEST";
+    private static final List<String> MODULES = Arrays.asList("app.war", "client.jar");
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void streamingGivesSameResult() throws Exception {
+        File ear = createEar(new File(tempDir, "sample.ear"));
+
+        ApplicationAssessmentResult extracted = analyze(ear, new File(tempDir, "extracted"), false);
+        ApplicationAssessmentResult streamed = analyze(ear, new File(tempDir, "streamed"), true);
+
+        assertFalse(extracted.getCheckList().isEmpty());
+        assertFalse(extracted.getDataSourceList().isEmpty());
+        assertFalse(extracted.getHardCodedIpList().isEmpty());
+
+        assertEquals(JsonUtil.objToJson(extracted.getCheckList()), JsonUtil.objToJson(streamed.getCheckList()));
+        assertEquals(JsonUtil.objToJson(extracted.getDataSourceList()), JsonUtil.objToJson(streamed.getDataSourceList()));
+        assertEquals(JsonUtil.objToJson(extracted.getHardCodedIpList()), JsonUtil.objToJson(streamed.getHardCodedIpList()));
+    }
+
+    @Test
+    void moduleEntriesAreReportedInsideTheModule() throws Exception {
+        File ear = createEar(new File(tempDir, "sample.ear"));
+
+        ApplicationAssessmentResult streamed = analyze(ear, new File(tempDir, "streamed"), true);
+
+        // module 의 entry 는 {module}!/{entry} 로 표시된다.
+        List<String> checkFiles = streamed.getCheckList().stream()
+                .map(ApplicationAssessmentResult.Check::getFileName)
+                .collect(Collectors.toList());
+        assertTrue(checkFiles.contains("app.war!" + File.separator + "index.jsp"), checkFiles.toString());
+        assertTrue(checkFiles.contains("client.jar!" + File.separator + "config" + File.separator + "server.xml"), checkFiles.toString());
+
+        ApplicationAssessmentResult.DataSource dataSource = streamed.getDataSourceList().get(0);
+        assertEquals("app.war!" + File.separator + "WEB-INF" + File.separator + "classes" + File.separator + "jdbc.properties",
+                dataSource.getUses().get(0).getFileName());
+
+        // 검사 대상 텍스트 파일은 disk 에 기록되지 않는다.
+        assertFalse(new File(tempDir, "streamed/app.war_roro/index.jsp").exists());
+        assertFalse(new File(tempDir, "streamed/META-INF/application.xml").exists());
+        assertFalse(new File(tempDir, "streamed/app.war").exists());
+    }
+
+    /**
+     * JavaAssessment 와 같은 순서로 압축을 해제하고 분석한다.
+     */
+    private static ApplicationAssessmentResult analyze(File ear, File assessmentDir, boolean streaming) throws Exception {
+        assertTrue(assessmentDir.mkdirs());
+        String dir = assessmentDir.getAbsolutePath();
+
+        ApplicationAssessmentResult result = new ApplicationAssessmentResult();
+        result.setApplicationDir(dir);
+        result.setAssessmentDir(dir);
+
+        ApplicationAnalyzer analyzer = new ApplicationAnalyzer(new Policy(Collections.singletonList(CUSTOM_PATTERN)), result, dir, config());
+
+        if (streaming) {
+            ApplicationFileUtil.unzip(ear.getAbsolutePath(), dir, result, analyzer.getArchiveEntryHandler());
+        } else {
+            ApplicationFileUtil.unzip(ear.getAbsolutePath(), dir, result);
+
+            // discover 와 같이 application.xml 의 module 은 {module}_roro 디렉토리에 압축을 해제한다.
+            for (String module : MODULES) {
+                String path = new File(assessmentDir, module).getAbsolutePath();
+                ApplicationFileUtil.unzip(path, path + "_roro", result);
+            }
+        }
+
+        analyzer.analyze(dir);
+
+        return result;
+    }
+
+    private static ApplicationScanConfig config() {
+        ApplicationScanConfig config = new ApplicationScanConfig() {
+            @Override
+            public List<String> getFileExtensions() {
+                return Arrays.asList("java", "jsp", "properties", "xml");
+            }
+
+            @Override
+            public List<String> getExcludeDomains() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public Pattern getExcludeFilePattern() {
+                return Pattern.compile("(.*\\.min\\.js)");
+            }
+        };
+        config.getClassAnalysis().setCacheEnabled(false);
+
+        return config;
+    }
+
+    private static File createEar(File ear) throws IOException {
+        byte[] war = zip(
+                "WEB-INF/web.xml", "<web-app><display-name>sample</display-name></web-app>",
+                "WEB-INF/classes/jdbc.properties", "url=jdbc:oracle:thin:@192.168.10.20:1521:ORCL\nuser=roro\n",
+                "index.jsp", "<%-- 주문 API --%>\n<a href=\"http://10.20.30.40:8080/api\">api</a>\n",
+                "WEB-INF/src/HelloServlet.java", "import javax.naming.InitialContext;\n\n" +
+                        "public class HelloServlet extends HttpServlet {\n" +
+                        "    private String host = \"172.16.0.5:9000\"; // " + CUSTOM_PATTERN + "\n" +
+                        "}\n");
+        byte[] client = zip(
+                "META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n",
+                "config/server.xml", "<server>\n    <host>10.1.1.1:7001</host>\n</server>\n");
+
+        Files.write(ear.toPath(), zip(
+                "META-INF/application.xml", "<application>\n" +
+                        "    <module><web><web-uri>app.war</web-uri><context-root>/app</context-root></web></module>\n" +
+                        "    <module><java>client.jar</java></module>\n" +
+                        "</application>\n",
+                "app.war", war,
+                "client.jar", client));
+
+        return ear;
+    }
+
+    /**
+     * entry 이름과 내용(String 또는 byte[])을 번갈아 받아 zip 파일 내용을 생성한다.
+     */
+    private static byte[] zip(Object... entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                Object contents = entries[i + 1];
+
+                zos.putNextEntry(new ZipEntry((String) entries[i]));
+                zos.write(contents instanceof byte[] ? (byte[]) contents : ((String) contents).getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+
+        return out.toByteArray();
+    }
+}
+//end of ApplicationAnalyzerTest.java
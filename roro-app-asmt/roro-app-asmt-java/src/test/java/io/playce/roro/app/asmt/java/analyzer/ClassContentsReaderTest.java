@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.java.analyzer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * class cache 디렉토리의 삭제 기준을 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class ClassContentsReaderTest {
+
+    @Test
+    void pruneExpiredFiles(@TempDir Path dir) throws IOException {
+        long now = System.currentTimeMillis();
+        File old = createFile(dir, "bytecode-0/aa/old.gz", 10, now - TimeUnit.DAYS.toMillis(40));
+        File recent = createFile(dir, "bytecode-1/bb/recent.gz", 10, now - TimeUnit.DAYS.toMillis(1));
+
+        ClassContentsReader.prune(dir.toFile(), 0, 30);
+
+        assertFalse(old.exists());
+        assertTrue(recent.exists());
+    }
+
+    @Test
+    void pruneLeastRecentlyUsedFilesOverMaxSize(@TempDir Path dir) throws IOException {
+        long now = System.currentTimeMillis();
+        File first = createFile(dir, "bytecode-1/aa/first.gz", 100, now - 3000);
+        File second = createFile(dir, "bytecode-1/bb/second.gz", 100, now - 2000);
+        File third = createFile(dir, "decompile/cc/third.gz", 100, now - 1000);
+
+        ClassContentsReader.prune(dir.toFile(), 250, 0);
+
+        assertFalse(first.exists());
+        assertTrue(second.exists());
+        assertTrue(third.exists());
+    }
+
+    @Test
+    void pruneOncePerInterval(@TempDir Path dir) throws IOException {
+        long now = System.currentTimeMillis();
+        createFile(dir, "bytecode-1/aa/first.gz", 100, now - 2000);
+        ClassContentsReader.prune(dir.toFile(), 50, 0);
+
+        File added = createFile(dir, "bytecode-1/bb/second.gz", 100, now - 1000);
+        ClassContentsReader.prune(dir.toFile(), 50, 0);
+
+        assertTrue(added.exists());
+    }
+
+    @Test
+    void readUsesCache(@TempDir Path dir) throws IOException {
+        File classFile = dir.resolve("Sample.class").toFile();
+        Files.write(classFile.toPath(), Files.readAllBytes(classFile(ClassContentsReaderTest.class).toPath()));
+
+        File cacheDir = dir.resolve("class-cache").toFile();
+        String contents = new ClassContentsReader(ClassContentsReader.MODE_BYTECODE, cacheDir).read(classFile);
+
+        File versionDir = new File(cacheDir, ClassContentsReader.MODE_BYTECODE + "-" + ClassFileAnalyzer.VERSION);
+        try (Stream<Path> files = Files.walk(versionDir.toPath())) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+
+        assertEquals(contents, new ClassContentsReader(ClassContentsReader.MODE_BYTECODE, cacheDir).read(classFile));
+    }
+
+    private static File classFile(Class<?> clazz) {
+        try {
+            return new File(clazz.getResource(clazz.getSimpleName() + ".class").toURI());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static File createFile(Path dir, String name, int size, long lastModified) throws IOException {
+        File file = dir.resolve(name).toFile();
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), new byte[size]);
+        assertTrue(file.setLastModified(lastModified));
+        return file;
+    }
+}
+//end of ClassContentsReaderTest.java
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.java.analyzer;
+
+import org.junit.jupiter.api.Test;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * 작은 fixture 를 compile 한 class 파일로 ClassFileAnalyzer 가 생성하는 문자열을 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class ClassFileAnalyzerTest {
+
+    private static final String HTTP_SERVLET = "package javax.servlet.http;\n" +
+            "public abstract class HttpServlet {}\n";
+
+    private static final String CONTROLLER = "package org.springframework.stereotype;\n" +
+            "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n" +
+            "public @interface Controller { String value() default \"\"; }\n";
+
+    @Test
+    void servletWithJdbcUrlAndDataSourceLookup() throws IOException {
+        String source = "package fixture;\n" +
+                "import javax.naming.Context;\n" +
+                "import javax.naming.NamingException;\n" +
+                "import javax.sql.DataSource;\n" +
+                "public class SampleServlet extends javax.servlet.http.HttpServlet {\n" +
+                "    private static final String URL = \"jdbc:oracle:thin:@192.168.0.1:1521:orcl\";\n" +
+                "    public DataSource getDataSource(Context ctx) throws NamingException {\n" +
+                "        return (DataSource) ctx.lookup(\"jdbc/x\");\n" +
+                "    }\n" +
+                "}\n";
+
+        List<String> lines = analyze("fixture.SampleServlet", source, HTTP_SERVLET);
+
+        assertEquals("package fixture;", lines.get(0));
+        assertTrue(lines.contains("import javax.naming.Context;"), lines.toString());
+        assertTrue(lines.contains("import javax.sql.DataSource;"), lines.toString());
+        assertTrue(lines.contains("import javax.servlet.http.HttpServlet;"), lines.toString());
+        assertTrue(lines.contains("public class fixture.SampleServlet extends javax.servlet.http.HttpServlet {"), lines.toString());
+        assertTrue(lines.contains("    DataSource = javax.naming.Context.lookup(\"jdbc/x\")"), lines.toString());
+        assertTrue(lines.contains("    \"jdbc:oracle:thin:@192.168.0.1:1521:orcl\""), lines.toString());
+        assertTrue(lines.contains("    \"jdbc/x\""), lines.toString());
+        assertFalse(lines.contains("import fixture.SampleServlet;"), lines.toString());
+        assertEquals("}", lines.get(lines.size() - 1));
+    }
+
+    @Test
+    void controllerAnnotation() throws IOException {
+        String source = "package fixture;\n" +
+                "import org.springframework.stereotype.Controller;\n" +
+                "@Controller(\"sample\")\n" +
+                "public class SampleController implements java.io.Serializable {\n" +
+                "}\n";
+
+        List<String> lines = analyze("fixture.SampleController", source, CONTROLLER);
+
+        assertTrue(lines.contains("import org.springframework.stereotype.Controller;"), lines.toString());
+        assertTrue(lines.contains("@Controller(value = \"sample\")"), lines.toString());
+        assertTrue(lines.contains("public class fixture.SampleController implements java.io.Serializable {"), lines.toString());
+    }
+
+    @Test
+    void switchInstructionsDoNotBreakCodeScan() throws IOException {
+        String source = "package fixture;\n" +
+                "import javax.naming.Context;\n" +
+                "import javax.naming.NamingException;\n" +
+                "public class Switches {\n" +
+                "    public Object find(Context ctx, int x) throws NamingException {\n" +
+                "        int y;\n" +
+                "        switch (x) { case 1: y = 10; break; case 2: y = 20; break; case 3: y = 30; break; case 4: y = 40; break; default: y = 0; }\n" +
+                "        switch (x) { case 1: y += 1; break; case 1000: y += 2; break; case 100000: y += 3; break; default: y += 4; }\n" +
+                "        return y > 0 ? ctx.lookup(\"jdbc/switch\") : null;\n" +
+                "    }\n" +
+                "    public Object find2(Context ctx, int x) throws NamingException {\n" +
+                "        switch (x) { case -1: case 0: case 1: case 2: x++; }\n" +
+                "        switch (x) { case 7: case 7000: x--; }\n" +
+                "        return ctx.lookup(\"jdbc/switch2\");\n" +
+                "    }\n" +
+                "}\n";
+
+        byte[] bytes = compile(source).get("fixture.Switches");
+        assertTrue(containsOpcode(bytes, 0xaa), "tableswitch expected");
+        assertTrue(containsOpcode(bytes, 0xab), "lookupswitch expected");
+
+        List<String> lines = toLines(ClassFileAnalyzer.analyze(bytes));
+
+        assertTrue(lines.contains("    javax.naming.Context.lookup(\"jdbc/switch\")"), lines.toString());
+        assertTrue(lines.contains("    javax.naming.Context.lookup(\"jdbc/switch2\")"), lines.toString());
+    }
+
+    @Test
+    void wideInstructionsDoNotBreakCodeScan() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            body.append("        int v").append(i).append(" = ").append(i).append(";\n");
+        }
+        // 256 번째 이후의 local 변수는 wide iinc, wide iload 로 접근한다.
+        body.append("        v299 += 1000;\n");
+        body.append("        int z = v299 + v280;\n");
+
+        String source = "package fixture;\n" +
+                "import javax.naming.Context;\n" +
+                "import javax.naming.NamingException;\n" +
+                "public class Wide {\n" +
+                "    public Object find(Context ctx) throws NamingException {\n" +
+                body +
+                "        return z > 0 ? ctx.lookup(\"jdbc/wide\") : null;\n" +
+                "    }\n" +
+                "}\n";
+
+        List<String> lines = analyze("fixture.Wide", source);
+
+        assertTrue(lines.contains("    javax.naming.Context.lookup(\"jdbc/wide\")"), lines.toString());
+    }
+
+    @Test
+    void longAndDoubleConstantsTakeTwoSlots() throws IOException {
+        String source = "package fixture;\n" +
+                "public class Constants {\n" +
+                "    public long first() { return 123456789012L; }\n" +
+                "    public double second() { return 3.14159265358979; }\n" +
+                "    public String url() { return \"http://192.168.0.10:8080/api\"; }\n" +
+                "    public long third() { return 987654321098L; }\n" +
+                "    public String host() { return \"10.0.0.1\"; }\n" +
+                "    public javax.naming.Context context(javax.naming.Context ctx) throws javax.naming.NamingException {\n" +
+                "        double d = 2.718281828459045;\n" +
+                "        return d > 0 ? (javax.naming.Context) ctx.lookup(\"java:comp/env\") : null;\n" +
+                "    }\n" +
+                "}\n";
+
+        List<String> lines = analyze("fixture.Constants", source);
+
+        assertTrue(lines.contains("    \"http://192.168.0.10:8080/api\""), lines.toString());
+        assertTrue(lines.contains("    \"10.0.0.1\""), lines.toString());
+        assertTrue(lines.contains("    javax.naming.Context.lookup(\"java:comp/env\")"), lines.toString());
+    }
+
+    @Test
+    void invalidMagic() {
+        assertThrows(IOException.class, () -> ClassFileAnalyzer.analyze("not a class file".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void truncatedClassFile() throws IOException {
+        byte[] bytes = compile("package fixture;\npublic class Truncated { String s = \"value\"; }\n").get("fixture.Truncated");
+
+        assertThrows(IOException.class, () -> ClassFileAnalyzer.analyze(Arrays.copyOf(bytes, bytes.length / 2)));
+    }
+
+    @Test
+    void nonUtf8DescriptorIndex() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(52);
+
+        out.writeShort(4);
+        // #1 Utf8 "A"
+        out.writeByte(1);
+        out.writeUTF("A");
+        // #2 Class #1
+        out.writeByte(7);
+        out.writeShort(1);
+        // #3 NameAndType #1, #2 (descriptor 가 UTF8 이 아닌 Class 를 가리킨다.)
+        out.writeByte(12);
+        out.writeShort(1);
+        out.writeShort(2);
+
+        out.writeShort(0x0021);
+        out.writeShort(2);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(0);
+
+        assertThrows(IOException.class, () -> ClassFileAnalyzer.analyze(bytes.toByteArray()));
+    }
+
+    @Test
+    void nonUtf8ClassNameIndex() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(52);
+
+        out.writeShort(3);
+        // #1 Class #2, #2 Class #1
+        out.writeByte(7);
+        out.writeShort(2);
+        out.writeByte(7);
+        out.writeShort(1);
+
+        out.writeShort(0x0021);
+        out.writeShort(1);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(0);
+
+        assertThrows(IOException.class, () -> ClassFileAnalyzer.analyze(bytes.toByteArray()));
+    }
+
+    private static List<String> analyze(String className, String... sources) throws IOException {
+        byte[] bytes = compile(sources).get(className);
+        assertNotNull(bytes, className + " is not compiled.");
+
+        return toLines(ClassFileAnalyzer.analyze(bytes));
+    }
+
+    private static List<String> toLines(String contents) {
+        return new ArrayList<>(Arrays.asList(contents.split("\n")));
+    }
+
+    /**
+     * 메소드의 Code 를 분석하지 않고 opcode 가 포함되어 있는지만 대략 확인한다.
+     */
+    private static boolean containsOpcode(byte[] bytes, int opcode) {
+        for (byte b : bytes) {
+            if ((b & 0xFF) == opcode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, byte[]> compile(String... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Map<String, ByteArrayOutputStream> outputs = new HashMap<>();
+
+        List<JavaFileObject> units = new ArrayList<>();
+        for (String source : sources) {
+            String pkg = source.substring("package ".length(), source.indexOf(';'));
+            int start = source.indexOf(source.contains("@interface ") ? "@interface " : source.contains(" class ") ? " class " : "interface ");
+            String name = source.substring(start).trim().split("\\s+")[1];
+
+            units.add(new SimpleJavaFileObject(URI.create("string:///" + pkg.replace('.', '/') + "/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            });
+        }
+
+        JavaFileManager fileManager = new ForwardingJavaFileManager<JavaFileManager>(compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+                return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        ByteArrayOutputStream output = new ByteArrayOutputStream();
+                        outputs.put(className, output);
+                        return output;
+                    }
+                };
+            }
+        };
+
+        assertTrue(compiler.getTask(null, fileManager, null, Arrays.asList("-g", "-proc:none"), null, units).call(), "Fixture compile failed.");
+
+        Map<String, byte[]> classes = new HashMap<>();
+        outputs.forEach((name, output) -> classes.put(name, output.toByteArray()));
+        return classes;
+    }
+}
+//end of ClassFileAnalyzerTest.java
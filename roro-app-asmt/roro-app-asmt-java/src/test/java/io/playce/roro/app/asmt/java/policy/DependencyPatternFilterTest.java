@@ -0,0 +1,232 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.java.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * DependencyPatternFilter 가 후보에서 제외한 pattern 은 Policy 의 정규식과도 일치하지 않는지 확인한다.
+ *
+ * DependencyCheckTask 와 같은 방법(API, SERVLET, JDBC, JNDI, IP, CUSTOM 은 matches(), HTTP 는 find(), LOCALHOST 는 contains())으로
+ * 정규식을 적용하며, 정규식이 일치하는 line 은 반드시 해당 bit 가 후보에 포함되어야 한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class DependencyPatternFilterTest {
+
+    private static final List<String> LINES = Arrays.asList(
+            "",
+            "    ",
+            "public class Foo {",
+            "import javax.ejb.Stateless;",
+            "import javax.naming.InitialContext;",
+            "import java.sql.Connection;",
+            "weblogic.jndi.WLInitialContextFactory",
+            "jeus.jndi.JNSContextFactory",
+            "import javax.ejbx.Foo;",
+            "public class MyServlet extends HttpServlet {",
+            "public class MyServlet extends javax.servlet.http.HttpServlet {",
+            "@Controller",
+            "@RestController(\"/api\")",
+            "url=jdbc:oracle:thin:@10.0.0.1:1521:ORCL",
+            "<jdbc:embedded-database id=\"ds\"/>",
+            "JDBC:ORACLE:THIN:@db:1521:ORCL",
+            "DataSource ds = (DataSource) ctx.lookup(\"java:comp/env/jdbc/ds\");",
+            "DataSource ds = lookup(\"java:comp/env/jdbc/ds\");",
+            "ds = (javax.sql.DataSource) ctx.lookup(\"jdbc/ds\");",
+            "<property name=\"dataSource\" jndiName=\"jdbc/ds\" value=\"x\"/>",
+            "<property name=\"dataSource\" jndiName=\"jdbc/ds\"/>",
+            "name value jndiName",
+            "DataSource ds = factory.getDataSource(\"ds\");",
+            "DataSource ds = factory.getDataSource();",
+            "String url = \"http://www.example.com:8080/index.jsp\";",
+            "String url = \"https://example.com\";",
+            "ws://example.com/socket wss://example.com:8443/socket",
+            "HTTP://EXAMPLE.COM",
+            "ftp://example.com/file",
+            "http://localhost:8080",
+            "host=localhost:8080",
+            "host=LOCALHOST:8080",
+            "host=192.168.0.1",
+            "host=192.168.0.1:8080",
+            "host=10.0.0.256",
+            "version 1.2.3",
+            "version 1.2.3.4.5",
+            "1234567.10.0.0.1",
+            "10.0.0.1234",
+            "10.0.0.1234.5",
+            "99999.99999.99999.99999",
+            "0.0.0.0",
+            "1.2.3.",
+            "1..2.3.4",
+            "a1.2.3.4b",
+            "x.1.2.3.4",
+            "3.14159",
+            "// 한글 주석 192.168.10.20 jdbc:mysql://db:3306/roro"
+    );
+
+    @Test
+    void candidatesIncludeEveryMatchingPattern() {
+        assertCandidates(new Policy(new ArrayList<>()), LINES);
+    }
+
+    @Test
+    void ipWithLongDigitRuns() {
+        Policy policy = new Policy(new ArrayList<>());
+        DependencyPatternFilter filter = policy.getPatternFilter();
+
+        // 정규식은 긴 숫자의 뒷부분부터 일치할 수 있으므로 후보에 포함되어야 한다.
+        assertTrue(policy.getIpPattern().matcher("1234567.10.0.0.1").matches());
+        assertTrue((filter.getCandidates("1234567.10.0.0.1") & DependencyPatternFilter.IP) != 0);
+        assertTrue((filter.getCandidates("ip=1921680.1.1.1:80") & DependencyPatternFilter.IP) != 0);
+
+        // "." 로 연결된 숫자 그룹이 4개 미만이면 후보가 아니다.
+        assertEquals(0, filter.getCandidates("version 1.2.3") & DependencyPatternFilter.IP);
+        assertEquals(0, filter.getCandidates("1.2.3.") & DependencyPatternFilter.IP);
+        assertEquals(0, filter.getCandidates("1..2.3") & DependencyPatternFilter.IP);
+
+        assertCandidates(policy, Arrays.asList("1234567.10.0.0.1", "10.0.0.1234", "ip=1921680.1.1.1:80", "00000001.2.3.4444444"));
+    }
+
+    @Test
+    void hasDottedNumbers() {
+        assertTrue(DependencyPatternFilter.hasDottedNumbers("1.2.3.4"));
+        assertTrue(DependencyPatternFilter.hasDottedNumbers("a 123456.7.8.9999 b"));
+        assertTrue(DependencyPatternFilter.hasDottedNumbers("1..2.3.4.5"));
+        assertFalse(DependencyPatternFilter.hasDottedNumbers("1.2.3"));
+        assertFalse(DependencyPatternFilter.hasDottedNumbers("1.2.a.3.4"));
+        assertFalse(DependencyPatternFilter.hasDottedNumbers("1.2.3..4"));
+        assertFalse(DependencyPatternFilter.hasDottedNumbers(""));
+    }
+
+    @Test
+    void jndiLookupAndJndiName() {
+        Policy policy = new Policy(new ArrayList<>());
+        DependencyPatternFilter filter = policy.getPatternFilter();
+
+        String lookup = "DataSource ds = (DataSource) ctx.lookup(\"java:comp/env/jdbc/ds\");";
+        String jndiName = "<property name=\"dataSource\" jndiName=\"jdbc/ds\" value=\"x\"/>";
+
+        assertTrue(policy.getJndiPattern().matcher(lookup).matches());
+        assertTrue((filter.getCandidates(lookup) & DependencyPatternFilter.JNDI) != 0);
+
+        assertTrue(policy.getJndiPattern().matcher(jndiName).matches());
+        assertTrue((filter.getCandidates(jndiName) & DependencyPatternFilter.JNDI) != 0);
+
+        assertEquals(0, filter.getCandidates("ctx.lookup(\"java:comp/env/jdbc/ds\");") & DependencyPatternFilter.JNDI);
+    }
+
+    @Test
+    void customLiteralPattern() {
+        Policy policy = new Policy(Collections.singletonList("com.acme.legacy.Client"));
+        DependencyPatternFilter filter = policy.getPatternFilter();
+
+        assertTrue((filter.getCandidates("import com.acme.legacy.Client;") & DependencyPatternFilter.CUSTOM) != 0);
+        assertEquals(0, filter.getCandidates("import com.acme.legacy.Server;") & DependencyPatternFilter.CUSTOM);
+
+        List<String> lines = new ArrayList<>(LINES);
+        lines.add("import com.acme.legacy.Client;");
+        lines.add("comXacmeXlegacyXClient");
+        assertCandidates(policy, lines);
+    }
+
+    @Test
+    void customRegexPattern() {
+        Policy policy = new Policy(Arrays.asList("com.acme.legacy.Client", "Legacy[0-9]+Service", "^import"));
+        DependencyPatternFilter filter = policy.getPatternFilter();
+
+        // 정규식 문자가 포함된 pattern 이 있으면 모든 line 이 사용자 정의 pattern 의 후보이다.
+        assertTrue((filter.getCandidates("Legacy42Service service;") & DependencyPatternFilter.CUSTOM) != 0);
+        assertTrue((filter.getCandidates("public class Foo {") & DependencyPatternFilter.CUSTOM) != 0);
+
+        List<String> lines = new ArrayList<>(LINES);
+        lines.add("Legacy42Service service;");
+        lines.add("import com.acme.legacy.Client;");
+        assertCandidates(policy, lines);
+    }
+
+    @Test
+    void emptyCustomPattern() {
+        // Policy 는 빈 pattern 을 ".*.*" 로 변환하므로 모든 line 이 일치한다.
+        Policy policy = new Policy(Collections.singletonList(""));
+        DependencyPatternFilter filter = policy.getPatternFilter();
+
+        assertTrue((filter.getCandidates("") & DependencyPatternFilter.CUSTOM) != 0);
+        assertCandidates(policy, LINES);
+    }
+
+    @Test
+    void carriageReturnOnlyLineEndings() throws IOException {
+        Policy policy = new Policy(Collections.singletonList("com.acme.legacy.Client"));
+        String contents = String.join("\r", LINES) + "\rimport com.acme.legacy.Client;\r";
+
+        // DependencyCheckTask 와 같이 BufferedReader.readLine() 기준으로 나눈 line 에 적용한다.
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new StringReader(contents))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+
+        assertEquals(LINES.size() + 1, lines.size());
+        assertCandidates(policy, lines);
+
+        // 나누지 않은 경우에도 후보는 정규식보다 넓어야 한다. ("." 는 \r 과 일치하지 않으므로 정규식은 일치하지 않을 수 있다.)
+        assertCandidates(policy, Collections.singletonList(contents));
+    }
+
+    private static void assertCandidates(Policy policy, List<String> lines) {
+        DependencyPatternFilter filter = policy.getPatternFilter();
+
+        for (String line : lines) {
+            int candidates = filter.getCandidates(line);
+
+            assertCandidate(policy.getApiPattern().matcher(line).matches(), candidates, DependencyPatternFilter.API, line);
+            assertCandidate(policy.getServletPattern().matcher(line).matches(), candidates, DependencyPatternFilter.SERVLET, line);
+            assertCandidate(policy.getJdbcPattern().matcher(line).matches(), candidates, DependencyPatternFilter.JDBC, line);
+            assertCandidate(policy.getJndiPattern().matcher(line).matches(), candidates, DependencyPatternFilter.JNDI, line);
+            assertCandidate(policy.getHttpPattern().matcher(line).find(), candidates, DependencyPatternFilter.HTTP, line);
+            assertCandidate(policy.getIpPattern().matcher(line).matches(), candidates, DependencyPatternFilter.IP, line);
+            assertCandidate(line.contains("localhost"), candidates, DependencyPatternFilter.LOCALHOST, line);
+
+            if (policy.getEtcPattern() != null) {
+                assertCandidate(policy.getEtcPattern().matcher(line).matches(), candidates, DependencyPatternFilter.CUSTOM, line);
+            } else {
+                assertEquals(0, candidates & DependencyPatternFilter.CUSTOM, line);
+            }
+        }
+    }
+
+    private static void assertCandidate(boolean matched, int candidates, int bit, String line) {
+        if (matched) {
+            assertTrue((candidates & bit) != 0, "bit " + bit + " is not a candidate for [" + line + "]");
+        }
+    }
+}
+//end of DependencyPatternFilterTest.java
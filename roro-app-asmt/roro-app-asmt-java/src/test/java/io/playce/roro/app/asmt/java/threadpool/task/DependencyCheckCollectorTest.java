@@ -0,0 +1,268 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.java.threadpool.task;
+
+import io.playce.roro.app.asmt.result.ApplicationAssessmentResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * DependencyCheckCollector 가 파일 별 결과의 추가 순서, thread 수와 관계없이 같은 결과를 생성하는지 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class DependencyCheckCollectorTest {
+
+    private static final int FILES = 60;
+    private static final String[] JDBC_URLS = {
+            "jdbc:oracle:thin:@db1:1521:ORCL", "jdbc:mysql://db2:3306/roro", "jdbc:postgresql://db3:5432/roro"
+    };
+    private static final String[] JNDI_NAMES = {"jdbc/ds", "java:comp/env/jdbc/roro"};
+
+    @Test
+    void sameResultRegardlessOfOrderAndThreads() throws Exception {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < FILES; i++) {
+            order.add(i);
+        }
+
+        String expected = describe(collect(order, 1));
+
+        for (int seed = 0; seed < 20; seed++) {
+            List<Integer> shuffled = new ArrayList<>(order);
+            Collections.shuffle(shuffled, new Random(seed));
+
+            assertEquals(expected, describe(collect(shuffled, 1 + seed % 8)), "seed " + seed);
+        }
+
+        Collections.reverse(order);
+        assertEquals(expected, describe(collect(order, 4)));
+    }
+
+    @Test
+    void dataSourceUsesAreMerged() {
+        DependencyCheckCollector collector = new DependencyCheckCollector();
+
+        collector.add(null, Collections.singletonList(dataSource("JDBC", JDBC_URLS[0], use("b.jsp", 3), use("b.jsp", 1))), Collections.emptyList());
+        collector.add(null, Arrays.asList(dataSource("JNDI", JDBC_URLS[0], use("a.jsp", 2)), dataSource("JDBC", JDBC_URLS[1], use("a.jsp", 9))), Collections.emptyList());
+        collector.add(null, Collections.singletonList(dataSource("JDBC", JDBC_URLS[0], use("a.jsp", 7))), Collections.emptyList());
+
+        ApplicationAssessmentResult result = new ApplicationAssessmentResult();
+        collector.collect(result);
+
+        List<ApplicationAssessmentResult.DataSource> dataSources = result.getDataSourceList();
+        assertEquals(3, dataSources.size());
+
+        // type, value 순으로 정렬되며 같은 type + value 의 uses 는 하나로 병합된다.
+        assertEquals("JDBC", dataSources.get(0).getType());
+        assertEquals(JDBC_URLS[1], dataSources.get(0).getValue());
+        assertEquals(Collections.singletonList("a.jsp:9"), uses(dataSources.get(0)));
+
+        assertEquals("JDBC", dataSources.get(1).getType());
+        assertEquals(JDBC_URLS[0], dataSources.get(1).getValue());
+        assertEquals(Arrays.asList("a.jsp:7", "b.jsp:1", "b.jsp:3"), uses(dataSources.get(1)));
+        assertEquals(1, dataSources.get(1).getJdbcProperties().size());
+
+        // value 가 같아도 type 이 다르면 다른 DataSource 이다.
+        assertEquals("JNDI", dataSources.get(2).getType());
+        assertEquals(Collections.singletonList("a.jsp:2"), uses(dataSources.get(2)));
+    }
+
+    @Test
+    void checksAndHardCodedIpsAreSorted() {
+        DependencyCheckCollector collector = new DependencyCheckCollector();
+
+        collector.add(check("b.jsp", 4), Collections.emptyList(), Arrays.asList(
+                hardCodedIp("b.jsp", 4, "10.0.0.2", 8080), hardCodedIp("b.jsp", 4, "10.0.0.1", null)));
+        collector.add(null, Collections.emptyList(), Collections.singletonList(hardCodedIp("a.jsp", 10, "10.0.0.3", 80)));
+        collector.add(check("a.jsp", 10), Collections.emptyList(), Arrays.asList(
+                hardCodedIp("a.jsp", 2, "10.0.0.1", 443), hardCodedIp("a.jsp", 2, "10.0.0.1", null)));
+        collector.addDeprecated(deprecated(17));
+        collector.addDeprecated(deprecated(11));
+
+        ApplicationAssessmentResult result = new ApplicationAssessmentResult();
+        collector.collect(result);
+
+        assertEquals(Arrays.asList("a.jsp", "b.jsp"), result.getCheckList().stream()
+                .map(ApplicationAssessmentResult.Check::getFileName)
+                .collect(Collectors.toList()));
+        assertEquals(Arrays.asList("a.jsp:2:10.0.0.1:null", "a.jsp:2:10.0.0.1:443", "a.jsp:10:10.0.0.3:80",
+                "b.jsp:4:10.0.0.1:null", "b.jsp:4:10.0.0.2:8080"), result.getHardCodedIpList().stream()
+                .map(ip -> ip.getFileName() + ":" + ip.getLineNum() + ":" + ip.getIpAddress() + ":" + ip.getPort())
+                .collect(Collectors.toList()));
+        assertEquals(Arrays.asList(11, 17), result.getDeprecatedList().stream()
+                .map(ApplicationAssessmentResult.Deprecated::getRelease)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 파일 별 결과를 order 순서로 threads 개의 thread 에서 동시에 추가한 후 수집한다.
+     */
+    private static ApplicationAssessmentResult collect(List<Integer> order, int threads) throws Exception {
+        DependencyCheckCollector collector = new DependencyCheckCollector();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int file : order) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    addFile(collector, file);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ApplicationAssessmentResult result = new ApplicationAssessmentResult();
+        collector.collect(result);
+
+        return result;
+    }
+
+    /**
+     * DependencyCheckTask, DeprecatedScanTask 와 같이 파일 하나의 결과를 한 번에 추가한다. 같은 file 은 항상 같은 결과를 생성한다.
+     */
+    private static void addFile(DependencyCheckCollector collector, int file) {
+        String fileName = String.format("WEB-INF/classes/com/acme/%s/Class%02d.class", file % 2 == 0 ? "dao" : "web", file);
+        int line = 1 + file % 5;
+
+        ApplicationAssessmentResult.Check check = file % 3 == 0 ? check(fileName, line) : null;
+
+        List<ApplicationAssessmentResult.DataSource> dataSources = new ArrayList<>();
+        dataSources.add(dataSource("JDBC", JDBC_URLS[file % JDBC_URLS.length], use(fileName, line), use(fileName, line + 10)));
+        if (file % 4 == 0) {
+            dataSources.add(dataSource("JNDI", JNDI_NAMES[file % JNDI_NAMES.length], use(fileName, line + 20)));
+        }
+
+        List<ApplicationAssessmentResult.HardCodedIp> hardCodedIps = new ArrayList<>();
+        hardCodedIps.add(hardCodedIp(fileName, line, "10.0.0." + file % 7, file % 2 == 0 ? null : 8080));
+        hardCodedIps.add(hardCodedIp(fileName, line, "10.0.0." + file % 7, 80));
+
+        collector.add(check, dataSources, hardCodedIps);
+
+        if (file == 5 || file == 50) {
+            collector.addDeprecated(deprecated(file == 5 ? 17 : 11));
+        }
+    }
+
+    private static String describe(ApplicationAssessmentResult result) {
+        StringBuilder sb = new StringBuilder();
+
+        for (ApplicationAssessmentResult.Check check : result.getCheckList()) {
+            sb.append("check ").append(check.getFileName());
+            check.getApiUsages().forEach(p -> sb.append(' ').append(p.getLine()).append('=').append(p.getValue()));
+            sb.append('\n');
+        }
+
+        for (ApplicationAssessmentResult.DataSource dataSource : result.getDataSourceList()) {
+            sb.append("dataSource ").append(dataSource.getType()).append(' ').append(dataSource.getValue())
+                    .append(' ').append(dataSource.getJdbcProperties().size())
+                    .append(' ').append(uses(dataSource)).append('\n');
+        }
+
+        for (ApplicationAssessmentResult.HardCodedIp ip : result.getHardCodedIpList()) {
+            sb.append("ip ").append(ip.getFileName()).append(':').append(ip.getLineNum())
+                    .append(' ').append(ip.getIpAddress()).append(':').append(ip.getPort()).append('\n');
+        }
+
+        for (ApplicationAssessmentResult.Deprecated deprecated : result.getDeprecatedList()) {
+            sb.append("deprecated ").append(deprecated.getRelease()).append('\n');
+        }
+
+        return sb.toString();
+    }
+
+    private static List<String> uses(ApplicationAssessmentResult.DataSource dataSource) {
+        return dataSource.getUses().stream()
+                .map(u -> u.getFileName() + ":" + u.getLine())
+                .collect(Collectors.toList());
+    }
+
+    private static ApplicationAssessmentResult.Check check(String fileName, int line) {
+        ApplicationAssessmentResult.Check.Point point = new ApplicationAssessmentResult.Check.Point();
+        point.setLine(line);
+        point.setValue("import javax.naming.InitialContext;");
+
+        ApplicationAssessmentResult.Check check = new ApplicationAssessmentResult.Check();
+        check.setFileName(fileName);
+        check.getApiUsages().add(point);
+
+        return check;
+    }
+
+    private static ApplicationAssessmentResult.DataSource dataSource(String type, String value, ApplicationAssessmentResult.DataSource.Use... uses) {
+        ApplicationAssessmentResult.DataSource dataSource = new ApplicationAssessmentResult.DataSource();
+        dataSource.setType(type);
+        dataSource.setValue(value);
+
+        if ("JDBC".equals(type)) {
+            dataSource.getJdbcProperties().add(ApplicationAssessmentResult.DataSource.JdbcProperty.builder()
+                    .type(value.split(":")[1])
+                    .build());
+        }
+
+        dataSource.getUses().addAll(Arrays.asList(uses));
+
+        return dataSource;
+    }
+
+    private static ApplicationAssessmentResult.DataSource.Use use(String fileName, int line) {
+        ApplicationAssessmentResult.DataSource.Use use = new ApplicationAssessmentResult.DataSource.Use();
+        use.setFileName(fileName);
+        use.setLine(line);
+        use.setValue("String url = \"...\";");
+        return use;
+    }
+
+    private static ApplicationAssessmentResult.HardCodedIp hardCodedIp(String fileName, int line, String ipAddress, Integer port) {
+        ApplicationAssessmentResult.HardCodedIp hardCodedIp = new ApplicationAssessmentResult.HardCodedIp();
+        hardCodedIp.setFileName(fileName);
+        hardCodedIp.setLineNum(line);
+        hardCodedIp.setIpAddress(ipAddress);
+        hardCodedIp.setPort(port);
+        return hardCodedIp;
+    }
+
+    private static ApplicationAssessmentResult.Deprecated deprecated(int release) {
+        ApplicationAssessmentResult.Deprecated deprecated = new ApplicationAssessmentResult.Deprecated();
+        deprecated.setRelease(release);
+        return deprecated;
+    }
+}
+//end of DependencyCheckCollectorTest.java
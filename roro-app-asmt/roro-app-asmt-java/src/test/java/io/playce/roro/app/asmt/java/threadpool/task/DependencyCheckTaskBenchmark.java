@@ -0,0 +1,282 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.app.asmt.java.threadpool.task;
+
+import io.playce.roro.app.asmt.java.analyzer.ClassContentsReader;
+import io.playce.roro.app.asmt.java.policy.Policy;
+import io.playce.roro.app.asmt.result.ApplicationAssessmentResult;
+import io.playce.roro.common.util.FileUtil;
+import io.playce.roro.common.util.support.CharsetSniffer;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <pre>
+ * DependencyCheckTask 의 line 검사 성능을 측정한다.
+ *
+ * corpus 는 -Dcorpus=/path/to/sources 로 지정하며, 지정하지 않으면 이 module 의 src/main/java 를 사용한다.
+ * (압축을 해제한 WAR/EAR 디렉토리 등 실제 application 소스를 지정하는 것을 권장한다.)
+ *
+ * - dependencyCheck : DependencyCheckTask (literal prefilter 후 후보 line 에만 정규식 적용)
+ * - baseline        : prefilter 적용 전의 방식 (FileUtil.getFileContents() 로 읽은 후 모든 line 에 notIp, ipPort, localhostPort 를 포함한 Policy 의 정규식을 적용)
+ * - bytecode        : corpus 의 class 파일을 ClassFileAnalyzer 로 분석 (cache 미사용)
+ * - decompile       : corpus 의 class 파일을 CFR 로 decompile (cache 미사용)
+ * - fileContents    : FileUtil.getFileContents() 로 파일 전체를 문자열로 변환 (CharsetDetector 를 파일 전체에 여러 번 적용)
+ * - charsetSniffer  : CharsetSniffer 로 charset 을 판별한 후 line 단위로 읽음
+ *
+ * mvn -pl roro-app-asmt/roro-app-asmt-java test-compile 후 main() 을 실행한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DependencyCheckTaskBenchmark {
+
+    private static final String[] EXTENSIONS = {"java", "jsp", "xml", "properties", "txt"};
+
+    private Policy policy;
+    private ClassContentsReader bytecodeReader;
+    private ClassContentsReader decompileReader;
+    private CharsetSniffer charsetSniffer;
+    private List<File> files;
+    private List<File> classFiles;
+
+    @Setup
+    public void setup() throws IOException {
+        Path corpus = Paths.get(System.getProperty("corpus", "src/main/java"));
+
+        try (Stream<Path> stream = Files.walk(corpus)) {
+            files = stream.filter(Files::isRegularFile)
+                    .filter(p -> getExtension(p.toFile()) != null)
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
+        }
+
+        try (Stream<Path> stream = Files.walk(corpus)) {
+            classFiles = stream.filter(p -> p.toString().endsWith(".class"))
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
+        }
+
+        policy = new Policy(new ArrayList<>());
+        bytecodeReader = new ClassContentsReader(ClassContentsReader.MODE_BYTECODE, null);
+        decompileReader = new ClassContentsReader(ClassContentsReader.MODE_DECOMPILE, null);
+        charsetSniffer = new CharsetSniffer();
+    }
+
+    @Benchmark
+    public void dependencyCheck(Blackhole blackhole) {
+        ApplicationAssessmentResult result = new ApplicationAssessmentResult();
+        DependencyCheckCollector collector = new DependencyCheckCollector();
+
+        for (File file : files) {
+            DependencyCheckTask task = new DependencyCheckTask(file, getExtension(file), file.getParentFile().getAbsolutePath(), policy, result, collector, bytecodeReader, charsetSniffer, new ArrayList<>());
+            task.taskRun();
+        }
+        collector.collect(result);
+
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void baseline(Blackhole blackhole) throws InterruptedException, IOException {
+        for (File file : files) {
+            String contents = FileUtil.getFileContents(file);
+
+            if (StringUtils.isNotEmpty(contents)) {
+                baselineCheck(contents, getExtension(file), blackhole);
+            }
+        }
+    }
+
+    @Benchmark
+    public void bytecode(Blackhole blackhole) throws IOException {
+        for (File file : classFiles) {
+            blackhole.consume(bytecodeReader.read(file));
+        }
+    }
+
+    @Benchmark
+    public void decompile(Blackhole blackhole) throws IOException {
+        for (File file : classFiles) {
+            blackhole.consume(decompileReader.read(file));
+        }
+    }
+
+    @Benchmark
+    public void fileContents(Blackhole blackhole) throws InterruptedException {
+        for (File file : files) {
+            blackhole.consume(FileUtil.getFileContents(file));
+        }
+    }
+
+    @Benchmark
+    public void charsetSniffer(Blackhole blackhole) throws IOException {
+        // 디렉토리별 판별 결과를 사용하지 않은 경우를 측정하기 위해 매번 생성한다.
+        CharsetSniffer sniffer = new CharsetSniffer();
+
+        for (File file : files) {
+            try (BufferedReader reader = sniffer.newReader(file)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    blackhole.consume(line);
+                }
+            }
+        }
+    }
+
+    /**
+     * prefilter 적용 전 DependencyCheckTask.check(String, String) 의 정규식 적용 순서와 방법을 그대로 따른다.
+     * 결과 객체 대신 일치한 문자열을 Blackhole 로 전달하며, 두 방식에서 같은 line 에 대해서만 호출되는 getJdbcUrl(), getJndiName() 은 제외한다.
+     */
+    private void baselineCheck(String contents, String extension, Blackhole blackhole) throws IOException {
+        Pattern apiPattern = policy.getApiPattern();
+        Pattern servletPattern = policy.getServletPattern();
+        Pattern jdbcPattern = policy.getJdbcPattern();
+        Pattern jndiPattern = policy.getJndiPattern();
+        Pattern notJndiPattern = policy.getNotJndiPattern();
+        Pattern ipPattern = policy.getIpPattern();
+        Pattern notIpPattern = policy.getNotIpPattern();
+        Pattern etcPattern = policy.getEtcPattern();
+        Pattern ipPortPattern = policy.getIpPortPattern();
+        Pattern httpPattern = policy.getHttpPattern();
+        Pattern localhostPortPattern = policy.getLocalhostPortPattern();
+
+        Matcher match;
+        Matcher portMatcher;
+        String lineStr;
+
+        try (BufferedReader buffer = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(contents.getBytes())))) {
+            while ((lineStr = buffer.readLine()) != null) {
+                match = apiPattern.matcher(lineStr);
+                if (match.matches()) {
+                    blackhole.consume(lineStr.trim());
+                }
+
+                if ("class".equals(extension) || "java".equals(extension)) {
+                    match = servletPattern.matcher(lineStr);
+                    if (match.matches()) {
+                        blackhole.consume(lineStr.trim());
+                    }
+                }
+
+                if (!"js".equals(extension)) {
+                    match = jdbcPattern.matcher(lineStr);
+                    if (match.matches()) {
+                        blackhole.consume(!lineStr.contains("<jdbc:") && !lineStr.contains("</jdbc:") && !lineStr.contains("-jdbc:"));
+                    }
+
+                    match = jndiPattern.matcher(lineStr);
+                    if (match.matches()) {
+                        match = notJndiPattern.matcher(lineStr);
+                        blackhole.consume(match.matches());
+                    }
+                }
+
+                match = httpPattern.matcher(lineStr);
+                while (match.find()) {
+                    for (int i = 0; i < match.groupCount(); i++) {
+                        if (match.group(i) != null && match.group(i).contains("://")) {
+                            blackhole.consume(match.group(i).split(":"));
+                        }
+                    }
+                }
+
+                match = ipPattern.matcher(lineStr);
+                if (match.matches()) {
+                    match = notIpPattern.matcher(lineStr);
+
+                    if (!match.matches()) {
+                        portMatcher = ipPortPattern.matcher(lineStr);
+                        while (portMatcher.find()) {
+                            for (int i = 0; i < portMatcher.groupCount(); i++) {
+                                String connection = portMatcher.group(i);
+
+                                if (StringUtils.isNotEmpty(connection)) {
+                                    blackhole.consume(connection.split(":"));
+                                }
+                            }
+                        }
+                    }
+                }
+
+                if (lineStr.contains("localhost")) {
+                    portMatcher = localhostPortPattern.matcher(lineStr);
+                    while (portMatcher.find()) {
+                        for (int i = 0; i < portMatcher.groupCount(); i++) {
+                            String connection = portMatcher.group(i);
+
+                            if (StringUtils.isNotEmpty(connection)) {
+                                blackhole.consume(connection.split(":"));
+                            }
+                        }
+                    }
+                }
+
+                if (etcPattern != null) {
+                    match = etcPattern.matcher(lineStr);
+                    blackhole.consume(match.matches());
+                }
+            }
+        }
+    }
+
+    private static String getExtension(File file) {
+        String name = file.getName();
+        for (String extension : EXTENSIONS) {
+            if (name.endsWith("." + extension)) {
+                return extension;
+            }
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DependencyCheckTaskBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-Dcorpus=" + System.getProperty("corpus", "src/main/java"))
+                .build();
+
+        new Runner(options).run();
+    }
+}
+//end of DependencyCheckTaskBenchmark.java
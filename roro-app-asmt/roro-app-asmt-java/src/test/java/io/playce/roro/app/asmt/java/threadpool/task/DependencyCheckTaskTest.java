@@ -20,9 +20,11 @@
  */
 package io.playce.roro.app.asmt.java.threadpool.task;
 
+import io.playce.roro.app.asmt.java.analyzer.ClassContentsReader;
 import io.playce.roro.app.asmt.java.policy.Policy;
 import io.playce.roro.app.asmt.result.ApplicationAssessmentResult;
 import io.playce.roro.common.util.JsonUtil;
+import io.playce.roro.common.util.support.CharsetSniffer;
 
 import java.io.File;
 import java.io.IOException;
@@ -46,10 +48,13 @@ public class DependencyCheckTaskTest {
         File f = new File(path);
         Policy policy = new Policy(new ArrayList<>());
         ApplicationAssessmentResult result = new ApplicationAssessmentResult();
+        DependencyCheckCollector collector = new DependencyCheckCollector();
 
-        DependencyCheckTask task = new DependencyCheckTask(f, "txt", f.getParentFile().getAbsolutePath(), policy, result, new ArrayList<>());
+        DependencyCheckTask task = new DependencyCheckTask(f, "txt", f.getParentFile().getAbsolutePath(), policy, result, collector,
+                new ClassContentsReader(ClassContentsReader.MODE_BYTECODE, null), new CharsetSniffer(), new ArrayList<>());
 
         task.taskRun();
+        collector.collect(result);
 
         System.err.println(JsonUtil.objToJson(result, true));
     }
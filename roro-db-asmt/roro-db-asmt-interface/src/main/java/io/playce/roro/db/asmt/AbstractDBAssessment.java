@@ -21,6 +21,7 @@
 package io.playce.roro.db.asmt;
 
 import io.playce.roro.common.dto.assessment.DatabaseDto;
+import lombok.extern.slf4j.Slf4j;
 
 import javax.sql.DataSource;
 
@@ -32,8 +33,22 @@ import javax.sql.DataSource;
  * @author SangCheon Park
  * @version 3.0
  */
+@Slf4j
 public abstract class AbstractDBAssessment implements DBAssessment {
 
     protected abstract DataSource getDataSource(DatabaseDto database);
+
+    /**
+     * Assessment 를 위해 생성한 connection pool 을 닫는다.
+     */
+    protected void closeDataSource(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+            } catch (Exception e) {
+                log.warn("Unable to close the data source. [Reason] : {}", e.getMessage());
+            }
+        }
+    }
 }
 //end of AbstractDBAssessment.java
\ No newline at end of file
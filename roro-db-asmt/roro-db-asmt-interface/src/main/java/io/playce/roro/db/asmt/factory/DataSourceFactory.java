@@ -20,7 +20,10 @@
  */
 package io.playce.roro.db.asmt.factory;
 
+import com.zaxxer.hikari.HikariConfig;
 import io.playce.roro.common.dto.assessment.DatabaseDto;
+import io.playce.roro.common.property.CommonProperties;
+import io.playce.roro.common.util.GeneralCipherUtil;
 
 import javax.sql.DataSource;
 
@@ -35,5 +38,29 @@ import javax.sql.DataSource;
 public interface DataSourceFactory {
 
     DataSource getDataSource(DatabaseDto database);
+
+    /**
+     * Assessment 1회 동안만 사용되는 connection pool 크기.
+     * 동시에 실행되는 catalog 조회 수(db.scan.parallelism)와 같으며, 조회 thread 가 connection 을 기다리지 않도록 한다.
+     */
+    static int getMaximumPoolSize() {
+        return Math.max(CommonProperties.getDbScanParallelism(), 1);
+    }
+
+    /**
+     * pool 크기를 제한하고 사용하지 않는 connection 은 유지하지 않으며, Assessment 가 끝나면 pool 은 close 된다.
+     */
+    default HikariConfig getHikariConfig(String driverClassName, DatabaseDto database) {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setDriverClassName(driverClassName);
+        hikariConfig.setJdbcUrl(database.getJdbcUrl());
+        hikariConfig.setUsername(database.getUserName());
+        hikariConfig.setPassword(GeneralCipherUtil.decrypt(database.getPassword()));
+        hikariConfig.setPoolName("roro-db-asmt-" + database.getDatabaseType() + "-" + database.getDatabaseId());
+        hikariConfig.setMaximumPoolSize(getMaximumPoolSize());
+        hikariConfig.setMinimumIdle(0);
+
+        return hikariConfig;
+    }
 }
 //end of DatasourceFactory.java
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.db.asmt.factory;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * Database 종류(mapper XML) 별로 MyBatis 설정을 한 번만 parsing 하여 재사용하기 위한 cache.
+ *
+ * 캐시된 SqlSessionFactory 는 특정 DataSource 에 묶이지 않으며, 세션을 열 때 전달된 DataSource 에서 connection 을 얻는다.
+ * 세션이 close 되면 connection 도 close(pool 로 반환) 된다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Slf4j
+public class SqlSessionFactoryCache {
+
+    private static final String CONFIG_LOCATION = "config/db-mybatis-config.xml";
+
+    private static final Map<String, SqlSessionFactory> sqlSessionFactoryMap = new ConcurrentHashMap<>();
+
+    /**
+     * mapperLocation 에 해당하는 SqlSessionFactory 로 dataSource 의 connection 을 사용하는 SqlSession 을 연다.
+     */
+    @SneakyThrows
+    public static SqlSession openSession(final String mapperLocation, final DataSource dataSource) {
+        SqlSessionFactory sqlSessionFactory = sqlSessionFactoryMap.computeIfAbsent(mapperLocation, SqlSessionFactoryCache::build);
+
+        Connection connection = dataSource.getConnection();
+        try {
+            return sqlSessionFactory.openSession(connection);
+        } catch (RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    @SneakyThrows
+    private static SqlSessionFactory build(final String mapperLocation) {
+        log.debug("MyBatis configuration for [{}] will be parsed.", mapperLocation);
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+
+        // 세션 생성 시 전달된 connection 을 사용하며, 세션 close 시 connection 을 close 한다.
+        factoryBean.setDataSource(new UnboundDataSource());
+        factoryBean.setTransactionFactory(new JdbcTransactionFactory());
+        factoryBean.setConfigLocation(new ClassPathResource(CONFIG_LOCATION));
+        factoryBean.setMapperLocations(new ClassPathResource(mapperLocation));
+
+        SqlSessionFactory sqlSessionFactory = factoryBean.getObject();
+
+        // 서로 다른 Database 의 조회 결과가 공유되지 않도록 2nd level cache 는 사용하지 않는다.
+        sqlSessionFactory.getConfiguration().setCacheEnabled(false);
+
+        return sqlSessionFactory;
+    }
+
+    /**
+     * 캐시된 SqlSessionFactory 의 Environment 에 설정되는 DataSource. connection 은 항상 외부에서 전달되므로 사용되지 않는다.
+     */
+    private static class UnboundDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            throw new SQLException("Cached SqlSessionFactory is not bound to a DataSource. Use SqlSessionFactoryCache.openSession().");
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
+//end of SqlSessionFactoryCache.java
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.db.asmt.util;
+
+import io.playce.roro.common.util.ThreadLocalUtils;
+import io.playce.roro.db.asmt.factory.DataSourceFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static io.playce.roro.common.util.ThreadLocalUtils.DB_SCAN_ERROR;
+
+/**
+ * <pre>
+ * Database Assessment 의 catalog 조회(테이블, 뷰, 인덱스 등)를 동시에 실행하기 위한 collector.
+ *
+ * 1. db.scan.parallelism 개의 thread 로 조회를 실행하며, Assessment 용 connection pool 크기와 같으므로 connection 을 기다리지 않는다.
+ * 2. 각 조회 중 ThreadLocal 에 기록된 DB_SCAN_ERROR 는 await() 시 등록 순서대로 호출한 thread 로 옮겨지므로
+ *    순차 실행과 같은 결과를 얻는다.
+ * 3. 조회 중 발생한 예외는 await() 시 등록 순서상 가장 먼저 발생한 예외가 그대로 던져진다.
+ * 4. parallelism 이 1 이하인 경우 submit() 시 호출한 thread 에서 바로 실행한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class CatalogCollector implements AutoCloseable {
+
+    private static final AtomicInteger collectorCount = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final List<Task<?>> tasks = new ArrayList<>();
+
+    public CatalogCollector() {
+        this(DataSourceFactory.getMaximumPoolSize());
+    }
+
+    public CatalogCollector(int parallelism) {
+        if (parallelism > 1) {
+            String prefix = "db-catalog-collector-" + collectorCount.incrementAndGet() + "-";
+            AtomicInteger threadCount = new AtomicInteger();
+
+            executor = Executors.newFixedThreadPool(parallelism, r -> {
+                Thread thread = new Thread(r, prefix + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * 조회를 등록한다. 결과는 await() 이후 join() 으로 얻는다.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+        Task<T> task = new Task<>(supplier);
+        tasks.add(task);
+
+        if (executor == null) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+
+        return task.future;
+    }
+
+    /**
+     * 결과가 없는 조회(Database 의 항목을 직접 설정하는 경우)를 등록한다.
+     */
+    public CompletableFuture<Void> execute(Runnable runnable) {
+        return submit(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * 등록된 모든 조회가 끝날 때까지 대기한다.
+     */
+    public void await() {
+        try {
+            for (Task<?> task : tasks) {
+                try {
+                    task.future.join();
+                } catch (CompletionException ignored) {
+                    // 아래에서 등록 순서대로 처리한다.
+                }
+            }
+
+            RuntimeException exception = null;
+            for (Task<?> task : tasks) {
+                if (task.error != null) {
+                    ThreadLocalUtils.add(DB_SCAN_ERROR, task.error);
+                }
+
+                if (exception == null && task.future.isCompletedExceptionally()) {
+                    exception = unwrap(task.future);
+                }
+            }
+
+            if (exception != null) {
+                throw exception;
+            }
+        } finally {
+            tasks.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static RuntimeException unwrap(CompletableFuture<?> future) {
+        try {
+            future.join();
+            return null;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                return (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            return e;
+        }
+    }
+
+    private class Task<T> implements Runnable {
+        private final Supplier<T> supplier;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private String error;
+
+        private Task(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void run() {
+            T result = null;
+            Throwable failure = null;
+
+            try {
+                result = supplier.get();
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                // 호출한 thread 에서 실행된 경우 DB_SCAN_ERROR 는 이미 해당 thread 에 기록되어 있다.
+                if (executor != null) {
+                    Object message = ThreadLocalUtils.get(DB_SCAN_ERROR);
+                    error = message == null ? null : message.toString();
+                    ThreadLocalUtils.clearSharedObject();
+                }
+            }
+
+            if (failure == null) {
+                future.complete(result);
+            } else {
+                future.completeExceptionally(failure);
+            }
+        }
+    }
+}
+//end of CatalogCollector.java
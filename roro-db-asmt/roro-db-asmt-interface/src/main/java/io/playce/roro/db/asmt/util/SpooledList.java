@@ -0,0 +1,284 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.db.asmt.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.ref.Cleaner;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractSequentialList;
+import java.util.HashSet;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <pre>
+ * 조회 결과를 메모리에 보관하지 않고 임시 파일에 한 줄에 한 건씩 json 으로 기록한 읽기 전용 List.
+ *
+ * 1. json 으로 변환(JsonUtil.writeJson 등)할 때는 기록된 json 을 그대로 출력하므로 객체를 다시 생성하지 않는다.
+ * 2. Java 코드에서 순회하는 경우 한 건씩 읽어서 객체로 변환한다. (get(index) 는 순차 탐색이므로 사용하지 않는다.)
+ * 3. 임시 파일과 순회 중 열린 파일은 List 가 close 되거나 더 이상 참조되지 않으면 정리된다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Slf4j
+public class SpooledList<E> extends AbstractSequentialList<E> implements JsonSerializable, Closeable {
+
+    // JsonUtil 과 같은 기본 설정의 ObjectMapper 를 사용하여 json 결과가 같도록 한다.
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Class<E> type;
+    private final File file;
+    private final Resources resources;
+    private final Cleaner.Cleanable cleanable;
+    private int size;
+
+    private SpooledList(Class<E> type, File file) {
+        this.type = type;
+        this.file = file;
+        this.resources = new Resources(file);
+        this.cleanable = CLEANER.register(this, resources);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        Reader reader = new Reader();
+
+        for (int i = 0; i < index; i++) {
+            reader.skip();
+        }
+
+        return reader;
+    }
+
+    /**
+     * 순회 중 열린 파일을 닫고 임시 파일을 삭제한다. 이후에는 순회할 수 없다.
+     */
+    @Override
+    public void close() {
+        cleanable.clean();
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        generator.writeStartArray();
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                generator.writeRawValue(line);
+            }
+        }
+
+        generator.writeEndArray();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer) throws IOException {
+        serialize(generator, serializers);
+    }
+
+    /**
+     * 조회 결과를 기록할 Writer 를 생성한다.
+     */
+    static <E> SpoolWriter<E> writer(Class<E> type) throws IOException {
+        File file = File.createTempFile("roro-spool-", ".jsonl");
+
+        return new SpoolWriter<>(new SpooledList<>(type, file));
+    }
+
+    static class SpoolWriter<E> implements Closeable {
+        private final SpooledList<E> list;
+        private final Writer writer;
+
+        private SpoolWriter(SpooledList<E> list) throws IOException {
+            this.list = list;
+            this.writer = new BufferedWriter(Files.newBufferedWriter(list.file.toPath(), StandardCharsets.UTF_8));
+        }
+
+        void add(Object row) throws IOException {
+            // json 문자열의 줄바꿈은 escape 되므로 한 줄에 한 건씩 기록된다.
+            writer.write(MAPPER.writeValueAsString(row));
+            writer.write('\n');
+            list.size++;
+        }
+
+        SpooledList<E> getList() {
+            return list;
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private class Reader implements ListIterator<E> {
+        private BufferedReader reader;
+        private int index;
+
+        private String readLine() {
+            try {
+                if (reader == null) {
+                    reader = resources.open();
+                }
+
+                String line = reader.readLine();
+                if (line == null) {
+                    throw new IndexOutOfBoundsException(String.valueOf(index));
+                }
+
+                // 마지막 건을 읽으면 파일을 닫는다.
+                if (++index >= size) {
+                    resources.close(reader);
+                }
+
+                return line;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void skip() {
+            readLine();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            String line = readLine();
+
+            try {
+                return MAPPER.readValue(line, type);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return false;
+        }
+
+        @Override
+        public E previous() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int nextIndex() {
+            return index;
+        }
+
+        @Override
+        public int previousIndex() {
+            return index - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(E e) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(E e) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Cleaner 에 등록되는 정리 작업. List 를 참조하지 않도록 임시 파일과 열린 파일만 가진다.
+     * 순회를 중간에 멈춘 Iterator 의 파일은 여기서 닫힌다.
+     */
+    private static class Resources implements Runnable {
+        private final File file;
+        private final Set<BufferedReader> readers = new HashSet<>();
+        private boolean closed;
+
+        private Resources(File file) {
+            this.file = file;
+        }
+
+        private synchronized BufferedReader open() throws IOException {
+            if (closed) {
+                throw new IOException(file.getAbsolutePath() + " has already been closed.");
+            }
+
+            BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+            readers.add(reader);
+            return reader;
+        }
+
+        private synchronized void close(BufferedReader reader) throws IOException {
+            readers.remove(reader);
+            reader.close();
+        }
+
+        @Override
+        public synchronized void run() {
+            closed = true;
+
+            for (BufferedReader reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    log.debug("Unable to close spool file [{}]. {}", file.getAbsolutePath(), e.getMessage());
+                }
+            }
+            readers.clear();
+
+            // 파일이 열려 있으면 삭제되지 않는 OS(Windows) 가 있으므로 닫은 후에 삭제한다.
+            if (!file.delete() && file.exists()) {
+                log.warn("Unable to delete spool file [{}].", file.getAbsolutePath());
+            }
+        }
+    }
+}
+//end of SpooledList.java
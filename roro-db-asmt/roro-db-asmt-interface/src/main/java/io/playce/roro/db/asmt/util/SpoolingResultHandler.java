@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.db.asmt.util;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.SqlSession;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <pre>
+ * 테이블, 인덱스, 프로시저 등 건수가 많은 조회 결과를 한 건씩 받아서 처리하는 ResultHandler.
+ *
+ * SPOOL_THRESHOLD 건까지는 ArrayList 에 보관하고, 초과하면 보관한 결과와 이후 결과를 임시 파일(SpooledList)에 기록하여
+ * 전체 조회 결과를 메모리에 보관하지 않는다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class SpoolingResultHandler<E> implements ResultHandler<E> {
+
+    private static final int SPOOL_THRESHOLD = 10000;
+
+    private final Class<E> type;
+    private final List<E> rows = new ArrayList<>();
+    private SpooledList.SpoolWriter<E> writer;
+
+    public SpoolingResultHandler(Class<E> type) {
+        this.type = type;
+    }
+
+    /**
+     * statement 를 조회하여 List 로 반환한다. 조회 결과가 SPOOL_THRESHOLD 건을 초과하면 SpooledList 를 반환한다.
+     */
+    public static <E> List<E> selectList(SqlSession sqlSession, String statement, Class<E> type) {
+        SpoolingResultHandler<E> handler = new SpoolingResultHandler<>(type);
+
+        try {
+            sqlSession.select(statement, handler);
+            return handler.getList();
+        } finally {
+            handler.close();
+        }
+    }
+
+    @Override
+    public void handleResult(ResultContext<? extends E> context) {
+        try {
+            if (writer != null) {
+                writer.add(context.getResultObject());
+                return;
+            }
+
+            rows.add(context.getResultObject());
+
+            if (rows.size() > SPOOL_THRESHOLD) {
+                writer = SpooledList.writer(type);
+                for (E row : rows) {
+                    writer.add(row);
+                }
+                rows.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<E> getList() {
+        if (writer == null) {
+            return rows;
+        }
+
+        close();
+        return writer.getList();
+    }
+
+    private void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
+//end of SpoolingResultHandler.java
@@ -32,7 +32,11 @@ public class MariaDbAssessment extends AbstractDBAssessment {
     public Object assessment(DatabaseDto database) {
         final DataSource dataSource = getDataSource(database);
 
-        return mariaDbService.getAssessment(dataSource, database);
+        try {
+            return mariaDbService.getAssessment(dataSource, database);
+        } finally {
+            closeDataSource(dataSource);
+        }
     }
 
 }
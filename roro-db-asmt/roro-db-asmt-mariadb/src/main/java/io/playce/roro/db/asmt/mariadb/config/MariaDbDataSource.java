@@ -24,7 +24,6 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import io.playce.roro.common.dto.assessment.DatabaseDto;
 import io.playce.roro.common.exception.RoRoException;
-import io.playce.roro.common.util.GeneralCipherUtil;
 import io.playce.roro.db.asmt.constant.DBConstants;
 import io.playce.roro.db.asmt.factory.DataSourceFactory;
 import org.springframework.stereotype.Component;
@@ -45,11 +44,7 @@ public class MariaDbDataSource implements DataSourceFactory {
     @Override
     public DataSource getDataSource(DatabaseDto database) {
         if (database.getDatabaseType().equals(DBConstants.DATABASE_TYPE_MARIADB)) {
-            HikariConfig hikariConfig = new HikariConfig();
-            hikariConfig.setDriverClassName(DBConstants.MARIADB_DRIVER_CLASS_NAME);
-            hikariConfig.setJdbcUrl(database.getJdbcUrl());
-            hikariConfig.setUsername(database.getUserName());
-            hikariConfig.setPassword(GeneralCipherUtil.decrypt(database.getPassword()));
+            HikariConfig hikariConfig = getHikariConfig(DBConstants.MARIADB_DRIVER_CLASS_NAME, database);
 
             return new HikariDataSource(hikariConfig);
         } else {
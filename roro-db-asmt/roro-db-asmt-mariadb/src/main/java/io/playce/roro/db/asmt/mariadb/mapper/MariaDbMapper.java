@@ -23,7 +23,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getVariables() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             List<Variable> variables = sqlSession.selectList("database.assessment.mariadb.selectVariable");
 
             for (Variable variable : variables) {
@@ -42,7 +42,7 @@ public class MariaDbMapper {
     public Date getStartUpTime(DataSource dataSource) {
         log.debug("MariaDB Assessment - getStartUpTime() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             return sqlSession.selectOne("database.assessment.mariadb.selectStartUpTime");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -56,7 +56,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getDatabases() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             if (allScanYn.equals("Y")) {
                 databases = sqlSession.selectList("database.assessment.mariadb.selectAllDatabase");
             } else {
@@ -76,7 +76,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getTableDataUsage() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             tableDataUsages = sqlSession.selectList("database.assessment.mariadb.selectTableDataUsage", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -94,7 +94,7 @@ public class MariaDbMapper {
 
         final float indexUsageSupportVersion = 5.6f;
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             if (version >= indexUsageSupportVersion) {
                 indexUsages = sqlSession.selectList("database.assessment.mariadb.selectIndexUsage", databaseName);
             } else {
@@ -114,7 +114,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getTable() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             tables = sqlSession.selectList("database.assessment.mariadb.selectTable", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -129,7 +129,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getTableScript() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             Map<String, String> tableMap = sqlSession.selectOne("database.assessment.mariadb.selectTableScript", tableName);
             return tableMap.get("Create Table");
         } catch (Exception e) {
@@ -144,7 +144,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getViews() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             views = sqlSession.selectList("database.assessment.mariadb.selectView", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -160,7 +160,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getIndex() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             indexes = sqlSession.selectList("database.assessment.mariadb.selectIndex", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -176,7 +176,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getProcedure() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             procedures = sqlSession.selectList("database.assessment.mariadb.selectProcedure", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -192,7 +192,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getFunction() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             functions = sqlSession.selectList("database.assessment.mariadb.selectFunction", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -208,7 +208,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getTrigger() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             triggers = sqlSession.selectList("database.assessment.mariadb.selectTrigger", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -224,7 +224,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getEvent() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             events = sqlSession.selectList("database.assessment.mariadb.selectEvent", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -244,7 +244,7 @@ public class MariaDbMapper {
         final float globalPrivSupportVersion = 10.4f;
 
         if (version >= globalPrivSupportVersion) {
-            try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+            try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
                 users = sqlSession.selectList("database.assessment.mariadb.selectGlobalPriv");
 
                 for (User user : users) {
@@ -258,7 +258,7 @@ public class MariaDbMapper {
                 ThreadLocalUtils.add(DB_SCAN_ERROR, "Select user list error.");
             }
         } else {
-            try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+            try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
                 users = sqlSession.selectList("database.assessment.mariadb.selectUser");
             } catch (Exception e) {
                 log.error(e.getMessage());
@@ -274,7 +274,7 @@ public class MariaDbMapper {
 
         log.debug("MariaDB Assessment - getDbLink() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             dbLinks = sqlSession.selectList("database.assessment.mariadb.selectDblink");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -2,19 +2,24 @@ package io.playce.roro.db.asmt.mariadb.service;
 
 import io.playce.roro.common.dto.assessment.DatabaseDto;
 import io.playce.roro.db.asmt.mariadb.dto.Database;
+import io.playce.roro.db.asmt.mariadb.dto.DbLink;
 import io.playce.roro.db.asmt.mariadb.dto.Instance;
 import io.playce.roro.db.asmt.mariadb.dto.MariaDbDto;
 import io.playce.roro.db.asmt.mariadb.dto.Table;
+import io.playce.roro.db.asmt.mariadb.dto.User;
 import io.playce.roro.db.asmt.mariadb.mapper.MariaDbMapper;
+import io.playce.roro.db.asmt.util.CatalogCollector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -37,33 +42,45 @@ public class MariaDbService {
         List<Database> databases = null;
 
         try {
-            databases = mariaDbMapper.getDatabases(dataSource, dataSource.getConnection().getCatalog(), databaseDto.getAllScanYn());
+            String catalog;
+            try (Connection connection = dataSource.getConnection()) {
+                catalog = connection.getCatalog();
+            }
+
+            databases = mariaDbMapper.getDatabases(dataSource, catalog, databaseDto.getAllScanYn());
         } catch (SQLException e) {
             log.error("SQLException occurred while getDatabases.", e);
         }
 
-        if (CollectionUtils.isNotEmpty(databases)) {
-            for (Database database : databases) {
-                database.setTableDataUsages(mariaDbMapper.getTableDataUsage(dataSource, database.getName()));
-                database.setIndexUsages(mariaDbMapper.getIndexUsages(dataSource, database.getName(), version));
-                database.setTables(getTable(dataSource, database.getName()));
-                database.setViews(mariaDbMapper.getViews(dataSource, database.getName()));
-                database.setIndexes(mariaDbMapper.getIndex(dataSource, database.getName()));
-                database.setProcedures(mariaDbMapper.getProcedure(dataSource, database.getName()));
-                database.setFunctions(mariaDbMapper.getFunction(dataSource, database.getName()));
-                database.setTriggers(mariaDbMapper.getTrigger(dataSource, database.getName()));
-                database.setEvents(mariaDbMapper.getEvent(dataSource, database.getName()));
+        try (CatalogCollector collector = new CatalogCollector()) {
+            if (CollectionUtils.isNotEmpty(databases)) {
+                for (Database database : databases) {
+                    collector.execute(() -> database.setTableDataUsages(mariaDbMapper.getTableDataUsage(dataSource, database.getName())));
+                    collector.execute(() -> database.setIndexUsages(mariaDbMapper.getIndexUsages(dataSource, database.getName(), version)));
+                    collector.execute(() -> database.setTables(getTable(dataSource, database.getName())));
+                    collector.execute(() -> database.setViews(mariaDbMapper.getViews(dataSource, database.getName())));
+                    collector.execute(() -> database.setIndexes(mariaDbMapper.getIndex(dataSource, database.getName())));
+                    collector.execute(() -> database.setProcedures(mariaDbMapper.getProcedure(dataSource, database.getName())));
+                    collector.execute(() -> database.setFunctions(mariaDbMapper.getFunction(dataSource, database.getName())));
+                    collector.execute(() -> database.setTriggers(mariaDbMapper.getTrigger(dataSource, database.getName())));
+                    collector.execute(() -> database.setEvents(mariaDbMapper.getEvent(dataSource, database.getName())));
+                }
             }
-        }
 
-        instance.setDbSizeMb(mariaDbMapper.getDbSizeMb(databases));
+            CompletableFuture<List<User>> users = collector.submit(() -> mariaDbMapper.getUser(dataSource, version));
+            CompletableFuture<List<DbLink>> dbLinks = collector.submit(() -> mariaDbMapper.getDbLink(dataSource));
 
-        return MariaDbDto.builder()
-                .instance(instance)
-                .users(mariaDbMapper.getUser(dataSource, version))
-                .dbLinks(mariaDbMapper.getDbLink(dataSource))
-                .databases(databases)
-                .build();
+            collector.await();
+
+            instance.setDbSizeMb(mariaDbMapper.getDbSizeMb(databases));
+
+            return MariaDbDto.builder()
+                    .instance(instance)
+                    .users(users.join())
+                    .dbLinks(dbLinks.join())
+                    .databases(databases)
+                    .build();
+        }
     }
 
     private Instance getInstance(DataSource dataSource, Map<String, String> variableMap) {
@@ -34,6 +34,10 @@ public class MsSqlAssessment extends AbstractDBAssessment {
     public Object assessment(DatabaseDto database) {
         final DataSource dataSource = getDataSource(database);
 
-        return msSqlService.getAssessment(dataSource, database);
+        try {
+            return msSqlService.getAssessment(dataSource, database);
+        } finally {
+            closeDataSource(dataSource);
+        }
     }
 }
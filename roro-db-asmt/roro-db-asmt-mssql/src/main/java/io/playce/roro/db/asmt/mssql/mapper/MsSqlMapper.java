@@ -23,7 +23,7 @@ public class MsSqlMapper {
         log.debug("MSSQL Assessment - selectInstanceVersion() invoked.");
 
         int sqlServerMajorVersion = 0;
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             // https://sqlserverbuilds.blogspot.com RTM Version Check
             sqlServerMajorVersion = sqlSession.selectOne("database.assessment.mssql.selectInstanceVersion");
         } catch (Exception e) {
@@ -35,7 +35,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getInstances() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             // SQL SERVER 2012 이상일 경우.
             if(sqlServerMajorVersion > 10) {
                 instance = sqlSession.selectOne("database.assessment.mssql.selectInstanceWithWinInfo");
@@ -56,7 +56,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getMemories() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             memories = sqlSession.selectList("database.assessment.mssql.selectMemory");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -72,7 +72,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getDataFiles() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             dataFiles = sqlSession.selectList("database.assessment.mssql.selectDataFile");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -88,7 +88,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getUsers() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             users = sqlSession.selectList("database.assessment.mssql.selectUser");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -104,7 +104,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getDbLinks() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             dbLinks = sqlSession.selectList("database.assessment.mssql.selectDbLink");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -120,7 +120,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getDatabases() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             if (allScanYn.equals("Y")) {
                 databases = sqlSession.selectList("database.assessment.mssql.selectAllDatabase");
             } else {
@@ -140,7 +140,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getObjectSummary() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             objectSummaries = sqlSession.selectList("database.assessment.mssql.selectObjectSummary");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -156,7 +156,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getTables() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             tables = sqlSession.selectList("database.assessment.mssql.selectTable");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -172,7 +172,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getViews() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             views = sqlSession.selectList("database.assessment.mssql.selectView");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -188,7 +188,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getIndexes() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             indexes = sqlSession.selectList("database.assessment.mssql.selectIndex");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -204,7 +204,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getProcedures() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             procedures = sqlSession.selectList("database.assessment.mssql.selectProcedure");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -220,7 +220,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getProcedures() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             functions = sqlSession.selectList("database.assessment.mssql.selectFunction");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -236,7 +236,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getProcedures() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             queues = sqlSession.selectList("database.assessment.mssql.selectQueue");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -252,7 +252,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getProcedures() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             triggers = sqlSession.selectList("database.assessment.mssql.selectTrigger");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -275,7 +275,7 @@ public class MsSqlMapper {
 
             if (prefixProductVersion >= prefixSqlServer2012ProductVersion) {
 
-                try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+                try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
                     sequences = sqlSession.selectList("database.assessment.mssql.selectSequence");
                 } catch (Exception e) {
                     log.error(e.getMessage());
@@ -293,7 +293,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getProcedures() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             synonyms = sqlSession.selectList("database.assessment.mssql.selectSynonym");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -314,7 +314,7 @@ public class MsSqlMapper {
 
         log.debug("MSSQL Assessment - getDatabaseSize() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             dbSizeMb = sqlSession.selectOne("database.assessment.mssql.selectDbSize", databaseNames);
         } catch (Exception e) {
             log.error(e.getMessage());
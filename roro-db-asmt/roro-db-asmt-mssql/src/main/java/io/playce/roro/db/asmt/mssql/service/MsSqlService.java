@@ -1,18 +1,25 @@
 package io.playce.roro.db.asmt.mssql.service;
 
 import io.playce.roro.common.dto.assessment.DatabaseDto;
+import io.playce.roro.db.asmt.mssql.dto.DataFile;
 import io.playce.roro.db.asmt.mssql.dto.Database;
+import io.playce.roro.db.asmt.mssql.dto.DbLink;
 import io.playce.roro.db.asmt.mssql.dto.Instance;
+import io.playce.roro.db.asmt.mssql.dto.Memory;
 import io.playce.roro.db.asmt.mssql.dto.MsSqlDto;
+import io.playce.roro.db.asmt.mssql.dto.User;
 import io.playce.roro.db.asmt.mssql.mapper.MsSqlMapper;
+import io.playce.roro.db.asmt.util.CatalogCollector;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -27,37 +34,50 @@ public class MsSqlService {
 
         List<Database> databases = null;
         try {
-            databases = msSqlMapper.getDatabases(dataSource, dataSource.getConnection().getCatalog(), databaseDto.getAllScanYn());
+            String catalog;
+            try (Connection connection = dataSource.getConnection()) {
+                catalog = connection.getCatalog();
+            }
+
+            databases = msSqlMapper.getDatabases(dataSource, catalog, databaseDto.getAllScanYn());
         } catch (SQLException e) {
             log.error("SQLException occurred while getDatabases.", e);
         }
 
-        if (CollectionUtils.isNotEmpty(databases)) {
-            for (Database database : databases) {
-                database.setObjectSummaries(msSqlMapper.getObjectSummary(dataSource, database.getName()));
-                database.setTables(msSqlMapper.getTables(dataSource, database.getName()));
-                database.setViews(msSqlMapper.getViews(dataSource, database.getName()));
-                database.setIndexes(msSqlMapper.getIndexes(dataSource, database.getName()));
-                database.setProcedures(msSqlMapper.getProcedures(dataSource, database.getName()));
-                database.setFunctions(msSqlMapper.getFunctions(dataSource, database.getName()));
-                database.setQueues(msSqlMapper.getQueues(dataSource, database.getName()));
-                database.setTriggers(msSqlMapper.getTriggers(dataSource, database.getName()));
-                database.setSequences(msSqlMapper.getSequences(dataSource, database.getName(), instance.getProductVersion()));
-                database.setSynonyms(msSqlMapper.getSynonyms(dataSource, database.getName()));
-
+        try (CatalogCollector collector = new CatalogCollector()) {
+            if (CollectionUtils.isNotEmpty(databases)) {
+                for (Database database : databases) {
+                    collector.execute(() -> database.setObjectSummaries(msSqlMapper.getObjectSummary(dataSource, database.getName())));
+                    collector.execute(() -> database.setTables(msSqlMapper.getTables(dataSource, database.getName())));
+                    collector.execute(() -> database.setViews(msSqlMapper.getViews(dataSource, database.getName())));
+                    collector.execute(() -> database.setIndexes(msSqlMapper.getIndexes(dataSource, database.getName())));
+                    collector.execute(() -> database.setProcedures(msSqlMapper.getProcedures(dataSource, database.getName())));
+                    collector.execute(() -> database.setFunctions(msSqlMapper.getFunctions(dataSource, database.getName())));
+                    collector.execute(() -> database.setQueues(msSqlMapper.getQueues(dataSource, database.getName())));
+                    collector.execute(() -> database.setTriggers(msSqlMapper.getTriggers(dataSource, database.getName())));
+                    collector.execute(() -> database.setSequences(msSqlMapper.getSequences(dataSource, database.getName(), instance.getProductVersion())));
+                    collector.execute(() -> database.setSynonyms(msSqlMapper.getSynonyms(dataSource, database.getName())));
+                }
             }
-        }
 
-        instance.setDbSizeMb(msSqlMapper.getDbSizeMb(dataSource, databases));
+            final List<Database> scannedDatabases = databases;
+            collector.execute(() -> instance.setDbSizeMb(msSqlMapper.getDbSizeMb(dataSource, scannedDatabases)));
+            CompletableFuture<List<Memory>> memories = collector.submit(() -> msSqlMapper.getMemories(dataSource));
+            CompletableFuture<List<DataFile>> dataFiles = collector.submit(() -> msSqlMapper.getDataFiles(dataSource));
+            CompletableFuture<List<User>> users = collector.submit(() -> msSqlMapper.getUsers(dataSource));
+            CompletableFuture<List<DbLink>> dbLinks = collector.submit(() -> msSqlMapper.getDbLinks(dataSource));
+
+            collector.await();
 
-        return MsSqlDto.builder()
-                .instance(instance)
-                .memories(msSqlMapper.getMemories(dataSource))
-                .dataFiles(msSqlMapper.getDataFiles(dataSource))
-                .users(msSqlMapper.getUsers(dataSource))
-                .dbLinks(msSqlMapper.getDbLinks(dataSource))
-                .databases(databases)
-                .build();
+            return MsSqlDto.builder()
+                    .instance(instance)
+                    .memories(memories.join())
+                    .dataFiles(dataFiles.join())
+                    .users(users.join())
+                    .dbLinks(dbLinks.join())
+                    .databases(databases)
+                    .build();
+        }
     }
 
 }
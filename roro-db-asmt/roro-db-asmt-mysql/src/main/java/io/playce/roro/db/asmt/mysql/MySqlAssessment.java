@@ -32,7 +32,11 @@ public class MySqlAssessment extends AbstractDBAssessment {
     public Object assessment(DatabaseDto database) {
         final DataSource dataSource = getDataSource(database);
 
-        return mySqlService.getAssessment(dataSource, database);
+        try {
+            return mySqlService.getAssessment(dataSource, database);
+        } finally {
+            closeDataSource(dataSource);
+        }
     }
 
 }
@@ -21,7 +21,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getVariables() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             List<Variable> variables = sqlSession.selectList("database.assessment.mysql.selectVariable");
 
             for (Variable variable : variables) {
@@ -41,7 +41,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getStartUpTime() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             return sqlSession.selectOne("database.assessment.mysql.selectStartUpTime");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -53,7 +53,7 @@ public class MySqlMapper {
     public Date getStartUpTime2(DataSource dataSource) {
         log.debug("MySQL Assessment - getStartUpTime() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             return sqlSession.selectOne("database.assessment.mysql.selectStartUpTime2");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -68,7 +68,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getDatabases() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             if (allScanYn.equals("Y")) {
                 databases = sqlSession.selectList("database.assessment.mysql.selectAllDatabase");
             } else {
@@ -88,7 +88,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getTableDataUsage() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             tableDataUsages = sqlSession.selectList("database.assessment.mysql.selectTableDataUsage", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -104,7 +104,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getIndexUsages() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             indexUsages = sqlSession.selectList("database.assessment.mysql.selectIndexUsage", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -120,7 +120,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getTable() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             tables = sqlSession.selectList("database.assessment.mysql.selectTable", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -135,7 +135,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getTableScript() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             Map<String, String> tableMap = sqlSession.selectOne("database.assessment.mysql.selectTableScript", tableName);
             return tableMap.get("Create Table");
         } catch (Exception e) {
@@ -150,7 +150,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getViews() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             views = sqlSession.selectList("database.assessment.mysql.selectView", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -166,7 +166,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getIndex() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             indexes = sqlSession.selectList("database.assessment.mysql.selectIndex", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -182,7 +182,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getProcedure() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             procedures = sqlSession.selectList("database.assessment.mysql.selectProcedure", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -198,7 +198,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getFunction() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             functions = sqlSession.selectList("database.assessment.mysql.selectFunction", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -214,7 +214,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getTrigger() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             triggers = sqlSession.selectList("database.assessment.mysql.selectTrigger", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -230,7 +230,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getEvent() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             events = sqlSession.selectList("database.assessment.mysql.selectEvent", databaseName);
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -246,7 +246,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getUser() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             users = sqlSession.selectList("database.assessment.mysql.selectUser");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -262,7 +262,7 @@ public class MySqlMapper {
 
         log.debug("MySQL Assessment - getDbLink() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             dbLinks = sqlSession.selectList("database.assessment.mysql.selectDblink");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -2,19 +2,24 @@ package io.playce.roro.db.asmt.mysql.service;
 
 import io.playce.roro.common.dto.assessment.DatabaseDto;
 import io.playce.roro.db.asmt.mysql.dto.Database;
+import io.playce.roro.db.asmt.mysql.dto.DbLink;
 import io.playce.roro.db.asmt.mysql.dto.Instance;
 import io.playce.roro.db.asmt.mysql.dto.MySqlDto;
 import io.playce.roro.db.asmt.mysql.dto.Table;
+import io.playce.roro.db.asmt.mysql.dto.User;
 import io.playce.roro.db.asmt.mysql.mapper.MySqlMapper;
+import io.playce.roro.db.asmt.util.CatalogCollector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -29,33 +34,45 @@ public class MySqlService {
 
         List<Database> databases = null;
         try {
-            databases = mySqlMapper.getDatabases(dataSource, dataSource.getConnection().getCatalog(), databaseDto.getAllScanYn());
+            String catalog;
+            try (Connection connection = dataSource.getConnection()) {
+                catalog = connection.getCatalog();
+            }
+
+            databases = mySqlMapper.getDatabases(dataSource, catalog, databaseDto.getAllScanYn());
         } catch (SQLException e) {
             log.error("SQLException occurred while getDatabases.", e);
         }
 
-        if (CollectionUtils.isNotEmpty(databases)) {
-            for (Database database : databases) {
-                database.setTableDataUsages(mySqlMapper.getTableDataUsage(dataSource, database.getName()));
-                database.setIndexUsages(mySqlMapper.getIndexUsages(dataSource, database.getName()));
-                database.setTables(getTable(dataSource, database.getName()));
-                database.setViews(mySqlMapper.getViews(dataSource, database.getName()));
-                database.setIndexes(mySqlMapper.getIndex(dataSource, database.getName()));
-                database.setProcedures(mySqlMapper.getProcedure(dataSource, database.getName()));
-                database.setFunctions(mySqlMapper.getFunction(dataSource, database.getName()));
-                database.setTriggers(mySqlMapper.getTrigger(dataSource, database.getName()));
-                database.setEvents(mySqlMapper.getEvent(dataSource, database.getName()));
+        try (CatalogCollector collector = new CatalogCollector()) {
+            if (CollectionUtils.isNotEmpty(databases)) {
+                for (Database database : databases) {
+                    collector.execute(() -> database.setTableDataUsages(mySqlMapper.getTableDataUsage(dataSource, database.getName())));
+                    collector.execute(() -> database.setIndexUsages(mySqlMapper.getIndexUsages(dataSource, database.getName())));
+                    collector.execute(() -> database.setTables(getTable(dataSource, database.getName())));
+                    collector.execute(() -> database.setViews(mySqlMapper.getViews(dataSource, database.getName())));
+                    collector.execute(() -> database.setIndexes(mySqlMapper.getIndex(dataSource, database.getName())));
+                    collector.execute(() -> database.setProcedures(mySqlMapper.getProcedure(dataSource, database.getName())));
+                    collector.execute(() -> database.setFunctions(mySqlMapper.getFunction(dataSource, database.getName())));
+                    collector.execute(() -> database.setTriggers(mySqlMapper.getTrigger(dataSource, database.getName())));
+                    collector.execute(() -> database.setEvents(mySqlMapper.getEvent(dataSource, database.getName())));
+                }
             }
-        }
 
-        instance.setDbSizeMb(mySqlMapper.getDbSizeMb(databases));
+            CompletableFuture<List<User>> users = collector.submit(() -> mySqlMapper.getUser(dataSource));
+            CompletableFuture<List<DbLink>> dbLinks = collector.submit(() -> mySqlMapper.getDbLink(dataSource));
 
-        return MySqlDto.builder()
-                .instance(instance)
-                .users(mySqlMapper.getUser(dataSource))
-                .dbLinks(mySqlMapper.getDbLink(dataSource))
-                .databases(databases)
-                .build();
+            collector.await();
+
+            instance.setDbSizeMb(mySqlMapper.getDbSizeMb(databases));
+
+            return MySqlDto.builder()
+                    .instance(instance)
+                    .users(users.join())
+                    .dbLinks(dbLinks.join())
+                    .databases(databases)
+                    .build();
+        }
     }
 
     private Instance getInstance(DataSource dataSource, Map<String, String> variableMap) {
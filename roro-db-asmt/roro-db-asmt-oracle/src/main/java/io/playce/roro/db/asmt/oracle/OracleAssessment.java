@@ -61,7 +61,11 @@ public class OracleAssessment extends AbstractDBAssessment {
     public Object assessment(DatabaseDto database) {
         final DataSource dataSource = getDataSource(database);
 
-        return oracleService.getAssessment(dataSource, database);
+        try {
+            return oracleService.getAssessment(dataSource, database);
+        } finally {
+            closeDataSource(dataSource);
+        }
     }
 }
 //end of OracleDBAssessment.java
\ No newline at end of file
@@ -23,7 +23,6 @@ package io.playce.roro.db.asmt.oracle.config;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import io.playce.roro.common.dto.assessment.DatabaseDto;
-import io.playce.roro.common.util.GeneralCipherUtil;
 import io.playce.roro.db.asmt.constant.DBConstants;
 import io.playce.roro.db.asmt.factory.DataSourceFactory;
 import org.springframework.stereotype.Component;
@@ -44,11 +43,7 @@ public class OracleDataSource implements DataSourceFactory {
     @Override
     public DataSource getDataSource(DatabaseDto database) {
         if (database.getDatabaseType().equals(DBConstants.DATABASE_TYPE_ORACLE)) {
-            HikariConfig hikariConfig = new HikariConfig();
-            hikariConfig.setDriverClassName(DBConstants.ORACLE_DRIVER_CLASS_NAME);
-            hikariConfig.setJdbcUrl(database.getJdbcUrl());
-            hikariConfig.setUsername(database.getUserName());
-            hikariConfig.setPassword(GeneralCipherUtil.decrypt(database.getPassword()));
+            HikariConfig hikariConfig = getHikariConfig(DBConstants.ORACLE_DRIVER_CLASS_NAME, database);
 
             return new HikariDataSource(hikariConfig);
         } else {
@@ -1,26 +1,19 @@
 package io.playce.roro.db.asmt.oracle.config;
 
-import lombok.SneakyThrows;
-import org.apache.ibatis.session.SqlSessionFactory;
-import org.mybatis.spring.SqlSessionFactoryBean;
-import org.springframework.core.io.ClassPathResource;
+import io.playce.roro.db.asmt.factory.SqlSessionFactoryCache;
+import org.apache.ibatis.session.SqlSession;
 
 import javax.sql.DataSource;
 
 public class SqlSessionConfig {
 
-    @SneakyThrows
-    public static SqlSessionFactory getSqlSessionFactory(final DataSource dataSource) {
-        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+    private static final String MAPPER_LOCATION = "mapper/oracleMapper.xml";
 
-        ClassPathResource configResource = new ClassPathResource("config/db-mybatis-config.xml");
-        ClassPathResource mapperResource = new ClassPathResource("mapper/oracleMapper.xml");;
-
-        factoryBean.setDataSource(dataSource);
-        factoryBean.setConfigLocation(configResource);
-        factoryBean.setMapperLocations(mapperResource);
-
-        return factoryBean.getObject();
+    /**
+     * MyBatis 설정은 최초 1회만 parsing 되며, 세션은 전달된 dataSource 의 connection 을 사용한다.
+     */
+    public static SqlSession openSession(final DataSource dataSource) {
+        return SqlSessionFactoryCache.openSession(MAPPER_LOCATION, dataSource);
     }
 
 }
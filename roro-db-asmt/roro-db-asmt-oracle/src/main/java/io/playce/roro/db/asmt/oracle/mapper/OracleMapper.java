@@ -5,6 +5,7 @@ import io.playce.roro.db.asmt.oracle.config.SqlSessionConfig;
 import io.playce.roro.db.asmt.oracle.dto.Package;
 import io.playce.roro.db.asmt.oracle.dto.*;
 import io.playce.roro.db.asmt.util.CustomDelegatingDatabase;
+import io.playce.roro.db.asmt.util.SpoolingResultHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.session.SqlSession;
 import org.springframework.stereotype.Repository;
@@ -23,7 +24,7 @@ public class OracleMapper {
         Instance instance;
 
         log.debug("[17/27] Oracle Assessment - getInstance() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             instance = sqlSession.selectOne("database.assessment.oracle.selectInstance");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -32,7 +33,7 @@ public class OracleMapper {
         }
 
         log.debug("Oracle Assessment - DatabaseSize() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             instance.setDbSizeMb(sqlSession.selectOne("database.assessment.oracle.selectDbSize"));
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -48,7 +49,7 @@ public class OracleMapper {
         List<SgaTemp> sgaTemps;
 
         log.debug("[18/27] Oracle Assessment - getSga() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             sgaTemps = sqlSession.selectList("database.assessment.oracle.selectSga");
 
             for (SgaTemp sgaTemp : sgaTemps) {
@@ -79,7 +80,7 @@ public class OracleMapper {
         List<DataFile> dataFiles;
 
         log.debug("[19/27] Oracle Assessment - getDataFiles() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             dataFiles = sqlSession.selectList("database.assessment.oracle.selectDataFile");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -94,7 +95,7 @@ public class OracleMapper {
         List<ControlFile> controlFiles;
 
         log.debug("[20/27] Oracle Assessment - getControlFiles() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             controlFiles = sqlSession.selectList("database.assessment.oracle.selectControlFile");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -109,7 +110,7 @@ public class OracleMapper {
         List<LogFile> logFiles;
 
         log.debug("[21/27] Oracle Assessment - getLogFiles() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             logFiles = sqlSession.selectList("database.assessment.oracle.selectLogFile");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -124,7 +125,7 @@ public class OracleMapper {
         List<TableSpace> tableSpaces;
 
         log.debug("[22/27] Oracle Assessment - getTableSpaces() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             tableSpaces = sqlSession.selectList("database.assessment.oracle.selectTableSpace");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -139,7 +140,7 @@ public class OracleMapper {
         List<Parameter> parameters;
 
         log.debug("[23/27] Oracle Assessment - getParameters() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             parameters = sqlSession.selectList("database.assessment.oracle.selectParameter");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -155,7 +156,7 @@ public class OracleMapper {
         List<SegmentTemp> segmentTemps;
 
         log.debug("[24/27] Oracle Assessment - getSegment() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             segmentTemps = sqlSession.selectList("database.assessment.oracle.selectSegment");
 
             for (SegmentTemp segmentTemp : segmentTemps) {
@@ -201,7 +202,7 @@ public class OracleMapper {
         List<User> users;
 
         log.debug("[25/27] Oracle Assessment - getUsers() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             users = sqlSession.selectList("database.assessment.oracle.selectUser");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -216,7 +217,7 @@ public class OracleMapper {
         List<PublicSynonym> publicSynonyms;
 
         log.debug("[26/27] Oracle Assessment - getPublicSynonyms() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             publicSynonyms = sqlSession.selectList("database.assessment.oracle.selectPublicSynonym");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -231,7 +232,7 @@ public class OracleMapper {
         List<DbLink> dbLinks;
 
         log.debug("[27/27] Oracle Assessment - getDbLinks() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             dbLinks = sqlSession.selectList("database.assessment.oracle.selectDbLink");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -246,7 +247,7 @@ public class OracleMapper {
         List<Database> databases;
 
         log.debug("[1/27] Oracle Assessment - getDatabases() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             if (allScanYn.equals("Y")) {
                 databases = sqlSession.selectList("database.assessment.oracle.selectAllDatabase");
             } else {
@@ -264,7 +265,7 @@ public class OracleMapper {
         List<ObjectSummary> objectSummaries;
 
         log.debug("[2/27] Oracle Assessment - getObjectSummary() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             objectSummaries = sqlSession.selectList("database.assessment.oracle.selectObjectSummary");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -279,8 +280,8 @@ public class OracleMapper {
         List<Table> tables;
 
         log.debug("[3/27] Oracle Assessment - getTables() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            tables = sqlSession.selectList("database.assessment.oracle.selectTable");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            tables = SpoolingResultHandler.selectList(sqlSession, "database.assessment.oracle.selectTable", Table.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select table list error.");
@@ -294,8 +295,8 @@ public class OracleMapper {
         List<View> views;
 
         log.debug("[4/27] Oracle Assessment - getViews() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            views = sqlSession.selectList("database.assessment.oracle.selectView");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            views = SpoolingResultHandler.selectList(sqlSession, "database.assessment.oracle.selectView", View.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select view list error.");
@@ -309,7 +310,7 @@ public class OracleMapper {
         List<MaterializedView> materializedViews;
 
         log.debug("[5/27] Oracle Assessment - getMaterializedViews() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             materializedViews = sqlSession.selectList("database.assessment.oracle.selectMaterializedView");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -324,8 +325,8 @@ public class OracleMapper {
         List<Index> indexes;
 
         log.debug("[6/27] Oracle Assessment - getIndexes() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            indexes = sqlSession.selectList("database.assessment.oracle.selectIndex");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            indexes = SpoolingResultHandler.selectList(sqlSession, "database.assessment.oracle.selectIndex", Index.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select index list error.");
@@ -339,8 +340,8 @@ public class OracleMapper {
         List<Procedure> procedures;
 
         log.debug("[7/27] Oracle Assessment - getProcedures() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            procedures = sqlSession.selectList("database.assessment.oracle.selectProcedure");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            procedures = SpoolingResultHandler.selectList(sqlSession, "database.assessment.oracle.selectProcedure", Procedure.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select procedure list error.");
@@ -354,8 +355,8 @@ public class OracleMapper {
         List<Package> packages;
 
         log.debug("[8/27] Oracle Assessment - getPackages() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            packages = sqlSession.selectList("database.assessment.oracle.selectPackage");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            packages = SpoolingResultHandler.selectList(sqlSession, "database.assessment.oracle.selectPackage", Package.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select package list error.");
@@ -369,8 +370,8 @@ public class OracleMapper {
         List<PackageBody> packageBodies;
 
         log.debug("[9/27] Oracle Assessment - getPackageBodies() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            packageBodies = sqlSession.selectList("database.assessment.oracle.selectPackageBody");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            packageBodies = SpoolingResultHandler.selectList(sqlSession, "database.assessment.oracle.selectPackageBody", PackageBody.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select package body list error.");
@@ -384,8 +385,8 @@ public class OracleMapper {
         List<Function> functions;
 
         log.debug("[10/27] Oracle Assessment - getFunctions() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            functions = sqlSession.selectList("database.assessment.oracle.selectFunction");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            functions = SpoolingResultHandler.selectList(sqlSession, "database.assessment.oracle.selectFunction", Function.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select function list error.");
@@ -399,7 +400,7 @@ public class OracleMapper {
         List<Queue> queues;
 
         log.debug("[11/27] Oracle Assessment - getQueues() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             queues = sqlSession.selectList("database.assessment.oracle.selectQueue");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -414,8 +415,8 @@ public class OracleMapper {
         List<Trigger> triggers;
 
         log.debug("[12/27] Oracle Assessment - getTriggers() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            triggers = sqlSession.selectList("database.assessment.oracle.selectTrigger");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            triggers = SpoolingResultHandler.selectList(sqlSession, "database.assessment.oracle.selectTrigger", Trigger.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select trigger list error.");
@@ -429,8 +430,8 @@ public class OracleMapper {
         List<Type> types;
 
         log.debug("[13/27] Oracle Assessment - getTypes() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            types = sqlSession.selectList("database.assessment.oracle.selectType");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            types = SpoolingResultHandler.selectList(sqlSession, "database.assessment.oracle.selectType", Type.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select type list error.");
@@ -444,7 +445,7 @@ public class OracleMapper {
         List<Sequence> sequences;
 
         log.debug("[14/27] Oracle Assessment - getSequences() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             sequences = sqlSession.selectList("database.assessment.oracle.selectSequence");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -459,7 +460,7 @@ public class OracleMapper {
         List<Synonym> synonyms;
 
         log.debug("[15/27] Oracle Assessment - getSynonyms() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             synonyms = sqlSession.selectList("database.assessment.oracle.selectSynonym");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -474,7 +475,7 @@ public class OracleMapper {
         List<Job> jobs;
 
         log.debug("[16/27] Oracle Assessment - getJobs() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             jobs = sqlSession.selectList("database.assessment.oracle.selectJob");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -3,9 +3,21 @@ package io.playce.roro.db.asmt.oracle.service;
 import io.opentracing.contrib.jdbc.ConnectionInfo;
 import io.playce.roro.common.dto.assessment.DatabaseDto;
 import io.playce.roro.common.util.JdbcURLParser;
+import io.playce.roro.db.asmt.oracle.dto.ControlFile;
+import io.playce.roro.db.asmt.oracle.dto.DataFile;
 import io.playce.roro.db.asmt.oracle.dto.Database;
+import io.playce.roro.db.asmt.oracle.dto.DbLink;
+import io.playce.roro.db.asmt.oracle.dto.Instance;
+import io.playce.roro.db.asmt.oracle.dto.LogFile;
 import io.playce.roro.db.asmt.oracle.dto.OracleDto;
+import io.playce.roro.db.asmt.oracle.dto.Parameter;
+import io.playce.roro.db.asmt.oracle.dto.PublicSynonym;
+import io.playce.roro.db.asmt.oracle.dto.Segment;
+import io.playce.roro.db.asmt.oracle.dto.Sga;
+import io.playce.roro.db.asmt.oracle.dto.TableSpace;
+import io.playce.roro.db.asmt.oracle.dto.User;
 import io.playce.roro.db.asmt.oracle.mapper.OracleMapper;
+import io.playce.roro.db.asmt.util.CatalogCollector;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -14,6 +26,7 @@ import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -38,41 +51,57 @@ public class OracleService {
             log.error("SQLException occurred while getDatabases.", e);
         }
 
-        if (CollectionUtils.isNotEmpty(databases)) {
-            for (Database database : databases) {
-                log.debug("Oracle DB scan start for [{}]", database.getName());
-                database.setObjectSummary(oracleMapper.getObjectSummary(dataSource, database.getName()));
-                database.setTables(oracleMapper.getTables(dataSource, database.getName()));
-                database.setViews(oracleMapper.getViews(dataSource, database.getName()));
-                database.setMaterializedViews(oracleMapper.getMaterializedViews(dataSource, database.getName()));
-                database.setIndexes(oracleMapper.getIndexes(dataSource, database.getName()));
-                database.setProcedures(oracleMapper.getProcedures(dataSource, database.getName()));
-                database.setPackages(oracleMapper.getPackages(dataSource, database.getName()));
-                database.setPackageBodies(oracleMapper.getPackageBodies(dataSource, database.getName()));
-                database.setFunctions(oracleMapper.getFunctions(dataSource, database.getName()));
-                database.setQueues(oracleMapper.getQueues(dataSource, database.getName()));
-                database.setTriggers(oracleMapper.getTriggers(dataSource, database.getName()));
-                database.setTypes(oracleMapper.getTypes(dataSource, database.getName()));
-                database.setSequences(oracleMapper.getSequences(dataSource, database.getName()));
-                database.setSynonyms(oracleMapper.getSynonyms(dataSource, database.getName()));
-                database.setJobs(oracleMapper.getJobs(dataSource, database.getName()));
+        try (CatalogCollector collector = new CatalogCollector()) {
+            if (CollectionUtils.isNotEmpty(databases)) {
+                for (Database database : databases) {
+                    log.debug("Oracle DB scan start for [{}]", database.getName());
+                    collector.execute(() -> database.setObjectSummary(oracleMapper.getObjectSummary(dataSource, database.getName())));
+                    collector.execute(() -> database.setTables(oracleMapper.getTables(dataSource, database.getName())));
+                    collector.execute(() -> database.setViews(oracleMapper.getViews(dataSource, database.getName())));
+                    collector.execute(() -> database.setMaterializedViews(oracleMapper.getMaterializedViews(dataSource, database.getName())));
+                    collector.execute(() -> database.setIndexes(oracleMapper.getIndexes(dataSource, database.getName())));
+                    collector.execute(() -> database.setProcedures(oracleMapper.getProcedures(dataSource, database.getName())));
+                    collector.execute(() -> database.setPackages(oracleMapper.getPackages(dataSource, database.getName())));
+                    collector.execute(() -> database.setPackageBodies(oracleMapper.getPackageBodies(dataSource, database.getName())));
+                    collector.execute(() -> database.setFunctions(oracleMapper.getFunctions(dataSource, database.getName())));
+                    collector.execute(() -> database.setQueues(oracleMapper.getQueues(dataSource, database.getName())));
+                    collector.execute(() -> database.setTriggers(oracleMapper.getTriggers(dataSource, database.getName())));
+                    collector.execute(() -> database.setTypes(oracleMapper.getTypes(dataSource, database.getName())));
+                    collector.execute(() -> database.setSequences(oracleMapper.getSequences(dataSource, database.getName())));
+                    collector.execute(() -> database.setSynonyms(oracleMapper.getSynonyms(dataSource, database.getName())));
+                    collector.execute(() -> database.setJobs(oracleMapper.getJobs(dataSource, database.getName())));
+                }
             }
-        }
 
-        return OracleDto.builder()
-                .instance(oracleMapper.getInstance(dataSource))
-                .sga(oracleMapper.getSga(dataSource))
-                .dataFiles(oracleMapper.getDataFiles(dataSource))
-                .controlFiles(oracleMapper.getControlFiles(dataSource))
-                .logFiles(oracleMapper.getLogFiles(dataSource))
-                .tableSpaces(oracleMapper.getTableSpaces(dataSource))
-                .parameters(oracleMapper.getParameters(dataSource))
-                .segment(oracleMapper.getSegment(dataSource))
-                .users(oracleMapper.getUsers(dataSource))
-                .publicSynonyms(oracleMapper.getPublicSynonyms(dataSource))
-                .dbLinks(oracleMapper.getDbLinks(dataSource))
-                .databases(databases)
-                .build();
+            CompletableFuture<Instance> instance = collector.submit(() -> oracleMapper.getInstance(dataSource));
+            CompletableFuture<Sga> sga = collector.submit(() -> oracleMapper.getSga(dataSource));
+            CompletableFuture<List<DataFile>> dataFiles = collector.submit(() -> oracleMapper.getDataFiles(dataSource));
+            CompletableFuture<List<ControlFile>> controlFiles = collector.submit(() -> oracleMapper.getControlFiles(dataSource));
+            CompletableFuture<List<LogFile>> logFiles = collector.submit(() -> oracleMapper.getLogFiles(dataSource));
+            CompletableFuture<List<TableSpace>> tableSpaces = collector.submit(() -> oracleMapper.getTableSpaces(dataSource));
+            CompletableFuture<List<Parameter>> parameters = collector.submit(() -> oracleMapper.getParameters(dataSource));
+            CompletableFuture<Segment> segment = collector.submit(() -> oracleMapper.getSegment(dataSource));
+            CompletableFuture<List<User>> users = collector.submit(() -> oracleMapper.getUsers(dataSource));
+            CompletableFuture<List<PublicSynonym>> publicSynonyms = collector.submit(() -> oracleMapper.getPublicSynonyms(dataSource));
+            CompletableFuture<List<DbLink>> dbLinks = collector.submit(() -> oracleMapper.getDbLinks(dataSource));
+
+            collector.await();
+
+            return OracleDto.builder()
+                    .instance(instance.join())
+                    .sga(sga.join())
+                    .dataFiles(dataFiles.join())
+                    .controlFiles(controlFiles.join())
+                    .logFiles(logFiles.join())
+                    .tableSpaces(tableSpaces.join())
+                    .parameters(parameters.join())
+                    .segment(segment.join())
+                    .users(users.join())
+                    .publicSynonyms(publicSynonyms.join())
+                    .dbLinks(dbLinks.join())
+                    .databases(databases)
+                    .build();
+        }
     }
 
 }
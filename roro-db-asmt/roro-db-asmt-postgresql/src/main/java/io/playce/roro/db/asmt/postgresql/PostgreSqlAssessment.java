@@ -32,6 +32,10 @@ public class PostgreSqlAssessment extends AbstractDBAssessment {
     public Object assessment(DatabaseDto database) {
         final DataSource dataSource = getDataSource(database);
 
-        return postgreSqlService.getAssessment(dataSource, database);
+        try {
+            return postgreSqlService.getAssessment(dataSource, database);
+        } finally {
+            closeDataSource(dataSource);
+        }
     }
 }
@@ -21,7 +21,7 @@ public class PostgreSqlMapper {
 
     public Instance getInstance(DataSource dataSource) {
         Instance instance = new Instance();
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             List<Setting> settings = sqlSession.selectList("database.assessment.postgresql.selectSetting");
 
             for (Setting tempSetting : settings) {
@@ -51,7 +51,7 @@ public class PostgreSqlMapper {
     public List<User> getUsers(DataSource dataSource) {
         List<User> users;
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             users = sqlSession.selectList("database.assessment.postgresql.selectUser");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -66,7 +66,7 @@ public class PostgreSqlMapper {
     public List<Database> getDatabases(DataSource dataSource, String databaseName, String allScanYn) {
         List<Database> databases;
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             if (allScanYn.equals("Y")) {
                 databases = sqlSession.selectList("database.assessment.postgresql.selectAllDatabase");
             } else {
@@ -84,7 +84,7 @@ public class PostgreSqlMapper {
     public List<Table> getTables(DataSource dataSource) {
         List<Table> tables;
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             tables = sqlSession.selectList("database.assessment.postgresql.selectTable");
 
             // table ddl script query
@@ -108,7 +108,7 @@ public class PostgreSqlMapper {
     public List<View> getViews(DataSource dataSource) {
         List<View> views;
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             views = sqlSession.selectList("database.assessment.postgresql.selectView");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -122,7 +122,7 @@ public class PostgreSqlMapper {
     public List<Index> getIndexes(DataSource dataSource) {
         List<Index> indexes;
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             indexes = sqlSession.selectList("database.assessment.postgresql.selectIndex");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -136,7 +136,7 @@ public class PostgreSqlMapper {
     public List<Procedure> getProcedures(DataSource dataSource) {
         List<Procedure> procedures;
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             procedures = sqlSession.selectList("database.assessment.postgresql.selectProcedure");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -150,7 +150,7 @@ public class PostgreSqlMapper {
     public List<Function> getFunctions(DataSource dataSource) {
         List<Function> functions;
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             functions = sqlSession.selectList("database.assessment.postgresql.selectFunction");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -164,7 +164,7 @@ public class PostgreSqlMapper {
     public List<Sequence> getSequences(DataSource dataSource) {
         List<Sequence> sequences;
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             sequences = sqlSession.selectList("database.assessment.postgresql.selectSequence");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -178,7 +178,7 @@ public class PostgreSqlMapper {
     public List<Trigger> getTriggers(DataSource dataSource) {
         List<Trigger> triggers;
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             triggers = sqlSession.selectList("database.assessment.postgresql.selectTrigger");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -7,9 +7,11 @@ import io.playce.roro.common.dto.assessment.DatabaseDto;
 import io.playce.roro.common.util.GeneralCipherUtil;
 import io.playce.roro.common.util.JdbcURLParser;
 import io.playce.roro.db.asmt.constant.DBConstants;
+import io.playce.roro.db.asmt.factory.DataSourceFactory;
 import io.playce.roro.db.asmt.postgresql.dto.Database;
 import io.playce.roro.db.asmt.postgresql.dto.PostgreSqlDto;
 import io.playce.roro.db.asmt.postgresql.mapper.PostgreSqlMapper;
+import io.playce.roro.db.asmt.util.CatalogCollector;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -44,15 +46,21 @@ public class PostgreSqlService {
 
         for (Database database : databases) {
             log.debug("PostgreSQL DB scan start for [{}]", database.getName());
-            DataSource changeDataSource = getChangeDataSource(databaseDto, connectionInfo, database.getName());
+            HikariDataSource changeDataSource = getChangeDataSource(databaseDto, connectionInfo, database.getName());
 
-            database.setTables(postgreSqlMapper.getTables(changeDataSource));
-            database.setViews(postgreSqlMapper.getViews(changeDataSource));
-            database.setIndexes(postgreSqlMapper.getIndexes(changeDataSource));
-            database.setProcedures(postgreSqlMapper.getProcedures(changeDataSource));
-            database.setFunctions(postgreSqlMapper.getFunctions(changeDataSource));
-            database.setSequences(postgreSqlMapper.getSequences(changeDataSource));
-            database.setTriggers(postgreSqlMapper.getTriggers(changeDataSource));
+            // Database 별로 connection pool 이 다르므로 Database 단위로 조회를 마친 후 pool 을 close 한다.
+            try (CatalogCollector collector = new CatalogCollector()) {
+                collector.execute(() -> database.setTables(postgreSqlMapper.getTables(changeDataSource)));
+                collector.execute(() -> database.setViews(postgreSqlMapper.getViews(changeDataSource)));
+                collector.execute(() -> database.setIndexes(postgreSqlMapper.getIndexes(changeDataSource)));
+                collector.execute(() -> database.setProcedures(postgreSqlMapper.getProcedures(changeDataSource)));
+                collector.execute(() -> database.setFunctions(postgreSqlMapper.getFunctions(changeDataSource)));
+                collector.execute(() -> database.setSequences(postgreSqlMapper.getSequences(changeDataSource)));
+                collector.execute(() -> database.setTriggers(postgreSqlMapper.getTriggers(changeDataSource)));
+                collector.await();
+            } finally {
+                changeDataSource.close();
+            }
         }
 
         return PostgreSqlDto.builder()
@@ -62,7 +70,7 @@ public class PostgreSqlService {
                 .build();
     }
 
-    private DataSource getChangeDataSource(DatabaseDto databaseDto, ConnectionInfo connectionInfo, String databaseName) {
+    private HikariDataSource getChangeDataSource(DatabaseDto databaseDto, ConnectionInfo connectionInfo, String databaseName) {
         String prefixJdbcUrl = "jdbc:postgresql://";
 
         HikariConfig hikariConfig = new HikariConfig();
@@ -70,6 +78,9 @@ public class PostgreSqlService {
         hikariConfig.setJdbcUrl(prefixJdbcUrl + connectionInfo.getDbPeer() + "/" + databaseName);
         hikariConfig.setUsername(databaseDto.getUserName());
         hikariConfig.setPassword(GeneralCipherUtil.decrypt(databaseDto.getPassword()));
+        hikariConfig.setPoolName("roro-db-asmt-" + databaseDto.getDatabaseType() + "-" + databaseDto.getDatabaseId() + "-" + databaseName);
+        hikariConfig.setMaximumPoolSize(DataSourceFactory.getMaximumPoolSize());
+        hikariConfig.setMinimumIdle(0);
 
         return new HikariDataSource(hikariConfig);
     }
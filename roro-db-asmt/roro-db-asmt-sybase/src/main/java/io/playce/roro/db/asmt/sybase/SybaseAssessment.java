@@ -34,6 +34,10 @@ public class SybaseAssessment extends AbstractDBAssessment {
     public Object assessment(DatabaseDto database) {
         final DataSource dataSource = getDataSource(database);
 
-        return sybaseService.getAssessment(dataSource, database);
+        try {
+            return sybaseService.getAssessment(dataSource, database);
+        } finally {
+            closeDataSource(dataSource);
+        }
     }
 }
@@ -24,7 +24,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getInstances() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             instance = sqlSession.selectOne("database.assessment.sybase.selectInstance");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -40,7 +40,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getServers() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             servers = sqlSession.selectList("database.assessment.sybase.selectServer");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -56,7 +56,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getMemories() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             List<Map<String, String>> memoryMap = sqlSession.selectList("database.assessment.sybase.selectMemory");
 
             for (Map<String, String> tempMap : memoryMap) {
@@ -83,7 +83,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getDevices() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             devices = sqlSession.selectList("database.assessment.sybase.selectDevice");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -99,7 +99,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getSegment() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             segments = sqlSession.selectList("database.assessment.sybase.selectSegment");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -115,7 +115,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getUsers() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             users = sqlSession.selectList("database.assessment.sybase.selectUser");
 
             for (User tempUser : users) {
@@ -137,7 +137,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getJobs() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             jobs = sqlSession.selectList("database.assessment.sybase.selectJob");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -153,7 +153,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getDatabases() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             if (allScanYn.equals("Y")) {
                 databases = sqlSession.selectList("database.assessment.sybase.selectAllDatabase");
             } else {
@@ -174,7 +174,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getObjectSummary() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             objectSummaryTemps = sqlSession.selectList("database.assessment.sybase.selectObjectSummary");
 
             for (ObjectSummaryTemp objectSummaryTemp : objectSummaryTemps) {
@@ -234,7 +234,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getTables() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             tables.addAll(sqlSession.selectList("database.assessment.sybase.selectTable"));
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -250,7 +250,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getViews() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             List<View> tempViews = sqlSession.selectList("database.assessment.sybase.selectView", databaseName);
 
             for (View tempView : tempViews) {
@@ -268,12 +268,14 @@ public class SybaseMapper {
         return views;
     }
 
-    public List<Index> getIndexes(DataSource dataSource, List<Table> tables) {
+    public List<Index> getIndexes(DataSource dataSource, String databaseName, List<Table> tables) {
         List<Index> indexes = new ArrayList<>();
 
         log.debug("Sybase Assessment - getIndexes() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        // "USE database" 를 실행하면 pool 에 반환된 connection 의 database 가 변경된 채로 재사용되므로,
+        // 다른 조회와 같이 setCatalog() 로 database 를 지정한다. (반환 시 HikariCP 가 원래 database 로 되돌린다.)
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             for (Table tempTable : tables) {
                 List<Index> tempIndexes = sqlSession.selectList("database.assessment.sybase.selectIndex", tempTable);
 
@@ -299,7 +301,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getProcedures() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             List<Procedure> tempProcedures = sqlSession.selectList("database.assessment.sybase.selectProcedure");
 
             for (Procedure tempProcedure : tempProcedures) {
@@ -322,7 +324,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getFunctions() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             List<Function> tempFunctions = sqlSession.selectList("database.assessment.sybase.selectFunction");
 
             for (Function tempFunction : tempFunctions) {
@@ -345,7 +347,7 @@ public class SybaseMapper {
 
         log.debug("Sybase Assessment - getTriggers() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             List<Trigger> tempTriggers = sqlSession.selectList("database.assessment.sybase.selectTrigger");
 
             for (Trigger tempTrigger : tempTriggers) {
@@ -2,17 +2,26 @@ package io.playce.roro.db.asmt.sybase.service;
 
 import io.playce.roro.common.dto.assessment.DatabaseDto;
 import io.playce.roro.db.asmt.sybase.dto.Database;
+import io.playce.roro.db.asmt.sybase.dto.Device;
 import io.playce.roro.db.asmt.sybase.dto.Instance;
+import io.playce.roro.db.asmt.sybase.dto.Job;
+import io.playce.roro.db.asmt.sybase.dto.Memory;
+import io.playce.roro.db.asmt.sybase.dto.Segment;
+import io.playce.roro.db.asmt.sybase.dto.Server;
 import io.playce.roro.db.asmt.sybase.dto.SybaseDto;
+import io.playce.roro.db.asmt.sybase.dto.User;
 import io.playce.roro.db.asmt.sybase.mapper.SybaseMapper;
+import io.playce.roro.db.asmt.util.CatalogCollector;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -25,39 +34,57 @@ public class SybaseService {
 
         List<Database> databases = null;
         try {
-            databases = sybaseMapper.getDatabases(dataSource, dataSource.getConnection().getCatalog(), databaseDto.getAllScanYn());
+            String catalog;
+            try (Connection connection = dataSource.getConnection()) {
+                catalog = connection.getCatalog();
+            }
+
+            databases = sybaseMapper.getDatabases(dataSource, catalog, databaseDto.getAllScanYn());
         } catch (SQLException e) {
             log.error("SQLException occurred while getDatabases.", e);
         }
 
-        if (CollectionUtils.isNotEmpty(databases)) {
-            for (Database database : databases) {
-                database.setObjectSummary(sybaseMapper.getObjectSummary(dataSource, database.getName()));
-                database.setTables(sybaseMapper.getTables(dataSource, database.getName()));
-                database.setViews(sybaseMapper.getViews(dataSource, database.getName()));
-                database.setIndexes(sybaseMapper.getIndexes(dataSource, database.getTables()));
-                database.setProcedures(sybaseMapper.getProcedures(dataSource, database.getName()));
-                database.setFunctions(sybaseMapper.getFunctions(dataSource, database.getName()));
-                database.setTriggers(sybaseMapper.getTriggers(dataSource, database.getName()));
+        try (CatalogCollector collector = new CatalogCollector()) {
+            if (CollectionUtils.isNotEmpty(databases)) {
+                for (Database database : databases) {
+                    collector.execute(() -> database.setObjectSummary(sybaseMapper.getObjectSummary(dataSource, database.getName())));
+                    // Index 는 Table 목록을 기준으로 조회한다.
+                    collector.execute(() -> {
+                        database.setTables(sybaseMapper.getTables(dataSource, database.getName()));
+                        database.setIndexes(sybaseMapper.getIndexes(dataSource, database.getName(), database.getTables()));
+                    });
+                    collector.execute(() -> database.setViews(sybaseMapper.getViews(dataSource, database.getName())));
+                    collector.execute(() -> database.setProcedures(sybaseMapper.getProcedures(dataSource, database.getName())));
+                    collector.execute(() -> database.setFunctions(sybaseMapper.getFunctions(dataSource, database.getName())));
+                    collector.execute(() -> database.setTriggers(sybaseMapper.getTriggers(dataSource, database.getName())));
+                }
             }
-        }
 
-        Instance instance = sybaseMapper.getInstance(dataSource);
+            CompletableFuture<Instance> instance = collector.submit(() -> sybaseMapper.getInstance(dataSource));
+            CompletableFuture<List<Server>> servers = collector.submit(() -> sybaseMapper.getServers(dataSource));
+            CompletableFuture<List<Memory>> memories = collector.submit(() -> sybaseMapper.getMemories(dataSource));
+            CompletableFuture<List<Device>> devices = collector.submit(() -> sybaseMapper.getDevices(dataSource));
+            CompletableFuture<List<Segment>> segments = collector.submit(() -> sybaseMapper.getSegment(dataSource));
+            CompletableFuture<List<User>> users = collector.submit(() -> sybaseMapper.getUsers(dataSource));
+            CompletableFuture<List<Job>> jobs = collector.submit(() -> sybaseMapper.getJobs(dataSource));
 
-        if (CollectionUtils.isNotEmpty(databases)) {
-            instance.setDbSizeMb(databases.stream().mapToLong(Database::getDbSize).sum());
-        }
+            collector.await();
 
-        return SybaseDto.builder()
-                .instance(instance)
-                .servers(sybaseMapper.getServers(dataSource))
-                .memories(sybaseMapper.getMemories(dataSource))
-                .devices(sybaseMapper.getDevices(dataSource))
-                .segments(sybaseMapper.getSegment(dataSource))
-                .users(sybaseMapper.getUsers(dataSource))
-                .jobs(sybaseMapper.getJobs(dataSource))
-                .databases(databases)
-                .build();
+            if (CollectionUtils.isNotEmpty(databases)) {
+                instance.join().setDbSizeMb(databases.stream().mapToLong(Database::getDbSize).sum());
+            }
+
+            return SybaseDto.builder()
+                    .instance(instance.join())
+                    .servers(servers.join())
+                    .memories(memories.join())
+                    .devices(devices.join())
+                    .segments(segments.join())
+                    .users(users.join())
+                    .jobs(jobs.join())
+                    .databases(databases)
+                    .build();
+        }
     }
 
 }
@@ -33,6 +33,10 @@ public class TiberoAssessment extends AbstractDBAssessment {
     public Object assessment(DatabaseDto database) {
         final DataSource dataSource = getDataSource(database);
 
-        return tiberoService.getAssessment(dataSource, database);
+        try {
+            return tiberoService.getAssessment(dataSource, database);
+        } finally {
+            closeDataSource(dataSource);
+        }
     }
 }
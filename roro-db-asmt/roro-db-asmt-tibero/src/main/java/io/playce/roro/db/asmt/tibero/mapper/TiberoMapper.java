@@ -5,6 +5,7 @@ import io.playce.roro.db.asmt.tibero.config.SqlSessionConfig;
 import io.playce.roro.db.asmt.tibero.dto.Package;
 import io.playce.roro.db.asmt.tibero.dto.*;
 import io.playce.roro.db.asmt.util.CustomDelegatingDatabase;
+import io.playce.roro.db.asmt.util.SpoolingResultHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.session.SqlSession;
 import org.springframework.stereotype.Repository;
@@ -24,7 +25,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getInstance() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             instance = sqlSession.selectOne("database.assessment.tibero.selectInstance");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -33,7 +34,7 @@ public class TiberoMapper {
         }
 
         log.debug("Tibero Assessment - DatabaseSize() invoked.");
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             instance.setDbSizeMb(sqlSession.selectOne("database.assessment.tibero.selectDbSize"));
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -49,7 +50,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getSga() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             sga = sqlSession.selectList("database.assessment.tibero.selectSga");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -66,7 +67,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getDataFiles() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             dataFiles = sqlSession.selectList("database.assessment.tibero.selectDataFile");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -82,7 +83,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getControlFiles() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             controlFiles = sqlSession.selectList("database.assessment.tibero.selectControlFile");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -98,7 +99,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getLogFiles() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             logFiles = sqlSession.selectList("database.assessment.tibero.selectLogFile");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -114,7 +115,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getTableSpaces() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             tableSpaces = sqlSession.selectList("database.assessment.tibero.selectTableSpace");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -130,7 +131,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getParameters() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             parameters = sqlSession.selectList("database.assessment.tibero.selectParameter");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -147,7 +148,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getSegment() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             segmentTemps = sqlSession.selectList("database.assessment.tibero.selectSegment");
 
             for (SegmentTemp segmentTemp : segmentTemps) {
@@ -178,7 +179,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getUsers() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             users = sqlSession.selectList("database.assessment.tibero.selectUser");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -194,7 +195,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getPublicSynonyms() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             publicSynonyms = sqlSession.selectList("database.assessment.tibero.selectPublicSynonym");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -210,7 +211,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getDbLinks() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             dbLinks = sqlSession.selectList("database.assessment.tibero.selectDbLink");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -226,7 +227,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getDatabases() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(dataSource).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(dataSource)) {
             if (allScanYn.equals("Y")) {
                 databases = sqlSession.selectList("database.assessment.tibero.selectAllDatabase");
             } else {
@@ -247,7 +248,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getObjectSummary() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             objectSummaryTemps = sqlSession.selectList("database.assessment.tibero.selectObjectSummary");
 
             for (ObjectSummaryTemp objectSummaryTemp : objectSummaryTemps) {
@@ -302,8 +303,8 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getTables() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            tables = sqlSession.selectList("database.assessment.tibero.selectTable");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            tables = SpoolingResultHandler.selectList(sqlSession, "database.assessment.tibero.selectTable", Table.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select table list error.");
@@ -318,8 +319,8 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getViews() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            views = sqlSession.selectList("database.assessment.tibero.selectView");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            views = SpoolingResultHandler.selectList(sqlSession, "database.assessment.tibero.selectView", View.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select view list error.");
@@ -334,7 +335,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getMaterializedViews() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             materializedViews = sqlSession.selectList("database.assessment.tibero.selectMaterializedView");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -350,8 +351,8 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getIndexes() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            indexes = sqlSession.selectList("database.assessment.tibero.selectIndex");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            indexes = SpoolingResultHandler.selectList(sqlSession, "database.assessment.tibero.selectIndex", Index.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select index list error.");
@@ -366,8 +367,8 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getProcedures() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            procedures = sqlSession.selectList("database.assessment.tibero.selectProcedure");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            procedures = SpoolingResultHandler.selectList(sqlSession, "database.assessment.tibero.selectProcedure", Procedure.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select procedure list error.");
@@ -382,8 +383,8 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getPackages() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            packages = sqlSession.selectList("database.assessment.tibero.selectPackage");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            packages = SpoolingResultHandler.selectList(sqlSession, "database.assessment.tibero.selectPackage", Package.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select package list error.");
@@ -398,8 +399,8 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getPackageBodies() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            packageBodies = sqlSession.selectList("database.assessment.tibero.selectPackageBody");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            packageBodies = SpoolingResultHandler.selectList(sqlSession, "database.assessment.tibero.selectPackageBody", PackageBody.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select package body list error.");
@@ -414,8 +415,8 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getFunctions() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            functions = sqlSession.selectList("database.assessment.tibero.selectFunction");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            functions = SpoolingResultHandler.selectList(sqlSession, "database.assessment.tibero.selectFunction", Function.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select function list error.");
@@ -430,7 +431,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getQueues() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             queues = sqlSession.selectList("database.assessment.tibero.selectQueue");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -446,8 +447,8 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getTriggers() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            triggers = sqlSession.selectList("database.assessment.tibero.selectTrigger");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            triggers = SpoolingResultHandler.selectList(sqlSession, "database.assessment.tibero.selectTrigger", Trigger.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select trigger list error.");
@@ -462,8 +463,8 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getTypes() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
-            types = sqlSession.selectList("database.assessment.tibero.selectType");
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
+            types = SpoolingResultHandler.selectList(sqlSession, "database.assessment.tibero.selectType", Type.class);
         } catch (Exception e) {
             log.error(e.getMessage());
             ThreadLocalUtils.add(DB_SCAN_ERROR, "Select type list error.");
@@ -478,7 +479,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getSequences() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             sequences = sqlSession.selectList("database.assessment.tibero.selectSequence");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -494,7 +495,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getSynonyms() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             synonyms = sqlSession.selectList("database.assessment.tibero.selectSynonym");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -510,7 +511,7 @@ public class TiberoMapper {
 
         log.debug("Tibero Assessment - getJobs() invoked.");
 
-        try (SqlSession sqlSession = SqlSessionConfig.getSqlSessionFactory(new CustomDelegatingDatabase(databaseName, dataSource)).openSession()) {
+        try (SqlSession sqlSession = SqlSessionConfig.openSession(new CustomDelegatingDatabase(databaseName, dataSource))) {
             jobs = sqlSession.selectList("database.assessment.tibero.selectJob");
         } catch (Exception e) {
             log.error(e.getMessage());
@@ -4,9 +4,21 @@ import io.opentracing.contrib.jdbc.ConnectionInfo;
 import io.playce.roro.common.dto.assessment.DatabaseDto;
 import io.playce.roro.common.exception.RoRoException;
 import io.playce.roro.common.util.JdbcURLParser;
+import io.playce.roro.db.asmt.tibero.dto.ControlFile;
+import io.playce.roro.db.asmt.tibero.dto.DataFile;
 import io.playce.roro.db.asmt.tibero.dto.Database;
+import io.playce.roro.db.asmt.tibero.dto.DbLink;
+import io.playce.roro.db.asmt.tibero.dto.Instance;
+import io.playce.roro.db.asmt.tibero.dto.LogFile;
+import io.playce.roro.db.asmt.tibero.dto.Parameter;
+import io.playce.roro.db.asmt.tibero.dto.PublicSynonym;
+import io.playce.roro.db.asmt.tibero.dto.Segment;
+import io.playce.roro.db.asmt.tibero.dto.Sga;
+import io.playce.roro.db.asmt.tibero.dto.TableSpace;
 import io.playce.roro.db.asmt.tibero.dto.TiberoDto;
+import io.playce.roro.db.asmt.tibero.dto.User;
 import io.playce.roro.db.asmt.tibero.mapper.TiberoMapper;
+import io.playce.roro.db.asmt.util.CatalogCollector;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -15,6 +27,7 @@ import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -39,40 +52,55 @@ public class TiberoService {
             log.error("SQLException occurred while getDatabases.", e);
         }
 
-        if (CollectionUtils.isNotEmpty(databases)) {
-            for (Database database : databases) {
-                database.setObjectSummary(tiberoMapper.getObjectSummary(dataSource, database.getName()));
-                database.setTables(tiberoMapper.getTables(dataSource, database.getName()));
-                database.setViews(tiberoMapper.getViews(dataSource, database.getName()));
-                database.setMaterializedViews(tiberoMapper.getMaterializedViews(dataSource, database.getName()));
-                database.setIndexes(tiberoMapper.getIndexes(dataSource, database.getName()));
-                database.setProcedures(tiberoMapper.getProcedures(dataSource, database.getName()));
-                database.setPackages(tiberoMapper.getPackages(dataSource, database.getName()));
-                database.setPackageBodies(tiberoMapper.getPackageBodies(dataSource, database.getName()));
-                database.setFunctions(tiberoMapper.getFunctions(dataSource, database.getName()));
-                database.setQueues(tiberoMapper.getQueues(dataSource, database.getName()));
-                database.setTriggers(tiberoMapper.getTriggers(dataSource, database.getName()));
-                database.setTypes(tiberoMapper.getTypes(dataSource, database.getName()));
-                database.setSequences(tiberoMapper.getSequences(dataSource, database.getName()));
-                database.setSynonyms(tiberoMapper.getSynonyms(dataSource, database.getName()));
-                database.setJobs(tiberoMapper.getJobs(dataSource, database.getName()));
+        try (CatalogCollector collector = new CatalogCollector()) {
+            if (CollectionUtils.isNotEmpty(databases)) {
+                for (Database database : databases) {
+                    collector.execute(() -> database.setObjectSummary(tiberoMapper.getObjectSummary(dataSource, database.getName())));
+                    collector.execute(() -> database.setTables(tiberoMapper.getTables(dataSource, database.getName())));
+                    collector.execute(() -> database.setViews(tiberoMapper.getViews(dataSource, database.getName())));
+                    collector.execute(() -> database.setMaterializedViews(tiberoMapper.getMaterializedViews(dataSource, database.getName())));
+                    collector.execute(() -> database.setIndexes(tiberoMapper.getIndexes(dataSource, database.getName())));
+                    collector.execute(() -> database.setProcedures(tiberoMapper.getProcedures(dataSource, database.getName())));
+                    collector.execute(() -> database.setPackages(tiberoMapper.getPackages(dataSource, database.getName())));
+                    collector.execute(() -> database.setPackageBodies(tiberoMapper.getPackageBodies(dataSource, database.getName())));
+                    collector.execute(() -> database.setFunctions(tiberoMapper.getFunctions(dataSource, database.getName())));
+                    collector.execute(() -> database.setQueues(tiberoMapper.getQueues(dataSource, database.getName())));
+                    collector.execute(() -> database.setTriggers(tiberoMapper.getTriggers(dataSource, database.getName())));
+                    collector.execute(() -> database.setTypes(tiberoMapper.getTypes(dataSource, database.getName())));
+                    collector.execute(() -> database.setSequences(tiberoMapper.getSequences(dataSource, database.getName())));
+                    collector.execute(() -> database.setSynonyms(tiberoMapper.getSynonyms(dataSource, database.getName())));
+                    collector.execute(() -> database.setJobs(tiberoMapper.getJobs(dataSource, database.getName())));
+                }
             }
-        }
 
-        return TiberoDto.builder()
-                .instance(tiberoMapper.getInstance(dataSource))
-                .sga(tiberoMapper.getSga(dataSource))
-                .dataFiles(tiberoMapper.getDataFiles(dataSource))
-                .controlFiles(tiberoMapper.getControlFiles(dataSource))
-                .logFiles(tiberoMapper.getLogFiles(dataSource))
-                .tableSpaces(tiberoMapper.getTableSpaces(dataSource))
-                .parameters(tiberoMapper.getParameters(dataSource))
-                .segment(tiberoMapper.getSegment(dataSource))
-                .users(tiberoMapper.getUsers(dataSource))
-                .publicSynonyms(tiberoMapper.getPublicSynonyms(dataSource))
-                .dbLinks(tiberoMapper.getDbLinks(dataSource))
-                .databases(databases)
-                .build();
+            CompletableFuture<Instance> instance = collector.submit(() -> tiberoMapper.getInstance(dataSource));
+            CompletableFuture<List<Sga>> sga = collector.submit(() -> tiberoMapper.getSga(dataSource));
+            CompletableFuture<List<DataFile>> dataFiles = collector.submit(() -> tiberoMapper.getDataFiles(dataSource));
+            CompletableFuture<List<ControlFile>> controlFiles = collector.submit(() -> tiberoMapper.getControlFiles(dataSource));
+            CompletableFuture<List<LogFile>> logFiles = collector.submit(() -> tiberoMapper.getLogFiles(dataSource));
+            CompletableFuture<List<TableSpace>> tableSpaces = collector.submit(() -> tiberoMapper.getTableSpaces(dataSource));
+            CompletableFuture<List<Parameter>> parameters = collector.submit(() -> tiberoMapper.getParameters(dataSource));
+            CompletableFuture<Segment> segment = collector.submit(() -> tiberoMapper.getSegment(dataSource));
+            CompletableFuture<List<User>> users = collector.submit(() -> tiberoMapper.getUsers(dataSource));
+            CompletableFuture<List<PublicSynonym>> publicSynonyms = collector.submit(() -> tiberoMapper.getPublicSynonyms(dataSource));
+            CompletableFuture<List<DbLink>> dbLinks = collector.submit(() -> tiberoMapper.getDbLinks(dataSource));
+
+            collector.await();
 
+            return TiberoDto.builder()
+                    .instance(instance.join())
+                    .sga(sga.join())
+                    .dataFiles(dataFiles.join())
+                    .controlFiles(controlFiles.join())
+                    .logFiles(logFiles.join())
+                    .tableSpaces(tableSpaces.join())
+                    .parameters(parameters.join())
+                    .segment(segment.join())
+                    .users(users.join())
+                    .publicSynonyms(publicSynonyms.join())
+                    .dbLinks(dbLinks.join())
+                    .databases(databases)
+                    .build();
+        }
     }
 }
@@ -23,6 +23,7 @@ package io.playce.roro.history.service;
 
 import io.playce.roro.common.dto.history.SubscriptionCount;
 import io.playce.roro.common.dto.subscription.Subscription;
+import io.playce.roro.common.util.LockUtil;
 import io.playce.roro.history.event.InitSubscriptionCountEvent;
 import io.playce.roro.history.event.ServerEvent;
 import io.playce.roro.history.event.SubscriptionCountEvent;
@@ -36,6 +37,7 @@ import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import java.sql.PreparedStatement;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
@@ -43,6 +45,7 @@ import java.util.List;
 public class ServerEventHandlerService {
     private final ApplicationEventPublisher publisher;
     private final JdbcTemplate sqliteJdbcTemplate;
+    private final ReentrantLock lock = new ReentrantLock();
 
     @PostConstruct
     public void init() {
@@ -52,7 +55,11 @@ public class ServerEventHandlerService {
     }
 
     @EventListener
-    public synchronized void history(ServerEvent event) {
+    public void history(ServerEvent event) {
+        LockUtil.withLock(lock, () -> historyInternal(event));
+    }
+
+    private void historyInternal(ServerEvent event) {
         log.trace("server-event project: {}, ip: {}, port: {}", event.getProjectId(), event.getIp(), event.getPort());
         try {
             sqliteJdbcTemplate.execute("insert into server_history values (?, ?, ?, ?, ?, ?)", (PreparedStatement p) -> {
@@ -73,7 +80,11 @@ public class ServerEventHandlerService {
     }
 
     @EventListener
-    public synchronized void count(SubscriptionCountEvent event) {
+    public void count(SubscriptionCountEvent event) {
+        LockUtil.withLock(lock, () -> countInternal(event));
+    }
+
+    private void countInternal(SubscriptionCountEvent event) {
         log.trace("subscription-count-event date: {}", event.getEventTime());
         try {
             sqliteJdbcTemplate.execute("delete from subscription_count");
@@ -100,7 +111,11 @@ public class ServerEventHandlerService {
         }
     }
 
-    private synchronized long getSubscriptionCount() {
+    private long getSubscriptionCount() {
+        return LockUtil.withLock(lock, () -> getSubscriptionCountInternal());
+    }
+
+    private long getSubscriptionCountInternal() {
         try {
             Long count = sqliteJdbcTemplate.queryForObject("select sum(count) from subscription_count", Long.class);
             if(count == null) return -1;
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.api.collector;
+
+import io.playce.roro.common.cancel.InventoryProcessCancelInfo;
+import io.playce.roro.common.util.support.TargetHost;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <pre>
+ * Server Assessment 후 실행되는 HostStatCollector 를 관리한다.
+ *
+ * 1. 서버 별로 thread 를 생성하지 않고, scheduler.host-stat.pool-size 개의 thread 에서 모든 서버의 sampling 을 번갈아 실행한다.
+ *    pool-size 가 0 이하이면 max-samplers 개의 서버를 sample-duration 동안 SAMPLING_INTERVAL 마다 수집할 수 있도록 계산한다.
+ * 2. 동시에 수집하는 서버의 수는 scheduler.host-stat.max-samplers 와 thread 들이 SAMPLING_INTERVAL 동안 수행할 수 있는
+ *    sampling 수 (실제 sampling 시간의 평균으로 계산) 중 작은 값으로 제한하며, 초과한 경우 수집하지 않는다.
+ * 3. sampling 이 SAMPLING_INTERVAL 이상 지연되거나 SAMPLING_INTERVAL 보다 오래 걸리면 경고를 남긴다. (OVERRUN_LOG_INTERVAL 에 한 번)
+ * 4. Inventory Process 에 대한 취소 요청(InventoryProcessCancelInfo)이 있거나 cancel() 이 호출되면 저장하지 않고 수집을 중단한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Component
+@Slf4j
+public class HostStatCollectionService {
+
+    private static final long OVERRUN_LOG_INTERVAL = 60 * 1000;
+
+    @Value("${scheduler.host-stat.pool-size:-1}")
+    private int poolSize;
+
+    @Value("${scheduler.host-stat.max-samplers:200}")
+    private int maxSamplers;
+
+    /**
+     * 한 번의 sampling (CPU, Memory 사용률 조회) 에 걸리는 예상 시간 (millis)
+     */
+    @Value("${scheduler.host-stat.sample-duration:2000}")
+    private long sampleDuration;
+
+    private final Map<Long, Sampler> samplers = new ConcurrentHashMap<>();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong averageSampleDuration = new AtomicLong();
+    private final AtomicLong lastOverrunLogTime = new AtomicLong();
+    private ScheduledThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        sampleDuration = Math.max(sampleDuration, 1);
+        averageSampleDuration.set(sampleDuration);
+
+        if (poolSize <= 0) {
+            poolSize = (int) Math.ceil((double) Math.max(maxSamplers, 1) * sampleDuration / HostStatCollector.SAMPLING_INTERVAL);
+        }
+        poolSize = Math.max(poolSize, 1);
+
+        log.info("Host stat collection pool size : [{}], Max samplers : [{}], Capacity : [{}]", poolSize, maxSamplers, getCapacity());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(poolSize, r -> {
+            Thread thread = new Thread(r, "host-stat-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+        samplers.clear();
+    }
+
+    /**
+     * CPU, Memory 사용률 수집을 시작한다. 이미 수집 중이거나 최대 수집 수를 초과한 경우 false 를 반환한다.
+     */
+    public boolean start(Long inventoryProcessId, Long serverInventoryId, String inventoryDetailTypeCode, TargetHost targetHost) {
+        if (!reserve()) {
+            log.warn("Host stat collection for server inventory [{}] skipped. Active samplers : [{}], Capacity : [{}]",
+                    serverInventoryId, samplers.size(), getCapacity());
+            return false;
+        }
+
+        Sampler sampler;
+        try {
+            sampler = new Sampler(new HostStatCollector(inventoryProcessId, serverInventoryId, inventoryDetailTypeCode, targetHost));
+        } catch (RuntimeException e) {
+            activeCount.decrementAndGet();
+            throw e;
+        }
+
+        if (samplers.putIfAbsent(inventoryProcessId, sampler) != null) {
+            activeCount.decrementAndGet();
+            return false;
+        }
+
+        if (!sampler.schedule(0)) {
+            remove(inventoryProcessId, sampler);
+            return false;
+        }
+
+        log.debug("Host stat collection for server inventory [{}] started. Active samplers : [{}]", serverInventoryId, samplers.size());
+        return true;
+    }
+
+    /**
+     * 수집을 중단한다. 수집된 값은 저장하지 않는다.
+     */
+    public void cancel(Long inventoryProcessId) {
+        Sampler sampler = samplers.remove(inventoryProcessId);
+
+        if (sampler != null) {
+            activeCount.decrementAndGet();
+            sampler.cancel();
+            log.debug("Host stat collection for server inventory [{}] canceled. Active samplers : [{}]",
+                    sampler.collector.getServerInventoryId(), samplers.size());
+        }
+    }
+
+    /**
+     * 수집 중인 서버의 수
+     */
+    public int getActiveCount() {
+        return samplers.size();
+    }
+
+    /**
+     * thread 들이 SAMPLING_INTERVAL 마다 sampling 할 수 있는 서버의 수 (max-samplers 이하)
+     */
+    private int getCapacity() {
+        long capacity = poolSize * HostStatCollector.SAMPLING_INTERVAL / Math.max(averageSampleDuration.get(), 1);
+        return (int) Math.max(1, Math.min(maxSamplers, capacity));
+    }
+
+    /**
+     * 최대 수집 수를 초과하지 않는 경우에만 수집 수를 증가시킨다.
+     */
+    private boolean reserve() {
+        int capacity = getCapacity();
+
+        while (true) {
+            int count = activeCount.get();
+            if (count >= capacity) {
+                return false;
+            }
+
+            if (activeCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void remove(Long inventoryProcessId, Sampler sampler) {
+        if (samplers.remove(inventoryProcessId, sampler)) {
+            activeCount.decrementAndGet();
+        }
+    }
+
+    private void recordSample(HostStatCollector collector, long delay, long duration) {
+        // 최근 sampling 시간의 비중을 20% 로 하는 평균
+        averageSampleDuration.accumulateAndGet(duration, (average, value) -> (average * 4 + value) / 5);
+
+        if (delay < HostStatCollector.SAMPLING_INTERVAL && duration < HostStatCollector.SAMPLING_INTERVAL) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long last = lastOverrunLogTime.get();
+
+        if (now - last >= OVERRUN_LOG_INTERVAL && lastOverrunLogTime.compareAndSet(last, now)) {
+            log.warn("Host stat sampling for server inventory [{}] overran its period. Delay : [{} ms], Duration : [{} ms], " +
+                            "Period : [{} ms], Active samplers : [{}], Pool size : [{}]", collector.getServerInventoryId(), delay, duration,
+                    HostStatCollector.SAMPLING_INTERVAL, samplers.size(), poolSize);
+        } else {
+            log.debug("Host stat sampling for server inventory [{}] overran its period. Delay : [{} ms], Duration : [{} ms]",
+                    collector.getServerInventoryId(), delay, duration);
+        }
+    }
+
+    private class Sampler implements Runnable {
+        private final HostStatCollector collector;
+        private volatile boolean canceled;
+        private volatile ScheduledFuture<?> future;
+        private volatile long scheduledTime;
+
+        private Sampler(HostStatCollector collector) {
+            this.collector = collector;
+        }
+
+        private boolean schedule(long delay) {
+            try {
+                scheduledTime = System.currentTimeMillis() + delay;
+                future = executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+                return true;
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+        }
+
+        private void cancel() {
+            canceled = true;
+
+            ScheduledFuture<?> current = future;
+            if (current != null) {
+                current.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (canceled) {
+                return;
+            }
+
+            if (InventoryProcessCancelInfo.hasCancelRequest(collector.getInventoryProcessId())) {
+                HostStatCollectionService.this.cancel(collector.getInventoryProcessId());
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            boolean next;
+            try {
+                next = collector.sample();
+            } catch (Throwable t) {
+                log.warn("Unhandled exception occurred while collect host stat. Reason : [{}]", t.getMessage());
+                next = false;
+            }
+            recordSample(collector, start - scheduledTime, System.currentTimeMillis() - start);
+
+            if (canceled) {
+                return;
+            }
+
+            if (next && schedule(HostStatCollector.SAMPLING_INTERVAL)) {
+                return;
+            }
+
+            try {
+                collector.finish();
+            } catch (Throwable t) {
+                log.warn("Unable to save host stat for server inventory [{}]. Reason : [{}]", collector.getServerInventoryId(), t.getMessage());
+            } finally {
+                remove(collector.getInventoryProcessId(), this);
+                log.debug("Host stat collection for server inventory [{}] finished. Active samplers : [{}]",
+                        collector.getServerInventoryId(), samplers.size());
+            }
+        }
+    }
+}
+//end of HostStatCollectionService.java
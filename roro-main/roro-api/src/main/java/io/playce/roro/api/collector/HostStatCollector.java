@@ -38,102 +38,128 @@ import java.util.List;
 
 /**
  * <pre>
+ * 서버의 CPU, Memory 사용률을 5분 동안 10초 간격으로 수집하여 평균 값을 저장한다.
  *
+ * HostStatCollectionService 의 scheduler 에 의해 sample() 이 주기적으로 호출되며,
+ * 수집이 끝나면(sample() 이 false 를 반환하면) finish() 로 결과를 저장한다.
  * </pre>
  *
  * @author SangCheon Park
  * @version 3.0
  */
 @Slf4j
-public class HostStatCollector implements Runnable {
+public class HostStatCollector {
 
+    public static final long SAMPLING_INTERVAL = 10 * 1000;
+    private static final long SAMPLING_PERIOD = 5 * 60 * 1000;
+
+    private final Long inventoryProcessId;
     private final Long serverInventoryId;
+    private final String inventoryDetailTypeCode;
     private final TargetHost targetHost;
     private final Long startTime;
     private final Long endTime;
     private final ServerStatusRepository serverStatusRepository;
 
     private Domain1013 os;
+    private boolean osChecked;
     private List<HostStat> hostStatList = new ArrayList<>();
 
-    public HostStatCollector(Long serverInventoryId, String inventoryDetailTypeCode, TargetHost targetHost) {
+    public HostStatCollector(Long inventoryProcessId, Long serverInventoryId, String inventoryDetailTypeCode, TargetHost targetHost) {
+        this.inventoryProcessId = inventoryProcessId;
         this.serverInventoryId = serverInventoryId;
+        this.inventoryDetailTypeCode = inventoryDetailTypeCode;
         this.targetHost = targetHost;
         this.startTime = System.currentTimeMillis();
-        this.endTime = startTime + (5 * 60 * 1000);
+        this.endTime = startTime + SAMPLING_PERIOD;
         this.serverStatusRepository = CommonProperties.getApplicationContext().getBean(ServerStatusRepository.class);
+    }
 
-        try {
-            if (StringUtils.isEmpty(inventoryDetailTypeCode)) {
-                OSInfo osInfo = SystemInfoUtil.getOSInfo(targetHost);
-                this.os = osInfo.getInventoryDetailTypeCode();
-            } else {
-                this.os = Domain1013.valueOf(inventoryDetailTypeCode);
+    public Long getInventoryProcessId() {
+        return inventoryProcessId;
+    }
+
+    public Long getServerInventoryId() {
+        return serverInventoryId;
+    }
+
+    /**
+     * CPU, Memory 사용률을 한 번 수집한다.
+     *
+     * @return 수집을 계속해야 하는 경우 true
+     */
+    public boolean sample() {
+        if (!osChecked) {
+            osChecked = true;
+
+            try {
+                if (StringUtils.isEmpty(inventoryDetailTypeCode)) {
+                    OSInfo osInfo = SystemInfoUtil.getOSInfo(targetHost);
+                    this.os = osInfo.getInventoryDetailTypeCode();
+                } else {
+                    this.os = Domain1013.valueOf(inventoryDetailTypeCode);
+                }
+            } catch (Exception e) {
+                log.warn("Unable to check server type. Reason : [{}]", e.getMessage());
             }
-        } catch (Exception e) {
-            log.warn("Unable to check server type. Reason : [{}]", e.getMessage());
         }
-    }
 
-    @Override
-    public void run() {
-        String cpu, mem;
+        if (os == null || System.currentTimeMillis() >= endTime) {
+            return false;
+        }
+
+        String cpu = null, mem = null;
+
+        try {
+            if (os.equals(Domain1013.LINUX)) {
+                cpu = getLinuxCpuUsage();
+                mem = getLinuxMemUsage();
+            } else if (os.equals(Domain1013.AIX)) {
+                cpu = getAixCpuUsage();
+                mem = getAixMemUsage();
+            } else if (os.equals(Domain1013.SUNOS)) {
+                cpu = getSolarisCpuUsage();
+                mem = getSolarisMemUsage();
+            } else if (os.equals(Domain1013.HP_UX)) {
+                cpu = getHpuxCpuUsage();
+                mem = getHpuxMemUsage();
+            } else if (os.equals(Domain1013.WINDOWS)) {
+                cpu = getWindowsCpuUsage();
+                mem = getWindowsMemUsage();
+            }
 
-        int cnt = 0;
-        if (os != null) {
-            while (System.currentTimeMillis() < endTime) {
-                cpu = null;
-                mem = null;
+            if (StringUtils.isNotEmpty(cpu) && StringUtils.isNotEmpty(mem)) {
+                HostStat hostStat = new HostStat();
 
                 try {
-                    if (cnt++ > 0) {
-                        Thread.sleep(10 * 1000);
-                    }
-
-                    if (os.equals(Domain1013.LINUX)) {
-                        cpu = getLinuxCpuUsage();
-                        mem = getLinuxMemUsage();
-                    } else if (os.equals(Domain1013.AIX)) {
-                        cpu = getAixCpuUsage();
-                        mem = getAixMemUsage();
-                    } else if (os.equals(Domain1013.SUNOS)) {
-                        cpu = getSolarisCpuUsage();
-                        mem = getSolarisMemUsage();
-                    } else if (os.equals(Domain1013.HP_UX)) {
-                        cpu = getHpuxCpuUsage();
-                        mem = getHpuxMemUsage();
-                    } else if (os.equals(Domain1013.WINDOWS)) {
-                        cpu = getWindowsCpuUsage();
-                        mem = getWindowsMemUsage();
-                    }
-
-                    if (StringUtils.isNotEmpty(cpu) && StringUtils.isNotEmpty(mem)) {
-                        HostStat hostStat = new HostStat();
-
-                        try {
-                            hostStat.setCpuUsage(Double.parseDouble(cpu));
-                        } catch (NumberFormatException e) {
-                            // ignore
-                        }
-
-                        try {
-                            hostStat.setMemUsage(Double.parseDouble(mem));
-                        } catch (NumberFormatException e) {
-                            // ignore
-                        }
-
-                        if (hostStat.getCpuUsage() != null || hostStat.getMemUsage() != null) {
-                            hostStatList.add(hostStat);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Unhandled exception occurred while collect host stat. Reason : [{}]", e.getMessage());
+                    hostStat.setCpuUsage(Double.parseDouble(cpu));
+                } catch (NumberFormatException e) {
+                    // ignore
                 }
-            }
 
-            if (hostStatList.size() > 0) {
-                saveHostStat();
+                try {
+                    hostStat.setMemUsage(Double.parseDouble(mem));
+                } catch (NumberFormatException e) {
+                    // ignore
+                }
+
+                if (hostStat.getCpuUsage() != null || hostStat.getMemUsage() != null) {
+                    hostStatList.add(hostStat);
+                }
             }
+        } catch (Exception e) {
+            log.warn("Unhandled exception occurred while collect host stat. Reason : [{}]", e.getMessage());
+        }
+
+        return System.currentTimeMillis() + SAMPLING_INTERVAL < endTime;
+    }
+
+    /**
+     * 수집된 사용률의 평균 값을 저장한다.
+     */
+    public void finish() {
+        if (hostStatList.size() > 0) {
+            saveHostStat();
         }
     }
 
@@ -57,6 +57,7 @@ public enum ErrorCode {
     EXCEL_CREATE_FAILED("COMMON_016", "error.common.excelCreateFailed", ""),
 
     FAIL_SAVE_FILE("COMMON_017", "error.common.saveFile", ""),
+    SERVICE_UNAVAILABLE("COMMON_018", "error.common.serviceUnavailable", ""),
 
     // 인증
     USER_NOT_FOUND("AUTH_001", "error.auth.userNotFound", ""),
@@ -40,6 +40,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.support.MissingServletRequestPartException;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * <pre>
  *   전역으로 처리할 Exception을 처리하는 클래스이다.
@@ -226,6 +228,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * 작업 대기열이 가득 차서 비동기 작업을 요청할 수 없는 경우 발생
+     *
+     * @param e       the e
+     * @param request the request
+     *
+     * @return the response entity
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    protected ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException e, WebRequest request) {
+        log.warn("RejectedExecutionException occurred while execute [{}].", request.getDescription(false), e);
+        ErrorResponse response = ErrorResponse.of(localeMessageConvert.getConvertErrorMessage(ErrorCode.SERVICE_UNAVAILABLE));
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handle exception response entity.
      *
@@ -21,6 +21,7 @@
 package io.playce.roro.api.common.util;
 
 import io.playce.roro.api.common.CommonConstants;
+import io.playce.roro.common.util.support.ExcelWorkbookWriter;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -30,7 +31,9 @@ import java.io.InputStream;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import static io.playce.roro.api.common.CommonConstants.EXCEL_EXTENSION_XLS;
 import static io.playce.roro.api.common.CommonConstants.EXCEL_EXTENSION_XLSX;
@@ -46,7 +49,9 @@ import static io.playce.roro.api.common.CommonConstants.EXCEL_EXTENSION_XLSX;
 public class ExcelUtil {
 
     private static final String REF_SHEET_NAME = "Cell Reference";
-    private static CellStyle cellStyle;
+    // 여러 Workbook 이 동시에 생성될 수 있으므로 공통 Cell Style 의 index 를 Workbook 별로 관리한다.
+    // (CellStyle 은 Workbook 을 참조하므로 WeakHashMap 의 value 로 사용하지 않는다.)
+    private static final Map<Workbook, Integer> CELL_STYLES = Collections.synchronizedMap(new WeakHashMap<>());
 
     /**
      * Excel파일에 대한 Workbook객체를 반환한다.
@@ -133,7 +138,7 @@ public class ExcelUtil {
     }
 
     public static void createCellStyle(Workbook workbook) {
-        cellStyle = workbook.createCellStyle();
+        CellStyle cellStyle = workbook.createCellStyle();
         cellStyle.setBorderTop(BorderStyle.THIN);
         cellStyle.setBorderBottom(BorderStyle.THIN);
         cellStyle.setBorderLeft(BorderStyle.THIN);
@@ -144,6 +149,8 @@ public class ExcelUtil {
         Font font = workbook.createFont();
         font.setFontHeightInPoints((short) 12);
         cellStyle.setFont(font);
+
+        CELL_STYLES.put(workbook, (int) cellStyle.getIndex());
     }
 
     public static CellStyle createHeaderCellStyle(Workbook workbook) {
@@ -173,7 +180,12 @@ public class ExcelUtil {
      */
     public static Cell createCell(Row row, int idx) {
         Cell cell = row.createCell(idx);
-        cell.setCellStyle(cellStyle);
+
+        Workbook workbook = row.getSheet().getWorkbook();
+        Integer cellStyleIndex = CELL_STYLES.get(workbook);
+        if (cellStyleIndex != null) {
+            cell.setCellStyle(workbook.getCellStyleAt(cellStyleIndex));
+        }
 
         return cell;
     }
@@ -191,45 +203,9 @@ public class ExcelUtil {
      * @param workbook the workbook
      */
     public static void autoSizeColumn(Workbook workbook) {
-        Sheet sheet;
-
         for (int i = 1; i < workbook.getNumberOfSheets(); i++) {
             try {
-                sheet = workbook.getSheetAt(i);
-
-                int rowCnt = sheet.getPhysicalNumberOfRows();
-                int rowIdx = 0;
-                if (rowCnt > 0) {
-                    Row row = null;
-
-                    while (rowIdx < rowCnt) {
-                        row = sheet.getRow(rowIdx);
-
-                        if (row != null) {
-                            break;
-                        }
-
-                        rowIdx++;
-                    }
-
-                    if (row != null) {
-                        Iterator<Cell> cellIterator = row.cellIterator();
-                        while (cellIterator.hasNext()) {
-                            Cell cell = cellIterator.next();
-
-                            if (cell != null) {
-                                int columnIndex = cell.getColumnIndex();
-                                sheet.autoSizeColumn(columnIndex, true);
-                                int currentColumnWidth = sheet.getColumnWidth(columnIndex);
-                                int maxColumnWidth = (currentColumnWidth + 2500);
-                                if (maxColumnWidth > 30000) {
-                                    maxColumnWidth = 30000;
-                                }
-                                sheet.setColumnWidth(columnIndex, maxColumnWidth);
-                            }
-                        }
-                    }
-                }
+                ExcelWorkbookWriter.autoSizeColumn(workbook.getSheetAt(i), 2500);
             } catch (Exception e) {
                 // ignore
             }
@@ -20,10 +20,21 @@
  */
 package io.playce.roro.api.domain.admin.controller;
 
+import io.playce.roro.api.collector.HostStatCollectionService;
+import io.playce.roro.api.domain.inventory.service.helper.ScanReportGenerator;
+import io.playce.roro.scheduler.component.FairInventoryProcessQueue;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 /**
  * <pre>
  *
@@ -33,9 +44,35 @@ import org.springframework.web.bind.annotation.RestController;
  * @version 3.0
  */
 @RestController
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
 @RequestMapping(value = "/api/admin")
 @Slf4j
 public class AdminController {
 
+    private final FairInventoryProcessQueue assessmentQueue;
+    private final HostStatCollectionService hostStatCollectionService;
+    private final ScanReportGenerator scanReportGenerator;
+
+    @Operation(summary = "Assessment queue 상태 조회", description = "Assessment queue 의 대기 건수, 대상 서버 별 실행 건수 및 대기 시간을 조회한다.")
+    @ApiResponse(responseCode = "200")
+    @GetMapping(value = "/scheduler/assessment-queue")
+    public ResponseEntity<?> getAssessmentQueueStats() {
+        return ResponseEntity.ok(assessmentQueue.getStats());
+    }
+
+    @Operation(summary = "CPU, Memory 사용률 수집 상태 조회", description = "Server Assessment 후 CPU, Memory 사용률을 수집 중인 서버의 수를 조회한다.")
+    @ApiResponse(responseCode = "200")
+    @GetMapping(value = "/scheduler/host-stat-collectors")
+    public ResponseEntity<?> getHostStatCollectors() {
+        return ResponseEntity.ok(Map.of("activeCount", hostStatCollectionService.getActiveCount()));
+    }
+
+    @Operation(summary = "Excel report 생성 상태 조회", description = "Scan 결과 Excel report 생성 요청의 대기, 실행, 완료, 실패 건수를 조회한다.")
+    @ApiResponse(responseCode = "200")
+    @GetMapping(value = "/scheduler/report-generator")
+    public ResponseEntity<?> getReportGeneratorStats() {
+        return ResponseEntity.ok(scanReportGenerator.getStats());
+    }
 }
 //end of AdminController.java
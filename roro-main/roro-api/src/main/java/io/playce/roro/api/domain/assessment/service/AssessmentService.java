@@ -36,6 +36,8 @@ import io.playce.roro.common.dto.inventory.process.InventoryProcessDetailRespons
 import io.playce.roro.common.dto.inventory.process.InventoryProcessListResponse;
 import io.playce.roro.common.dto.inventory.server.JavaProcessResponse;
 import io.playce.roro.common.util.JsonUtil;
+import io.playce.roro.common.util.support.AssessmentResultStore;
+import io.playce.roro.common.util.LockUtil;
 import io.playce.roro.jpa.entity.*;
 import io.playce.roro.jpa.repository.*;
 import io.playce.roro.mybatis.domain.inventory.process.InventoryProcessMapper;
@@ -53,6 +55,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import static io.playce.roro.api.common.CommonConstants.YES;
@@ -74,6 +77,7 @@ import static io.playce.roro.api.common.error.ErrorCode.RESOURCE_NOT_FOUND;
 public class AssessmentService {
 
     private final LocaleMessageConvert localeMessageConvert;
+    private final ReentrantLock lock = new ReentrantLock();
 
     private final InventoryProcessService inventoryProcessService;
     private final InventoryProcessMapper inventoryProcessMapper;
@@ -90,10 +94,10 @@ public class AssessmentService {
     /**
      * https://cloud-osci.atlassian.net/browse/PCR-5593
      * 이중 서브밋 방지를 위한 방어코드로 @Transactional 애노테이션에는 synchronized가 동작하기 않기 때문에
-     * 별도의 synchronized 메소드 내에서 @Transactional 메소드를 호출한다.
+     * 별도의 lock 내에서 @Transactional 메소드를 호출한다.
      */
-    public synchronized List<AssessmentResponseDto> createAssessments(Long projectId, String inventoryTypeCode, List<Long> inventoryIds) {
-        return createAssessmentsInternal(projectId, inventoryTypeCode, inventoryIds);
+    public List<AssessmentResponseDto> createAssessments(Long projectId, String inventoryTypeCode, List<Long> inventoryIds) {
+        return LockUtil.withLock(lock, () -> createAssessmentsInternal(projectId, inventoryTypeCode, inventoryIds));
     }
 
     /**
@@ -478,7 +482,11 @@ public class AssessmentService {
             isWindow = true;
         }
 
-        JsonNode rootNode = JsonUtil.readTree(response.getInventoryProcessResultJson());
+        // 저장 파일이 있으면 프로세스 목록만 읽는다.
+        JsonNode rootNode = AssessmentResultStore.read(response.getInventoryProcessResultJsonPath(), isWindow ? "process" : "processes");
+        if (rootNode == null) {
+            rootNode = JsonUtil.readTree(response.getInventoryProcessResultJson());
+        }
 
         JsonNode processNodes;
         if (isWindow) {
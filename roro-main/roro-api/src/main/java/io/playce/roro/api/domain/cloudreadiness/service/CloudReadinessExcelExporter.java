@@ -25,6 +25,7 @@ import io.playce.roro.api.common.error.exception.RoRoApiException;
 import io.playce.roro.common.dto.cloudreadiness.CloudReadinessCategoryResult;
 import io.playce.roro.common.dto.inventory.service.ServiceDetail;
 import io.playce.roro.common.util.support.ExcelHelper;
+import io.playce.roro.common.util.support.ExcelWorkbookWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.poi.ss.usermodel.*;
@@ -68,7 +69,6 @@ public class CloudReadinessExcelExporter {
             Map<String, CellStyle> styleMap = ExcelHelper.initCellStyle(workbook);
 
             SXSSFSheet sheet1 = workbook.createSheet("Cloud Readiness Survey");
-            sheet1.trackAllColumnsForAutoSizing();
 
             XSSFSheet sheet = workbook.getXSSFWorkbook().getSheetAt(0);
 
@@ -571,41 +571,7 @@ public class CloudReadinessExcelExporter {
      */
     public void autoSizeColumn(XSSFWorkbook workbook) {
         for (int idx = 0; idx < workbook.getNumberOfSheets(); idx++) {
-            XSSFSheet sheet = workbook.getSheetAt(idx);
-
-            int rowCnt = sheet.getPhysicalNumberOfRows();
-            int rowIdx = 0;
-            if (rowCnt > 0) {
-                XSSFRow row = null;
-
-                while (rowIdx < rowCnt) {
-                    row = sheet.getRow(rowIdx);
-
-                    if (row != null) {
-                        break;
-                    }
-
-                    rowIdx++;
-                }
-
-                if (row != null) {
-                    Iterator<Cell> cellIterator = row.cellIterator();
-                    while (cellIterator.hasNext()) {
-                        XSSFCell cell = (XSSFCell) cellIterator.next();
-
-                        if (cell != null) {
-                            int columnIndex = cell.getColumnIndex();
-                            sheet.autoSizeColumn(columnIndex, true);
-                            int currentColumnWidth = sheet.getColumnWidth(columnIndex);
-                            int maxColumnWidth = (currentColumnWidth + 500);
-                            if (maxColumnWidth > 30000) {
-                                maxColumnWidth = 30000;
-                            }
-                            sheet.setColumnWidth(columnIndex, maxColumnWidth);
-                        }
-                    }
-                }
-            }
+            ExcelWorkbookWriter.autoSizeColumn(workbook.getSheetAt(idx), 500);
         }
     }
 }
\ No newline at end of file
@@ -70,7 +70,6 @@ public class ThirdPartyExcelExporter {
             Map<String, CellStyle> styleMap = ExcelHelper.initCellStyle(workbook);
 
             SXSSFSheet sheet = workbook.createSheet("3rd Party Solutions");
-            sheet.trackAllColumnsForAutoSizing();
 
             createHeader(workbook.getXSSFWorkbook(), workbook.getXSSFWorkbook().getSheetAt(workbook.getNumberOfSheets() - 1), styleMap);
             createDataRow(workbook.getXSSFWorkbook(), workbook.getXSSFWorkbook().getSheetAt(workbook.getNumberOfSheets() - 1), styleMap, thirdPartySolutionList);
@@ -94,7 +94,6 @@ public class InsightsExcelExporter {
                 }
 
                 sheet = workbook.createSheet(sheetName);
-                sheet.trackAllColumnsForAutoSizing();
 
                 createHeader(workbook.getXSSFWorkbook(), workbook.getXSSFWorkbook().getSheetAt(sheetIdx), styleMap);
                 createDataRow(projectId, within, workbook.getXSSFWorkbook(), workbook.getXSSFWorkbook().getSheetAt(sheetIdx++), styleMap, insightDtoList);
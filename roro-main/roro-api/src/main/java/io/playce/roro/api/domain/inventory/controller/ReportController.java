@@ -27,6 +27,7 @@ import io.playce.roro.api.common.util.FileUtil;
 import io.playce.roro.api.common.util.WebUtil;
 import io.playce.roro.api.domain.common.service.UserService;
 import io.playce.roro.api.domain.inventory.service.ReportService;
+import io.playce.roro.api.domain.inventory.service.helper.CompressedReportExporter;
 import io.playce.roro.api.domain.project.service.ProjectService;
 import io.playce.roro.common.code.Domain1001;
 import io.playce.roro.common.dto.inventory.process.InventoryProcessResponse;
@@ -44,6 +45,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -179,104 +181,148 @@ public class ReportController {
     public ResponseEntity<?> reportDownload(@PathVariable Long projectId, @RequestParam String inventoryTypeCode,
                                             @RequestParam(required = false) Long serviceId, @RequestParam(required = false) Long serverInventoryId,
                                             @RequestParam(required = false) List<Long> inventoryIds, @RequestParam(required = false) Long inventoryProcessId,
-                                            @RequestParam String fileType) throws Exception {
+                                            @RequestParam String fileType, HttpServletResponse response) throws Exception {
 
         List<Pattern> patterns = getPatterns(projectId, inventoryTypeCode);
         log.debug("InventoryTypeCode : [{}], Service ID : [{}], Server ID : [{}], InventoryProcess ID : [{}], File Type : [{}], patterns : [{}]"
                 , inventoryTypeCode, serviceId, serverInventoryId, inventoryProcessId, fileType, patterns);
 
-        ByteArrayInputStream bais = null;
         InputStreamResource resource = null;
         HttpHeaders headers = null;
         String fileName;
 
-        try {
-            if (inventoryIds != null && inventoryIds.size() == 1) {
-                if (CommonConstants.SERVICE_TYPE_CODE.equals(inventoryTypeCode)) {
-                    if (FileType.EXCEL.name().equals(fileType)) {
-                        ByteArrayInputStream in = reportService.serviceReport(projectId, inventoryIds.get(0));
+        if (inventoryIds != null && inventoryIds.size() == 1) {
+            if (CommonConstants.SERVICE_TYPE_CODE.equals(inventoryTypeCode)) {
+                if (FileType.EXCEL.name().equals(fileType)) {
+                    ByteArrayInputStream in = reportService.serviceReport(projectId, inventoryIds.get(0));
 
-                        fileName = reportService.getFileName(inventoryTypeCode, inventoryIds.get(0), patterns, fileType, new Date());
-                        String encodedFileName = FileUtil.getEncodeFileName(fileName);
+                    fileName = reportService.getFileName(inventoryTypeCode, inventoryIds.get(0), patterns, fileType, new Date());
+                    String encodedFileName = FileUtil.getEncodeFileName(fileName);
 
-                        headers = new HttpHeaders();
-                        headers.setContentType(MediaType.parseMediaType(MEDIA_TYPE_EXCEL));
-                        headers.setContentLength(in.available());
-                        headers.set(HttpHeaders.CONTENT_DISPOSITION,
-                                "attachment;filename=" + encodedFileName + ";filename*=UTF-8''" + encodedFileName);
+                    headers = new HttpHeaders();
+                    headers.setContentType(MediaType.parseMediaType(MEDIA_TYPE_EXCEL));
+                    headers.setContentLength(in.available());
+                    headers.set(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment;filename=" + encodedFileName + ";filename*=UTF-8''" + encodedFileName);
 
-                        resource = new InputStreamResource(in);
-                    } else {
-                        throw new RoRoApiException(ErrorCode.INVENTORY_SERVICE_JSON_NOT_SUPPORT);
-                    }
+                    resource = new InputStreamResource(in);
+                } else {
+                    throw new RoRoApiException(ErrorCode.INVENTORY_SERVICE_JSON_NOT_SUPPORT);
+                }
+
+            } else {
+                InventoryProcessResponse inventoryProcessResult;
 
+                if (inventoryProcessId != null) {
+                    inventoryProcessResult = reportService.getInventoryProcess(inventoryTypeCode, inventoryIds.get(0), inventoryProcessId);
                 } else {
-                    InventoryProcessResponse inventoryProcessResult;
+                    inventoryProcessResult = reportService.getInventoryProcess(inventoryTypeCode, inventoryIds.get(0));
+                }
 
-                    if (inventoryProcessId != null) {
-                        inventoryProcessResult = reportService.getInventoryProcess(inventoryTypeCode, inventoryIds.get(0), inventoryProcessId);
-                    } else {
-                        inventoryProcessResult = reportService.getInventoryProcess(inventoryTypeCode, inventoryIds.get(0));
-                    }
+                if (inventoryProcessResult == null) {
+                    throw new RoRoApiException(ErrorCode.FAIL_DOWNLOAD_FILE, "The COMPLETE inventory process does not exist.");
+                }
 
-                    if (inventoryProcessResult == null) {
-                        throw new RoRoApiException(ErrorCode.FAIL_DOWNLOAD_FILE, "The COMPLETE inventory process does not exist.");
+                headers = new HttpHeaders();
+                File file = null;
+                try {
+                    if (FileType.EXCEL.name().equals(fileType)) {
+                        file = reportService.getExcelReport(inventoryProcessResult.getInventoryProcessId(), inventoryProcessResult.getInventoryProcessResultExcelPath());
+                        headers.setContentType(MediaType.parseMediaType(MEDIA_TYPE_EXCEL));
+                    } else if (FileType.JSON.name().equals(fileType)) {
+                        file = new File(inventoryProcessResult.getInventoryProcessResultJsonPath());
+                        headers.setContentType(MediaType.parseMediaType(MEDIA_TYPE_JSON));
                     }
-
-                    headers = new HttpHeaders();
-                    File file = null;
-                    try {
-                        if (FileType.EXCEL.name().equals(fileType)) {
-                            file = new File(inventoryProcessResult.getInventoryProcessResultExcelPath());
-                            headers.setContentType(MediaType.parseMediaType(MEDIA_TYPE_EXCEL));
-                        } else if (FileType.JSON.name().equals(fileType)) {
-                            file = new File(inventoryProcessResult.getInventoryProcessResultJsonPath());
-                            headers.setContentType(MediaType.parseMediaType(MEDIA_TYPE_JSON));
-                        }
-                    } catch (Exception e) {
-                        // ignore
-                    } finally {
-                        if (file == null || !file.exists()) {
-                            log.warn("Inventory Process Result file({}) does not exists.", file == null ? "N/A" : file.getAbsolutePath());
-                            throw new RoRoApiException(ErrorCode.FAIL_DOWNLOAD_FILE, "The file does not exist.");
-                        }
+                } catch (Exception e) {
+                    // ignore
+                } finally {
+                    if (file == null || !file.exists()) {
+                        log.warn("Inventory Process Result file({}) does not exists.", file == null ? "N/A" : file.getAbsolutePath());
+                        throw new RoRoApiException(ErrorCode.FAIL_DOWNLOAD_FILE, "The file does not exist.");
                     }
-
-                    fileName = reportService.getFileName(inventoryTypeCode, inventoryIds.get(0), patterns, fileType, inventoryProcessResult.getInventoryProcessStartDatetime());
-                    String encodedFileName = FileUtil.getEncodeFileName(fileName);
-
-                    headers.setContentLength(file.length());
-                    headers.set(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment;filename=" + encodedFileName + ";filename*=UTF-8''" + encodedFileName);
-                    log.debug("inventoryTypeCode service 외 : header content-disposition: {}", headers.get(HttpHeaders.CONTENT_DISPOSITION));
-
-                    resource = new InputStreamResource(new FileInputStream(file));
                 }
-            } else {
-                // 여러 inventory 선택 시 zip 으로 묶어 내려준다.
-                bais = reportService.getCompressed(projectId, inventoryTypeCode, serviceId, serverInventoryId, inventoryIds, patterns, fileType);
 
-                fileName = projectService.getProjectName(projectId) + "_" + Domain1001.valueOf(inventoryTypeCode).fullname() + "_assessment_" + DATE_FORMAT.format(new Date()) + ".zip";
+                fileName = reportService.getFileName(inventoryTypeCode, inventoryIds.get(0), patterns, fileType, inventoryProcessResult.getInventoryProcessStartDatetime());
                 String encodedFileName = FileUtil.getEncodeFileName(fileName);
 
-                headers = new HttpHeaders();
-                headers.setContentType(MediaType.parseMediaType(MEDIA_TYPE_ZIP));
-                headers.setContentLength(bais.available());
+                headers.setContentLength(file.length());
                 headers.set(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment;filename=" + encodedFileName + ";filename*=UTF-8''" + encodedFileName);
-                log.debug("id not exist : header content-disposition: {}", headers.get(HttpHeaders.CONTENT_DISPOSITION));
+                log.debug("inventoryTypeCode service 외 : header content-disposition: {}", headers.get(HttpHeaders.CONTENT_DISPOSITION));
 
-                resource = new InputStreamResource(bais);
-            }
-        } finally {
-            if (bais != null) {
-                bais.close();
+                resource = new InputStreamResource(new FileInputStream(file));
             }
+        } else {
+            // 여러 inventory 선택 시 zip 으로 묶어 내려준다.
+            // zip 은 메모리에 만들지 않고 response 에 바로 기록하므로, 대상 목록을 먼저 조회하여 오류 여부를 확인한다.
+            List<CompressedReportExporter.Entry> entries = reportService.getCompressedEntries(projectId, inventoryTypeCode, serviceId, serverInventoryId, inventoryIds, patterns, fileType);
+
+            fileName = getCompressedFileName(projectId, inventoryTypeCode);
+            String encodedFileName = FileUtil.getEncodeFileName(fileName);
+
+            response.setContentType(MEDIA_TYPE_ZIP);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment;filename=" + encodedFileName + ";filename*=UTF-8''" + encodedFileName);
+            log.debug("id not exist : header content-disposition: {}", response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+
+            reportService.writeCompressed(response.getOutputStream(), entries);
+            response.flushBuffer();
+
+            return null;
         }
 
         return new ResponseEntity<>(resource, headers, HttpStatus.OK);
     }
 
+    @Operation(summary = "레포트 통합 다운로드 요청", description = "여러 레포트 파일을 zip 파일로 묶는 작업을 요청한다. 작업이 완료되면 zip 파일을 다운로드할 수 있다.\n" +
+            "- inventoryTypeCode (필수) : SERV / SVR / MW / APP / DBMS 중 선택\n" +
+            "- serviceId (옵션) : 서비스 내의 서버, 미들웨어, 애플리케이션, 데이터베이스를 선택하는 경우\n" +
+            "- serverInventoryId (옵션) : 서버 내의 미들웨어, 애플리케이션, 데이터베이스를 선택하는 경우\n" +
+            "- inventoryIds (옵션) : 서비스, 서버, 미들웨어, 애플리케이션, 데이터베이스의 ID 목록, 지정되지 않으면 전체 (',' 구분자)\n" +
+            "- fileType (필수) : EXCEL / JSON 중 선택")
+    @ApiResponse(responseCode = "200")
+    @PostMapping("/report/export")
+    public ResponseEntity<?> requestReportExport(@PathVariable Long projectId, @RequestParam String inventoryTypeCode,
+                                                 @RequestParam(required = false) Long serviceId, @RequestParam(required = false) Long serverInventoryId,
+                                                 @RequestParam(required = false) List<Long> inventoryIds, @RequestParam String fileType) {
+        List<Pattern> patterns = getPatterns(projectId, inventoryTypeCode);
+        List<CompressedReportExporter.Entry> entries = reportService.getCompressedEntries(projectId, inventoryTypeCode, serviceId, serverInventoryId, inventoryIds, patterns, fileType);
+
+        return ResponseEntity.ok(reportService.submitCompressed(projectId, getCompressedFileName(projectId, inventoryTypeCode), entries));
+    }
+
+    @Operation(summary = "레포트 통합 다운로드 작업 조회", description = "zip 파일 생성 작업의 상태를 조회한다.")
+    @ApiResponse(responseCode = "200")
+    @GetMapping("/report/export/{jobId}")
+    public ResponseEntity<?> getReportExport(@PathVariable Long projectId, @PathVariable String jobId) {
+        return ResponseEntity.ok(reportService.getCompressedJob(projectId, jobId));
+    }
+
+    @Operation(summary = "레포트 통합 다운로드 작업 파일 다운로드", description = "완료된 작업의 zip 파일을 다운로드한다.")
+    @ApiResponse(responseCode = "200")
+    @GetMapping("/report/export/{jobId}/download")
+    public ResponseEntity<?> downloadReportExport(@PathVariable Long projectId, @PathVariable String jobId) throws Exception {
+        CompressedReportExporter.Job job = reportService.getCompressedJob(projectId, jobId);
+
+        if (job.getStatus() != CompressedReportExporter.JobStatus.COMPLETED || job.getFile() == null || !job.getFile().exists()) {
+            throw new RoRoApiException(ErrorCode.FAIL_DOWNLOAD_FILE, "The file does not exist.");
+        }
+
+        String encodedFileName = FileUtil.getEncodeFileName(job.getFileName());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(MEDIA_TYPE_ZIP));
+        headers.setContentLength(job.getFile().length());
+        headers.set(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment;filename=" + encodedFileName + ";filename*=UTF-8''" + encodedFileName);
+
+        return new ResponseEntity<>(new InputStreamResource(new FileInputStream(job.getFile())), headers, HttpStatus.OK);
+    }
+
+    private String getCompressedFileName(Long projectId, String inventoryTypeCode) {
+        return projectService.getProjectName(projectId) + "_" + Domain1001.valueOf(inventoryTypeCode).fullname() + "_assessment_" + DATE_FORMAT.format(new Date()) + ".zip";
+    }
+
     @Operation(summary = "레포트 파일명 조회", description = "레포트 파일명을 조회한다.\n" +
             "- inventoryTypeCode (필수) : SERV / SVR / MW / APP / DBMS 중 선택\n" +
             "- inventoryId (필수) : 서비스, 서버, 미들웨어, 애플리케이션, 데이터베이스의 인벤토리 ID\n" +
@@ -41,6 +41,7 @@ import io.playce.roro.common.dto.inventory.server.Server;
 import io.playce.roro.common.property.CommonProperties;
 import io.playce.roro.common.util.ExcelUtil;
 import io.playce.roro.common.util.GeneralCipherUtil;
+import io.playce.roro.common.util.LockUtil;
 import io.playce.roro.jpa.entity.*;
 import io.playce.roro.jpa.repository.*;
 import io.playce.roro.mybatis.domain.common.label.LabelMapper;
@@ -64,6 +65,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import static io.playce.roro.api.common.CommonConstants.APPLICATION_FILE_UPLOAD_DIR;
@@ -103,6 +105,7 @@ public class ApplicationService {
     private final LabelMapper labelMapper;
     private final InventoryService inventoryService;
     private final RoRoProperties roroProperties;
+    private final ReentrantLock lock = new ReentrantLock();
 
     /**
      * <pre>
@@ -192,11 +195,11 @@ public class ApplicationService {
     /**
      * https://cloud-osci.atlassian.net/browse/PCR-5593
      * 이중 서브밋 방지를 위한 방어코드로 @Transactional 애노테이션에는 synchronized가 동작하기 않기 때문에
-     * 별도의 synchronized 메소드 내에서 @Transactional 메소드를 호출한다.
+     * 별도의 lock 내에서 @Transactional 메소드를 호출한다.
      */
-    public synchronized ApplicationSimpleResponse createApplication(Long projectId, ApplicationRequest applicationRequest,
+    public ApplicationSimpleResponse createApplication(Long projectId, ApplicationRequest applicationRequest,
                                                                     MultipartFile analyzeFile, MultipartFile keyFile) throws Exception {
-        return createApplicationInternal(projectId, applicationRequest, analyzeFile, keyFile);
+        return LockUtil.withLock(lock, () -> createApplicationInternal(projectId, applicationRequest, analyzeFile, keyFile));
     }
 
     /**
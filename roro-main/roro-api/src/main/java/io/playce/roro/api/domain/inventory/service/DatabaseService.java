@@ -10,6 +10,7 @@ import io.playce.roro.common.dto.common.excel.ListToExcelDto;
 import io.playce.roro.common.dto.inventory.database.*;
 import io.playce.roro.common.dto.inventory.process.InventoryProcess;
 import io.playce.roro.common.util.ExcelUtil;
+import io.playce.roro.common.util.LockUtil;
 import io.playce.roro.jpa.entity.*;
 import io.playce.roro.jpa.repository.*;
 import io.playce.roro.mybatis.domain.common.label.LabelMapper;
@@ -25,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 @Service
@@ -33,6 +35,7 @@ public class DatabaseService {
 
     private final InventoryService inventoryService;
     private final AssessmentService assessmentService;
+    private final ReentrantLock lock = new ReentrantLock();
 
     private final CredentialMasterRepository credentialMasterRepository;
     private final InventoryMasterRepository inventoryMasterRepository;
@@ -106,10 +109,10 @@ public class DatabaseService {
     /**
      * https://cloud-osci.atlassian.net/browse/PCR-5593
      * 이중 서브밋 방지를 위한 방어코드로 @Transactional 애노테이션에는 synchronized가 동작하기 않기 때문에
-     * 별도의 synchronized 메소드 내에서 @Transactional 메소드를 호출한다.
+     * 별도의 lock 내에서 @Transactional 메소드를 호출한다.
      */
-    public synchronized Map<String, Object> createDatabase(Long projectId, DatabaseRequest databaseRequest) {
-        return createDatabaseInternal(projectId, databaseRequest);
+    public Map<String, Object> createDatabase(Long projectId, DatabaseRequest databaseRequest) {
+        return LockUtil.withLock(lock, () -> createDatabaseInternal(projectId, databaseRequest));
     }
 
 
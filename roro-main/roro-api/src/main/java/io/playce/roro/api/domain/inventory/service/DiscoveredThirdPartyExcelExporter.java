@@ -73,12 +73,10 @@ public class DiscoveredThirdPartyExcelExporter {
             int colorIdx = 0;
 
             SXSSFSheet sheet = workbook.createSheet("Index");
-            sheet.trackAllColumnsForAutoSizing();
             sheet.setTabColor(colorList.get((colorIdx++ % colorList.size())));
 
             for (DiscoveredThirdPartyResponse response : discoveredThirdPartyResponses) {
                 sheet = workbook.createSheet(response.getThirdPartySolutionName());
-                sheet.trackAllColumnsForAutoSizing();
                 sheet.setTabColor(colorList.get((colorIdx++ % colorList.size())));
 
                 createHeader(workbook.getXSSFWorkbook(), workbook.getXSSFWorkbook().getSheetAt(workbook.getNumberOfSheets() - 1), styleMap);
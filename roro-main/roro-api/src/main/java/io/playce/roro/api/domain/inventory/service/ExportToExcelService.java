@@ -38,6 +38,7 @@ import io.playce.roro.common.dto.inventory.server.ServerSummaryResponse;
 import io.playce.roro.common.dto.inventory.service.ServiceDetail;
 import io.playce.roro.common.dto.publicagency.PublicAgencyReportDto;
 import io.playce.roro.common.util.support.DistinctByKey;
+import io.playce.roro.common.util.support.ExcelWorkbookWriter;
 import io.playce.roro.jpa.entity.*;
 import io.playce.roro.jpa.repository.*;
 import io.playce.roro.mybatis.domain.insights.InsightMapper;
@@ -51,6 +52,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
 import org.springframework.util.unit.DataSize;
@@ -107,12 +109,12 @@ public class ExportToExcelService {
             projectMasterRepository.findById(projectId)
                     .orElseThrow(() -> new ResourceNotFoundException("Project ID : " + projectId + " Not Found."));
 
-            XSSFWorkbook workbook = new XSSFWorkbook(Objects.requireNonNull(InventoryService.class.getResourceAsStream("/template/RoRo-Inventory-Template.xlsx")));
+            SXSSFWorkbook workbook = ExcelWorkbookWriter.createWorkbook(new XSSFWorkbook(Objects.requireNonNull(InventoryService.class.getResourceAsStream("/template/RoRo-Inventory-Template.xlsx"))));
             createCellStyle(workbook);
 
             // RoRo-Inventory-Template.xlsx 맞춰서 inventory를 Excel로 만든다.
             inventoryToExcelHelper.exportToExcel(projectId, workbook);
-            workbook.write(out);
+            ExcelWorkbookWriter.write(workbook, out);
         } catch (Exception e) {
             log.error("Unhandled Exception occurred while Export to Excel.", e);
         }
@@ -158,7 +160,7 @@ public class ExportToExcelService {
 
             for (ServerResponse server : servers) {
                 // https://cloud-osci.atlassian.net/browse/PCR-6486
-                serverService.getVendorAndModel(server, null);
+                serverService.getVendorAndModel(server);
                 ServerSummaryResponse serverSummary = serverSummaryMapper.selectServerSummary(server.getServerInventoryId());
                 ServerStatus svrStatus = serverStatusRepository.findById(server.getServerInventoryId()).orElse(null);
                 List<ServerStorage> serverStorageList = serverStorageRepository.findByServerInventoryId(server.getServerInventoryId());
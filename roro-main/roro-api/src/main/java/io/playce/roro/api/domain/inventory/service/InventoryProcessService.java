@@ -20,11 +20,10 @@
  */
 package io.playce.roro.api.domain.inventory.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.gson.Gson;
 import io.playce.roro.api.common.util.WebUtil;
 import io.playce.roro.api.config.SplitJsonProperties;
@@ -33,6 +32,7 @@ import io.playce.roro.common.code.Domain1002;
 import io.playce.roro.common.code.Domain1003;
 import io.playce.roro.common.code.Domain101;
 import io.playce.roro.common.dto.inventory.process.*;
+import io.playce.roro.common.util.LockUtil;
 import io.playce.roro.jpa.entity.InventoryProcess;
 import io.playce.roro.jpa.entity.*;
 import io.playce.roro.jpa.repository.*;
@@ -40,13 +40,22 @@ import io.playce.roro.mybatis.domain.inventory.process.InventoryProcessMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 /**
  * <pre>
@@ -71,8 +80,14 @@ public class InventoryProcessService {
     private final ObjectMapper objectMapper;
     private final Gson gson;
     private final SplitJsonProperties splitJsonProperties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ReentrantLock lock = new ReentrantLock();
 
-    public synchronized void addInventoryProcess(Long projectId, InventoryProcessRequest request, Domain1002 domain1002) {
+    public void addInventoryProcess(Long projectId, InventoryProcessRequest request, Domain1002 domain1002) {
+        LockUtil.withLock(lock, () -> addInventoryProcessInternal(projectId, request, domain1002));
+    }
+
+    private void addInventoryProcessInternal(Long projectId, InventoryProcessRequest request, Domain1002 domain1002) {
         List<Long> inventoryIds = request.getInventoryIds();
 
         List<InventoryMaster> inventoryMasters;
@@ -123,6 +138,27 @@ public class InventoryProcessService {
         log.info("start roro .. change inventory_process_result_code {} -> {}, count: {}", from, to, inventoryProcesses.size());
     }
 
+    /**
+     * 조회한 Inventory Process 중 아직 from 상태인 것만 to 상태로 변경한다.
+     * 조회 이후에 등록되거나 상태가 변경된 Inventory Process 는 변경하지 않는다.
+     *
+     * @return 상태가 변경된 inventoryProcessId
+     */
+    public Set<Long> changeState(List<Long> inventoryProcessIds, Domain1003 from, Domain1003 to) {
+        Set<Long> changed = new HashSet<>();
+        Date update = new Date();
+        Long userId = WebUtil.getUserId();
+
+        for (Long inventoryProcessId : inventoryProcessIds) {
+            if (inventoryProcessRepository.updateInventoryProcessResultCode(inventoryProcessId, from.name(), to.name(), userId, update) > 0) {
+                changed.add(inventoryProcessId);
+            }
+        }
+        log.debug("change inventory_process_result_code {} -> {}, count: {}/{}", from, to, changed.size(), inventoryProcessIds.size());
+
+        return changed;
+    }
+
     public InventoryProcess getInventoryProcessById(Long inventoryProcessId) {
         return inventoryProcessRepository.getById(inventoryProcessId);
     }
@@ -145,67 +181,116 @@ public class InventoryProcessService {
             return;
 
         List<String> keys = splitJsonProperties.getKeys(item.getInventoryTypeCode() + "-" + item.getInventoryDetailTypeCode());
-        String jsonString = gson.toJson(result);
 
         if (inventoryProcessResult == null) {
             inventoryProcessResult = new InventoryProcessResult();
         }
         inventoryProcessResult.setInventoryProcessId(inventoryProcessId);
         // Windows의 경우 io.playce.roro.scheduler.component.AbstractAssessmentProcess.saveReport() 에서 별도의 처리가 되고 있어서 overwrite 하면 안됨.
-        if (StringUtils.isEmpty(inventoryProcessResult.getInventoryProcessResultJson())) {
-            inventoryProcessResult.setInventoryProcessResultJson(jsonString);
+        // saveReport() 에서 결과 파일이 생성된 경우 대용량 결과를 다시 직렬화하지 않고 파일로부터 DB 에 저장할 json 을 생성한다.
+        List<InventoryProcessJsonDetail> details = new ArrayList<>();
+        String jsonString = inventoryProcessResult.getInventoryProcessResultJson();
+        if (StringUtils.isEmpty(jsonString)) {
+            jsonString = readResultFile(inventoryProcessId, inventoryProcessResult.getInventoryProcessResultJsonPath(), keys, details);
+        } else {
+            jsonString = splitJson(inventoryProcessId, jsonString, keys, details);
         }
+        if (jsonString == null) {
+            jsonString = splitJson(inventoryProcessId, gson.toJson(result), keys, details);
+        }
+        inventoryProcessResult.setInventoryProcessResultJson(jsonString);
         inventoryProcessResult = inventoryProcessResultRepository.save(inventoryProcessResult);
+        inventoryProcessJsonDetailRepository.saveAll(details);
 
-        List<String> usedKeys = new ArrayList<>();
-        if (jsonString.length() > splitJsonProperties.getSplitSize() && !keys.isEmpty()) {
-            JsonNode node = objectMapper.valueToTree(result);
-            try {
-                JsonNode returnNode = saveSplitDataAndRemoveNode(inventoryProcessId, keys, node, usedKeys);
-                inventoryProcessResult.setInventoryProcessResultJson(objectMapper.writeValueAsString(returnNode));
-            } catch (JsonProcessingException e) {
-                log.error("{}", e.getMessage(), e);
-            }
-        }
+        List<String> usedKeys = details.stream()
+                .map(InventoryProcessJsonDetail::getJsonKey)
+                .sorted()
+                .collect(Collectors.toList());
         inventoryProcessResult.setInventoryProcessResultMetaList(gson.toJson(usedKeys));
     }
 
-    private JsonNode saveSplitDataAndRemoveNode(Long inventoryProcessId, List<String> keys, JsonNode node, List<String> usedKey) throws JsonProcessingException {
-        if (keys == null)
+    /**
+     * 결과 파일을 읽어서 DB 에 저장할 json 을 생성한다. 파일 크기가 split size 보다 크면 keys 에 해당하는 항목을 분리한다.
+     */
+    private String readResultFile(Long inventoryProcessId, String path, List<String> keys, List<InventoryProcessJsonDetail> details) {
+        if (StringUtils.isEmpty(path)) {
             return null;
+        }
 
-        for (String key : keys) {
-            JsonNode n = node.at(key);
-            if (n.isNull())
-                continue;
-            if (n.isMissingNode())
-                continue;
+        File file = new File(path);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        List<String> splitKeys = file.length() > splitJsonProperties.getSplitSize() ? keys : Collections.emptyList();
+        try (JsonParser parser = objectMapper.getFactory().createParser(file)) {
+            return splitJson(inventoryProcessId, parser, splitKeys, details);
+        } catch (IOException e) {
+            log.error("Unable to read an assessment result file [{}]. Reason : [{}]", path, e.getMessage());
+            details.clear();
+            return null;
+        }
+    }
 
-            changeValueToKey(node, key);
-            usedKey.add(key);
+    private String splitJson(Long inventoryProcessId, String jsonString, List<String> keys, List<InventoryProcessJsonDetail> details) {
+        if (jsonString.length() <= splitJsonProperties.getSplitSize() || keys.isEmpty()) {
+            return jsonString;
+        }
 
-            InventoryProcessJsonDetail detail = getIventoryProcessJsonDetail(inventoryProcessId, key, objectMapper.writeValueAsString(n));
-            inventoryProcessJsonDetailRepository.save(detail);
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonString)) {
+            return splitJson(inventoryProcessId, parser, keys, details);
+        } catch (IOException e) {
+            log.error("{}", e.getMessage(), e);
+            details.clear();
+            return jsonString;
         }
-        return node;
     }
 
-    private void changeValueToKey(JsonNode node, String key) {
-        int parentIndex = key.lastIndexOf("/");
-        JsonNode parent = node.at(key.substring(0, parentIndex));
-        String nodeName = key.substring(parentIndex + 1);
-        if (parent instanceof ArrayNode) {
-            ArrayNode p = (ArrayNode) parent;
-            if (nodeName.equals("*")) {
-                p.removeAll();
-            } else {
-                int index = Integer.parseInt(nodeName);
-                p.remove(index);
+    /**
+     * <pre>
+     * json 을 tree 로 만들지 않고 token 단위로 복사하면서 keys(json pointer) 에 해당하는 항목을 InventoryProcessJsonDetail 로 분리한다.
+     * 분리된 항목은 object 의 항목인 경우 null 로 변경하고, array 의 항목인 경우 제거한다.
+     * </pre>
+     */
+    private String splitJson(Long inventoryProcessId, JsonParser parser, List<String> keys, List<InventoryProcessJsonDetail> details) throws IOException {
+        Set<String> splitKeys = new HashSet<>(keys);
+        // 모든 항목의 json pointer 를 만들지 않도록 key 의 depth 에 해당하는 항목만 확인한다.
+        Set<Integer> depths = splitKeys.stream()
+                .map(key -> StringUtils.countMatches(key, '/'))
+                .collect(Collectors.toSet());
+
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            int depth = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.FIELD_NAME && !token.isStructEnd() && token != JsonToken.VALUE_NULL && depths.contains(depth)) {
+                    String key = parser.getParsingContext().pathAsPointer().toString();
+
+                    if (splitKeys.contains(key)) {
+                        StringWriter content = new StringWriter();
+                        try (JsonGenerator detailGenerator = objectMapper.getFactory().createGenerator(content)) {
+                            detailGenerator.copyCurrentStructure(parser);
+                        }
+                        details.add(getIventoryProcessJsonDetail(inventoryProcessId, key, content.toString()));
+
+                        if (parser.getParsingContext().inObject()) {
+                            generator.writeNull();
+                        }
+                        continue;
+                    }
+                }
+
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+                generator.copyCurrentEvent(parser);
             }
-        } else if (parent instanceof ObjectNode) {
-
-            ((ObjectNode) parent).set(nodeName, objectMapper.nullNode());
         }
+
+        return writer.toString();
     }
 
     public InventoryProcess addInventoryProcess(Long inventoryProcessGroupId, Long inventoryId, Domain1002 invProcessType, Domain1003 invProcessResult) {
@@ -219,7 +304,14 @@ public class InventoryProcessService {
         ip.setModifyUserId(WebUtil.getUserId());
         ip.setModifyDatetime(new Date());
         ip.setDeleteYn(Domain101.N.name());
-        return inventoryProcessRepository.save(ip);
+        ip = inventoryProcessRepository.save(ip);
+
+        // 요청 상태로 등록된 경우 transaction 이 commit 된 후 scheduler 가 바로 enqueue 할 수 있도록 알린다.
+        if (invProcessResult == Domain1003.REQ) {
+            applicationEventPublisher.publishEvent(new InventoryProcessRequestEvent(invProcessType, ip.getInventoryProcessId()));
+        }
+
+        return ip;
     }
 
     public InventoryProcessGroup addInventoryGroup() {
@@ -27,6 +27,7 @@ import io.playce.roro.api.domain.inventory.service.helper.InventoryUploadExcelHe
 import io.playce.roro.common.code.Domain1009;
 import io.playce.roro.common.dto.inventory.inventory.*;
 import io.playce.roro.common.dto.subscription.Subscription;
+import io.playce.roro.common.util.LockUtil;
 import io.playce.roro.excel.template.config.ExcelTemplateConfig;
 import io.playce.roro.excel.template.vo.RecordMap;
 import io.playce.roro.excel.template.vo.SheetMap;
@@ -47,6 +48,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import static io.playce.roro.api.common.CommonConstants.UPLOAD_STATUS_TYPE_CODE_FAIL;
@@ -69,6 +71,7 @@ public class InventoryService {
     private final InventoryMasterRepository inventoryMasterRepository;
     private final UploadInventoryRepository uploadInventoryRepository;
     private final ExcelTemplateConfig excelTemplateConfig;
+    private final ReentrantLock lock = new ReentrantLock();
 
     private final InventoryUploadExcelHelper inventoryUploadExcelHelper;
     private final InventoryMapper inventoryMapper;
@@ -134,7 +137,11 @@ public class InventoryService {
      * upload inventory.
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public synchronized List<InventoryUploadSuccess> uploadInventory(SheetMap result, Long projectId, UploadInventory uploadInventory) {
+    public List<InventoryUploadSuccess> uploadInventory(SheetMap result, Long projectId, UploadInventory uploadInventory) {
+        return LockUtil.withLock(lock, () -> uploadInventoryInternal(result, projectId, uploadInventory));
+    }
+
+    private List<InventoryUploadSuccess> uploadInventoryInternal(SheetMap result, Long projectId, UploadInventory uploadInventory) {
         List<InventoryUploadSuccess> inventoryUploadSuccessList = new ArrayList<>();
         Map<String, Object> resultMap = new HashMap<>();
         List<ServiceInventory> serviceInventoryMapping = new ArrayList<>();
@@ -273,7 +280,11 @@ public class InventoryService {
      * 인벤토리 생성/수정 시 customerServiceCode에 대한 중복 체크 수행
      * </pre>
      */
-    public synchronized InventoryMaster saveInventoryMaster(InventoryMaster inventoryMaster) {
+    public InventoryMaster saveInventoryMaster(InventoryMaster inventoryMaster) {
+        return LockUtil.withLock(lock, () -> saveInventoryMasterInternal(inventoryMaster));
+    }
+
+    private InventoryMaster saveInventoryMasterInternal(InventoryMaster inventoryMaster) {
         Long projectId = inventoryMaster.getProjectId();
         Long inventoryId = inventoryMaster.getInventoryId();
         String customerInventoryCode = inventoryMaster.getCustomerInventoryCode();
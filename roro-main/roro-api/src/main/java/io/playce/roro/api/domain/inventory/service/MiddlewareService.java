@@ -37,6 +37,7 @@ import io.playce.roro.common.dto.inventory.process.InventoryProcess;
 import io.playce.roro.common.property.CommonProperties;
 import io.playce.roro.common.util.ExcelUtil;
 import io.playce.roro.common.util.GeneralCipherUtil;
+import io.playce.roro.common.util.LockUtil;
 import io.playce.roro.jpa.entity.*;
 import io.playce.roro.jpa.repository.*;
 import io.playce.roro.mybatis.domain.common.label.LabelMapper;
@@ -60,6 +61,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import static io.playce.roro.common.util.support.DistinctByKey.distinctByKey;
@@ -79,6 +81,7 @@ public class MiddlewareService {
 
     private final InventoryService inventoryService;
     private final AssessmentService assessmentService;
+    private final ReentrantLock lock = new ReentrantLock();
 
     private final InventoryMasterRepository inventoryMasterRepository;
     private final ProjectMasterRepository projectMasterRepository;
@@ -144,10 +147,10 @@ public class MiddlewareService {
     /**
      * https://cloud-osci.atlassian.net/browse/PCR-5593
      * 이중 서브밋 방지를 위한 방어코드로 @Transactional 애노테이션에는 synchronized가 동작하기 않기 때문에
-     * 별도의 synchronized 메소드 내에서 @Transactional 메소드를 호출한다.
+     * 별도의 lock 내에서 @Transactional 메소드를 호출한다.
      */
-    public synchronized MiddlewareSimpleResponse createMiddleware(Long projectId, MiddlewareRequest middlewareRequest, MultipartFile keyFile) {
-        return createMiddlewareInternal(projectId, middlewareRequest, keyFile);
+    public MiddlewareSimpleResponse createMiddleware(Long projectId, MiddlewareRequest middlewareRequest, MultipartFile keyFile) {
+        return LockUtil.withLock(lock, () -> createMiddlewareInternal(projectId, middlewareRequest, keyFile));
     }
 
     @Transactional
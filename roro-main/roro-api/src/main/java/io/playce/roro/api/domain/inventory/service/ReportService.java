@@ -28,6 +28,8 @@ import io.playce.roro.api.common.error.ErrorCode;
 import io.playce.roro.api.common.error.exception.ResourceNotFoundException;
 import io.playce.roro.api.common.error.exception.RoRoApiException;
 import io.playce.roro.api.common.util.ExcelUtil;
+import io.playce.roro.api.domain.inventory.service.helper.CompressedReportExporter;
+import io.playce.roro.api.domain.inventory.service.helper.ScanReportGenerator;
 import io.playce.roro.api.domain.inventory.service.helper.ServiceReportHelper;
 import io.playce.roro.asmt.windows.dto.WindowsAssessmentDto.InstalledSoftware;
 import io.playce.roro.asmt.windows.dto.WindowsAssessmentDto.Process;
@@ -45,6 +47,7 @@ import io.playce.roro.common.dto.inventory.service.ServiceDetail;
 import io.playce.roro.common.dto.inventory.service.ServiceResponse;
 import io.playce.roro.common.util.DeduplicationUtil;
 import io.playce.roro.common.util.support.ExcelHelper;
+import io.playce.roro.common.util.support.ExcelWorkbookWriter;
 import io.playce.roro.jpa.entity.*;
 import io.playce.roro.jpa.repository.*;
 import io.playce.roro.mybatis.domain.inventory.application.ApplicationMapper;
@@ -57,14 +60,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.jetbrains.annotations.NotNull;
 import org.json.simple.JSONObject;
@@ -75,8 +75,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.io.*;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 import static io.playce.roro.api.common.util.ExcelUtil.*;
 import static io.playce.roro.api.domain.inventory.controller.ReportController.DATE_FORMAT;
@@ -116,6 +114,35 @@ public class ReportService {
     private final InventoryProcessMapper inventoryProcessMapper;
 
     private final ServiceReportHelper serviceReportHelper;
+    private final ScanReportGenerator scanReportGenerator;
+    private final CompressedReportExporter compressedReportExporter;
+
+    /**
+     * Inventory Process 의 Excel report 파일을 반환한다. report 가 아직 생성되지 않았으면 생성이 완료될 때까지 기다린다.
+     */
+    public File getExcelReport(Long inventoryProcessId, String excelFilePath) throws InterruptedException {
+        File file = scanReportGenerator.getReport(inventoryProcessId);
+
+        if (file == null && StringUtils.isNotEmpty(excelFilePath)) {
+            file = new File(excelFilePath);
+        }
+
+        return file;
+    }
+
+    /**
+     * Excel report 파일을 반환한다. report 파일이 없으면 다운로드와 동일한 오류를 발생시킨다.
+     */
+    private File getExistingExcelReport(Long inventoryProcessId, String excelFilePath) throws InterruptedException {
+        File file = getExcelReport(inventoryProcessId, excelFilePath);
+
+        if (file == null || !file.exists()) {
+            log.warn("Inventory Process Result file({}) does not exists.", file == null ? "N/A" : file.getAbsolutePath());
+            throw new RoRoApiException(ErrorCode.FAIL_DOWNLOAD_FILE, "The file does not exist.");
+        }
+
+        return file;
+    }
 
     public InventoryProcessResponse getInventoryProcess(String inventoryTypeCode, Long inventoryId) {
         // 가장 마지막 성공 상태의 Inventory Process를 가져온다.
@@ -345,33 +372,36 @@ public class ReportService {
     }
 
     /**
-     * inventory process result 파일들을 압축한다.
+     * 압축할 inventory process result 파일(Service 인 경우 Service report) 목록을 조회한다.
+     * 파일은 zip 에 기록할 때 CompressedReportExporter 에서 생성하거나 읽는다.
      */
-    public ByteArrayInputStream getCompressed(Long projectId, String inventoryTypeCode, Long serviceId,
-                                              Long serverInventoryId, List<Long> inventoryIds, List<Pattern> patterns, String fileType) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+    public List<CompressedReportExporter.Entry> getCompressedEntries(Long projectId, String inventoryTypeCode, Long serviceId,
+                                                                     Long serverInventoryId, List<Long> inventoryIds, List<Pattern> patterns, String fileType) {
+        try {
+            List<CompressedReportExporter.Entry> entries = new ArrayList<>();
             List<InventoryProcess.CompleteScan> inventoryProcessList = new ArrayList<>();
 
             if (CommonConstants.SERVICE_TYPE_CODE.equals(inventoryTypeCode)) {
-                try (ZipOutputStream zos = new ZipOutputStream(baos)) {
-                    if (inventoryIds == null || inventoryIds.size() == 0) {
-                        List<ServiceDetail> serviceList = serviceMapper.selectServiceList(projectId);
+                if (inventoryIds == null || inventoryIds.size() == 0) {
+                    List<ServiceDetail> serviceList = serviceMapper.selectServiceList(projectId);
 
-                        inventoryIds = new ArrayList<>();
-                        for (ServiceDetail service : serviceList) {
-                            inventoryIds.add(service.getServiceId());
-                        }
+                    inventoryIds = new ArrayList<>();
+                    for (ServiceDetail service : serviceList) {
+                        inventoryIds.add(service.getServiceId());
                     }
+                }
 
-                    for (Long id : inventoryIds) {
-                        try (ByteArrayInputStream bais = serviceReport(projectId, id)) {
-                            String fileName = getFileName(inventoryTypeCode, id, patterns, FileType.EXCEL.name(), new Date());
+                for (Long id : inventoryIds) {
+                    String fileName = getFileName(inventoryTypeCode, id, patterns, FileType.EXCEL.name(), new Date());
 
-                            zos.putNextEntry(new ZipEntry(fileName));
-                            IOUtils.copy(bais, zos);
-                            zos.closeEntry();
+                    // Service report 는 메모리에 두지 않고 임시 파일로 생성한다.
+                    entries.add(new CompressedReportExporter.Entry(fileName, () -> {
+                        File file = compressedReportExporter.createTempFile(".xlsx");
+                        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                            serviceReport(projectId, id, out);
                         }
-                    }
+                        return file;
+                    }, true));
                 }
 
             } else {
@@ -469,51 +499,65 @@ public class ReportService {
                     throw new Exception("COMPLETED inventory processes are not exists");
                 }
 
-                // zip 파일로 만들어서 내려준다.
-                try (ZipOutputStream zos = new ZipOutputStream(baos)) {
-                    List<String> fileNameList = new ArrayList<>();
-                    for (InventoryProcess.CompleteScan completeScan : inventoryProcessList) {
-                        if (StringUtils.isEmpty(completeScan.getInventoryProcessResultExcelPath())) {
-                            log.error("Report Error Inventory ProcessResultExcelPath is null ==> Inventory Process ID : {}, ", completeScan.getInventoryProcessId());
-                        } else {
-                            File file = null;
-
-                            io.playce.roro.jpa.entity.InventoryProcess inventoryProcess = inventoryProcessRepository.findById(completeScan.getInventoryProcessId())
-                                    .orElseThrow(() -> new ResourceNotFoundException("Inventory Process ID : " + completeScan.getInventoryProcessId() + " Not Found."));
+                for (InventoryProcess.CompleteScan completeScan : inventoryProcessList) {
+                    if (StringUtils.isEmpty(completeScan.getInventoryProcessResultJsonPath())) {
+                        log.error("Report Error Inventory ProcessResultJsonPath is null ==> Inventory Process ID : {}, ", completeScan.getInventoryProcessId());
+                    } else {
+                        io.playce.roro.jpa.entity.InventoryProcess inventoryProcess = inventoryProcessRepository.findById(completeScan.getInventoryProcessId())
+                                .orElseThrow(() -> new ResourceNotFoundException("Inventory Process ID : " + completeScan.getInventoryProcessId() + " Not Found."));
 
-                            String fileName = getFileName(inventoryTypeCode, inventoryProcess.getInventoryId(), patterns, fileType, inventoryProcess.getInventoryProcessStartDatetime());
+                        String fileName = getFileName(inventoryTypeCode, inventoryProcess.getInventoryId(), patterns, fileType, inventoryProcess.getInventoryProcessStartDatetime());
 
-                            if (FileType.EXCEL.name().equals(fileType)) {
-                                file = new File(completeScan.getInventoryProcessResultExcelPath());
-                            } else if (FileType.JSON.name().equals(fileType)) {
-                                file = new File(completeScan.getInventoryProcessResultJsonPath());
-                            }
-
-                            if (fileName != null && file != null && file.exists()) {
-                                fileName = getFileName(fileNameList, fileName, 1);
+                        if (StringUtils.isEmpty(fileName)) {
+                            continue;
+                        }
 
-                                try (FileInputStream fis = new FileInputStream(file)) {
-                                    zos.putNextEntry(new ZipEntry(fileName));
-                                    IOUtils.copy(fis, zos);
-                                    zos.closeEntry();
-                                }
-                            } else {
-                                if (file != null && !file.exists()) {
-                                    log.warn("Unhandled add file({}) to zip entry. File does not exists.", file.getAbsolutePath());
-                                }
-                            }
+                        if (FileType.EXCEL.name().equals(fileType)) {
+                            // Excel report 가 아직 생성되지 않았으면 zip 에 기록하기 전에 생성한다.
+                            entries.add(new CompressedReportExporter.Entry(fileName,
+                                    () -> getExcelReport(completeScan.getInventoryProcessId(), completeScan.getInventoryProcessResultExcelPath()), false));
+                        } else if (FileType.JSON.name().equals(fileType)) {
+                            entries.add(new CompressedReportExporter.Entry(fileName,
+                                    () -> new File(completeScan.getInventoryProcessResultJsonPath()), false));
                         }
                     }
                 }
             }
 
-            return new ByteArrayInputStream(baos.toByteArray());
+            return entries;
         } catch (Exception e) {
             log.error("Unhandled exception occurred while create a zip file.", e);
             throw new RoRoApiException(ErrorCode.ASSESSMENT_ZIP_FAILED, e.getMessage());
         }
     }
 
+    /**
+     * 파일들을 압축하여 out 에 바로 기록한다.
+     */
+    public void writeCompressed(OutputStream out, List<CompressedReportExporter.Entry> entries) throws IOException, InterruptedException {
+        compressedReportExporter.write(out, entries);
+    }
+
+    /**
+     * 파일들을 압축한 zip 파일 생성을 비동기로 요청한다.
+     */
+    public CompressedReportExporter.Job submitCompressed(Long projectId, String fileName, List<CompressedReportExporter.Entry> entries) {
+        return compressedReportExporter.submit(projectId, fileName, entries);
+    }
+
+    /**
+     * 비동기로 요청한 zip 파일 생성 작업을 조회한다.
+     */
+    public CompressedReportExporter.Job getCompressedJob(Long projectId, String jobId) {
+        CompressedReportExporter.Job job = compressedReportExporter.getJob(projectId, jobId);
+
+        if (job == null) {
+            throw new ResourceNotFoundException("Report export job ID : " + jobId + " Not Found.");
+        }
+
+        return job;
+    }
+
     @NotNull
     private String generateServiceName(InventoryMaster inventory) {
         StringBuilder sb = new StringBuilder();
@@ -550,27 +594,17 @@ public class ReportService {
         return inventoryProcess;
     }
 
-    /**
-     * <pre>
-     * 중복되지 않는 파일명을 가져온다.
-     * </pre>
-     */
-    private String getFileName(List<String> fileNameList, String fileName, int idx) {
-        if (fileNameList.contains(fileName)) {
-            String extension = FilenameUtils.getExtension(fileName);
-            fileName = FilenameUtils.removeExtension(fileName).replaceAll("\\(\\d+\\)", "");
-            fileName = fileName + "(" + idx + ")." + extension;
-
-            return getFileName(fileNameList, fileName, ++idx);
-        } else {
-            fileNameList.add(fileName);
-            return fileName;
-        }
-    }
-
     public ByteArrayInputStream serviceReport(Long projectId, Long serviceId) {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serviceReport(projectId, serviceId, out);
+
+        return new ByteArrayInputStream(out.toByteArray());
+    }
 
+    /**
+     * Service report 를 생성하여 out 에 기록한다.
+     */
+    public void serviceReport(Long projectId, Long serviceId, OutputStream out) {
         serviceMasterRepository.findById(serviceId)
                 .orElseThrow(() -> new RoRoApiException(ErrorCode.INVENTORY_SERVICE_NOT_FOUND));
 
@@ -610,8 +644,6 @@ public class ReportService {
         } catch (Exception e) {
             log.error("Unhandled exception occurred while Service Report to Excel.", e);
         }
-
-        return new ByteArrayInputStream(out.toByteArray());
     }
 
     public ByteArrayInputStream generateWindowsMiddlewareExcel(Long projectId) {
@@ -1005,7 +1037,8 @@ public class ReportService {
         excludedSheets.addAll(requiredSheet);
 
         List<ExcelSheetDto> result = new ArrayList<>();
-        try (var workbook = new XSSFWorkbook(getInventoryProcess(inventoryTypeCode, inventoryId, inventoryProcessId).getInventoryProcessResultExcelPath())) {
+        InventoryProcessResponse inventoryProcess = getInventoryProcess(inventoryTypeCode, inventoryId, inventoryProcessId);
+        try (var workbook = new XSSFWorkbook(getExistingExcelReport(inventoryProcessId, inventoryProcess.getInventoryProcessResultExcelPath()).getAbsolutePath())) {
             for (Sheet sheet : workbook) {
                 String sheetName = sheet.getSheetName();
                 if (requiredSheet.contains(sheetName)) {
@@ -1016,7 +1049,7 @@ public class ReportService {
                 sheetDto.setExcluded(excludedSheets.contains(sheetName));
                 result.add(sheetDto);
             }
-        } catch (IOException e) {
+        } catch (IOException | InterruptedException e) {
             log.error("Unhandled exception occurred while create survey template file.", e);
             throw new RoRoApiException(ErrorCode.EXCEL_CREATE_FAILED, e.getMessage());
         }
@@ -1040,7 +1073,8 @@ public class ReportService {
                 .collect(Collectors.toList());
 
         try {
-            var workbook = new SXSSFWorkbook(new XSSFWorkbook(getInventoryProcess(inventoryTypeCode, inventoryId, inventoryProcessId).getInventoryProcessResultExcelPath()));
+            InventoryProcessResponse inventoryProcess = getInventoryProcess(inventoryTypeCode, inventoryId, inventoryProcessId);
+            var workbook = ExcelWorkbookWriter.createWorkbook(new XSSFWorkbook(getExistingExcelReport(inventoryProcessId, inventoryProcess.getInventoryProcessResultExcelPath()).getAbsolutePath()));
 
             for (int i = workbook.getNumberOfSheets() - 1; i >= 0; i--) {
                 String sheetName = workbook.getSheetAt(i).getSheetName();
@@ -1052,8 +1086,7 @@ public class ReportService {
             ExcelHelper.replaceContents(workbook);
             ExcelHelper.autoSizeColumn(workbook);
             var out = new ByteArrayOutputStream();
-            workbook.write(out);
-            // workbook.dispose();
+            ExcelWorkbookWriter.write(workbook, out);
             return new ByteArrayInputStream(out.toByteArray());
         } catch (IOException | InterruptedException e) {
             log.error("Unhandled exception occurred while create survey template file.", e);
@@ -27,6 +27,7 @@ import io.playce.roro.api.common.error.exception.ResourceNotFoundException;
 import io.playce.roro.api.common.error.exception.RoRoApiException;
 import io.playce.roro.api.common.util.WebUtil;
 import io.playce.roro.api.domain.common.aop.SubscriptionManager;
+import io.playce.roro.api.domain.inventory.service.helper.AssessmentResultReader;
 import io.playce.roro.api.domain.inventory.service.helper.InventoryProcessHelper;
 import io.playce.roro.api.domain.inventory.service.helper.WindowsAssessmentHelper;
 import io.playce.roro.api.domain.preconfig.service.PreConfigService;
@@ -51,6 +52,7 @@ import io.playce.roro.common.util.GeneralCipherUtil;
 import io.playce.roro.common.util.SSHUtil;
 import io.playce.roro.common.util.support.DiskInfo;
 import io.playce.roro.common.util.support.TargetHost;
+import io.playce.roro.common.util.LockUtil;
 import io.playce.roro.history.service.ServerEventHandlerService;
 import io.playce.roro.jpa.entity.*;
 import io.playce.roro.jpa.repository.*;
@@ -85,6 +87,7 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -105,6 +108,7 @@ import static io.playce.roro.common.util.JsonUtil.getJsonObject;
 public class ServerService {
 
     private final WindowsAssessmentHelper windowsAssessmentHelper;
+    private final ReentrantLock lock = new ReentrantLock();
 
     private final InventoryService inventoryService;
     private final PreConfigService preConfigService;
@@ -113,6 +117,7 @@ public class ServerService {
     private final ApplicationService applicationService;
     private final InventoryProcessService inventoryProcessService;
     private final InventoryProcessHelper inventoryProcessHelper;
+    private final AssessmentResultReader assessmentResultReader;
 
     private final ModelMapper modelMapper;
 
@@ -136,12 +141,12 @@ public class ServerService {
     private final InventoryProcessRepository inventoryProcessRepository;
     private final InventoryProcessGroupRepository inventoryProcessGroupRepository;
     private final ServerDiskInformationRepository serverDiskInformationRepository;
-    private final InventoryProcessResultRepository inventoryProcessResultRepository;
 
     private final DiscoveredInstanceMasterRepository discoveredInstanceMasterRepository;
     private final ServerEventHandlerService serverEventHandlerService;
 
     private static final Gson gson = new Gson();
+    private static final String[] VENDOR_AND_MODEL_FIELDS = {"systemVendor", "productName", "productSerial", "systemInformation"};
 
     private final ScheduleConfig scheduleConfig;
 
@@ -194,7 +199,7 @@ public class ServerService {
             setServerDetail(server);
 
             // https://cloud-osci.atlassian.net/browse/PCR-6486
-            getVendorAndModel(server, null);
+            getVendorAndModel(server);
 
             // resource count
             server.setMiddlewareCount(middlewareService.getMiddlewares(projectId, null, serverId).size());
@@ -208,10 +213,10 @@ public class ServerService {
     /**
      * https://cloud-osci.atlassian.net/browse/PCR-5593
      * 이중 서브밋 방지를 위한 방어코드로 @Transactional 애노테이션에는 synchronized가 동작하기 않기 때문에
-     * 별도의 synchronized 메소드 내에서 @Transactional 메소드를 호출한다.
+     * 별도의 lock 내에서 @Transactional 메소드를 호출한다.
      */
-    public synchronized ServerSimpleResponse createServer(Long projectId, ServerRequest serverRequest, MultipartFile keyFile) {
-        return createServerInternal(projectId, serverRequest, keyFile);
+    public ServerSimpleResponse createServer(Long projectId, ServerRequest serverRequest, MultipartFile keyFile) {
+        return LockUtil.withLock(lock, () -> createServerInternal(projectId, serverRequest, keyFile));
     }
 
     /**
@@ -877,7 +882,7 @@ public class ServerService {
     }
 
     // https://cloud-osci.atlassian.net/browse/PCR-6486
-    public void getVendorAndModel(ServerResponse server, InventoryProcessResult inventoryProcessResult) {
+    public void getVendorAndModel(ServerResponse server) {
         if (StringUtils.isEmpty(server.getMakerName()) || StringUtils.isEmpty(server.getModelName()) || StringUtils.isEmpty(server.getSerialNumber())) {
             InventoryProcess.CompleteScan completeScan = server.getLastCompleteScan();
 
@@ -890,11 +895,8 @@ public class ServerService {
                 ServerAssessmentResult result = null;
 
                 try {
-                    if (inventoryProcessResult == null) {
-                        inventoryProcessResult = inventoryProcessResultRepository.findByInventoryProcessId(completeScan.getInventoryProcessId());
-                    }
-
-                    String jsonStr = inventoryProcessResult.getInventoryProcessResultJson();
+                    // 결과 전체를 binding 하지 않고 제조사, 모델 정보만 읽는다.
+                    String jsonStr = assessmentResultReader.getResultJson(completeScan.getInventoryProcessId(), VENDOR_AND_MODEL_FIELDS);
 
                     if (Domain1013.LINUX.name().equals(server.getInventoryDetailTypeCode())) {
                         result = gson.fromJson(jsonStr, ServerAssessmentResult.class);
@@ -36,6 +36,7 @@ import io.playce.roro.common.dto.inventory.middleware.MiddlewareResponse;
 import io.playce.roro.common.dto.inventory.server.ServerResponse;
 import io.playce.roro.common.dto.inventory.service.*;
 import io.playce.roro.common.util.ExcelUtil;
+import io.playce.roro.common.util.LockUtil;
 import io.playce.roro.jpa.entity.ServiceLabel;
 import io.playce.roro.jpa.entity.ServiceManager;
 import io.playce.roro.jpa.entity.ServiceMaster;
@@ -58,6 +59,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import static io.playce.roro.api.common.CommonConstants.YES;
@@ -81,6 +83,7 @@ public class ServiceService {
     private final MiddlewareService middlewareService;
     private final ApplicationService applicationService;
     private final DatabaseService databaseService;
+    private final ReentrantLock lock = new ReentrantLock();
 
     private final ModelMapper modelMapper;
     private final ServiceMapper serviceMapper;
@@ -132,10 +135,10 @@ public class ServiceService {
     /**
      * https://cloud-osci.atlassian.net/browse/PCR-5593
      * 이중 서브밋 방지를 위한 방어코드로 @Transactional 애노테이션에는 synchronized가 동작하기 않기 때문에
-     * 별도의 synchronized 메소드 내에서 @Transactional 메소드를 호출한다.
+     * 별도의 lock 내에서 @Transactional 메소드를 호출한다.
      */
-    public synchronized ServiceMaster createService(long projectId, ServiceCreateRequest serviceCreateRequest) {
-        return createServiceInternal(projectId, serviceCreateRequest);
+    public ServiceMaster createService(long projectId, ServiceCreateRequest serviceCreateRequest) {
+        return LockUtil.withLock(lock, () -> createServiceInternal(projectId, serviceCreateRequest));
     }
 
     @Transactional
@@ -362,7 +365,11 @@ public class ServiceService {
      *
      * @return
      */
-    public synchronized ServiceMaster saveServiceMaster(ServiceMaster serviceMaster) {
+    public ServiceMaster saveServiceMaster(ServiceMaster serviceMaster) {
+        return LockUtil.withLock(lock, () -> saveServiceMasterInternal(serviceMaster));
+    }
+
+    private ServiceMaster saveServiceMasterInternal(ServiceMaster serviceMaster) {
         Long projectId = serviceMaster.getProjectId();
         Long serviceId = serviceMaster.getServiceId();
         String customerServiceCode = serviceMaster.getCustomerServiceCode();
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.api.domain.inventory.service.helper;
+
+import io.playce.roro.common.util.support.AssessmentResultStore;
+import io.playce.roro.jpa.entity.InventoryProcessResult;
+import io.playce.roro.jpa.repository.InventoryProcessResultRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * <pre>
+ * Assessment 결과 중 필요한 최상위 항목만 조회한다.
+ *
+ * AssessmentResultStore 의 저장 파일이 있으면 요청한 항목만 읽고,
+ * 저장 파일이 없는 경우(이전 버전의 결과, 파일 삭제 등)에는 DB 에 저장된 결과 json 전체를 반환한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Component
+@RequiredArgsConstructor
+public class AssessmentResultReader {
+
+    private final InventoryProcessResultRepository inventoryProcessResultRepository;
+
+    /**
+     * 요청한 항목으로 구성된 결과 json 을 반환한다. fields 가 비어 있으면 모든 항목을 반환한다.
+     *
+     * @return 결과 json, 결과가 없는 경우 null
+     */
+    public String getResultJson(Long inventoryProcessId, String... fields) {
+        if (inventoryProcessId == null) {
+            return null;
+        }
+
+        String json = AssessmentResultStore.readAsJson(inventoryProcessResultRepository.selectInventoryProcessResultJsonPath(inventoryProcessId), fields);
+
+        if (json == null) {
+            InventoryProcessResult inventoryProcessResult = inventoryProcessResultRepository.findByInventoryProcessId(inventoryProcessId);
+
+            if (inventoryProcessResult != null) {
+                json = inventoryProcessResult.getInventoryProcessResultJson();
+            }
+        }
+
+        return json;
+    }
+}
+//end of AssessmentResultReader.java
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.api.domain.inventory.service.helper;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.playce.roro.common.property.CommonProperties;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * <pre>
+ * 여러 report 파일을 zip 으로 묶어서 내려준다.
+ *
+ * 1. zip 은 메모리에 만들지 않고 전달받은 OutputStream(HTTP response 등)에 entry 단위로 바로 기록한다.
+ * 2. report 생성(Service report, Excel report 등)은 scheduler.report.export-parallelism 개의 thread 에서 미리 진행하며,
+ *    하나의 zip 에 대해 기록되지 않은 report 는 최대 export-parallelism 개만 생성해 둔다.
+ * 3. 비동기 작업(submit)으로 요청하면 zip 파일을 work directory 에 생성하며, 생성된 파일은 scheduler.report.export-retention 분 후 삭제된다.
+ *    대기 중인 작업이 scheduler.report.export-job-queue-capacity 개를 넘으면 요청은 RejectedExecutionException 으로 거절된다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Component
+@Slf4j
+public class CompressedReportExporter {
+
+    @Value("${scheduler.report.export-parallelism:2}")
+    private int parallelism;
+
+    @Value("${scheduler.report.export-job-pool-size:1}")
+    private int jobPoolSize;
+
+    @Value("${scheduler.report.export-job-queue-capacity:10}")
+    private int jobQueueCapacity;
+
+    @Value("${scheduler.report.export-retention:60}")
+    private long retention;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private ExecutorService generator;
+    private ExecutorService jobExecutor;
+
+    @PostConstruct
+    public void init() {
+        generator = Executors.newFixedThreadPool(Math.max(parallelism, 1), threadFactory("report-export-"));
+        jobExecutor = new ThreadPoolExecutor(Math.max(jobPoolSize, 1), Math.max(jobPoolSize, 1), 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(jobQueueCapacity, 1)), threadFactory("report-export-job-"));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        generator.shutdownNow();
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * zip 에 기록할 파일을 생성하는 임시 파일을 반환한다.
+     */
+    public File createTempFile(String suffix) throws IOException {
+        File dir = new File(getExportDir(), "tmp");
+        FileUtils.forceMkdir(dir);
+        return File.createTempFile("report-", suffix, dir);
+    }
+
+    /**
+     * entry 를 순서대로 zip 으로 묶어서 out 에 기록한다. 생성에 실패했거나 파일이 없는 entry 는 제외된다.
+     */
+    public void write(OutputStream out, List<Entry> entries) throws IOException, InterruptedException {
+        Set<String> entryNames = new HashSet<>();
+        List<Future<File>> futures = new ArrayList<>(Collections.nCopies(entries.size(), null));
+        int next = 0;
+
+        ZipOutputStream zos = new ZipOutputStream(out);
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                // 기록하는 entry 를 포함하여 최대 parallelism 개의 report 를 미리 생성한다.
+                while (next < entries.size() && next - i < Math.max(parallelism, 1)) {
+                    futures.set(next, generator.submit(entries.get(next).source));
+                    next++;
+                }
+
+                Entry entry = entries.get(i);
+                File file = null;
+                try {
+                    file = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    log.error("Unable to create [{}] for a zip entry.", entry.name, e.getCause());
+                } finally {
+                    futures.set(i, null);
+                }
+
+                if (file == null || !file.exists()) {
+                    if (file != null) {
+                        log.warn("Unhandled add file({}) to zip entry. File does not exists.", file.getAbsolutePath());
+                    }
+                    continue;
+                }
+
+                try {
+                    zos.putNextEntry(new ZipEntry(getEntryName(entryNames, entry.name, 1)));
+                    Files.copy(file.toPath(), zos);
+                    zos.closeEntry();
+                } finally {
+                    if (entry.temporary) {
+                        Files.deleteIfExists(file.toPath());
+                    }
+                }
+            }
+
+            zos.finish();
+        } finally {
+            // 요청이 중단된 경우 생성 중이거나 생성된 임시 파일을 정리한다.
+            for (int i = 0; i < next; i++) {
+                Future<File> future = futures.get(i);
+                if (future != null && !future.cancel(true) && entries.get(i).temporary) {
+                    deleteQuietly(future);
+                }
+            }
+        }
+    }
+
+    /**
+     * zip 파일 생성을 비동기로 요청한다.
+     *
+     * @throws RejectedExecutionException 대기 중인 작업이 많아 요청을 받을 수 없는 경우
+     */
+    public Job submit(Long projectId, String fileName, List<Entry> entries) {
+        removeExpiredJobs();
+
+        Job job = new Job(UUID.randomUUID().toString(), projectId, fileName);
+        jobs.put(job.getJobId(), job);
+
+        try {
+            jobExecutor.execute(() -> run(job, entries));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            throw e;
+        }
+
+        return job;
+    }
+
+    /**
+     * 비동기 작업을 조회한다.
+     *
+     * @return 작업, 없거나 만료된 경우 null
+     */
+    public Job getJob(Long projectId, String jobId) {
+        removeExpiredJobs();
+
+        Job job = jobs.get(jobId);
+        if (job == null || !job.getProjectId().equals(projectId)) {
+            return null;
+        }
+
+        return job;
+    }
+
+    private void run(Job job, List<Entry> entries) {
+        job.status = JobStatus.RUNNING;
+
+        File file = new File(getExportDir(), job.getJobId() + ".zip");
+        try {
+            FileUtils.forceMkdirParent(file);
+
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                write(out, entries);
+            }
+
+            job.file = file;
+            job.size = file.length();
+            job.status = JobStatus.COMPLETED;
+        } catch (Throwable t) {
+            log.error("Unhandled exception occurred while create a zip file [{}].", job.getFileName(), t);
+            FileUtils.deleteQuietly(file);
+
+            job.message = t.getMessage();
+            job.status = JobStatus.FAILED;
+
+            if (t instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            job.finishDatetime = new Date();
+        }
+    }
+
+    private void removeExpiredJobs() {
+        long expired = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(retention);
+
+        for (Job job : jobs.values()) {
+            if (job.finishDatetime != null && job.finishDatetime.getTime() < expired && jobs.remove(job.getJobId(), job)) {
+                if (job.file != null) {
+                    FileUtils.deleteQuietly(job.file);
+                }
+            }
+        }
+
+        // 생성 도중 요청이 중단되어 남은 임시 파일
+        File[] tempFiles = new File(getExportDir(), "tmp").listFiles();
+        if (tempFiles != null) {
+            for (File tempFile : tempFiles) {
+                if (tempFile.lastModified() < expired) {
+                    FileUtils.deleteQuietly(tempFile);
+                }
+            }
+        }
+    }
+
+    private String getEntryName(Set<String> entryNames, String name, int idx) {
+        String entryName = name;
+        while (!entryNames.add(entryName)) {
+            int dot = name.lastIndexOf('.');
+            entryName = dot < 0 ? name + "(" + idx + ")" : name.substring(0, dot) + "(" + idx + ")" + name.substring(dot);
+            idx++;
+        }
+        return entryName;
+    }
+
+    private void deleteQuietly(Future<File> future) {
+        try {
+            File file = future.get();
+            if (file != null) {
+                FileUtils.deleteQuietly(file);
+            }
+        } catch (Exception e) {
+            // ignore
+        }
+    }
+
+    private File getExportDir() {
+        return new File(CommonProperties.getWorkDir() + File.separator + "report" + File.separator + "export");
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * zip entry. source 는 entry 로 기록할 파일을 반환하며, temporary 인 경우 기록 후 삭제된다.
+     */
+    public static class Entry {
+        private final String name;
+        private final Callable<File> source;
+        private final boolean temporary;
+
+        public Entry(String name, Callable<File> source, boolean temporary) {
+            this.name = name;
+            this.source = source;
+            this.temporary = temporary;
+        }
+    }
+
+    public enum JobStatus {
+        READY, RUNNING, COMPLETED, FAILED
+    }
+
+    @Getter
+    public static class Job {
+        private final String jobId;
+        @JsonIgnore
+        private final Long projectId;
+        private final String fileName;
+        private final Date requestDatetime = new Date();
+        private volatile JobStatus status = JobStatus.READY;
+        private volatile Date finishDatetime;
+        private volatile long size;
+        private volatile String message;
+        @JsonIgnore
+        private volatile File file;
+
+        private Job(String jobId, Long projectId, String fileName) {
+            this.jobId = jobId;
+            this.projectId = projectId;
+            this.fileName = fileName;
+        }
+    }
+}
+//end of CompressedReportExporter.java
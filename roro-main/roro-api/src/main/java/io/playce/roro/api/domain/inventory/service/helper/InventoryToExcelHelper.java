@@ -37,7 +37,7 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.springframework.stereotype.Component;
 
 import java.text.ParseException;
@@ -69,7 +69,7 @@ public class InventoryToExcelHelper {
     private final ApplicationService applicationService;
     private final DatabaseService databaseService;
 
-    public void exportToExcel(Long projectId, XSSFWorkbook workbook) {
+    public void exportToExcel(Long projectId, Workbook workbook) {
         List<ServiceMapping> serviceMapping = new ArrayList<>();
 
         exportServicesToExcel(projectId, workbook);
@@ -80,7 +80,7 @@ public class InventoryToExcelHelper {
         exportServiceMappingToExcel(workbook, serviceMapping);
     }
 
-    private void exportServicesToExcel(Long projectId, XSSFWorkbook workbook) {
+    private void exportServicesToExcel(Long projectId, Workbook workbook) {
         List<ServiceResponse> serviceList = serviceService.getServiceList(projectId);
 
         Sheet workSheet = workbook.getSheet("service");
@@ -138,7 +138,7 @@ public class InventoryToExcelHelper {
         }
     }
 
-    private void exportServersToExcel(Long projectId, XSSFWorkbook workbook, List<ServiceMapping> serviceMapping) {
+    private void exportServersToExcel(Long projectId, Workbook workbook, List<ServiceMapping> serviceMapping) {
         List<ServerResponse> serverList = serverService.getServers(projectId, null, false);
 
         Sheet workSheet = workbook.getSheet("server");
@@ -252,7 +252,7 @@ public class InventoryToExcelHelper {
         }
     }
 
-    private void exportMiddlewaresToExcel(Long projectId, XSSFWorkbook workbook, List<ServiceMapping> serviceMapping) {
+    private void exportMiddlewaresToExcel(Long projectId, Workbook workbook, List<ServiceMapping> serviceMapping) {
         List<MiddlewareResponse> middlewareList = middlewareService.getMiddlewares(projectId, null, null);
 
         Sheet workSheet = workbook.getSheet("middleware");
@@ -325,7 +325,7 @@ public class InventoryToExcelHelper {
         }
     }
 
-    private void exportApplicationsToExcel(Long projectId, XSSFWorkbook workbook, List<ServiceMapping> serviceMapping) {
+    private void exportApplicationsToExcel(Long projectId, Workbook workbook, List<ServiceMapping> serviceMapping) {
         List<ApplicationResponse> applicationList = applicationService.getApplications(projectId, null, null);
 
         Sheet workSheet = workbook.getSheet("application");
@@ -397,7 +397,7 @@ public class InventoryToExcelHelper {
         }
     }
 
-    private void exportDatabasesToExcel(Long projectId, XSSFWorkbook workbook, List<ServiceMapping> serviceMapping) {
+    private void exportDatabasesToExcel(Long projectId, Workbook workbook, List<ServiceMapping> serviceMapping) {
         List<DatabaseEngineListResponseDto> databaseList = databaseService.getDatabaseEngines(projectId, null, null);
 
         Sheet workSheet = workbook.getSheet("database");
@@ -458,7 +458,7 @@ public class InventoryToExcelHelper {
         }
     }
 
-    private void exportServiceMappingToExcel(XSSFWorkbook workbook, List<ServiceMapping> serviceMapping) {
+    private void exportServiceMappingToExcel(Workbook workbook, List<ServiceMapping> serviceMapping) {
         Sheet workSheet = workbook.getSheet("service-mapping");
 
         int rowIndex = 2;
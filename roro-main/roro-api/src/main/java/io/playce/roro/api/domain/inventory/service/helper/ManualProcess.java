@@ -11,6 +11,7 @@ import io.playce.roro.common.exception.RoRoException;
 import io.playce.roro.common.property.CommonProperties;
 import io.playce.roro.common.report.ExcelExporter;
 import io.playce.roro.common.util.JsonUtil;
+import io.playce.roro.common.util.support.AssessmentResultStore;
 import io.playce.roro.jpa.entity.InventoryMaster;
 import io.playce.roro.jpa.entity.InventoryProcess;
 import io.playce.roro.jpa.entity.InventoryProcessResult;
@@ -100,6 +101,12 @@ public class ManualProcess {
 
         inventoryProcessResult.setInventoryProcessResultJsonPath(resultFile.getAbsolutePath());
 
+        try {
+            AssessmentResultStore.write(resultFile);
+        } catch (Exception e) {
+            log.warn("Unable to create an assessment result store for [{}]. Reason : [{}]", resultFile.getAbsolutePath(), e.getMessage());
+        }
+
         // Write Excel Report File
         if (inventoryProcessResult.getInventoryProcessResultJson() != null) {
             try {
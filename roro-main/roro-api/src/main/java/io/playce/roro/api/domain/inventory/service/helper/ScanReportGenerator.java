@@ -0,0 +1,300 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.api.domain.inventory.service.helper;
+
+import io.playce.roro.api.domain.inventory.service.ApplicationService;
+import io.playce.roro.api.domain.inventory.service.DatabaseService;
+import io.playce.roro.api.domain.inventory.service.MiddlewareService;
+import io.playce.roro.api.domain.inventory.service.ServerService;
+import io.playce.roro.common.code.Domain1001;
+import io.playce.roro.common.report.ExcelExporter;
+import io.playce.roro.common.util.JsonUtil;
+import io.playce.roro.jpa.entity.InventoryMaster;
+import io.playce.roro.jpa.entity.InventoryProcess;
+import io.playce.roro.jpa.entity.InventoryProcessResult;
+import io.playce.roro.jpa.repository.InventoryMasterRepository;
+import io.playce.roro.jpa.repository.InventoryProcessRepository;
+import io.playce.roro.jpa.repository.InventoryProcessResultRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <pre>
+ * Scan 결과(json 파일)로부터 Excel report 를 생성한다.
+ *
+ * 1. Scan 완료 시에는 submit() 으로 생성 요청만 등록하고, report 는 scheduler.report.pool-size 개의 thread 에서 미리 생성한다.
+ * 2. 대기 중인 요청이 scheduler.report.queue-capacity 를 초과하면 등록하지 않으며, 해당 report 는 다운로드 시 생성된다.
+ * 3. getReport() 는 생성 중인 report 를 기다리거나, 생성되지 않은(요청 누락, 재시작, 생성 실패 등) report 를 그 자리에서 생성한다.
+ * 4. 같은 Inventory Process 에 대한 생성은 중복으로 실행되지 않는다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScanReportGenerator {
+
+    private final ServerService serverService;
+    private final MiddlewareService middlewareService;
+    private final ApplicationService applicationService;
+    private final DatabaseService databaseService;
+    private final InventoryProcessRepository inventoryProcessRepository;
+    private final InventoryMasterRepository inventoryMasterRepository;
+    private final InventoryProcessResultRepository inventoryProcessResultRepository;
+
+    @Value("${scheduler.report.pool-size:2}")
+    private int poolSize;
+
+    @Value("${scheduler.report.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${scheduler.report.wait-timeout:300}")
+    private long waitTimeout;
+
+    private final Map<Long, ReportTask> tasks = new ConcurrentHashMap<>();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(Math.max(poolSize, 1), Math.max(poolSize, 1), 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(queueCapacity, 1)), r -> {
+            Thread thread = new Thread(r, "report-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Excel report 생성을 요청한다. 생성 결과를 기다리지 않는다.
+     */
+    public void submit(Long inventoryProcessId, Long projectId, Long inventoryId, String inventoryTypeCode, String jsonFilePath, String excelFilePath) {
+        ReportTask task = new ReportTask(new ReportRequest(inventoryProcessId, projectId, inventoryId, inventoryTypeCode, jsonFilePath, excelFilePath));
+
+        if (tasks.putIfAbsent(inventoryProcessId, task) != null) {
+            return;
+        }
+
+        try {
+            executor.execute(task);
+            log.debug("Excel report for inventory process [{}] queued. Queue size : [{}]", inventoryProcessId, executor.getQueue().size());
+        } catch (RejectedExecutionException e) {
+            tasks.remove(inventoryProcessId, task);
+            rejectedCount.incrementAndGet();
+            log.warn("Excel report queue is full. The report for inventory process [{}] will be created on download.", inventoryProcessId);
+        }
+    }
+
+    /**
+     * Excel report 파일을 반환한다. 생성 중이면 완료될 때까지 기다리고, 생성되지 않았으면 생성한 후 반환한다.
+     *
+     * @return report 파일, 결과가 없거나 생성에 실패한 경우 null
+     */
+    public File getReport(Long inventoryProcessId) throws InterruptedException {
+        ReportTask task = tasks.get(inventoryProcessId);
+
+        if (task == null) {
+            InventoryProcessResult inventoryProcessResult = inventoryProcessResultRepository.findByInventoryProcessId(inventoryProcessId);
+
+            if (inventoryProcessResult == null || StringUtils.isEmpty(inventoryProcessResult.getInventoryProcessResultJsonPath())) {
+                return null;
+            }
+
+            String excelFilePath = inventoryProcessResult.getInventoryProcessResultExcelPath();
+            if (StringUtils.isNotEmpty(excelFilePath) && new File(excelFilePath).exists()) {
+                return new File(excelFilePath);
+            }
+
+            ReportRequest request = getReportRequest(inventoryProcessResult);
+            if (request == null) {
+                return null;
+            }
+
+            ReportTask newTask = new ReportTask(request);
+            task = tasks.putIfAbsent(inventoryProcessId, newTask);
+            if (task == null) {
+                task = newTask;
+            }
+        }
+
+        // 아직 queue 에서 대기 중이면 요청한 thread 에서 바로 생성하고, 다른 thread 에서 생성 중이면 완료될 때까지 기다린다.
+        task.run();
+
+        try {
+            return task.get(waitTimeout, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return null;
+        } catch (TimeoutException e) {
+            log.warn("Excel report for inventory process [{}] is not completed in {} seconds.", inventoryProcessId, waitTimeout);
+            return null;
+        }
+    }
+
+    public Stats getStats() {
+        Stats stats = new Stats();
+        stats.setQueued(executor.getQueue().size());
+        stats.setRunning(executor.getActiveCount());
+        stats.setCompleted(completedCount.get());
+        stats.setFailed(failedCount.get());
+        stats.setRejected(rejectedCount.get());
+        return stats;
+    }
+
+    private ReportRequest getReportRequest(InventoryProcessResult inventoryProcessResult) {
+        Long inventoryProcessId = inventoryProcessResult.getInventoryProcessId();
+        InventoryProcess inventoryProcess = inventoryProcessRepository.findById(inventoryProcessId).orElse(null);
+        InventoryMaster inventoryMaster = inventoryProcess == null ? null : inventoryMasterRepository.findById(inventoryProcess.getInventoryId()).orElse(null);
+
+        if (inventoryMaster == null) {
+            return null;
+        }
+
+        String jsonFilePath = inventoryProcessResult.getInventoryProcessResultJsonPath();
+        String excelFilePath = inventoryProcessResult.getInventoryProcessResultExcelPath();
+        if (StringUtils.isEmpty(excelFilePath)) {
+            excelFilePath = getExcelFilePath(jsonFilePath);
+        }
+
+        return new ReportRequest(inventoryProcessId, inventoryMaster.getProjectId(), inventoryMaster.getInventoryId(),
+                inventoryMaster.getInventoryTypeCode(), jsonFilePath, excelFilePath);
+    }
+
+    /**
+     * json 결과 파일에 대응하는 Excel report 파일 경로
+     */
+    public static String getExcelFilePath(String jsonFilePath) {
+        return jsonFilePath.replaceAll("json", "xlsx");
+    }
+
+    private File generate(ReportRequest request) throws Exception {
+        long start = System.currentTimeMillis();
+
+        Object entity = null;
+        // get inventory information that include services and server
+        if (request.inventoryTypeCode.equals(Domain1001.SVR.name())) {
+            entity = serverService.getServer(request.projectId, request.inventoryId);
+        } else if (request.inventoryTypeCode.equals(Domain1001.MW.name())) {
+            entity = middlewareService.getMiddlewareDetail(request.projectId, request.inventoryId);
+        } else if (request.inventoryTypeCode.equals(Domain1001.APP.name())) {
+            entity = applicationService.getApplication(request.projectId, request.inventoryId);
+        } else if (request.inventoryTypeCode.equals(Domain1001.DBMS.name())) {
+            entity = databaseService.getDatabaseEngine(request.projectId, request.inventoryId);
+        }
+
+        ExcelExporter excelExporter = new ExcelExporter();
+        excelExporter.export(request.excelFilePath, entity, JsonUtil.readTree(new File(request.jsonFilePath)));
+
+        // 이전 버전에서 Excel 생성에 실패하여 경로가 저장되지 않은 결과
+        InventoryProcessResult inventoryProcessResult = inventoryProcessResultRepository.findByInventoryProcessId(request.inventoryProcessId);
+        if (inventoryProcessResult != null && StringUtils.isEmpty(inventoryProcessResult.getInventoryProcessResultExcelPath())) {
+            inventoryProcessResult.setInventoryProcessResultExcelPath(request.excelFilePath);
+            inventoryProcessResultRepository.save(inventoryProcessResult);
+        }
+
+        log.debug("Excel report for inventory process [{}] created in {} ms.", request.inventoryProcessId, System.currentTimeMillis() - start);
+        return new File(request.excelFilePath);
+    }
+
+    private static class ReportRequest {
+        private final Long inventoryProcessId;
+        private final Long projectId;
+        private final Long inventoryId;
+        private final String inventoryTypeCode;
+        private final String jsonFilePath;
+        private final String excelFilePath;
+
+        private ReportRequest(Long inventoryProcessId, Long projectId, Long inventoryId, String inventoryTypeCode, String jsonFilePath, String excelFilePath) {
+            this.inventoryProcessId = inventoryProcessId;
+            this.projectId = projectId;
+            this.inventoryId = inventoryId;
+            this.inventoryTypeCode = inventoryTypeCode;
+            this.jsonFilePath = jsonFilePath;
+            this.excelFilePath = excelFilePath;
+        }
+    }
+
+    private class ReportTask extends FutureTask<File> {
+        private final Long inventoryProcessId;
+
+        private ReportTask(ReportRequest request) {
+            super(() -> generate(request));
+            this.inventoryProcessId = request.inventoryProcessId;
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            // Excel 생성이 실패하더라도 Assessment 결과에는 영향을 주지 않는다.
+            log.error("Unhandled exception occurred while create an excel report for inventory process [{}].", inventoryProcessId, t);
+            super.setException(t);
+        }
+
+        @Override
+        protected void done() {
+            tasks.remove(inventoryProcessId, this);
+
+            if (isCancelled()) {
+                return;
+            }
+
+            try {
+                get();
+                completedCount.incrementAndGet();
+            } catch (Exception e) {
+                failedCount.incrementAndGet();
+            }
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Stats {
+        private int queued;
+        private int running;
+        private long completed;
+        private long failed;
+        private long rejected;
+    }
+}
+//end of ScanReportGenerator.java
@@ -96,13 +96,13 @@ public class ServiceReportHelper {
 
     private final InventoryMasterRepository inventoryMasterRepository;
     private final InventoryProcessRepository inventoryProcessRepository;
-    private final InventoryProcessResultRepository inventoryProcessResultRepository;
     private final ServerSummaryRepository serverSummaryRepository;
     private final ServerDiskInformationRepository serverDiskInformationRepository;
     private final DatabaseInstanceRepository databaseInstanceRepository;
     private final ServerNetworkInformationRepository serverNetworkInformationRepository;
 
     private final ServiceReportWithoutScanHelper serviceReportWithoutScanHelper;
+    private final AssessmentResultReader assessmentResultReader;
 
     public void createCoverToExcel(Workbook workbook, List<ServiceDetail> services) {
         Sheet workSheet = workbook.getSheet("1.Cover");
@@ -208,14 +208,14 @@ public class ServiceReportHelper {
             InventoryProcess.CompleteScan completeScan = inventoryProcessMapper
                     .selectLastCompleteInventoryProcess(server.getServerInventoryId(), Domain1002.SCAN.name());
             io.playce.roro.jpa.entity.InventoryProcess inventoryProcess = null;
-            InventoryProcessResult inventoryProcessResult = null;
+            String assessment = null;
             if (completeScan != null) {
                 inventoryProcess = inventoryProcessRepository.findById(completeScan.getInventoryProcessId()).orElse(null);
-                inventoryProcessResult = inventoryProcessResultRepository.findByInventoryProcessId(completeScan.getInventoryProcessId());
+                assessment = assessmentResultReader.getResultJson(completeScan.getInventoryProcessId(), ServerParser.FIELDS);
             }
 
             // https://cloud-osci.atlassian.net/browse/PCR-6486
-            serverService.getVendorAndModel(server, inventoryProcessResult);
+            serverService.getVendorAndModel(server);
 
             // network 정보 조회
             List<ServerNetworkInformation> networkList = serverNetworkInformationRepository.findByServerInventoryId(server.getServerInventoryId());
@@ -227,8 +227,8 @@ public class ServiceReportHelper {
             }
 
             AssessmentResultDto.ServerProperty property = null;
-            if (inventoryProcessResult != null) {
-                property = (AssessmentResultDto.ServerProperty) new ServerParser(serverDiskInformationRepository).parse(server, inventoryProcessResult.getInventoryProcessResultJson());
+            if (assessment != null) {
+                property = (AssessmentResultDto.ServerProperty) new ServerParser(serverDiskInformationRepository).parse(server, assessment);
                 ExcelUtil.createCell(row, columnIndex++).setCellValue(rowIndex - 1);
                 ExcelUtil.createCell(row, columnIndex++).setCellValue(defaultStringValue(server.getCustomerInventoryCode()));
                 ExcelUtil.createCell(row, columnIndex++).setCellValue(defaultStringValue(server.getCustomerInventoryName()));
@@ -311,9 +311,9 @@ public class ServiceReportHelper {
             // 마지막으로 성공한 Inventory Process를 가져온다.
             InventoryProcess.CompleteScan completeScan = inventoryProcessMapper
                     .selectLastCompleteInventoryProcess(web.getMiddlewareInventoryId(), Domain1002.SCAN.name());
-            InventoryProcessResult inventoryProcessResult = null;
+            String assessment = null;
             if (completeScan != null) {
-                inventoryProcessResult = inventoryProcessResultRepository.findByInventoryProcessId(completeScan.getInventoryProcessId());
+                assessment = assessmentResultReader.getResultJson(completeScan.getInventoryProcessId(), WebServerParser.FIELDS);
             }
 
             // 인스턴스 정보를 가져온다.
@@ -322,8 +322,8 @@ public class ServiceReportHelper {
                 row = workSheet.createRow(rowIndex++);
 
                 AssessmentResultDto.WebProperty property = null;
-                if (inventoryProcessResult != null) {
-                    property = (AssessmentResultDto.WebProperty) new WebServerParser().parse(web, inventoryProcessResult.getInventoryProcessResultJson());
+                if (assessment != null) {
+                    property = (AssessmentResultDto.WebProperty) new WebServerParser().parse(web, assessment);
                     ExcelUtil.createCell(row, columnIndex++).setCellValue(rowIndex - 1);
                     ExcelUtil.createCell(row, columnIndex++).setCellValue(web.getCustomerInventoryCode());
                     ExcelUtil.createCell(row, columnIndex++).setCellValue(web.getCustomerInventoryName());
@@ -349,7 +349,7 @@ public class ServiceReportHelper {
                 }
             }
 
-            if (inventoryProcessResult == null && CollectionUtils.isEmpty(instances)) {
+            if (assessment == null && CollectionUtils.isEmpty(instances)) {
                 row = workSheet.createRow(rowIndex++);
                 // Scan을 하지 않은 데이터를 만들어서 내려준다.
                 serviceReportWithoutScanHelper.generateWebServerSheet(service, serverInventoryMaster, web, row, rowIndex);
@@ -406,9 +406,9 @@ public class ServiceReportHelper {
             // 마지막으로 성공한 Inventory Process를 가져온다.
             InventoryProcess.CompleteScan completeScan = inventoryProcessMapper
                     .selectLastCompleteInventoryProcess(was.getMiddlewareInventoryId(), Domain1002.SCAN.name());
-            InventoryProcessResult inventoryProcessResult = null;
+            String assessment = null;
             if (completeScan != null) {
-                inventoryProcessResult = inventoryProcessResultRepository.findByInventoryProcessId(completeScan.getInventoryProcessId());
+                assessment = assessmentResultReader.getResultJson(completeScan.getInventoryProcessId(), WasServerParser.FIELDS);
             }
 
             // 인스턴스 정보를 가져온다.
@@ -420,8 +420,8 @@ public class ServiceReportHelper {
                 List<DeployDatasourceList> datasources = middlewareService.getDeployDatasourceList(was.getProjectId(), ins.getMiddlewareInstanceId());
 
                 AssessmentResultDto.WasProperty property = null;
-                if (inventoryProcessResult != null) {
-                    property = (AssessmentResultDto.WasProperty) new WasServerParser(ins).parse(was, inventoryProcessResult.getInventoryProcessResultJson());
+                if (assessment != null) {
+                    property = (AssessmentResultDto.WasProperty) new WasServerParser(ins).parse(was, assessment);
                     ExcelUtil.createCell(row, columnIndex++).setCellValue(rowIndex - 1);
                     ExcelUtil.createCell(row, columnIndex++).setCellValue(was.getCustomerInventoryCode());
                     ExcelUtil.createCell(row, columnIndex++).setCellValue(was.getCustomerInventoryName());
@@ -451,7 +451,7 @@ public class ServiceReportHelper {
                 }
             }
 
-            if (inventoryProcessResult == null && CollectionUtils.isEmpty(instances)) {
+            if (assessment == null && CollectionUtils.isEmpty(instances)) {
                 row = workSheet.createRow(rowIndex++);
                 // Scan을 하지 않은 데이터를 만들어서 내려준다.
                 serviceReportWithoutScanHelper.generateWasServerSheet(service, serverInventoryMaster, was, row, rowIndex);
@@ -509,9 +509,9 @@ public class ServiceReportHelper {
             // 마지막으로 성공한 Inventory Process를 가져온다.
             InventoryProcess.CompleteScan completeScan = inventoryProcessMapper
                     .selectLastCompleteInventoryProcess(data.getDatabaseInventoryId(), Domain1002.SCAN.name());
-            InventoryProcessResult inventoryProcessResult = null;
+            String assessment = null;
             if (completeScan != null) {
-                inventoryProcessResult = inventoryProcessResultRepository.findByInventoryProcessId(completeScan.getInventoryProcessId());
+                assessment = assessmentResultReader.getResultJson(completeScan.getInventoryProcessId(), DatabaseParser.FIELDS);
             }
 
             // 인스턴스 정보를 가져온다.
@@ -521,10 +521,10 @@ public class ServiceReportHelper {
                 row = workSheet.createRow(rowIndex++);
 
                 AssessmentResultDto.DatabaseProperty property = null;
-                if (inventoryProcessResult != null) {
+                if (assessment != null) {
                     // 데이터베이스 서비스 네임 설정
                     database.setDatabaseServiceName(ins.getDatabaseServiceName());
-                    property = (AssessmentResultDto.DatabaseProperty) new DatabaseParser().parse(database, inventoryProcessResult.getInventoryProcessResultJson());
+                    property = (AssessmentResultDto.DatabaseProperty) new DatabaseParser().parse(database, assessment);
 
                     ExcelUtil.createCell(row, columnIndex++).setCellValue(rowIndex - 1);
                     ExcelUtil.createCell(row, columnIndex++).setCellValue(database.getCustomerInventoryCode());
@@ -554,7 +554,7 @@ public class ServiceReportHelper {
                 }
             }
 
-            if (inventoryProcessResult == null && CollectionUtils.isEmpty(instances)) {
+            if (assessment == null && CollectionUtils.isEmpty(instances)) {
                 row = workSheet.createRow(rowIndex++);
                 // Scan을 하지 않은 데이터를 만들어서 내려준다.
                 serviceReportWithoutScanHelper.generateDatabaseSheet(service, serverInventoryMaster, database, row, rowIndex);
@@ -622,14 +622,14 @@ public class ServiceReportHelper {
             InventoryProcess.CompleteScan completeScan = inventoryProcessMapper
                     .selectLastCompleteInventoryProcess(app.getApplicationInventoryId(), Domain1002.SCAN.name());
             io.playce.roro.jpa.entity.InventoryProcess inventoryProcess = null;
-            InventoryProcessResult inventoryProcessResult = null;
+            String assessment = null;
             if (completeScan != null) {
-                inventoryProcessResult = inventoryProcessResultRepository.findByInventoryProcessId(completeScan.getInventoryProcessId());
+                assessment = assessmentResultReader.getResultJson(completeScan.getInventoryProcessId(), ApplicationParser.FIELDS);
             }
 
             AssessmentResultDto.ApplicationProperty property = null;
-            if (inventoryProcessResult != null) {
-                property = (AssessmentResultDto.ApplicationProperty) new ApplicationParser().parse(app, inventoryProcessResult.getInventoryProcessResultJson());
+            if (assessment != null) {
+                property = (AssessmentResultDto.ApplicationProperty) new ApplicationParser().parse(app, assessment);
                 ExcelUtil.createCell(row, columnIndex++).setCellValue(rowIndex - 1);
                 ExcelUtil.createCell(row, columnIndex++).setCellValue(app.getCustomerInventoryCode());
                 ExcelUtil.createCell(row, columnIndex++).setCellValue(app.getCustomerInventoryName());
@@ -43,6 +43,10 @@ import java.util.Map;
 @Slf4j
 public class ApplicationParser implements AssessmentParser {
 
+    // parse() 에서 사용하는 결과의 최상위 항목
+    public static final String[] FIELDS = {"fileSummaryMap", "buildFiles", "configFiles", "libraries", "checkList",
+            "eeModules", "deprecatedList", "removedList", "fileName", "applicationType"};
+
     @Override
     public Object parse(Object object, String assessment) throws Exception {
         if (assessment == null) {
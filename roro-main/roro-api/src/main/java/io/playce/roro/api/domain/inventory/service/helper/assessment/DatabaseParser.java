@@ -40,6 +40,9 @@ import org.json.simple.parser.JSONParser;
 @Slf4j
 public class DatabaseParser implements AssessmentParser {
 
+    // parse() 에서 사용하는 결과의 최상위 항목
+    public static final String[] FIELDS = {"instance", "databases", "dbLinks"};
+
     @Override
     public Object parse(Object object, String assessment) throws Exception {
         DatabaseEngineResponseDto database = (DatabaseEngineResponseDto) object;
@@ -54,6 +54,10 @@ import static io.playce.roro.api.domain.inventory.service.helper.ServiceReportHe
 @RequiredArgsConstructor
 public class ServerParser implements AssessmentParser {
 
+    // parse() 에서 사용하는 결과의 최상위 항목
+    public static final String[] FIELDS = {"systemInformation", "cpu", "disks", "localUsers", "localGroupUsers", "ports",
+            "distribution", "distributionRelease", "uptime", "memory", "portList", "architecture", "kernel", "productName", "users", "groups"};
+
     private static final String LISTEN_STATUS = "LISTENING";
 
     private final ServerDiskInformationRepository serverDiskInformationRepository;
@@ -50,6 +50,9 @@ import static io.playce.roro.api.domain.inventory.service.helper.ServiceReportHe
 @RequiredArgsConstructor
 public class WasServerParser implements AssessmentParser {
 
+    // parse() 에서 사용하는 결과의 최상위 항목
+    public static final String[] FIELDS = {"engine", "instance"};
+
     private final InstanceResponse instanceResponse;
 
     @Override
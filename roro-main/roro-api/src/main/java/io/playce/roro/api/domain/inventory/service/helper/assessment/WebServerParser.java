@@ -49,6 +49,9 @@ import static io.playce.roro.api.domain.inventory.service.helper.ServiceReportHe
 @Slf4j
 public class WebServerParser implements AssessmentParser {
 
+    // parse() 에서 사용하는 결과의 최상위 항목
+    public static final String[] FIELDS = {"engine", "instance"};
+
     @Override
     public Object parse(Object object, String assessment) throws Exception {
         MiddlewareResponse middleware = (MiddlewareResponse) object;
@@ -26,6 +26,7 @@ import io.playce.roro.api.common.error.exception.ResourceNotFoundException;
 import io.playce.roro.api.common.error.exception.RoRoApiException;
 import io.playce.roro.api.common.util.WebUtil;
 import io.playce.roro.api.domain.inventory.service.InventoryProcessService;
+import io.playce.roro.api.domain.inventory.service.helper.AssessmentResultReader;
 import io.playce.roro.common.code.Domain1001;
 import io.playce.roro.common.code.Domain101;
 import io.playce.roro.common.dto.inventory.process.InventoryProcessResponse;
@@ -107,7 +108,7 @@ public class PreConfigService {
     private final MigrationPreConfigUserRepository migrationPreConfigUserRepository;
     private final MigrationPreConfigGroupRepository migrationPreConfigGroupRepository;
     private final MigrationPreConfigFileRepository migrationPreConfigFileRepository;
-    private final InventoryProcessResultRepository inventoryProcessResultRepository;
+    private final AssessmentResultReader assessmentResultReader;
 
     /**
      * <pre>
@@ -550,9 +551,9 @@ public class PreConfigService {
         Map<String, Object> usersMap = null;
         Map<String, String> shadowsMap = null;
 
-        InventoryProcessResult result = inventoryProcessResultRepository.findByInventoryProcessId(inventoryProcess.getInventoryProcessId());
+        String result = assessmentResultReader.getResultJson(inventoryProcess.getInventoryProcessId(), DEF_INFO_KEY, GROUPS_KEY, USERS_KEY, SHADOWS_KEY);
         if (result != null) {
-            resultMap = gson.fromJson(result.getInventoryProcessResultJson(), Map.class);
+            resultMap = gson.fromJson(result, Map.class);
         }
 
         if (SettingsHandler.getSettingsValue(RORO_MIGRATION_INCLUDE_SYSTEM_UID).equalsIgnoreCase("false")
@@ -612,9 +613,9 @@ public class PreConfigService {
         Map<String, Object> usersMap = null;
         Map<String, String> subUserMap = null;
 
-        InventoryProcessResult result = inventoryProcessResultRepository.findByInventoryProcessId(inventoryProcess.getInventoryProcessId());
+        String result = assessmentResultReader.getResultJson(inventoryProcess.getInventoryProcessId(), USERS_KEY);
         if (result != null) {
-            resultMap = gson.fromJson(result.getInventoryProcessResultJson(), Map.class);
+            resultMap = gson.fromJson(result, Map.class);
 
             if (resultMap != null) {
                 usersMap = (Map<String, Object>) resultMap.get(USERS_KEY);
@@ -651,9 +652,9 @@ public class PreConfigService {
         Map<String, Object> resultMap = null;
         Map<String, String> crontabMap = null;
 
-        InventoryProcessResult result = inventoryProcessResultRepository.findByInventoryProcessId(inventoryProcess.getInventoryProcessId());
+        String result = assessmentResultReader.getResultJson(inventoryProcess.getInventoryProcessId(), CRONTABS_KEY);
         if (result != null) {
-            resultMap = gson.fromJson(result.getInventoryProcessResultJson(), Map.class);
+            resultMap = gson.fromJson(result, Map.class);
 
             if (resultMap != null) {
                 crontabMap = (Map<String, String>) resultMap.get(CRONTABS_KEY);
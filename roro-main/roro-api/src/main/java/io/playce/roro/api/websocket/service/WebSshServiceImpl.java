@@ -3,7 +3,6 @@ package io.playce.roro.api.websocket.service;
 import com.jcraft.jsch.Channel;
 import com.jcraft.jsch.ChannelShell;
 import com.jcraft.jsch.JSchException;
-import com.jcraft.jsch.Session;
 import io.playce.roro.api.common.error.exception.ResourceNotFoundException;
 import io.playce.roro.api.config.JwtProperties;
 import io.playce.roro.api.domain.authentication.dto.SecurityUser;
@@ -17,6 +16,7 @@ import io.playce.roro.api.websocket.dto.SshConnectDto;
 import io.playce.roro.api.websocket.dto.WebSshDto;
 import io.playce.roro.common.dto.common.ServerConnectionInfo;
 import io.playce.roro.common.exception.RoRoException;
+import io.playce.roro.common.ssh.SSHSessionLease;
 import io.playce.roro.common.util.SSHUtil;
 import io.playce.roro.common.util.support.TargetHost;
 import io.playce.roro.mybatis.domain.inventory.server.ServerMapper;
@@ -211,14 +211,15 @@ public class WebSshServiceImpl implements WebSshService {
     private void connectToSsh(SshConnectDto sshConnectDto, WebSshDto webSshDto, WebSocketSession webSocketSession) throws Exception {
         TargetHost targetHost = serverService.getTargetHostByServerInventoryId(webSshDto.getServerInventoryId());
 
-        Session session = null;
+        SSHSessionLease lease = null;
         ChannelShell channel = null;
         InputStream inputStream = null;
 
         try {
-            session = SSHUtil.getSession(targetHost, 20 * 1000);
+            // 다른 기능과 같이 SSHSessionPool 의 session 을 사용하며, 터미널이 종료될 때까지 channel 1개를 사용한다.
+            lease = SSHUtil.leaseSession(targetHost);
 
-            channel = (ChannelShell) session.openChannel("shell");
+            channel = (ChannelShell) lease.getSession().openChannel("shell");
             // channel.setPty(true);
             // 기본값 : 80, 24, 640, 480
             channel.setPtySize(webSshDto.getCols(), webSshDto.getRows(), Integer.MAX_VALUE, Integer.MAX_VALUE);
@@ -268,13 +269,7 @@ public class WebSshServiceImpl implements WebSshService {
             sendMessage(webSocketSession, message.toString());
         } finally {
             close(webSocketSession);
-            if (session != null) {
-                session.disconnect();
-            }
-
-            if (channel != null) {
-                channel.disconnect();
-            }
+            SSHUtil.close(channel, lease);
 
             if (inputStream != null) {
                 inputStream.close();
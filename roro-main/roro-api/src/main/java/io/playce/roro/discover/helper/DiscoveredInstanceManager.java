@@ -22,11 +22,13 @@ package io.playce.roro.discover.helper;
 
 import io.playce.roro.jpa.entity.DiscoveredInstanceMaster;
 import io.playce.roro.jpa.repository.DiscoveredInstanceMasterRepository;
+import io.playce.roro.common.util.LockUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * <pre>
@@ -44,8 +46,13 @@ import java.util.List;
 public class DiscoveredInstanceManager {
 
     private final DiscoveredInstanceMasterRepository discoveredInstanceMasterRepository;
+    private final ReentrantLock lock = new ReentrantLock();
 
-    public synchronized DiscoveredInstanceMaster saveUnknownServer(DiscoveredInstanceMaster instanceMaster) {
+    public DiscoveredInstanceMaster saveUnknownServer(DiscoveredInstanceMaster instanceMaster) {
+        return LockUtil.withLock(lock, () -> saveUnknownServerInternal(instanceMaster));
+    }
+
+    private DiscoveredInstanceMaster saveUnknownServerInternal(DiscoveredInstanceMaster instanceMaster) {
         Long discoveredInstanceId = instanceMaster.getDiscoveredInstanceId();
         if (discoveredInstanceId == null) {// 신규일때만 logging
             log.debug("Add new discoveredInstanceMaster : {} ", instanceMaster.toString());
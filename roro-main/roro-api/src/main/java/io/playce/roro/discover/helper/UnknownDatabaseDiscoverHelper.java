@@ -25,6 +25,7 @@ import io.playce.roro.common.code.Domain1001;
 import io.playce.roro.common.code.Domain1006;
 import io.playce.roro.common.code.Domain1013;
 import io.playce.roro.common.dto.common.InventoryProcessConnectionInfo;
+import io.playce.roro.common.util.LockUtil;
 import io.playce.roro.discover.database.dto.UnknownDatabaseDto;
 import io.playce.roro.jpa.entity.DiscoveredInstanceMaster;
 import io.playce.roro.mybatis.domain.discovered.DiscoveredInstanceMapper;
@@ -42,6 +43,7 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
@@ -64,6 +66,7 @@ public class UnknownDatabaseDiscoverHelper {
     private final List<String> sybaseProcessName = List.of("dataserver", "sqlsrvr");
     private final String mssqlProcessName = "sqlservr";
     private final String postgresqlProcessName = "postgres";
+    private final ReentrantLock lock = new ReentrantLock();
 
     private final DatabaseMapper databaseMapper;
     private final DiscoveredInstanceMapper discoveredInstanceMapper;
@@ -100,7 +103,11 @@ public class UnknownDatabaseDiscoverHelper {
         }
     }
 
-    private synchronized void registDiscoveredInstance(InventoryProcessConnectionInfo connectionInfo, UnknownDatabaseDto unknownDatabaseDto) {
+    private void registDiscoveredInstance(InventoryProcessConnectionInfo connectionInfo, UnknownDatabaseDto unknownDatabaseDto) {
+        LockUtil.withLock(lock, () -> registDiscoveredInstanceInternal(connectionInfo, unknownDatabaseDto));
+    }
+
+    private void registDiscoveredInstanceInternal(InventoryProcessConnectionInfo connectionInfo, UnknownDatabaseDto unknownDatabaseDto) {
         DiscoveredInstanceMaster instance = new DiscoveredInstanceMaster();
         instance.setDiscoveredIpAddress(connectionInfo.getRepresentativeIpAddress());
         instance.setRegistDatetime(new Date());
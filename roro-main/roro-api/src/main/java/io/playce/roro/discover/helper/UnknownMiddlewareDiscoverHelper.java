@@ -33,6 +33,7 @@ import io.playce.roro.common.dto.common.InventoryProcessConnectionInfo;
 import io.playce.roro.common.dto.inventory.server.ServerDetailResponse;
 import io.playce.roro.common.dto.inventory.service.Service;
 import io.playce.roro.common.util.support.TargetHost;
+import io.playce.roro.common.util.LockUtil;
 import io.playce.roro.discover.middleware.detector.MiddlewareDetector;
 import io.playce.roro.discover.middleware.detector.MiddlewareDetectorFactory;
 import io.playce.roro.discover.middleware.dto.DetectResultInfo;
@@ -58,6 +59,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static io.playce.roro.api.common.CommonConstants.DEFAULT_SERVICE_CUSTOMER_SERVICE_CODE;
 
@@ -76,6 +78,7 @@ import static io.playce.roro.api.common.CommonConstants.DEFAULT_SERVICE_CUSTOMER
 @Transactional
 public class UnknownMiddlewareDiscoverHelper {
     private final CommandConfig commandConfig;
+    private final ReentrantLock lock = new ReentrantLock();
 
     private final InventoryService inventoryService;
     private final ServiceMasterRepository serviceMasterRepository;
@@ -233,7 +236,11 @@ public class UnknownMiddlewareDiscoverHelper {
         }
     }*/
 
-    private synchronized boolean checkDuplicateMiddleware(InventoryProcessConnectionInfo connectionInfo, DetectResultInfo detectResultInfo) {
+    private boolean checkDuplicateMiddleware(InventoryProcessConnectionInfo connectionInfo, DetectResultInfo detectResultInfo) {
+        return LockUtil.withLock(lock, () -> checkDuplicateMiddlewareInternal(connectionInfo, detectResultInfo));
+    }
+
+    private boolean checkDuplicateMiddlewareInternal(InventoryProcessConnectionInfo connectionInfo, DetectResultInfo detectResultInfo) {
         // List<MiddlewareInventory> mw = middlewareMapper.selectDuplicateMiddlewareInventory(
         //         connectionInfo.getProjectId(), connectionInfo.getInventoryId(), detectResultInfo.getEnginePath(), detectResultInfo.getDomainPath());
 
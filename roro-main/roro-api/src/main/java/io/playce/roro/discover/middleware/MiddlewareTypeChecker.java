@@ -20,10 +20,13 @@
  */
 package io.playce.roro.discover.middleware;
 
+import io.playce.roro.common.util.support.AhoCorasickMatcher;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * <pre>
@@ -55,68 +58,51 @@ public enum MiddlewareTypeChecker {
         this.params = params;
     }
 
+    /**
+     * Apache, WebToB 를 제외한 checker 의 params 를 한 번에 검색하기 위한 matcher
+     */
+    private static final AhoCorasickMatcher<MiddlewareTypeChecker> COMMAND_MATCHER;
+
+    static {
+        AhoCorasickMatcher.Builder<MiddlewareTypeChecker> builder = AhoCorasickMatcher.builder();
+        for (MiddlewareTypeChecker checker : values()) {
+            if (checker != APACHE && checker != WEBTOB) {
+                builder.addAll(checker.params, checker);
+            }
+        }
+        COMMAND_MATCHER = builder.build();
+    }
+
     public static MiddlewareTypeChecker isContain(List<String> cmdList) {
-        MiddlewareTypeChecker result;
+        // 각 command 를 한 번씩만 검색하여 포함된 params 의 checker 를 찾은 후, 기존과 같이 enum 순서대로 판단한다.
+        Set<MiddlewareTypeChecker> matched = EnumSet.noneOf(MiddlewareTypeChecker.class);
+        for (String command : cmdList) {
+            if (StringUtils.isNotEmpty(command)) {
+                matched.addAll(COMMAND_MATCHER.match(command));
+            }
+        }
+
         for (MiddlewareTypeChecker checker : MiddlewareTypeChecker.values()) {
             switch (checker) {
                 case APACHE:
                 case WEBTOB:
-                    result = checkFirstCommand(checker, cmdList.get(0));
+                    if (checkFirstCommand(checker, cmdList.get(0)) != null) {
+                        return checker;
+                    }
                     break;
                 case NGINX:
-                    result = checkMasterProcessCommand(checker, cmdList);
+                    if (matched.contains(checker) && cmdList.contains("master")) {
+                        log.debug("nginx checker : {}", cmdList);
+                        return checker;
+                    }
                     break;
                 default:
-                    result = checkCommands(checker, cmdList);
-            }
-            if (result != null) {
-                return result;
-            }
-//            if(checker == APACHE || checker == WEBTOB) {
-//                for(String param: checker.params) {
-//                    String firstOfCmdList = cmdList.get(0);
-//                    if(firstOfCmdList != null && firstOfCmdList.endsWith(param)) {
-//                        return checker;
-//                    }
-//                }
-//            } else {
-//                for (String param : cmdList) {
-//                    if (param != null && checker.hasParam(param)) {
-//                        return checker;
-//                    }
-//                }
-//            }
-        }
-        return null;
-    }
-
-    private static MiddlewareTypeChecker checkCommands(MiddlewareTypeChecker checker, List<String> cmdList) {
-        for (String command : cmdList) {
-            if (StringUtils.isEmpty(command))
-                continue;
-
-            for (String checkValue : checker.params) {
-                if (command.contains(checkValue)) {
-                    log.debug("{} => {}", checkValue, cmdList);
-                    return checker;
-                }
-            }
-        }
-        return null;
-    }
-
-    private static MiddlewareTypeChecker checkMasterProcessCommand(MiddlewareTypeChecker checker, List<String> cmdList) {
-        if (cmdList.contains("master")) {
-            for (String cmd : cmdList) {
-                for (String checkValue : checker.params) {
-                    if (cmd.contains(checkValue)) {
-                        log.debug("nginx checker : {} => {}", checkValue, cmdList);
+                    if (matched.contains(checker)) {
+                        log.debug("{} => {}", checker.type, cmdList);
                         return checker;
                     }
-                }
             }
         }
-
         return null;
     }
 
@@ -26,25 +26,43 @@ import io.playce.roro.common.code.Domain1002;
 import io.playce.roro.common.code.Domain1003;
 import io.playce.roro.common.config.InventoryProcessCancelProcessor;
 import io.playce.roro.common.dto.inventory.process.InventoryProcessQueueItem;
+import io.playce.roro.common.dto.inventory.process.InventoryProcessRequestEvent;
+import io.playce.roro.scheduler.component.FairInventoryProcessQueue;
+import io.playce.roro.scheduler.component.InventoryProcessWorker;
 import io.playce.roro.scheduler.component.MigrationProgressMessageProcessor;
+import io.playce.roro.scheduler.config.BlockingQueueConfig;
+import io.playce.roro.scheduler.service.InventoryProcessHandler;
 import io.playce.roro.scheduler.service.InventoryProcessManager;
-import io.playce.roro.scheduler.service.Manager;
-import io.playce.roro.scheduler.service.impl.MigrationSchedulerManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Future;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
  * <pre>
+ * Prerequisite, Assessment, Migration 요청(REQ)을 queue 에 등록하고 worker 를 통해 실행한다.
  *
+ * 1. REQ 상태의 Inventory Process 가 등록되면 transaction commit 후 발생하는 InventoryProcessRequestEvent 를 통해 바로 enqueue 한다.
+ * 2. 주기적으로 실행되는 조회는 event 로 처리되지 못한 요청을 보정하기 위한 것으로, 긴 간격(scheduler.schedule.*.delay)으로 실행된다.
+ * 3. event 와 주기적인 조회는 하나의 dispatcher thread 에서 실행되므로 같은 요청이 두 번 enqueue 되지 않는다.
+ * 4. 각 queue 는 InventoryProcessWorker 가 계속해서 소비한다.
+ * 5. Assessment queue 는 FairInventoryProcessQueue 로 Project 간 공평하게, 대상 서버 별 동시 실행 수를 제한하여 실행한다.
  * </pre>
  *
  * @author Dong-Heon Han
@@ -56,26 +74,35 @@ import java.util.concurrent.Future;
 public class InventoryProcessScheduler {
     private final InventoryProcessService inventoryProcessService;
     private final InventoryProcessManager inventoryProcessManager;
+    private final BlockingQueueConfig blockingQueueConfig;
 
     @Value("${enable.prerequisite.schedule: true}")
     private boolean jobPrerequisite;
     private final BlockingQueue<InventoryProcessQueueItem> prerequisiteQueue;
-    private final Manager prerequisiteSchedulerManager;
+    private final InventoryProcessHandler prerequisiteSchedulerManager;
 
     @Value("${enable.assessment.schedule: true}")
     private boolean jobAssessment;
-    private final BlockingQueue<InventoryProcessQueueItem> assessmentQueue;
-    private final Manager assessmentSchedulerManager;
+    private final FairInventoryProcessQueue assessmentQueue;
+    private final InventoryProcessHandler assessmentSchedulerManager;
 
     @Value("${enable.migration.schedule: true}")
     private boolean jobMigration;
     private final BlockingQueue<InventoryProcessQueueItem> migrationQueue;
-    private final Manager migrationSchedulerManager;
+    private final InventoryProcessHandler migrationSchedulerManager;
 
     private final MigrationProgressMessageProcessor migrationProgressMessageProcessor;
 
     private final InventoryProcessCancelProcessor inventoryProcessCancelProcessor;
 
+    private final List<InventoryProcessWorker> workers = new ArrayList<>();
+    private final Map<Domain1002, AtomicBoolean> dispatchRequests = new EnumMap<>(Domain1002.class);
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ip-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     @PostConstruct
     public void init() throws InterruptedException {
         // PROC -> FAIL
@@ -83,20 +110,41 @@ public class InventoryProcessScheduler {
 
         // PEND -> ENQUEUE
         if(jobPrerequisite) {
-            initRunScheduleJob(Domain1002.PREQ, prerequisiteQueue, prerequisiteSchedulerManager);
+            startWorker(new InventoryProcessWorker(Domain1002.PREQ, prerequisiteQueue, prerequisiteSchedulerManager, inventoryProcessCancelProcessor),
+                    blockingQueueConfig.getWorkerSize(blockingQueueConfig.getCorePoolSize()), blockingQueueConfig.getThreadNamePrefix() + "preq-");
+            initRunScheduleJob(Domain1002.PREQ, prerequisiteQueue);
         }
         if(jobAssessment) {
-            initRunScheduleJob(Domain1002.SCAN, assessmentQueue, assessmentSchedulerManager);
+            startWorker(new InventoryProcessWorker(Domain1002.SCAN, assessmentQueue, assessmentSchedulerManager, inventoryProcessCancelProcessor, assessmentQueue::complete),
+                    blockingQueueConfig.getWorkerSize(blockingQueueConfig.getCorePoolSize()), blockingQueueConfig.getThreadNamePrefix() + "scan-");
+            initRunScheduleJob(Domain1002.SCAN, assessmentQueue);
         }
         if(jobMigration) {
-            initRunScheduleJob(Domain1002.MIG, migrationQueue, migrationSchedulerManager);
+            startWorker(new InventoryProcessWorker(Domain1002.MIG, migrationQueue, migrationSchedulerManager, inventoryProcessCancelProcessor),
+                    blockingQueueConfig.getMigCorePoolSize(), blockingQueueConfig.getMigThreadNamePrefix());
+            initRunScheduleJob(Domain1002.MIG, migrationQueue);
+
+            // migration 진행 상태를 저장하는 consumer 는 한 번만 실행한다.
+            migrationProgressMessageProcessor.process();
         }
     }
 
-    private void initRunScheduleJob(Domain1002 domain1002, BlockingQueue<InventoryProcessQueueItem> queue, Manager manager) throws InterruptedException {
+    @PreDestroy
+    public void destroy() {
+        dispatcher.shutdownNow();
+        workers.forEach(InventoryProcessWorker::stop);
+    }
+
+    private void startWorker(InventoryProcessWorker worker, int size, String threadNamePrefix) {
+        worker.start(size, blockingQueueConfig.getWorkerThreadFactory(threadNamePrefix));
+        workers.add(worker);
+        dispatchRequests.put(worker.getDomain1002(), new AtomicBoolean());
+    }
+
+    private void initRunScheduleJob(Domain1002 domain1002, BlockingQueue<InventoryProcessQueueItem> queue) throws InterruptedException {
         List<InventoryProcessQueueItem> pendingItemList = getInventoryProcessQueueItems(Domain1003.PEND, domain1002);
         for(InventoryProcessQueueItem item: pendingItemList) {
-            enqueueAndRun(queue, manager, item);
+            queue.put(item);
         }
         if(!pendingItemList.isEmpty()) {
             log.info("enqueue(state PEND) -> {} queue, size: {}", domain1002.desc(), pendingItemList.size());
@@ -108,25 +156,42 @@ public class InventoryProcessScheduler {
         return inventoryProcessService.getInventoryProcessByCode(domain1003, domain1002);
     }
 
+    /**
+     * REQ 상태의 Inventory Process 가 등록된 transaction 이 commit 되면 해당 유형의 요청을 바로 enqueue 한다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryProcessRequested(InventoryProcessRequestEvent event) {
+        log.debug("inventory process requested: {}", event);
+        Domain1002 domain1002 = event.getInventoryProcessType();
+
+        if(domain1002 == Domain1002.PREQ) {
+            dispatch(domain1002, prerequisiteQueue);
+        } else if(domain1002 == Domain1002.SCAN) {
+            dispatch(domain1002, assessmentQueue);
+        } else if(domain1002 == Domain1002.MIG) {
+            dispatch(domain1002, migrationQueue);
+        }
+    }
+
     @Scheduled(initialDelayString = "#{scheduleConfig.prerequisite.init}", fixedDelayString = "#{scheduleConfig.prerequisite.delay}")
     public void requestPrerequisiteInventoryProcess() {
         if(!jobPrerequisite) return;
 
-        runScheduleJob(Domain1002.PREQ, prerequisiteQueue, prerequisiteSchedulerManager);
+        dispatch(Domain1002.PREQ, prerequisiteQueue);
     }
 
     @Scheduled(initialDelayString = "#{scheduleConfig.assessment.init}", fixedDelayString = "#{scheduleConfig.assessment.delay}")
     public void requestAssessmentInventoryProcess() {
         if(!jobAssessment) return;
 
-        runScheduleJob(Domain1002.SCAN, assessmentQueue, assessmentSchedulerManager);
+        dispatch(Domain1002.SCAN, assessmentQueue);
     }
 
     @Scheduled(initialDelayString = "#{scheduleConfig.migration.init}", fixedDelayString = "#{scheduleConfig.migration.delay}")
     public void requestMigrationInventoryProcess() {
         if(!jobMigration) return;
 
-        runScheduleJob(Domain1002.MIG, migrationQueue, migrationSchedulerManager);
+        dispatch(Domain1002.MIG, migrationQueue);
     }
 
     @Scheduled(initialDelay = 5000, fixedDelay = 1000 * 60 * 30)
@@ -134,32 +199,66 @@ public class InventoryProcessScheduler {
         inventoryProcessCancelProcessor.removeJobs();
     }
 
-    private void runScheduleJob(Domain1002 domain1002, BlockingQueue<InventoryProcessQueueItem> queue, Manager manager) {
+    @Scheduled(initialDelay = 60000, fixedDelay = 60000)
+    public void logAssessmentQueueStats() {
+        if(!jobAssessment) return;
+
+        FairInventoryProcessQueue.Stats stats = assessmentQueue.getStats();
+        if(stats.getQueued() > 0 || stats.getInFlight() > 0) {
+            log.info("assessment queue stats: [queued={}, priority={}, projects={}, inFlight={}, avgWait={}ms, maxWait={}ms, oldestWait={}ms]",
+                    stats.getQueued(), stats.getPriorityQueued(), stats.getProjectQueued(), stats.getInFlight(),
+                    stats.getAverageWaitMillis(), stats.getMaxWaitMillis(), stats.getOldestWaitMillis());
+        }
+    }
+
+    /**
+     * dispatcher thread 에서 REQ 상태의 요청을 enqueue 한다. 실행 대기 중인 요청이 있으면 중복으로 등록하지 않는다.
+     */
+    private void dispatch(Domain1002 domain1002, BlockingQueue<InventoryProcessQueueItem> queue) {
+        AtomicBoolean requested = dispatchRequests.get(domain1002);
+        if(requested == null || !requested.compareAndSet(false, true)) return;
+
+        dispatcher.execute(() -> {
+            requested.set(false);
+            try {
+                runScheduleJob(domain1002, queue);
+            } catch (Exception e) {
+                log.error("{} dispatch error: {}", domain1002.desc(), e.getMessage(), e);
+            }
+        });
+    }
+
+    private void runScheduleJob(Domain1002 domain1002, BlockingQueue<InventoryProcessQueueItem> queue) {
         List<InventoryProcessQueueItem> itemList = getInventoryProcessQueueItems(Domain1003.REQ, domain1002);
         if(itemList.isEmpty()) return;
 
         log.info("req list, size: {}", itemList.size());
-        inventoryProcessService.changeState(Domain1003.REQ, Domain1003.PEND, domain1002);
+
+        // 조회한 요청만 PEND 로 변경한다. 조회 이후에 등록된 요청은 다음 dispatch 에서 처리되며,
+        // 그 사이 취소 등으로 상태가 변경된 요청은 enqueue 하지 않는다.
+        List<Long> inventoryProcessIds = itemList.stream()
+                .map(InventoryProcessQueueItem::getInventoryProcessId)
+                .collect(Collectors.toList());
+        Set<Long> pendingIds = inventoryProcessService.changeState(inventoryProcessIds, Domain1003.REQ, Domain1003.PEND);
+
+        int enqueued = 0;
         for(InventoryProcessQueueItem item: itemList) {
+            if(!pendingIds.contains(item.getInventoryProcessId())) {
+                log.debug("{} is no longer requested and will not be enqueued.", item.getInventoryProcessId());
+                continue;
+            }
+
             // pending 상태의 websocket message를 전송한다.
             inventoryProcessManager.sendNotification(item, null, Domain1003.PEND);
             try {
-                enqueueAndRun(queue, manager, item);
-
-                if(manager instanceof MigrationSchedulerManager) {
-                    migrationProgressMessageProcessor.process();
-                }
+                queue.put(item);
             } catch (InterruptedException e) {
                 log.error("{} enqueue error: {}", domain1002.desc(), e.getMessage());
+                Thread.currentThread().interrupt();
+                return;
             }
+            enqueued++;
         }
-        log.info("enqueue request: {}, size: {}", domain1002.desc(), itemList.size());
-    }
-
-    private void enqueueAndRun(BlockingQueue<InventoryProcessQueueItem> queue, Manager manager, InventoryProcessQueueItem item) throws InterruptedException {
-        queue.put(item);
-        Future<Void> future = manager.run();
-        String key = Domain1002.valueOf(item.getInventoryProcessTypeCode()).executeKey(item.getInventoryProcessId());
-        inventoryProcessCancelProcessor.addJob(key, future);
+        log.info("enqueue request: {}, size: {}", domain1002.desc(), enqueued);
     }
-}
\ No newline at end of file
+}
@@ -22,17 +22,18 @@
 package io.playce.roro.scheduler.component;
 
 import io.playce.roro.api.common.error.exception.ResourceNotFoundException;
-import io.playce.roro.api.domain.inventory.service.*;
+import io.playce.roro.api.domain.inventory.service.DiscoveredThirdPartyService;
+import io.playce.roro.api.domain.inventory.service.InventoryProcessService;
+import io.playce.roro.api.domain.inventory.service.helper.ScanReportGenerator;
 import io.playce.roro.app.asmt.result.ApplicationAssessmentResult;
-import io.playce.roro.common.code.Domain1001;
 import io.playce.roro.common.code.Domain1003;
 import io.playce.roro.common.dto.inventory.process.InventoryProcessQueueItem;
 import io.playce.roro.common.dto.thirdparty.ThirdPartyDiscoveryResult;
 import io.playce.roro.common.exception.NotsupportedException;
 import io.playce.roro.common.exception.RoRoException;
 import io.playce.roro.common.property.CommonProperties;
-import io.playce.roro.common.report.ExcelExporter;
 import io.playce.roro.common.util.JsonUtil;
+import io.playce.roro.common.util.support.AssessmentResultStore;
 import io.playce.roro.jpa.entity.InventoryMaster;
 import io.playce.roro.jpa.entity.InventoryProcess;
 import io.playce.roro.jpa.entity.InventoryProcessResult;
@@ -49,10 +50,12 @@ import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.File;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
 
@@ -69,13 +72,11 @@ import static io.playce.roro.common.code.Domain1013.*;
 @Slf4j
 public abstract class AbstractAssessmentProcess {
 
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyyMMddHHmmss");
+    // 여러 Assessment 의 결과가 동시에 저장되므로 thread-safe 한 DateTimeFormatter 를 사용한다.
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
 
     private ApplicationContext applicationContext;
-    private ServerService serverService;
-    private MiddlewareService middlewareService;
-    private ApplicationService applicationService;
-    private DatabaseService databaseService;
+    private ScanReportGenerator scanReportGenerator;
     private DiscoveredThirdPartyService discoveredThirdPartyService;
     private InventoryProcessRepository inventoryProcessRepository;
     private InventoryMasterRepository inventoryMasterRepository;
@@ -133,9 +134,32 @@ public abstract class AbstractAssessmentProcess {
 
         inventoryProcessService.addInventoryProcessResult(item, inventoryProcessId, result, errorMessage, inventoryProcessResult);
 
+        if (inventoryProcessResult != null && StringUtils.isNotEmpty(inventoryProcessResult.getInventoryProcessResultExcelPath())) {
+            submitReport(item, inventoryProcessId, inventoryProcessResult.getInventoryProcessResultJsonPath(), inventoryProcessResult.getInventoryProcessResultExcelPath());
+        }
+
         return message;
     }
 
+    /**
+     * Excel report 생성을 요청한다. 결과를 저장한 transaction 이 진행 중이면 commit 된 후에 요청한다.
+     */
+    private void submitReport(InventoryProcessQueueItem item, Long inventoryProcessId, String jsonFilePath, String excelFilePath) {
+        Runnable submit = () -> scanReportGenerator.submit(inventoryProcessId, item.getProjectId(), item.getInventoryId(),
+                item.getInventoryTypeCode(), jsonFilePath, excelFilePath);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
     protected String makeComponentName(String... keys) {
         return getString(keys, "Assessment");
     }
@@ -174,16 +198,6 @@ public abstract class AbstractAssessmentProcess {
 
         String workDirPath = getAssessmentResultPath(inventoryProcessId);
 
-        if (result instanceof String) {
-            inventoryProcessResult.setInventoryProcessResultJson((String) result);
-        } else {
-            if (result instanceof WindowsAssessmentResult) {
-                inventoryProcessResult.setInventoryProcessResultJson(JsonUtil.objToJson(((WindowsAssessmentResult) result).getWindowsResult(), true));
-            } else {
-                inventoryProcessResult.setInventoryProcessResultJson(JsonUtil.objToJson(result, true));
-            }
-        }
-
         String name = inventoryMaster.getInventoryName();
         if (name != null) {
             name = name.replaceAll(" ", "-");
@@ -195,43 +209,37 @@ public abstract class AbstractAssessmentProcess {
                 inventoryTypeCode.toLowerCase() + "_" +
                 "assessment_" +
                 name + "_" +
-                DATE_FORMAT.format(new Date()) +
+                LocalDateTime.now().format(DATE_FORMAT) +
                 ".json";
 
         File resultFile = new File(FilenameUtils.separatorsToSystem(sb));
         FileUtils.forceMkdirParent(resultFile);
         log.debug("Assessment result will be saved to [{}]", resultFile.getAbsoluteFile());
 
-        FileUtils.writeStringToFile(resultFile, inventoryProcessResult.getInventoryProcessResultJson(), "UTF-8");
+        if (result instanceof String) {
+            inventoryProcessResult.setInventoryProcessResultJson((String) result);
+            FileUtils.writeStringToFile(resultFile, (String) result, "UTF-8");
+        } else {
+            Object value = result instanceof WindowsAssessmentResult ? ((WindowsAssessmentResult) result).getWindowsResult() : result;
+
+            // 대용량 결과(수십만 개의 Table 등)의 경우 json 을 메모리에 만들지 않도록 파일에 바로 기록한다.
+            // DB 에 저장할 json 은 InventoryProcessService.addInventoryProcessResult() 에서 이 파일로부터 생성한다.
+            JsonUtil.writeJson(resultFile, value, true);
+        }
 
         inventoryProcessResult.setInventoryProcessResultJsonPath(resultFile.getAbsolutePath());
 
-        // Write Excel Report File
-        if (inventoryProcessResult.getInventoryProcessResultJson() != null) {
-            try {
-                String excelFilePath = inventoryProcessResult.getInventoryProcessResultJsonPath().replaceAll("json", "xlsx");
-
-                Object entity = null;
-                // get inventory information that include services and server
-                if (inventoryTypeCode.equals(Domain1001.SVR.name())) {
-                    entity = serverService.getServer(inventoryMaster.getProjectId(), inventoryMaster.getInventoryId());
-                } else if (inventoryTypeCode.equals(Domain1001.MW.name())) {
-                    entity = middlewareService.getMiddlewareDetail(inventoryMaster.getProjectId(), inventoryMaster.getInventoryId());
-                } else if (inventoryTypeCode.equals(Domain1001.APP.name())) {
-                    entity = applicationService.getApplication(inventoryMaster.getProjectId(), inventoryMaster.getInventoryId());
-                } else if (inventoryTypeCode.equals(Domain1001.DBMS.name())) {
-                    entity = databaseService.getDatabaseEngine(inventoryMaster.getProjectId(), inventoryMaster.getInventoryId());
-                }
-
-                ExcelExporter excelExporter = new ExcelExporter();
-                excelExporter.export(excelFilePath, entity, JsonUtil.readTree(inventoryProcessResult.getInventoryProcessResultJson()));
+        // 보고서, 상세 조회 등에서 결과 전체를 다시 parsing 하지 않고 필요한 항목만 읽을 수 있도록 압축 저장 파일을 생성한다.
+        try {
+            AssessmentResultStore.write(resultFile);
+        } catch (Exception e) {
+            log.warn("Unable to create an assessment result store for [{}]. Reason : [{}]", resultFile.getAbsolutePath(), e.getMessage());
+        }
 
-                inventoryProcessResult.setInventoryProcessResultExcelPath(excelFilePath);
-            } catch (Exception e) {
-                RoRoException.checkInterruptedException(e);
-                // Excel 생성이 실패하더라도 Assessment는 성공되어야 함.
-                log.error("Unhandled exception occurred while create an excel report.", e);
-            }
+        // Excel report 는 Scan 완료를 기다리게 하지 않도록 결과가 저장된 후 ScanReportGenerator 에서 별도로 생성한다. (submitReport())
+        // 생성 전에 다운로드를 요청하면 ScanReportGenerator.getReport() 에서 생성 완료를 기다리거나 생성한다.
+        if (resultFile.exists()) {
+            inventoryProcessResult.setInventoryProcessResultExcelPath(ScanReportGenerator.getExcelFilePath(inventoryProcessResult.getInventoryProcessResultJsonPath()));
         }
 
         return inventoryProcessResult;
@@ -302,20 +310,8 @@ public abstract class AbstractAssessmentProcess {
             applicationContext = CommonProperties.getApplicationContext();
         }
 
-        if (serverService == null) {
-            serverService = applicationContext.getBean(ServerService.class);
-        }
-
-        if (middlewareService == null) {
-            middlewareService = applicationContext.getBean(MiddlewareService.class);
-        }
-
-        if (applicationService == null) {
-            applicationService = applicationContext.getBean(ApplicationService.class);
-        }
-
-        if (databaseService == null) {
-            databaseService = applicationContext.getBean(DatabaseService.class);
+        if (scanReportGenerator == null) {
+            scanReportGenerator = applicationContext.getBean(ScanReportGenerator.class);
         }
 
         if (discoveredThirdPartyService == null) {
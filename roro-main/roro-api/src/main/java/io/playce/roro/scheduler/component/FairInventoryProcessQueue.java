@@ -0,0 +1,471 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.playce.roro.scheduler.component;
+
+import io.playce.roro.common.dto.inventory.process.InventoryProcessQueueItem;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <pre>
+ * Assessment 요청을 Project 간 공평하게, 대상 서버 별 동시 실행 수를 제한하여 꺼내는 queue.
+ *
+ * 1. Priority lane : 요청 그룹(inventory process group)의 크기가 priorityGroupSize 이하인 요청(화면에서 요청한 소량의 scan 등)은
+ *    Project 순서와 관계없이 먼저 꺼낸다.
+ * 2. Weighted fair queuing : 나머지 요청은 Project 별 queue 에 보관하며, Project 를 차례로 돌아가며
+ *    Project 의 가중치(기본 1) 만큼씩 꺼낸다. 한 Project 의 대량 요청이 다른 Project 의 요청을 지연시키지 않는다.
+ * 3. Per-host limit : 같은 대상 서버(IP)의 요청은 maxInFlightPerHost 개까지만 동시에 실행되며,
+ *    제한에 걸린 요청은 queue 에 남고 다음 요청을 먼저 꺼낸다. 실행이 끝나면 반드시 complete() 를 호출해야 한다.
+ * 4. 대기 중인 요청 수, 대기 시간 등의 통계는 getStats() 로 조회한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class FairInventoryProcessQueue extends AbstractQueue<InventoryProcessQueueItem> implements BlockingQueue<InventoryProcessQueueItem> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    private final int maxInFlightPerHost;
+    private final int priorityGroupSize;
+    private final Map<Long, Integer> projectWeights;
+
+    private final Deque<Entry> priorityLane = new ArrayDeque<>();
+    private final Map<Long, Deque<Entry>> projectLanes = new LinkedHashMap<>();
+    // 차례를 기다리는 Project 목록, 첫 번째 Project 가 현재 차례이다.
+    private final Deque<Long> projectTurns = new ArrayDeque<>();
+    private final Map<String, Integer> inFlight = new HashMap<>();
+
+    private int count;
+    private int remainingCredit;
+
+    private long enqueuedCount;
+    private long dequeuedCount;
+    private long priorityDequeuedCount;
+    private long throttledCount;
+    private long totalWaitMillis;
+    private long maxWaitMillis;
+
+    public FairInventoryProcessQueue(int maxInFlightPerHost, int priorityGroupSize, Map<Long, Integer> projectWeights) {
+        this.maxInFlightPerHost = maxInFlightPerHost;
+        this.priorityGroupSize = priorityGroupSize;
+        this.projectWeights = projectWeights == null ? new HashMap<>() : new HashMap<>(projectWeights);
+    }
+
+    @Override
+    public boolean offer(InventoryProcessQueueItem item) {
+        Objects.requireNonNull(item);
+
+        lock.lock();
+        try {
+            Entry entry = new Entry(item, System.currentTimeMillis());
+
+            if (isPriority(item)) {
+                priorityLane.addLast(entry);
+            } else {
+                Long projectId = item.getProjectId();
+                Deque<Entry> lane = projectLanes.get(projectId);
+
+                if (lane == null) {
+                    lane = new ArrayDeque<>();
+                    projectLanes.put(projectId, lane);
+                    projectTurns.addLast(projectId);
+                }
+
+                lane.addLast(entry);
+            }
+
+            count++;
+            enqueuedCount++;
+            available.signal();
+
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(InventoryProcessQueueItem item) {
+        offer(item);
+    }
+
+    @Override
+    public boolean offer(InventoryProcessQueueItem item, long timeout, TimeUnit unit) {
+        return offer(item);
+    }
+
+    @Override
+    public InventoryProcessQueueItem take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            InventoryProcessQueueItem item;
+            while ((item = dequeue()) == null) {
+                available.await();
+            }
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public InventoryProcessQueueItem poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+
+        lock.lockInterruptibly();
+        try {
+            InventoryProcessQueueItem item;
+            while ((item = dequeue()) == null) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = available.awaitNanos(nanos);
+            }
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public InventoryProcessQueueItem poll() {
+        lock.lock();
+        try {
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 꺼낸 요청의 실행이 끝났음을 알린다. 같은 대상 서버의 다음 요청을 꺼낼 수 있게 된다.
+     */
+    public void complete(InventoryProcessQueueItem item) {
+        String host = hostOf(item);
+
+        if (host == null) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            inFlight.computeIfPresent(host, (k, v) -> v > 1 ? v - 1 : null);
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public InventoryProcessQueueItem peek() {
+        lock.lock();
+        try {
+            Entry entry = findEligible(priorityLane);
+
+            if (entry == null) {
+                for (Long projectId : projectTurns) {
+                    entry = findEligible(projectLanes.get(projectId));
+                    if (entry != null) {
+                        break;
+                    }
+                }
+            }
+
+            return entry == null ? null : entry.item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        lock.lock();
+        try {
+            if (removeFrom(priorityLane, o)) {
+                return true;
+            }
+
+            for (Long projectId : new ArrayList<>(projectTurns)) {
+                Deque<Entry> lane = projectLanes.get(projectId);
+
+                if (removeFrom(lane, o)) {
+                    if (lane.isEmpty()) {
+                        removeProject(projectId);
+                    }
+                    return true;
+                }
+            }
+
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public Iterator<InventoryProcessQueueItem> iterator() {
+        lock.lock();
+        try {
+            List<InventoryProcessQueueItem> items = new ArrayList<>(count);
+            priorityLane.forEach(e -> items.add(e.item));
+            projectTurns.forEach(p -> projectLanes.get(p).forEach(e -> items.add(e.item)));
+
+            Iterator<InventoryProcessQueueItem> iterator = items.iterator();
+            return new Iterator<>() {
+                private InventoryProcessQueueItem last;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public InventoryProcessQueueItem next() {
+                    last = iterator.next();
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    FairInventoryProcessQueue.this.remove(last);
+                }
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super InventoryProcessQueueItem> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super InventoryProcessQueueItem> c, int maxElements) {
+        int drained = 0;
+        InventoryProcessQueueItem item;
+
+        while (drained < maxElements && (item = poll()) != null) {
+            c.add(item);
+            drained++;
+        }
+
+        return drained;
+    }
+
+    public Stats getStats() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            Stats stats = new Stats();
+            stats.setQueued(count);
+            stats.setPriorityQueued(priorityLane.size());
+            stats.setEnqueued(enqueuedCount);
+            stats.setDequeued(dequeuedCount);
+            stats.setPriorityDequeued(priorityDequeuedCount);
+            stats.setThrottled(throttledCount);
+            stats.setAverageWaitMillis(dequeuedCount == 0 ? 0 : totalWaitMillis / dequeuedCount);
+            stats.setMaxWaitMillis(maxWaitMillis);
+            stats.setInFlight(inFlight.values().stream().mapToInt(Integer::intValue).sum());
+            stats.setInFlightPerHost(new LinkedHashMap<>(inFlight));
+
+            long oldest = priorityLane.isEmpty() ? now : priorityLane.peekFirst().enqueuedAt;
+            Map<Long, Integer> projectQueued = new LinkedHashMap<>();
+            for (Map.Entry<Long, Deque<Entry>> lane : projectLanes.entrySet()) {
+                projectQueued.put(lane.getKey(), lane.getValue().size());
+                oldest = Math.min(oldest, lane.getValue().peekFirst().enqueuedAt);
+            }
+            stats.setProjectQueued(projectQueued);
+            stats.setOldestWaitMillis(now - oldest);
+
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isPriority(InventoryProcessQueueItem item) {
+        return item.getInventoryProcessGroupSize() != null && item.getInventoryProcessGroupSize() <= priorityGroupSize;
+    }
+
+    /**
+     * lock 을 획득한 상태에서 호출되며, 꺼낼 수 있는 요청이 없으면 null 을 반환한다.
+     */
+    private InventoryProcessQueueItem dequeue() {
+        if (count == 0) {
+            return null;
+        }
+
+        Entry entry = findEligible(priorityLane);
+        if (entry != null) {
+            priorityLane.remove(entry);
+            priorityDequeuedCount++;
+            return acquire(entry);
+        }
+
+        // 현재 차례의 Project 부터 실행할 수 있는 요청이 있는 Project 를 찾는다.
+        int turns = projectTurns.size();
+        for (int i = 0; i < turns; i++) {
+            Long projectId = projectTurns.peekFirst();
+            Deque<Entry> lane = projectLanes.get(projectId);
+
+            if (remainingCredit <= 0) {
+                remainingCredit = Math.max(projectWeights.getOrDefault(projectId, 1), 1);
+            }
+
+            entry = findEligible(lane);
+            if (entry != null) {
+                lane.remove(entry);
+
+                if (lane.isEmpty()) {
+                    removeProject(projectId);
+                } else if (--remainingCredit <= 0) {
+                    projectTurns.addLast(projectTurns.pollFirst());
+                }
+
+                return acquire(entry);
+            }
+
+            // 대상 서버의 제한으로 실행할 수 없는 Project 는 차례를 넘긴다.
+            remainingCredit = 0;
+            projectTurns.addLast(projectTurns.pollFirst());
+        }
+
+        throttledCount++;
+        return null;
+    }
+
+    private Entry findEligible(Deque<Entry> lane) {
+        if (lane == null) {
+            return null;
+        }
+
+        for (Entry entry : lane) {
+            String host = hostOf(entry.item);
+
+            if (host == null || maxInFlightPerHost <= 0 || inFlight.getOrDefault(host, 0) < maxInFlightPerHost) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    private InventoryProcessQueueItem acquire(Entry entry) {
+        String host = hostOf(entry.item);
+
+        if (host != null) {
+            inFlight.merge(host, 1, Integer::sum);
+        }
+
+        long waitMillis = System.currentTimeMillis() - entry.enqueuedAt;
+        totalWaitMillis += waitMillis;
+        maxWaitMillis = Math.max(maxWaitMillis, waitMillis);
+        dequeuedCount++;
+        count--;
+
+        return entry.item;
+    }
+
+    private boolean removeFrom(Deque<Entry> lane, Object o) {
+        Iterator<Entry> iterator = lane.iterator();
+
+        while (iterator.hasNext()) {
+            if (iterator.next().item.equals(o)) {
+                iterator.remove();
+                count--;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void removeProject(Long projectId) {
+        if (Objects.equals(projectTurns.peekFirst(), projectId)) {
+            remainingCredit = 0;
+        }
+
+        projectLanes.remove(projectId);
+        projectTurns.remove(projectId);
+    }
+
+    private static String hostOf(InventoryProcessQueueItem item) {
+        return StringUtils.isEmpty(item.getTargetHost()) ? null : item.getTargetHost();
+    }
+
+    private static class Entry {
+        private final InventoryProcessQueueItem item;
+        private final long enqueuedAt;
+
+        private Entry(InventoryProcessQueueItem item, long enqueuedAt) {
+            this.item = item;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Stats {
+        private int queued;
+        private int priorityQueued;
+        private Map<Long, Integer> projectQueued;
+        private int inFlight;
+        private Map<String, Integer> inFlightPerHost;
+        private long enqueued;
+        private long dequeued;
+        private long priorityDequeued;
+        private long throttled;
+        private long averageWaitMillis;
+        private long maxWaitMillis;
+        private long oldestWaitMillis;
+    }
+}
+//end of FairInventoryProcessQueue.java
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.playce.roro.scheduler.component;
+
+import io.playce.roro.common.code.Domain1002;
+import io.playce.roro.common.config.InventoryProcessCancelProcessor;
+import io.playce.roro.common.dto.inventory.process.InventoryProcessQueueItem;
+import io.playce.roro.scheduler.service.InventoryProcessHandler;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+/**
+ * <pre>
+ * Inventory Process queue 를 계속해서 소비하는 worker thread 묶음.
+ *
+ * 1. worker 는 queue 에서 item 을 꺼내 InventoryProcessHandler 로 실행하며, item 을 enqueue 할 때마다 별도의 @Async 호출을 하지 않는다.
+ * 2. item 은 FutureTask 로 감싸 worker thread 에서 직접 실행하고 InventoryProcessCancelProcessor 에 등록하므로,
+ *    작업 취소 시 해당 item 을 실행 중인 worker thread 가 interrupt 된다.
+ * 3. 작업 취소 등으로 interrupt 된 worker 는 interrupt 상태를 해제한 후 다음 item 을 처리한다.
+ * 4. item 의 실행이 끝나면 completion 을 호출한다. (FairInventoryProcessQueue 의 대상 서버 별 실행 수 반환 등)
+ * 5. worker thread 는 전달받은 ThreadFactory 로 생성하므로, virtual 모드에서는 virtual thread 로 동작한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Slf4j
+public class InventoryProcessWorker {
+
+    @Getter
+    private final Domain1002 domain1002;
+    private final BlockingQueue<InventoryProcessQueueItem> queue;
+    private final InventoryProcessHandler handler;
+    private final InventoryProcessCancelProcessor inventoryProcessCancelProcessor;
+    private final Consumer<InventoryProcessQueueItem> completion;
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public InventoryProcessWorker(Domain1002 domain1002, BlockingQueue<InventoryProcessQueueItem> queue, InventoryProcessHandler handler,
+                                  InventoryProcessCancelProcessor inventoryProcessCancelProcessor) {
+        this(domain1002, queue, handler, inventoryProcessCancelProcessor, item -> {
+        });
+    }
+
+    public InventoryProcessWorker(Domain1002 domain1002, BlockingQueue<InventoryProcessQueueItem> queue, InventoryProcessHandler handler,
+                                  InventoryProcessCancelProcessor inventoryProcessCancelProcessor, Consumer<InventoryProcessQueueItem> completion) {
+        this.domain1002 = domain1002;
+        this.queue = queue;
+        this.handler = handler;
+        this.inventoryProcessCancelProcessor = inventoryProcessCancelProcessor;
+        this.completion = completion;
+    }
+
+    public synchronized void start(int size, ThreadFactory threadFactory) {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        for (int i = 1; i <= Math.max(size, 1); i++) {
+            Thread thread = threadFactory.newThread(this::work);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("{} worker started, size: {}", domain1002.desc(), threads.size());
+    }
+
+    public synchronized void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+    }
+
+    private void work() {
+        while (running) {
+            InventoryProcessQueueItem item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+                continue;
+            }
+
+            log.debug("Step 1 ~ dequeue, id: {}, queue size: {}", item.getInventoryProcessId(), queue.size());
+            try {
+                execute(item);
+            } finally {
+                completion.accept(item);
+            }
+
+            // 작업 취소로 설정된 interrupt 상태가 다음 item 에 영향을 주지 않도록 해제한다.
+            Thread.interrupted();
+        }
+    }
+
+    private void execute(InventoryProcessQueueItem item) {
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            handler.run(item);
+            return null;
+        });
+
+        String key = Domain1002.valueOf(item.getInventoryProcessTypeCode()).executeKey(item.getInventoryProcessId());
+        inventoryProcessCancelProcessor.addJob(key, task);
+
+        task.run();
+
+        try {
+            task.get();
+        } catch (CancellationException e) {
+            log.info("{} job canceled. {}", domain1002.desc(), item);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof InterruptedException) {
+                log.debug("{} job interrupted. {}", domain1002.desc(), item);
+            } else {
+                log.error("Unhandled exception occurred while execute {} job. {}", domain1002.desc(), item, e.getCause());
+            }
+        } catch (InterruptedException e) {
+            // FutureTask 가 완료된 이후이므로 발생하지 않는다.
+            Thread.currentThread().interrupt();
+        }
+    }
+}
+//end of InventoryProcessWorker.java
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.playce.roro.scheduler.component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <pre>
+ * Assessment 후처리 및 결과 저장 시 사용하는 lock.
+ *
+ * 1. Inventory lock : 해당 Inventory 에 속한 정보(summary, network, disk, daemon, 결과 및 report 등)를 저장할 때 사용한다.
+ * 2. Project lock : discovered instance 와 같이 Project 내 여러 Inventory 가 공유하는 정보를 저장할 때 사용한다.
+ *
+ * 두 lock 을 모두 사용하는 경우 반드시 Inventory lock -> Project lock 순서로 획득한다.
+ * lock 은 id 의 hash 로 고정된 개수의 lock 중 하나를 선택(striping)하므로 Inventory 수와 관계없이 메모리 사용량이 일정하다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public final class PostProcessingLock {
+
+    private static final int STRIPES = 256;
+
+    private static final Lock[] inventoryLocks = createLocks();
+    private static final Lock[] projectLocks = createLocks();
+
+    private PostProcessingLock() {
+    }
+
+    public static Lock forInventory(Long inventoryId) {
+        return inventoryLocks[indexOf(inventoryId)];
+    }
+
+    public static Lock forProject(Long projectId) {
+        return projectLocks[indexOf(projectId)];
+    }
+
+    private static int indexOf(Long id) {
+        int h = id == null ? 0 : id.hashCode();
+        h ^= (h >>> 16);
+        return h & (STRIPES - 1);
+    }
+
+    private static Lock[] createLocks() {
+        Lock[] locks = new Lock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
+//end of PostProcessingLock.java
@@ -56,7 +56,7 @@ import io.playce.roro.mybatis.domain.inventory.application.ApplicationMapper;
 import io.playce.roro.mybatis.domain.inventory.server.ServerMapper;
 import io.playce.roro.mybatis.domain.thirdparty.ThirdPartyMapper;
 import io.playce.roro.scheduler.component.AbstractAssessmentProcess;
-import io.playce.roro.scheduler.service.impl.AssessmentSchedulerManager;
+import io.playce.roro.scheduler.component.PostProcessingLock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.exec.CommandLine;
@@ -72,6 +72,7 @@ import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -166,7 +167,11 @@ public class ApplicationAssessmentProcess extends AbstractAssessmentProcess {
             /**
              * Run Application Scan Post Process 
              */
-            synchronized (AssessmentSchedulerManager.lockApp) {
+            Lock inventoryLock = PostProcessingLock.forInventory(item.getInventoryId());
+            Lock projectLock = PostProcessingLock.forProject(item.getProjectId());
+            inventoryLock.lock();
+            projectLock.lock();
+            try {
                 if (!InventoryProcessCancelInfo.hasCancelRequest(item.getInventoryProcessId())) {
                     try {
                         runPostProcessing(application, inventoryProcessId, result, applicationDto);
@@ -183,6 +188,9 @@ public class ApplicationAssessmentProcess extends AbstractAssessmentProcess {
                         }
                     }
                 }
+            } finally {
+                projectLock.unlock();
+                inventoryLock.unlock();
             }
 
             // Partial Completed Check
@@ -204,7 +212,9 @@ public class ApplicationAssessmentProcess extends AbstractAssessmentProcess {
         } finally {
             ThreadLocalUtils.clearSharedObject();
 
-            synchronized (AssessmentSchedulerManager.lockApp) {
+            Lock inventoryLock = PostProcessingLock.forInventory(item.getInventoryId());
+            inventoryLock.lock();
+            try {
                 if (!InventoryProcessCancelInfo.hasCancelRequest(item.getInventoryProcessId())) {
                     String message = saveResult(item, inventoryProcessService, inventoryProcessId, result, resultString, saveReport);
 
@@ -214,6 +224,8 @@ public class ApplicationAssessmentProcess extends AbstractAssessmentProcess {
                         }
                     }
                 }
+            } finally {
+                inventoryLock.unlock();
             }
 
             try {
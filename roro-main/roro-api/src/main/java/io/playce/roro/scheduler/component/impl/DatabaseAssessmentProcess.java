@@ -44,7 +44,7 @@ import io.playce.roro.jpa.entity.*;
 import io.playce.roro.jpa.repository.*;
 import io.playce.roro.mybatis.domain.inventory.database.DatabaseMapper;
 import io.playce.roro.scheduler.component.AbstractAssessmentProcess;
-import io.playce.roro.scheduler.service.impl.AssessmentSchedulerManager;
+import io.playce.roro.scheduler.component.PostProcessingLock;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -54,6 +54,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.locks.Lock;
 
 import static io.playce.roro.common.util.ThreadLocalUtils.DB_SCAN_ERROR;
 import static io.playce.roro.db.asmt.constant.DBConstants.*;
@@ -114,7 +115,11 @@ public class DatabaseAssessmentProcess extends AbstractAssessmentProcess {
                 resultString = "Not tested database version, some information may be missing.";
             }
 
-            synchronized (AssessmentSchedulerManager.lockDB) {
+            Lock inventoryLock = PostProcessingLock.forInventory(item.getInventoryId());
+            Lock projectLock = PostProcessingLock.forProject(item.getProjectId());
+            inventoryLock.lock();
+            projectLock.lock();
+            try {
                 if (!InventoryProcessCancelInfo.hasCancelRequest(item.getInventoryProcessId())) {
                     try {
                         runPostProcessing(inventoryProcessId, databaseDto, result);
@@ -131,6 +136,9 @@ public class DatabaseAssessmentProcess extends AbstractAssessmentProcess {
                         }
                     }
                 }
+            } finally {
+                projectLock.unlock();
+                inventoryLock.unlock();
             }
 
             if (ThreadLocalUtils.get(DB_SCAN_ERROR) == null) {
@@ -151,7 +159,9 @@ public class DatabaseAssessmentProcess extends AbstractAssessmentProcess {
         } finally {
             ThreadLocalUtils.clearSharedObject();
 
-            synchronized (AssessmentSchedulerManager.lockDB) {
+            Lock inventoryLock = PostProcessingLock.forInventory(item.getInventoryId());
+            inventoryLock.lock();
+            try {
                 if (!InventoryProcessCancelInfo.hasCancelRequest(item.getInventoryProcessId())) {
                     String message = saveResult(item, inventoryProcessService, inventoryProcessId, result, resultString, saveReport);
 
@@ -161,6 +171,8 @@ public class DatabaseAssessmentProcess extends AbstractAssessmentProcess {
                         }
                     }
                 }
+            } finally {
+                inventoryLock.unlock();
             }
         }
         return resultState;
@@ -61,13 +61,14 @@ import io.playce.roro.mybatis.domain.inventory.middleware.MiddlewareMapper;
 import io.playce.roro.mybatis.domain.inventory.server.ServerMapper;
 import io.playce.roro.mybatis.domain.thirdparty.ThirdPartyMapper;
 import io.playce.roro.scheduler.component.AbstractAssessmentProcess;
-import io.playce.roro.scheduler.service.impl.AssessmentSchedulerManager;
+import io.playce.roro.scheduler.component.PostProcessingLock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
 
 import static io.playce.roro.common.util.ThreadLocalUtils.MW_SCAN_ERROR;
 
@@ -249,7 +250,11 @@ public class MiddlewareAssessmentProcess extends AbstractAssessmentProcess {
                 throw new NotsupportedException("Scan cannot be performed. It is an unsupported Middleware version.");
             }
 
-            synchronized (AssessmentSchedulerManager.lockMw) {
+            Lock inventoryLock = PostProcessingLock.forInventory(item.getInventoryId());
+            Lock projectLock = PostProcessingLock.forProject(item.getProjectId());
+            inventoryLock.lock();
+            projectLock.lock();
+            try {
                 if (!InventoryProcessCancelInfo.hasCancelRequest(item.getInventoryProcessId())) {
                     try {
                         middlewarePostProcessor.setDiscoveredData(postProcess, item, targetHost, Domain1006.INV, middlewareInventory, result, strategy);
@@ -267,6 +272,9 @@ public class MiddlewareAssessmentProcess extends AbstractAssessmentProcess {
                         }
                     }
                 }
+            } finally {
+                projectLock.unlock();
+                inventoryLock.unlock();
             }
 
             // Partial Completed Check
@@ -300,7 +308,9 @@ public class MiddlewareAssessmentProcess extends AbstractAssessmentProcess {
         } finally {
             ThreadLocalUtils.clearSharedObject();
 
-            synchronized (AssessmentSchedulerManager.lockMw) {
+            Lock inventoryLock = PostProcessingLock.forInventory(item.getInventoryId());
+            inventoryLock.lock();
+            try {
                 if (!InventoryProcessCancelInfo.hasCancelRequest(item.getInventoryProcessId())) {
                     String message = saveResult(item, inventoryProcessService, inventoryProcessId, result, resultString, saveReport);
 
@@ -310,6 +320,8 @@ public class MiddlewareAssessmentProcess extends AbstractAssessmentProcess {
                         }
                     }
                 }
+            } finally {
+                inventoryLock.unlock();
             }
         }
         return resultState;
@@ -42,6 +42,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
@@ -55,7 +56,7 @@ import java.util.stream.Collectors;
 @Component("NETWORK_STAT")
 @Slf4j
 public class MonitoringStatForNetwork extends AbstractMonitoringStat {
-    private final Object lock = new Object();
+    private final ReentrantLock lock = new ReentrantLock();
     private final ServerMasterRepository serverMasterRepository;
     private final ServerNetworkInformationRepository serverNetworkInformationRepository;
     private final UnknownServerDiscoverHelper unknownServerDiscoverHelper;
@@ -102,13 +103,16 @@ public class MonitoringStatForNetwork extends AbstractMonitoringStat {
             }
         }
 
-        synchronized (lock) {
+        lock.lock();
+        try {
             ServerMaster serverMaster = serverMasterRepository.getById(item.getServerInventoryId());
             List<String> ips = serverNetworkInformationRepository.findByServerInventoryId(item.getServerInventoryId()).stream().map(ServerNetworkInformation::getAddress).collect(Collectors.toList());
             unknownServerDiscoverHelper.extractTraffics(item.getProjectId(), item.getServerInventoryId(), -1L,
                     serverMaster.getRepresentativeIpAddress(), ips, toAny, toLocal, toAny.stream().map(Traffic::getFaddr).collect(Collectors.toSet()));
             unknownServerDiscoverHelper.extractTraffics(item.getProjectId(), item.getServerInventoryId(), -1L,
                     serverMaster.getRepresentativeIpAddress(), ips, toAny, toLocal, toLocal.stream().map(Traffic::getFaddr).collect(Collectors.toSet()));
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -21,7 +21,7 @@
 
 package io.playce.roro.scheduler.component.impl;
 
-import io.playce.roro.api.collector.HostStatCollector;
+import io.playce.roro.api.collector.HostStatCollectionService;
 import io.playce.roro.api.domain.assessment.service.AssessmentService;
 import io.playce.roro.api.domain.inventory.service.InventoryProcessService;
 import io.playce.roro.api.domain.inventory.service.ServerService;
@@ -61,7 +61,7 @@ import io.playce.roro.mybatis.domain.inventory.process.InventoryProcessMapper;
 import io.playce.roro.mybatis.domain.inventory.server.ServerMapper;
 import io.playce.roro.mybatis.domain.thirdparty.ThirdPartyMapper;
 import io.playce.roro.scheduler.component.AbstractAssessmentProcess;
-import io.playce.roro.scheduler.service.impl.AssessmentSchedulerManager;
+import io.playce.roro.scheduler.component.PostProcessingLock;
 import io.playce.roro.svr.asmt.ServerAssessment;
 import io.playce.roro.svr.asmt.config.DistributionConfig;
 import io.playce.roro.svr.asmt.dto.ServerAssessmentResult;
@@ -74,6 +74,7 @@ import org.springframework.stereotype.Component;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.Lock;
 
 /**
  * <pre>
@@ -107,6 +108,7 @@ public class ServerAssessmentProcess extends AbstractAssessmentProcess {
     private final MiddlewareMapper middlewareMapper;
     private final InventoryProcessMapper inventoryProcessMapper;
     private final RoRoProperties roRoProperties;
+    private final HostStatCollectionService hostStatCollectionService;
 
     @Override
     public Domain1003 assessment(InventoryProcessQueueItem item, Domain1003 resultState) throws InterruptedException {
@@ -154,14 +156,16 @@ public class ServerAssessmentProcess extends AbstractAssessmentProcess {
                 // Start 5 minutes monitoring for cpu & memory usage
                 // Scan 시작 시 같이 실행을 하면 CPU가 높게 나올 수 있어 Scan이 완료된 후 진행한다.
                 // Middleware가 발견되면서 Middleware 스캔과 동시에 실행되면 마찬가지로 CPU가 높게 나올 수 있다.
-                new Thread(new HostStatCollector(item.getInventoryId(), item.getInventoryDetailTypeCode(), targetHost)).start();
+                hostStatCollectionService.start(item.getInventoryProcessId(), item.getInventoryId(), item.getInventoryDetailTypeCode(), targetHost);
             }
 
             /**
              * 서버 분석 후처리
              * Server Summary, Network info, Disk Info, Daemon Info
              **/
-            synchronized (AssessmentSchedulerManager.lockSvr) {
+            Lock inventoryLock = PostProcessingLock.forInventory(item.getInventoryId());
+            inventoryLock.lock();
+            try {
                 if (!InventoryProcessCancelInfo.hasCancelRequest(item.getInventoryProcessId())) {
                     try {
                         runPostProcessing(connectionInfo, result);
@@ -178,6 +182,8 @@ public class ServerAssessmentProcess extends AbstractAssessmentProcess {
                         }
                     }
                 }
+            } finally {
+                inventoryLock.unlock();
             }
 
             // 관라자가 아닌 경우에도 Partially Completed로 처리한다.
@@ -250,7 +256,9 @@ public class ServerAssessmentProcess extends AbstractAssessmentProcess {
 
             log.error("item {} - {}", item, resultString, e);
         } finally {
-            synchronized (AssessmentSchedulerManager.lockSvr) {
+            Lock inventoryLock = PostProcessingLock.forInventory(item.getInventoryId());
+            inventoryLock.lock();
+            try {
                 if (!InventoryProcessCancelInfo.hasCancelRequest(item.getInventoryProcessId())) {
                     String message = saveResult(item, inventoryProcessService, inventoryProcessId, result, resultString, saveReport);
 
@@ -260,6 +268,8 @@ public class ServerAssessmentProcess extends AbstractAssessmentProcess {
                         }
                     }
                 }
+            } finally {
+                inventoryLock.unlock();
             }
         }
 
@@ -310,7 +320,14 @@ public class ServerAssessmentProcess extends AbstractAssessmentProcess {
                 }
             }
 
-            discoverResourceManager.discover(connectionInfo, result);
+            // discovered instance 는 Project 내 여러 Inventory 가 공유하므로 Project 단위로 순차 처리한다.
+            Lock projectLock = PostProcessingLock.forProject(connectionInfo.getProjectId());
+            projectLock.lock();
+            try {
+                discoverResourceManager.discover(connectionInfo, result);
+            } finally {
+                projectLock.unlock();
+            }
             trackingInfoService.saveServerTrackingInfo(connectionInfo.getInventoryProcessId(), result);
 
         } catch (Exception e) {
@@ -25,19 +25,28 @@ import io.playce.roro.common.dto.inventory.process.InventoryProcessQueueItem;
 import io.playce.roro.common.dto.inventory.process.MigrationProgressQueueItem;
 import io.playce.roro.common.dto.inventory.process.MonitoringQueueItem;
 import io.playce.roro.common.dto.monitoring.MonitoringSaveItem;
+import io.playce.roro.scheduler.component.FairInventoryProcessQueue;
+import io.playce.roro.common.util.VirtualThreadUtil;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * <pre>
@@ -51,7 +60,11 @@ import java.util.concurrent.LinkedBlockingQueue;
 @ConfigurationProperties(prefix = "worker")
 @Setter
 @Getter
+@Slf4j
 public class BlockingQueueConfig implements SchedulingConfigurer {
+    public static final String EXECUTOR_MODE_PLATFORM = "platform";
+    public static final String EXECUTOR_MODE_VIRTUAL = "virtual";
+
     private int corePoolSize;
     private int maxPoolSize;
     private int queueCapacity;
@@ -64,7 +77,32 @@ public class BlockingQueueConfig implements SchedulingConfigurer {
     private int hsMaxPoolSize;
     private int hsQueueCapacity;
     private String hsThreadNamePrefix;
-
+    // Assessment queue 의 대상 서버 별 최대 동시 실행 수 (0 이하인 경우 제한하지 않음)
+    private int assessmentMaxInFlightPerHost = 2;
+    // 요청 그룹의 크기가 해당 값 이하인 Assessment 는 priority lane 으로 먼저 실행
+    private int assessmentPriorityGroupSize = 5;
+    // Project 별 가중치 (기본 1)
+    private Map<Long, Integer> assessmentProjectWeights = new HashMap<>();
+    // executor 의 thread 종류 (platform, virtual). virtual 은 JDK 21 이상에서만 사용되며, 그 외에는 platform 으로 동작한다.
+    private String executorMode = EXECUTOR_MODE_PLATFORM;
+    // virtual 모드에서 Prerequisite, Assessment worker 의 수 (SSH/WinRM/JDBC 대기 중인 작업의 최대 동시 실행 수)
+    private int virtualWorkerSize = 256;
+    // virtual 모드에서 각 executor 의 최대 동시 실행 수 (-1 : virtual thread 의 최대 carrier thread 수)
+    private int virtualConcurrencyLimit = SimpleAsyncTaskExecutor.UNBOUNDED_CONCURRENCY;
+
+    @PostConstruct
+    public void init() {
+        if (EXECUTOR_MODE_VIRTUAL.equalsIgnoreCase(executorMode) && !VirtualThreadUtil.isSupported()) {
+            log.warn("Virtual thread executor mode requires Java 21 or later. Running on Java {}, falling back to platform threads.",
+                    System.getProperty("java.version"));
+        }
+        log.info("Worker executor mode: {}", isVirtualThreadMode() ? EXECUTOR_MODE_VIRTUAL : EXECUTOR_MODE_PLATFORM);
+
+        if (isVirtualThreadMode() && virtualWorkerSize > getCarrierThreadLimit()) {
+            log.warn("worker.virtual-worker-size({}) exceeds the virtual thread carrier limit({}). SSH reads pin their carrier thread, so {} workers will be used.",
+                    virtualWorkerSize, getCarrierThreadLimit(), getCarrierThreadLimit());
+        }
+    }
 
     @Bean
     public BlockingQueue<InventoryProcessQueueItem> prerequisiteQueue() {
@@ -72,8 +110,8 @@ public class BlockingQueueConfig implements SchedulingConfigurer {
     }
 
     @Bean
-    public BlockingQueue<InventoryProcessQueueItem> assessmentQueue() {
-        return new LinkedBlockingQueue<>();
+    public FairInventoryProcessQueue assessmentQueue() {
+        return new FairInventoryProcessQueue(assessmentMaxInFlightPerHost, assessmentPriorityGroupSize, assessmentProjectWeights);
     }
 
     @Bean
@@ -98,44 +136,80 @@ public class BlockingQueueConfig implements SchedulingConfigurer {
 
     @Bean
     public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(corePoolSize);
-        executor.setMaxPoolSize(maxPoolSize);
-        executor.setQueueCapacity(queueCapacity);
-        executor.setThreadNamePrefix(threadNamePrefix);
-        executor.initialize();
-        return executor;
+        return createExecutor(corePoolSize, maxPoolSize, queueCapacity, threadNamePrefix);
     }
 
     @Bean
     public Executor migrationTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(migCorePoolSize);
-        executor.setMaxPoolSize(migMaxPoolSize);
-        executor.setQueueCapacity(migQueueCapacity);
-        executor.setThreadNamePrefix(migThreadNamePrefix);
-        executor.initialize();
-        return executor;
+        return createExecutor(migCorePoolSize, migMaxPoolSize, migQueueCapacity, migThreadNamePrefix);
     }
 
     @Bean
     public Executor hostScanTaskExecutor(){
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(hsCorePoolSize);
-        executor.setMaxPoolSize(hsMaxPoolSize);
-        executor.setQueueCapacity(hsQueueCapacity);
-        executor.setThreadNamePrefix(hsThreadNamePrefix);
-        executor.initialize();
-        return executor;
+        return createExecutor(hsCorePoolSize, hsMaxPoolSize, hsQueueCapacity, hsThreadNamePrefix);
     }
 
     @Bean
     public Executor monitoringTaskExecutor() {
+        return createExecutor(corePoolSize, maxPoolSize, queueCapacity, "mo-");
+    }
+
+    /**
+     * virtual 모드가 설정되어 있고 현재 JVM 이 virtual thread 를 지원하는지 여부
+     */
+    public boolean isVirtualThreadMode() {
+        return EXECUTOR_MODE_VIRTUAL.equalsIgnoreCase(executorMode) && VirtualThreadUtil.isSupported();
+    }
+
+    /**
+     * Inventory Process worker 의 수. virtual 모드에서는 virtualWorkerSize 를 사용한다.
+     */
+    public int getWorkerSize(int platformSize) {
+        return isVirtualThreadMode() ? Math.max(Math.min(virtualWorkerSize, getCarrierThreadLimit()), platformSize) : platformSize;
+    }
+
+    /**
+     * <pre>
+     * JSch 의 channel 은 synchronized 블록 안에서 Object.wait() 으로 응답을 기다리므로, SSH 응답을 기다리는 virtual thread 는
+     * carrier thread 에 고정(pinning)된다. JDK 21 은 이 경우 carrier thread 를 jdk.virtualThreadScheduler.maxPoolSize(기본 256) 까지 늘리므로,
+     * 이를 넘는 수의 작업이 동시에 SSH 응답을 기다리면 다른 virtual thread 가 실행되지 못한다.
+     * 따라서 virtual 모드의 worker 수와 executor 의 기본 동시 실행 수를 이 값으로 제한한다.
+     * </pre>
+     */
+    private int getCarrierThreadLimit() {
+        int parallelism = Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+        return Integer.getInteger("jdk.virtualThreadScheduler.maxPoolSize", Math.max(parallelism, 256));
+    }
+
+    /**
+     * Inventory Process worker 의 thread 를 생성하는 ThreadFactory
+     */
+    public ThreadFactory getWorkerThreadFactory(String prefix) {
+        if (isVirtualThreadMode()) {
+            return VirtualThreadUtil.threadFactory(prefix);
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    /**
+     * 작업의 대부분이 SSH/WinRM/JDBC 응답 대기이므로, virtual 모드에서는 thread pool 대신 작업 마다 virtual thread 를 생성한다.
+     * 이 경우 pool 크기와 queue 용량은 사용되지 않으며, 동시 실행 수는 virtualConcurrencyLimit(미설정 시 carrier thread 의 최대 수) 로 제한한다.
+     */
+    private Executor createExecutor(int core, int max, int capacity, String prefix) {
+        if (isVirtualThreadMode()) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(VirtualThreadUtil.threadFactory(prefix));
+            executor.setConcurrencyLimit(virtualConcurrencyLimit > 0 ? virtualConcurrencyLimit : getCarrierThreadLimit());
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(corePoolSize);
-        executor.setMaxPoolSize(maxPoolSize);
-        executor.setQueueCapacity(queueCapacity);
-        executor.setThreadNamePrefix("mo-");
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(max);
+        executor.setQueueCapacity(capacity);
+        executor.setThreadNamePrefix(prefix);
         executor.initialize();
         return executor;
     }
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.playce.roro.scheduler.service;
+
+import io.playce.roro.common.dto.inventory.process.InventoryProcessQueueItem;
+
+/**
+ * <pre>
+ * InventoryProcessWorker 가 queue 에서 꺼낸 Prerequisite, Assessment, Migration 요청을 처리한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public interface InventoryProcessHandler {
+    void run(InventoryProcessQueueItem item) throws InterruptedException;
+}
+//end of InventoryProcessHandler.java
@@ -21,22 +21,20 @@
 
 package io.playce.roro.scheduler.service.impl;
 
+import io.playce.roro.api.collector.HostStatCollectionService;
 import io.playce.roro.common.cancel.InventoryProcessCancelInfo;
 import io.playce.roro.common.code.Domain1001;
 import io.playce.roro.common.code.Domain1003;
 import io.playce.roro.common.dto.inventory.process.InventoryProcessQueueItem;
 import io.playce.roro.scheduler.component.AbstractAssessmentProcess;
+import io.playce.roro.scheduler.service.InventoryProcessHandler;
 import io.playce.roro.scheduler.service.InventoryProcessManager;
-import io.playce.roro.scheduler.service.Manager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Future;
 
 /**
  * <pre>
@@ -49,24 +47,15 @@ import java.util.concurrent.Future;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class AssessmentSchedulerManager implements Manager {
-    private final BlockingQueue<InventoryProcessQueueItem> assessmentQueue;
+public class AssessmentSchedulerManager implements InventoryProcessHandler {
     private final InventoryProcessManager inventoryProcessManager;
     private final Map<String, AbstractAssessmentProcess> assessmentManagerMap;
+    private final HostStatCollectionService hostStatCollectionService;
 
-    public static final Object lockSvr = new Object();
-    public static final Object lockMw = new Object();
-    public static final Object lockApp = new Object();
-    public static final Object lockDB = new Object();
-
-    @Async
-    public Future<Void> run() throws InterruptedException {
-        InventoryProcessQueueItem item = null;
+    public void run(InventoryProcessQueueItem item) throws InterruptedException {
         try {
-            item = assessmentQueue.take();
-            log.debug("Step 1 ~ dequeue, id: {}, queue size: {}", item.getInventoryProcessId(), assessmentQueue.size());
             if (inventoryProcessManager.step2(item))
-                return null;
+                return;
 
             inventoryProcessManager.step3(item);
             Domain1003 domain1003 = step4(item);
@@ -75,7 +64,6 @@ public class AssessmentSchedulerManager implements Manager {
             log.error("Assessment Thread interrupted.. {}", item);
             throw e;
         }
-        return null;
     }
 
     @Transactional
@@ -97,6 +85,7 @@ public class AssessmentSchedulerManager implements Manager {
         resultState = assessmentManager.assessment(item, resultState);
 
         if (InventoryProcessCancelInfo.hasCancelRequest(item.getInventoryProcessId())) {
+            hostStatCollectionService.cancel(item.getInventoryProcessId());
             InventoryProcessCancelInfo.removeCancelRequest(item.getInventoryProcessId());
             return Domain1003.CNCL;
         }
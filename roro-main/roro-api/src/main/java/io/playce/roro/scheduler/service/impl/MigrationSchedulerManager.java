@@ -25,16 +25,13 @@ import io.playce.roro.common.cancel.InventoryProcessCancelInfo;
 import io.playce.roro.common.code.Domain1003;
 import io.playce.roro.common.dto.inventory.process.InventoryProcessQueueItem;
 import io.playce.roro.scheduler.component.MigrationProcess;
+import io.playce.roro.scheduler.service.InventoryProcessHandler;
 import io.playce.roro.scheduler.service.InventoryProcessManager;
-import io.playce.roro.scheduler.service.Manager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Future;
 
 /**
  * <pre>
@@ -47,19 +44,14 @@ import java.util.concurrent.Future;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class MigrationSchedulerManager implements Manager {
-    private final BlockingQueue<InventoryProcessQueueItem> migrationQueue;
+public class MigrationSchedulerManager implements InventoryProcessHandler {
     private final InventoryProcessManager inventoryProcessManager;
     private final MigrationProcess migrationProcess;
 
-    @Async("migrationTaskExecutor")
-    public Future<Void> run() throws InterruptedException {
-        InventoryProcessQueueItem item = null;
+    public void run(InventoryProcessQueueItem item) throws InterruptedException {
         try {
-            item = migrationQueue.take();
-            log.debug("Step 1 ~ dequeue, id: {}, queue size: {}", item.getInventoryProcessId(), migrationQueue.size());
             if (inventoryProcessManager.step2(item))
-                return null;
+                return;
 
             inventoryProcessManager.step3(item);
             Domain1003 domain1003 = step4(item);
@@ -68,7 +60,6 @@ public class MigrationSchedulerManager implements Manager {
             log.error("Migration Thread interrupted.. {}", item);
             throw e;
         }
-        return null;
     }
 
     @Transactional
@@ -35,19 +35,16 @@ import io.playce.roro.mybatis.domain.inventory.server.ServerMapper;
 import io.playce.roro.prerequisite.PrerequisiteComponent;
 import io.playce.roro.prerequisite.config.PrerequisiteConfig;
 import io.playce.roro.prerequisite.server.ServerInfo;
+import io.playce.roro.scheduler.service.InventoryProcessHandler;
 import io.playce.roro.scheduler.service.InventoryProcessManager;
-import io.playce.roro.scheduler.service.Manager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Future;
 
 /**
  * <pre>
@@ -60,8 +57,7 @@ import java.util.concurrent.Future;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class PrerequisiteSchedulerManager implements Manager {
-    private final BlockingQueue<InventoryProcessQueueItem> prerequisiteQueue;
+public class PrerequisiteSchedulerManager implements InventoryProcessHandler {
     private final InventoryProcessManager inventoryProcessManager;
     private final PrerequisiteConfig prerequisiteConfig;
     private final PrerequisiteComponent prerequisiteComponent;
@@ -71,14 +67,10 @@ public class PrerequisiteSchedulerManager implements Manager {
     private final InventoryProcessService inventoryProcessService;
     private final InventoryService inventoryService;
 
-    @Async
-    public Future<Void> run() throws InterruptedException {
-        InventoryProcessQueueItem item = null;
+    public void run(InventoryProcessQueueItem item) throws InterruptedException {
         try {
-            item = prerequisiteQueue.take();
-            log.debug("Step 1 ~ dequeue, id: {}, queue size: {}", item.getInventoryProcessId(), prerequisiteQueue.size());
             if (inventoryProcessManager.step2(item))
-                return null;
+                return;
 
             inventoryProcessManager.step3(item);
             Domain1003 domain1003 = step4(item);
@@ -87,7 +79,6 @@ public class PrerequisiteSchedulerManager implements Manager {
             log.error("Prerequisite Thread interrupted.. {}", item);
             throw e;
         }
-        return null;
     }
 
     @Transactional
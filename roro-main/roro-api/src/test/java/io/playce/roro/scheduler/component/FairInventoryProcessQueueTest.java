@@ -0,0 +1,313 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.scheduler.component;
+
+import io.playce.roro.common.dto.inventory.process.InventoryProcessQueueItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * FairInventoryProcessQueue 의 Project 간 round-robin, priority lane, 대상 서버 별 동시 실행 수 제한을 확인한다.
+ *
+ * 꺼내는 순서는 poll() 로 확인하므로 thread 또는 시간에 의존하지 않는다. (take() 의 대기 해제만 별도 thread 로 확인한다.)
+ * </pre>
+ *
+ * @version 3.0
+ */
+class FairInventoryProcessQueueTest {
+
+    private static final int BULK = 100;
+
+    private int sequence;
+
+    @Test
+    void roundRobinAcrossProjects() {
+        FairInventoryProcessQueue queue = new FairInventoryProcessQueue(2, 5, null);
+
+        // Project 1 의 대량 요청이 먼저 들어와도 Project 2, 3 의 요청이 차례대로 꺼내진다.
+        offer(queue, 1L, 6, BULK);
+        offer(queue, 2L, 3, BULK);
+        offer(queue, 3L, 1, BULK);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L, 1L, 2L, 1L, 2L, 1L, 1L, 1L), pollProjects(queue));
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void projectAddedLaterJoinsTheRotation() {
+        FairInventoryProcessQueue queue = new FairInventoryProcessQueue(2, 5, null);
+
+        offer(queue, 1L, 4, BULK);
+        assertEquals(Long.valueOf(1L), queue.poll().getProjectId());
+
+        // 나중에 요청한 Project 는 차례의 마지막에 추가된다.
+        offer(queue, 2L, 2, BULK);
+
+        assertEquals(Arrays.asList(1L, 2L, 1L, 2L, 1L), pollProjects(queue));
+    }
+
+    @Test
+    void projectWeights() {
+        Map<Long, Integer> weights = new HashMap<>();
+        weights.put(1L, 3);
+        FairInventoryProcessQueue queue = new FairInventoryProcessQueue(2, 5, weights);
+
+        offer(queue, 1L, 7, BULK);
+        offer(queue, 2L, 3, BULK);
+
+        assertEquals(Arrays.asList(1L, 1L, 1L, 2L, 1L, 1L, 1L, 2L, 1L, 2L), pollProjects(queue));
+    }
+
+    @Test
+    void requestsInAProjectKeepTheirOrder() {
+        FairInventoryProcessQueue queue = new FairInventoryProcessQueue(2, 5, null);
+
+        List<InventoryProcessQueueItem> items = offer(queue, 1L, 5, BULK);
+
+        for (InventoryProcessQueueItem item : items) {
+            assertSame(item, queue.poll());
+        }
+    }
+
+    @Test
+    void priorityLane() {
+        FairInventoryProcessQueue queue = new FairInventoryProcessQueue(2, 5, null);
+
+        offer(queue, 1L, 3, BULK);
+        InventoryProcessQueueItem small = offer(queue, 2L, 1, 1).get(0);
+        InventoryProcessQueueItem limit = offer(queue, 3L, 1, 5).get(0);
+        InventoryProcessQueueItem overLimit = offer(queue, 4L, 1, 6).get(0);
+        InventoryProcessQueueItem unknown = offer(queue, 5L, 1, null).get(0);
+
+        // 그룹 크기가 5 이하인 요청은 먼저 들어온 대량 요청보다 먼저 꺼낸다.
+        assertSame(small, queue.peek());
+        assertSame(small, queue.poll());
+        assertSame(limit, queue.poll());
+
+        // 그룹 크기가 5 보다 크거나 알 수 없는 요청은 Project 차례를 따른다.
+        List<InventoryProcessQueueItem> rest = new ArrayList<>();
+        InventoryProcessQueueItem item;
+        while ((item = queue.poll()) != null) {
+            rest.add(item);
+        }
+
+        assertEquals(5, rest.size());
+        assertEquals(Long.valueOf(1L), rest.get(0).getProjectId());
+        assertSame(overLimit, rest.get(1));
+        assertSame(unknown, rest.get(2));
+
+        FairInventoryProcessQueue.Stats stats = queue.getStats();
+        assertEquals(2, stats.getPriorityDequeued());
+        assertEquals(7, stats.getDequeued());
+    }
+
+    @Test
+    void maxInFlightPerHost() {
+        FairInventoryProcessQueue queue = new FairInventoryProcessQueue(2, 5, null);
+
+        InventoryProcessQueueItem a1 = offer(queue, 1L, "10.0.0.1", BULK);
+        InventoryProcessQueueItem a2 = offer(queue, 1L, "10.0.0.1", BULK);
+        InventoryProcessQueueItem a3 = offer(queue, 1L, "10.0.0.1", BULK);
+        InventoryProcessQueueItem b1 = offer(queue, 1L, "10.0.0.2", BULK);
+
+        // 같은 서버의 요청은 2개까지만 꺼내며, 제한에 걸린 요청을 건너뛰고 다음 요청을 꺼낸다.
+        assertSame(a1, queue.poll());
+        assertSame(a2, queue.poll());
+        assertSame(b1, queue.poll());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+        assertEquals(1, queue.size());
+
+        FairInventoryProcessQueue.Stats stats = queue.getStats();
+        assertEquals(Integer.valueOf(2), stats.getInFlightPerHost().get("10.0.0.1"));
+        assertEquals(Integer.valueOf(1), stats.getInFlightPerHost().get("10.0.0.2"));
+        assertEquals(3, stats.getInFlight());
+        assertEquals(1, stats.getThrottled());
+
+        // priority lane 의 요청도 제한을 따른다.
+        InventoryProcessQueueItem priority = offer(queue, 2L, "10.0.0.1", 1);
+        assertNull(queue.poll());
+
+        // 다른 서버의 실행이 끝나도 제한된 서버의 요청은 꺼낼 수 없다.
+        queue.complete(b1);
+        assertNull(queue.poll());
+
+        queue.complete(a1);
+        assertSame(priority, queue.poll());
+        assertNull(queue.poll());
+
+        queue.complete(a2);
+        assertSame(a3, queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void throttledProjectPassesItsTurn() {
+        FairInventoryProcessQueue queue = new FairInventoryProcessQueue(1, 5, null);
+
+        offer(queue, 1L, "10.0.0.1", BULK);
+        offer(queue, 1L, "10.0.0.1", BULK);
+        offer(queue, 2L, "10.0.0.2", BULK);
+        offer(queue, 2L, "10.0.0.3", BULK);
+
+        assertEquals(Long.valueOf(1L), queue.poll().getProjectId());
+        // Project 1 은 대상 서버의 제한에 걸려 있으므로 Project 2 의 요청을 연속으로 꺼낸다.
+        assertEquals(Long.valueOf(2L), queue.poll().getProjectId());
+        assertEquals(Long.valueOf(2L), queue.poll().getProjectId());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void requestsWithoutHostAreNotLimited() {
+        FairInventoryProcessQueue queue = new FairInventoryProcessQueue(1, 5, null);
+
+        offer(queue, 1L, null, BULK);
+        offer(queue, 1L, "", BULK);
+        offer(queue, 1L, null, BULK);
+
+        assertNotNull(queue.poll());
+        assertNotNull(queue.poll());
+        assertNotNull(queue.poll());
+        assertTrue(queue.getStats().getInFlightPerHost().isEmpty());
+    }
+
+    @Test
+    void completeReleasesCapacity() {
+        FairInventoryProcessQueue queue = new FairInventoryProcessQueue(2, 5, null);
+
+        InventoryProcessQueueItem a1 = offer(queue, 1L, "10.0.0.1", BULK);
+        InventoryProcessQueueItem a2 = offer(queue, 1L, "10.0.0.1", BULK);
+
+        assertSame(a1, queue.poll());
+        assertSame(a2, queue.poll());
+        assertEquals(Integer.valueOf(2), queue.getStats().getInFlightPerHost().get("10.0.0.1"));
+
+        queue.complete(a1);
+        assertEquals(Integer.valueOf(1), queue.getStats().getInFlightPerHost().get("10.0.0.1"));
+
+        queue.complete(a2);
+        assertFalse(queue.getStats().getInFlightPerHost().containsKey("10.0.0.1"));
+
+        // 꺼내지 않은 요청이나 중복된 complete() 는 실행 수를 음수로 만들지 않는다.
+        queue.complete(a2);
+        queue.complete(item(9L, "10.0.0.9", BULK));
+        assertEquals(0, queue.getStats().getInFlight());
+
+        InventoryProcessQueueItem a3 = offer(queue, 1L, "10.0.0.1", BULK);
+        InventoryProcessQueueItem a4 = offer(queue, 1L, "10.0.0.1", BULK);
+        InventoryProcessQueueItem a5 = offer(queue, 1L, "10.0.0.1", BULK);
+        assertSame(a3, queue.poll());
+        assertSame(a4, queue.poll());
+        assertNull(queue.poll());
+        assertEquals(1, queue.size());
+        assertTrue(queue.contains(a5));
+    }
+
+    @Test
+    void completeWakesUpWaitingTake() throws Exception {
+        FairInventoryProcessQueue queue = new FairInventoryProcessQueue(1, 5, null);
+
+        InventoryProcessQueueItem a1 = offer(queue, 1L, "10.0.0.1", BULK);
+        InventoryProcessQueueItem a2 = offer(queue, 1L, "10.0.0.1", BULK);
+        assertSame(a1, queue.poll());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<InventoryProcessQueueItem> taken = executor.submit(() -> queue.take());
+
+            // 실행 수 제한에 걸린 동안에는 꺼낼 수 없다.
+            assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+            assertFalse(taken.isDone());
+
+            queue.complete(a1);
+            assertSame(a2, taken.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void removeAndDrain() {
+        FairInventoryProcessQueue queue = new FairInventoryProcessQueue(2, 5, null);
+
+        List<InventoryProcessQueueItem> project1 = offer(queue, 1L, 2, BULK);
+        List<InventoryProcessQueueItem> project2 = offer(queue, 2L, 1, BULK);
+        InventoryProcessQueueItem priority = offer(queue, 3L, 1, 1).get(0);
+
+        assertTrue(queue.remove(project2.get(0)));
+        assertTrue(queue.remove(priority));
+        assertFalse(queue.remove(priority));
+        assertEquals(2, queue.size());
+        assertFalse(queue.getStats().getProjectQueued().containsKey(2L));
+
+        List<InventoryProcessQueueItem> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained));
+        assertEquals(project1, drained);
+        assertEquals(Collections.emptyList(), new ArrayList<>(queue));
+    }
+
+    private List<InventoryProcessQueueItem> offer(FairInventoryProcessQueue queue, Long projectId, int count, Integer groupSize) {
+        List<InventoryProcessQueueItem> items = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            InventoryProcessQueueItem item = item(projectId, "10.0." + projectId + "." + (++sequence), groupSize);
+            queue.offer(item);
+            items.add(item);
+        }
+
+        return items;
+    }
+
+    private static InventoryProcessQueueItem offer(FairInventoryProcessQueue queue, Long projectId, String targetHost, Integer groupSize) {
+        InventoryProcessQueueItem item = item(projectId, targetHost, groupSize);
+        queue.offer(item);
+        return item;
+    }
+
+    private static InventoryProcessQueueItem item(Long projectId, String targetHost, Integer groupSize) {
+        InventoryProcessQueueItem item = new InventoryProcessQueueItem();
+        item.setProjectId(projectId);
+        item.setTargetHost(targetHost);
+        item.setInventoryProcessGroupSize(groupSize);
+        return item;
+    }
+
+    private static List<Long> pollProjects(FairInventoryProcessQueue queue) {
+        List<Long> projects = new ArrayList<>();
+        InventoryProcessQueueItem item;
+
+        while ((item = queue.poll()) != null) {
+            projects.add(item.getProjectId());
+        }
+
+        return projects;
+    }
+}
+//end of FairInventoryProcessQueueTest.java
@@ -32,6 +32,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * <pre>
@@ -46,12 +47,13 @@ import java.util.concurrent.TimeUnit;
 @Transactional
 @Slf4j
 public class InventoryProcessCancelProcessor {
-    public final Object lock = new Object();
+    private final ReentrantLock lock = new ReentrantLock();
     private final Map<String, Future<Void>> futureMap = new ConcurrentHashMap<>();
     private final Map<String, Boolean> cancelMap = new ConcurrentHashMap<>();
 
     public void removeJobs() {
-        synchronized (lock) {
+        lock.lock();
+        try {
             List<String> removeKeys = new ArrayList<>();
             futureMap.forEach((k, f) -> {
                 if(f.isDone() || f.isCancelled()) {
@@ -67,6 +69,8 @@ public class InventoryProcessCancelProcessor {
                 });
                 log.debug("future map size: {}", futureMap.size());
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -77,9 +81,12 @@ public class InventoryProcessCancelProcessor {
             } catch (InterruptedException ignored) {}
             Future<Void> future = futureMap.get(key);
             boolean cancel;
-            synchronized (lock) {
+            lock.lock();
+            try {
                 cancel = future.cancel(true);
                 cancelMap.put(key, true);
+            } finally {
+                lock.unlock();
             }
             log.debug("Cancel Job: {}, cancel: {}", key, cancel);
 
@@ -89,9 +96,12 @@ public class InventoryProcessCancelProcessor {
     }
 
     public void addJob(String key, Future<Void> future) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             futureMap.put(key, future);
             cancelMap.put(key, false);
+        } finally {
+            lock.unlock();
         }
     }
 }
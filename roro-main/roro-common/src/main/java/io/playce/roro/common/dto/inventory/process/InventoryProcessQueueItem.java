@@ -46,4 +46,8 @@ public class InventoryProcessQueueItem {
     private String inventoryDetailTypeCode;
     private String osVersion;
     private String windowsYn;
+    // 대상 서버의 IP (Middleware, Application, Database 는 설치된 서버의 IP)
+    private String targetHost;
+    // 같은 inventory process group 으로 요청된 Inventory Process 의 수
+    private Integer inventoryProcessGroupSize;
 }
\ No newline at end of file
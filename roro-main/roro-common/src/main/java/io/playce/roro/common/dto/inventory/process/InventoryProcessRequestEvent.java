@@ -0,0 +1,38 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.playce.roro.common.dto.inventory.process;
+
+import io.playce.roro.common.code.Domain1002;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * <pre>
+ * REQ 상태의 Inventory Process 가 등록되었음을 scheduler 에 알리기 위한 event.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class InventoryProcessRequestEvent {
+    private final Domain1002 inventoryProcessType;
+    private final Long inventoryProcessId;
+}
+//end of InventoryProcessRequestEvent.java
@@ -93,6 +93,9 @@ public class MigrationProcessDto {
 
     private Long diskSize = 0L;
     private Long usedSize = 0L;
+    // S3 업로드 대상 및 전송된 bytes
+    private Long uploadSize = 0L;
+    private Long uploadedSize = 0L;
 
     private Date startDate;
     private Long elapsedTime = 0L;
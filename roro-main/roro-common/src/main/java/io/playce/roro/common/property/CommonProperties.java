@@ -68,6 +68,17 @@ public class CommonProperties implements ApplicationContextAware {
     private static String timeout;
     private static String windowsTempDir;
     private static Boolean useOutFile;
+    private static Integer sshPoolMaxSessions;
+    private static Integer sshPoolMaxChannelsPerSession;
+    private static Integer sshPoolIdleTimeout;
+    private static Integer sshPoolHealthCheckInterval;
+    private static Integer sshPoolAcquireTimeout;
+    private static Integer sshPoolSuAuthRetryInterval;
+    private static Integer sshExecParallelChannels;
+    private static Integer sshExecCommandTimeout;
+    private static Integer sshExecMaxThreads;
+    private static Boolean sshExecBundleMode;
+    private static Integer dbScanParallelism;
 
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
@@ -296,5 +307,178 @@ public class CommonProperties implements ApplicationContextAware {
     public static Boolean getUseOutFile() {
         return Boolean.parseBoolean(SettingsHandler.getSettingsValue(WINDOWS_POWERSHELL_USE_OUTFILE));
     }
+
+    @Value("${ssh.pool.max-sessions:1000}")
+    public void setSshPoolMaxSessions(Integer sshPoolMaxSessions) {
+        CommonProperties.sshPoolMaxSessions = sshPoolMaxSessions;
+    }
+
+    public static Integer getSshPoolMaxSessions() {
+        if (sshPoolMaxSessions == null || sshPoolMaxSessions <= 0) {
+            sshPoolMaxSessions = 1000;
+        }
+
+        return sshPoolMaxSessions;
+    }
+
+    /**
+     * OpenSSH의 MaxSessions 기본값(10)을 넘지 않도록 session 당 동시에 사용할 수 있는 channel 수를 제한한다.
+     */
+    @Value("${ssh.pool.max-channels-per-session:8}")
+    public void setSshPoolMaxChannelsPerSession(Integer sshPoolMaxChannelsPerSession) {
+        CommonProperties.sshPoolMaxChannelsPerSession = sshPoolMaxChannelsPerSession;
+    }
+
+    public static Integer getSshPoolMaxChannelsPerSession() {
+        if (sshPoolMaxChannelsPerSession == null || sshPoolMaxChannelsPerSession <= 0) {
+            sshPoolMaxChannelsPerSession = 8;
+        }
+
+        return sshPoolMaxChannelsPerSession;
+    }
+
+    /**
+     * 사용되지 않는 session이 pool에서 제거되기까지의 시간(분)
+     */
+    @Value("${ssh.pool.idle-timeout:10}")
+    public void setSshPoolIdleTimeout(Integer sshPoolIdleTimeout) {
+        CommonProperties.sshPoolIdleTimeout = sshPoolIdleTimeout;
+    }
+
+    public static Integer getSshPoolIdleTimeout() {
+        if (sshPoolIdleTimeout == null || sshPoolIdleTimeout <= 0) {
+            sshPoolIdleTimeout = 10;
+        }
+
+        return sshPoolIdleTimeout;
+    }
+
+    /**
+     * 해당 시간(초) 이상 사용되지 않은 session은 lease 전에 keep-alive 메시지로 상태를 확인한다.
+     */
+    @Value("${ssh.pool.health-check-interval:30}")
+    public void setSshPoolHealthCheckInterval(Integer sshPoolHealthCheckInterval) {
+        CommonProperties.sshPoolHealthCheckInterval = sshPoolHealthCheckInterval;
+    }
+
+    public static Integer getSshPoolHealthCheckInterval() {
+        if (sshPoolHealthCheckInterval == null || sshPoolHealthCheckInterval <= 0) {
+            sshPoolHealthCheckInterval = 30;
+        }
+
+        return sshPoolHealthCheckInterval;
+    }
+
+    /**
+     * pooled session 의 channel 을 얻기 위해 대기하는 시간(ms). 시간 내에 얻지 못하면 별도의 session 을 생성한다.
+     */
+    @Value("${ssh.pool.acquire-timeout:500}")
+    public void setSshPoolAcquireTimeout(Integer sshPoolAcquireTimeout) {
+        CommonProperties.sshPoolAcquireTimeout = sshPoolAcquireTimeout;
+    }
+
+    public static Integer getSshPoolAcquireTimeout() {
+        if (sshPoolAcquireTimeout == null || sshPoolAcquireTimeout < 0) {
+            sshPoolAcquireTimeout = 500;
+        }
+
+        return sshPoolAcquireTimeout;
+    }
+
+    /**
+     * su 인증에 실패한 경우 같은 root password 로 다시 su 를 시도하기까지의 시간(초)
+     */
+    @Value("${ssh.pool.su-auth-retry-interval:60}")
+    public void setSshPoolSuAuthRetryInterval(Integer sshPoolSuAuthRetryInterval) {
+        CommonProperties.sshPoolSuAuthRetryInterval = sshPoolSuAuthRetryInterval;
+    }
+
+    public static Integer getSshPoolSuAuthRetryInterval() {
+        if (sshPoolSuAuthRetryInterval == null || sshPoolSuAuthRetryInterval < 0) {
+            sshPoolSuAuthRetryInterval = 60;
+        }
+
+        return sshPoolSuAuthRetryInterval;
+    }
+
+    /**
+     * 하나의 서버에 대해 동시에 실행할 exec channel 수 (1 이하인 경우 순차 실행)
+     */
+    @Value("${ssh.exec.parallel-channels:4}")
+    public void setSshExecParallelChannels(Integer sshExecParallelChannels) {
+        CommonProperties.sshExecParallelChannels = sshExecParallelChannels;
+    }
+
+    public static Integer getSshExecParallelChannels() {
+        if (sshExecParallelChannels == null) {
+            sshExecParallelChannels = 4;
+        }
+
+        return sshExecParallelChannels;
+    }
+
+    /**
+     * 병렬 실행 시 명령 하나에 허용되는 최대 실행 시간(초), 0 이하인 경우 제한하지 않는다.
+     */
+    @Value("${ssh.exec.command-timeout:0}")
+    public void setSshExecCommandTimeout(Integer sshExecCommandTimeout) {
+        CommonProperties.sshExecCommandTimeout = sshExecCommandTimeout;
+    }
+
+    public static Integer getSshExecCommandTimeout() {
+        if (sshExecCommandTimeout == null) {
+            sshExecCommandTimeout = 0;
+        }
+
+        return sshExecCommandTimeout;
+    }
+
+    /**
+     * 모든 서버의 병렬 명령 실행에 사용되는 최대 thread 수. 초과하는 명령은 thread 가 반환될 때까지 대기한다.
+     */
+    @Value("${ssh.exec.max-threads:64}")
+    public void setSshExecMaxThreads(Integer sshExecMaxThreads) {
+        CommonProperties.sshExecMaxThreads = sshExecMaxThreads;
+    }
+
+    public static Integer getSshExecMaxThreads() {
+        if (sshExecMaxThreads == null || sshExecMaxThreads <= 0) {
+            sshExecMaxThreads = 64;
+        }
+
+        return sshExecMaxThreads;
+    }
+
+    /**
+     * 서버 Assessment 명령들을 하나의 script 로 묶어 한 번에 실행할지 여부
+     */
+    @Value("${ssh.exec.bundle-mode:false}")
+    public void setSshExecBundleMode(Boolean sshExecBundleMode) {
+        CommonProperties.sshExecBundleMode = sshExecBundleMode;
+    }
+
+    public static Boolean getSshExecBundleMode() {
+        if (sshExecBundleMode == null) {
+            sshExecBundleMode = false;
+        }
+
+        return sshExecBundleMode;
+    }
+
+    /**
+     * Database Assessment 시 동시에 실행할 catalog 조회 수 및 connection pool 크기 (1 이하인 경우 순차 실행)
+     */
+    @Value("${db.scan.parallelism:4}")
+    public void setDbScanParallelism(Integer dbScanParallelism) {
+        CommonProperties.dbScanParallelism = dbScanParallelism;
+    }
+
+    public static Integer getDbScanParallelism() {
+        if (dbScanParallelism == null) {
+            dbScanParallelism = 4;
+        }
+
+        return dbScanParallelism;
+    }
 }
 //end of AssessmentManager.java
\ No newline at end of file
@@ -30,6 +30,7 @@ import io.playce.roro.common.dto.inventory.service.Service;
 import io.playce.roro.common.exception.RoRoException;
 import io.playce.roro.common.util.JsonUtil;
 import io.playce.roro.common.util.support.ExcelHelper;
+import io.playce.roro.common.util.support.ExcelWorkbookWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
@@ -106,8 +107,7 @@ public class ExcelExporter {
          *    - 미들웨어의 solution은 General 정보에 포함
          *    - 데이터베이스의 UserInformation, SystemInformation은 별도로 처리하지 않음
          */
-        // -1 means turn off auto-flushing and accumulate all rows in memory
-        workbook = new SXSSFWorkbook(-1);
+        workbook = ExcelWorkbookWriter.createWorkbook();
         styleMap = ExcelHelper.initCellStyle(workbook);
         fontMap = ExcelHelper.initFont(workbook);
         colorList = ExcelHelper.initTabColors();
@@ -115,14 +115,12 @@ public class ExcelExporter {
         sheetGenerator = new SheetGenerator(workbook, styleMap, fontMap);
 
         SXSSFSheet coverSheet = workbook.createSheet("Cover");
-        coverSheet.trackAllColumnsForAutoSizing();
         coverSheet.setTabColor(colorList.get((colorIdx++ % colorList.size())));
 
         SXSSFSheet contentsSheet = workbook.createSheet("Table of Contents");
         contentsSheet.setTabColor(colorList.get((colorIdx++ % colorList.size())));
 
         SXSSFSheet generalSheet = workbook.createSheet("General");
-        generalSheet.trackAllColumnsForAutoSizing();
         generalSheet.setTabColor(colorList.get((colorIdx++ % colorList.size())));
 
         JsonNode node;
@@ -219,14 +217,12 @@ public class ExcelExporter {
                     SXSSFSheet dataSheet;
                     if (fieldName.equals("users") && users != null) {
                         dataSheet = workbook.createSheet(ExcelHelper.capitalize(fieldName));
-                        dataSheet.trackAllColumnsForAutoSizing();
                         dataSheet.setTabColor(colorList.get((colorIdx++ % colorList.size())));
 
                         // Server - users
                         sheetGenerator.makeUsersSheet(dataSheet, users, groups);
                     } else if (fieldName.equals("groups") && groups != null) {
                         dataSheet = workbook.createSheet(ExcelHelper.capitalize(fieldName));
-                        dataSheet.trackAllColumnsForAutoSizing();
                         dataSheet.setTabColor(colorList.get((colorIdx++ % colorList.size())));
 
                         // Server - groups
@@ -249,8 +245,7 @@ public class ExcelExporter {
 
         try (FileOutputStream outputStream = new FileOutputStream(filePath)) {
             log.debug("Assessment result will be saved to [{}]", filePath);
-            workbook.write(outputStream);
-            // workbook.dispose();
+            ExcelWorkbookWriter.write(workbook, outputStream);
         } catch (Exception e) {
             RoRoException.checkInterruptedException(e);
             log.error("Unhandled exception while create an assessment report.", e);
@@ -276,7 +271,6 @@ public class ExcelExporter {
                 }
             } else {
                 SXSSFSheet dataSheet = workbook.createSheet(ExcelHelper.capitalize(nodeName));
-                dataSheet.trackAllColumnsForAutoSizing();
                 dataSheet.setTabColor(colorList.get((colorIdx++ % colorList.size())));
 
                 if (nodeName.equals("partitions")) {
@@ -343,12 +337,10 @@ public class ExcelExporter {
                     sheetGenerator.makeNginxLogSheet(dataSheet, node);
 
                     dataSheet = workbook.createSheet("Http Servers");
-                    dataSheet.trackAllColumnsForAutoSizing();
                     dataSheet.setTabColor(colorList.get((colorIdx++ % colorList.size())));
                     sheetGenerator.makeNginxServersSheet(dataSheet, node);
 
                     dataSheet = workbook.createSheet("Http Upstreams");
-                    dataSheet.trackAllColumnsForAutoSizing();
                     dataSheet.setTabColor(colorList.get((colorIdx++ % colorList.size())));
                     sheetGenerator.makeNginxUpstreamsSheet(dataSheet, node);
                 } else if ("nginx".equals(solution) && nodeName.equals("stream")) {
@@ -357,7 +349,6 @@ public class ExcelExporter {
                     sheetGenerator.makeNginxServersSheet(dataSheet, node);
 
                     dataSheet = workbook.createSheet("Stream Upstreams");
-                    dataSheet.trackAllColumnsForAutoSizing();
                     dataSheet.setTabColor(colorList.get((colorIdx++ % colorList.size())));
                     sheetGenerator.makeNginxUpstreamsSheet(dataSheet, node);
                 } else if (nodeName.equals("thirdPartySolutions")) {
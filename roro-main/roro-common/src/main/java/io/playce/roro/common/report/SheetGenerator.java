@@ -50,6 +50,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SheetGenerator {
 
+    private static final Set<String> RANDOM_ACCESS_SHEET_NAMES = Set.of("Interfaces", "Firewall");
+
     private final SXSSFWorkbook workbook;
     private final Map<String, CellStyle> styleMap;
     private final Map<String, Font> fontMap;
@@ -92,6 +94,11 @@ public class SheetGenerator {
             parentNames = new ArrayList<>();
         }
 
+        // 첫번째 row 부터 border를 설정하는 시트는 모든 row 를 메모리에 유지한다.
+        if (parentNames.size() == 0 && RANDOM_ACCESS_SHEET_NAMES.contains(dataSheet.getSheetName())) {
+            dataSheet.setRandomAccessWindowSize(-1);
+        }
+
         int firstRow = dataSheet.getLastRowNum() + 1;
         int firstCell = parentNames.size() - 1;
         int lastCell = parentNames.size() - 1;
@@ -185,15 +192,8 @@ public class SheetGenerator {
                         makeDataSheet(solution, dataSheet, child, newParentNames, null);
                     }
 
-                    if (dataSheet.getSheetName().startsWith("(DB)")) {
-                        // (DB) 시트의 경우 autoSizeColumn 이 정상 동작하도록 첫번째 row에 20개의 컬럼을 생성한다.
-                        SXSSFRow r = dataSheet.getRow(0);
-                        int lastCellNum = r.getLastCellNum();
-
-                        for (int i = lastCellNum; i < 20; i++) {
-                            SXSSFCell c = r.createCell(i);
-                        }
-                    } else {
+                    // (DB) 시트의 column 폭은 기록된 모든 row 로 계산되므로 첫번째 row에 빈 컬럼을 생성하지 않는다.
+                    if (!dataSheet.getSheetName().startsWith("(DB)")) {
                         // 상위 Row와 Cell 갯수가 다르면 merge한다.
                         if (child.isArray() && child.size() == 0) {
                             if (upperRowCellNum > 0 && upperRowCellNum - parentNames.size() > 2 && currentRow != null) {
@@ -437,11 +437,6 @@ public class SheetGenerator {
             cell = ExcelHelper.createCellWithBorder(workbook, currentRow, HorizontalAlignment.CENTER, BorderStyle.THIN, true, styleMap);
             cell.setCellValue("Category");
 
-            // (DB) 시트의 경우 autoSizeColumn 이 정상 동작하도록 첫번째 row에 30개의 컬럼을 생성한다.
-            for (int i = currentRow.getLastCellNum(); i < 30; i++) {
-                currentRow.createCell(i);
-            }
-
             currentRow = dataSheet.createRow(dataSheet.getLastRowNum() + 1);
 
             cell = ExcelHelper.createCellWithBorder(workbook, currentRow, HorizontalAlignment.CENTER, BorderStyle.THIN, true, styleMap);
@@ -4424,15 +4419,12 @@ public class SheetGenerator {
 
                         cell = ExcelHelper.createCellWithBorder(workbook, row, HorizontalAlignment.LEFT, BorderStyle.THIN, false, styleMap);
                         ExcelHelper.setCellData(workbook, cell, n.get("name"), "name", styleMap, fontMap);
-                        dataSheet.autoSizeColumn(cell.getColumnIndex(), true);
 
                         cell = ExcelHelper.createCellWithBorder(workbook, row, HorizontalAlignment.LEFT, BorderStyle.THIN, false, styleMap);
                         ExcelHelper.setCellData(workbook, cell, n.get("global"), "global", styleMap, fontMap);
-                        dataSheet.autoSizeColumn(cell.getColumnIndex(), true);
 
                         cell = ExcelHelper.createCellWithBorder(workbook, row, HorizontalAlignment.LEFT, BorderStyle.THIN, false, styleMap);
                         ExcelHelper.setCellData(workbook, cell, n.get("type"), "type", styleMap, fontMap);
-                        dataSheet.autoSizeColumn(cell.getColumnIndex(), true);
 
                         cell = ExcelHelper.createCellWithBorder(workbook, row, HorizontalAlignment.LEFT, BorderStyle.THIN, false, styleMap);
                         ExcelHelper.setCellData(workbook, cell, c.get("reloadable"), "reloadable", styleMap, fontMap);
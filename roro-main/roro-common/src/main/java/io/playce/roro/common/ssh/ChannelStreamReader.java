@@ -0,0 +1,282 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.ssh;
+
+import java.io.Closeable;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * <pre>
+ * JSch channel 의 출력을 읽기 위한 reader.
+ *
+ * available() 확인 후 Thread.sleep() 으로 대기하는 대신, channel 의 출력 stream 으로 등록되어(getOutputStream())
+ * JSch session thread 가 데이터를 전달하는 즉시 대기 중인 thread 를 깨운다. 출력을 읽기 위한 별도의 thread 는 사용하지 않는다.
+ * 대기하는 쪽에서는 지정한 조건(prompt, 종료 문자열 등)이 만족되는 즉시 반환되며, 조건이 만족되지 않으면 timeout 까지 대기한다.
+ *
+ * 조건은 새로 도착한 출력이 포함된 line 들에 대해서만 검사하므로, 출력이 많아도 전체 출력을 반복해서 검사하지 않는다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class ChannelStreamReader implements Closeable {
+
+    /**
+     * 조건 검사 시 새로운 출력 앞에 포함할 이전 출력의 최대 길이 (새로운 출력이 시작된 line 의 시작 위치까지 포함한다.)
+     */
+    private static final int MAX_LINE_LENGTH = 8192;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition updated = lock.newCondition();
+    private final StringBuilder buffer = new StringBuilder();
+    private final ChannelOutputStream outputStream = new ChannelOutputStream();
+
+    private boolean eof;
+
+    /**
+     * channel.connect() 이전에 channel.setOutputStream() 또는 channel.setExtOutputStream() 으로 getOutputStream() 을 등록해야
+     * 접속 직후의 출력을 놓치지 않는다.
+     */
+    public ChannelStreamReader() {
+    }
+
+    /**
+     * channel 의 출력을 전달받을 stream. channel 의 출력이 종료되면 JSch 가 close 한다.
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * 조건이 만족되거나, stream 이 종료되거나, timeout 이 지날 때까지 대기한다.
+     *
+     * @param matcher 지금까지 읽은 (take() 이후의) 출력에 대한 완료 조건.
+     *                처음에는 전체 출력을, 이후에는 새로 도착한 출력이 포함된 line 부터의 출력을 전달하므로
+     *                line 단위로 판단할 수 있는 조건이어야 한다.
+     * @param timeout 최대 대기 시간 (millis), 0 이하인 경우 제한 없음
+     *
+     * @return 조건의 만족 여부
+     */
+    public boolean await(Predicate<String> matcher, long timeout) throws InterruptedException {
+        return await(matcher, 0, timeout) >= 0;
+    }
+
+    /**
+     * from 이후에 도착한 출력에 대해 조건이 만족되거나, stream 이 종료되거나, timeout 이 지날 때까지 대기한다.
+     * 반환된 위치를 다음 호출의 from 으로 사용하면 이미 검사한 출력만으로는 조건이 다시 만족되지 않는다.
+     *
+     * @param matcher 새로 도착한 출력이 포함된 line 부터의 출력에 대한 조건 (from 이 0 이면 전체 출력)
+     * @param from    검사를 시작할 위치 (take() 이후의 출력 기준)
+     * @param timeout 최대 대기 시간 (millis), 0 이하인 경우 제한 없음
+     *
+     * @return 조건이 만족된 시점의 출력 길이, 만족되지 않은 경우 -1
+     */
+    public int await(Predicate<String> matcher, int from, long timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        int tested = from;
+        boolean first = from == 0;
+
+        lock.lock();
+        try {
+            while (true) {
+                int length = buffer.length();
+
+                if (first || length > tested) {
+                    if (matcher.test(buffer.substring(getLineStart(tested), length))) {
+                        return length;
+                    }
+
+                    first = false;
+                    tested = length;
+                }
+
+                if (eof) {
+                    return -1;
+                }
+
+                if (timeout > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+
+                    updated.awaitNanos(remaining);
+                } else {
+                    updated.await();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 새로운 출력이 있거나, stream 이 종료되거나, timeout 이 지날 때까지 대기한 후 읽은 출력을 반환한다.
+     *
+     * @return 읽은 출력, stream 이 종료되었고 더 이상 읽을 출력이 없는 경우 null
+     */
+    public String poll(long timeout) throws InterruptedException {
+        await(s -> s.length() > 0, timeout);
+
+        lock.lock();
+        try {
+            if (eof && buffer.length() == 0) {
+                return null;
+            }
+
+            return take();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금까지 읽은 출력을 반환한다.
+     */
+    public String getText() {
+        lock.lock();
+        try {
+            return buffer.toString();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금까지 읽은 출력을 반환하고 비운다.
+     */
+    public String take() {
+        lock.lock();
+        try {
+            String text = buffer.toString();
+            buffer.setLength(0);
+            return text;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEof() {
+        lock.lock();
+        try {
+            return eof;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 더 이상 출력을 받지 않으며 대기 중인 thread 를 깨운다.
+     */
+    @Override
+    public void close() {
+        outputStream.close();
+    }
+
+    /**
+     * position 이 포함된 line 의 시작 위치를 반환한다. (최대 MAX_LINE_LENGTH 이전까지만 찾는다.)
+     */
+    private int getLineStart(int position) {
+        int limit = Math.max(0, position - MAX_LINE_LENGTH);
+
+        for (int i = position - 1; i >= limit; i--) {
+            if (buffer.charAt(i) == '\n') {
+                return i + 1;
+            }
+        }
+
+        return limit;
+    }
+
+    /**
+     * JSch session thread 가 channel 의 데이터를 기록하는 stream.
+     */
+    private class ChannelOutputStream extends OutputStream {
+        // 기존과 동일하게 platform 기본 charset 을 사용하며, multi-byte 문자가 write 경계에서 깨지지 않도록 남은 byte 를 보관한다.
+        private final CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final CharBuffer chars = CharBuffer.allocate(4096);
+        private ByteBuffer remaining = ByteBuffer.allocate(0);
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            lock.lock();
+            try {
+                if (eof) {
+                    return;
+                }
+
+                ByteBuffer in = ByteBuffer.wrap(b, off, len);
+                if (remaining.hasRemaining()) {
+                    in = ByteBuffer.allocate(remaining.remaining() + len).put(remaining).put(in);
+                    in.flip();
+                }
+
+                decode(in, false);
+
+                remaining = in.hasRemaining() ? ByteBuffer.allocate(in.remaining()).put(in).flip() : ByteBuffer.allocate(0);
+                updated.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (!eof) {
+                    decode(remaining, true);
+                    decoder.flush(chars);
+                    drain();
+
+                    eof = true;
+                }
+                updated.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void decode(ByteBuffer in, boolean endOfInput) {
+            while (decoder.decode(in, chars, endOfInput).isOverflow()) {
+                drain();
+            }
+            drain();
+        }
+
+        private void drain() {
+            chars.flip();
+            buffer.append(chars);
+            chars.clear();
+        }
+    }
+}
+//end of ChannelStreamReader.java
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.ssh;
+
+import io.playce.roro.common.dto.common.RemoteExecResult;
+import io.playce.roro.common.util.SSHUtil;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * <pre>
+ * 여러 명령을 하나의 shell script 로 묶어 한 번의 exec channel 로 실행하기 위한 script 생성 및 결과 분리 기능.
+ *
+ * 각 명령의 표준 출력, 표준 에러, exit code 는 실행 시 마다 생성되는 boundary 로 구분되어 하나의 결과로 출력된다.
+ *   {boundary}:OUT:{index}
+ *   ... stdout ...
+ *   {boundary}:ERR:{index}
+ *   ... stderr ...
+ *   {boundary}:END:{index}:{exit code}
+ *
+ * script 는 stdin 으로 전달되며 (ARG_MAX 제한 회피), 각 명령은 stdin 을 읽지 못하도록 /dev/null 을 입력으로 사용한다.
+ * Solaris 의 Bourne shell 에서도 동작하도록 $( ) 등의 문법은 사용하지 않는다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class CommandBundle {
+
+    private static final String OUT = ":OUT:";
+    private static final String ERR = ":ERR:";
+    private static final String END = ":END:";
+
+    private final String boundary;
+    private final List<String> keys;
+    private final Map<String, String> commandMap;
+
+    public CommandBundle(Map<String, String> commandMap) {
+        this.boundary = "RORO_BUNDLE_" + UUID.randomUUID().toString().replaceAll("-", StringUtils.EMPTY);
+        this.keys = new ArrayList<>(commandMap.keySet());
+        this.commandMap = commandMap;
+    }
+
+    /**
+     * script 를 stdin 으로 읽어 실행할 명령. login shell 이 csh 계열이어도 동작하도록 test, exec 만 사용한다.
+     */
+    public String getCommand(boolean sudo) {
+        String prefix = sudo ? "sudo " : StringUtils.EMPTY;
+        return "test -x /bin/bash && exec " + prefix + "/bin/bash -s || exec " + prefix + "/bin/sh -s";
+    }
+
+    public String getScript() {
+        StringBuilder sb = new StringBuilder();
+        String errFile = "/tmp/." + boundary + ".$$.err";
+
+        sb.append("RORO_ERR_FILE=").append(errFile).append("\n");
+
+        for (int i = 0; i < keys.size(); i++) {
+            sb.append("echo '").append(boundary).append(OUT).append(i).append("'\n")
+                    .append("(\n")
+                    .append(commandMap.get(keys.get(i))).append("\n")
+                    .append(") < /dev/null 2> \"$RORO_ERR_FILE\"\n")
+                    .append("RORO_RC=$?\n")
+                    .append("echo\n")
+                    .append("echo '").append(boundary).append(ERR).append(i).append("'\n")
+                    .append("cat \"$RORO_ERR_FILE\" 2> /dev/null\n")
+                    .append("echo\n")
+                    .append("echo '").append(boundary).append(END).append(i).append(":'\"$RORO_RC\"\n");
+        }
+
+        sb.append("rm -f \"$RORO_ERR_FILE\"\n");
+        sb.append("exit 0\n");
+
+        return sb.toString();
+    }
+
+    /**
+     * 명령의 완료 boundary 가 포함되어 있는지 확인한다. (명령 별 timeout 확인에 사용)
+     */
+    public boolean hasEndMarker(String output) {
+        return output.contains(boundary + END);
+    }
+
+    /**
+     * 명령이 완료(END boundary 출력)될 때마다 다음 명령의 timeout 을 새로 시작하면서 출력이 종료될 때까지 대기한다.
+     *
+     * @param timeout 명령 별 최대 대기 시간 (millis), 0 이하인 경우 제한 없음
+     *
+     * @return 출력이 종료된 경우 true, timeout 내에 완료되지 않은 명령이 있는 경우 false
+     */
+    public boolean awaitCompletion(ChannelStreamReader reader, long timeout) throws InterruptedException {
+        int completed = 0;
+        while (completed >= 0) {
+            completed = reader.await(this::hasEndMarker, completed, timeout);
+        }
+
+        return reader.isEof();
+    }
+
+    /**
+     * 실행 결과를 명령 별 RemoteExecResult 로 분리한다. 완료 boundary 가 없는 명령은 오류로 처리한다.
+     */
+    public Map<String, RemoteExecResult> demultiplex(String payload) {
+        Map<String, RemoteExecResult> results = new HashMap<>();
+
+        int index = -1;
+        boolean inError = false;
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+
+        for (String line : StringUtils.defaultString(payload).split("\n", -1)) {
+            if (line.endsWith("\r")) {
+                line = line.substring(0, line.length() - 1);
+            }
+
+            if (line.startsWith(boundary)) {
+                String marker = line.substring(boundary.length());
+
+                if (marker.startsWith(OUT)) {
+                    index = parseIndex(marker.substring(OUT.length()));
+                    inError = false;
+                    out.setLength(0);
+                    err.setLength(0);
+                    continue;
+                } else if (marker.startsWith(ERR)) {
+                    inError = true;
+                    continue;
+                } else if (marker.startsWith(END)) {
+                    String[] values = marker.substring(END.length()).split(":", 2);
+                    int endIndex = parseIndex(values[0]);
+
+                    if (endIndex > -1 && endIndex == index) {
+                        String key = keys.get(index);
+                        String stdStr = out.toString().trim();
+                        String errStr = err.toString().trim();
+
+                        results.put(key, RemoteExecResult.builder()
+                                .command(commandMap.get(key))
+                                .key(key)
+                                .err(errStr.length() > 0 && stdStr.length() == 0)
+                                .result(SSHUtil.checkResult(stdStr))
+                                .error(errStr)
+                                .build());
+                    }
+
+                    index = -1;
+                    continue;
+                }
+            }
+
+            if (index > -1) {
+                (inError ? err : out).append(line).append("\n");
+            }
+        }
+
+        for (String key : keys) {
+            if (!results.containsKey(key)) {
+                results.put(key, RemoteExecResult.builder()
+                        .command(commandMap.get(key))
+                        .key(key)
+                        .err(true)
+                        .result(StringUtils.EMPTY)
+                        .error("Command(" + commandMap.get(key) + ") was not completed in the command bundle.")
+                        .build());
+            }
+        }
+
+        return results;
+    }
+
+    private int parseIndex(String value) {
+        try {
+            int index = Integer.parseInt(value.trim());
+            return index >= 0 && index < keys.size() ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
+//end of CommandBundle.java
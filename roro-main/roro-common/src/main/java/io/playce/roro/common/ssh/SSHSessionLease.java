@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.ssh;
+
+import com.jcraft.jsch.Session;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <pre>
+ * SSHSessionPool 로부터 대여한 Session 과 channel 사용 권한 1개를 나타낸다.
+ * 사용이 끝나면 반드시 close() 를 호출하여 pool 로 반환해야 한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class SSHSessionLease implements AutoCloseable {
+
+    private final SSHSessionPool pool;
+    private final SSHSessionPool.PooledSession pooledSession;
+    private final Session session;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    SSHSessionLease(SSHSessionPool pool, SSHSessionPool.PooledSession pooledSession, Session session) {
+        this.pool = pool;
+        this.pooledSession = pooledSession;
+        this.session = session;
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    /**
+     * channel 수 제한을 초과하여 pool 밖에서 별도로 생성된 session 인지 여부
+     */
+    public boolean isDedicated() {
+        return pooledSession == null;
+    }
+
+    SSHSessionPool.PooledSession getPooledSession() {
+        return pooledSession;
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            pool.release(this);
+        }
+    }
+}
+//end of SSHSessionLease.java
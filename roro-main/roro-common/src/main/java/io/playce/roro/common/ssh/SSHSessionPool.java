@@ -0,0 +1,334 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.ssh;
+
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import io.playce.roro.common.property.CommonProperties;
+import io.playce.roro.common.util.support.TargetHost;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <pre>
+ * user@host:port 단위로 JSch Session 을 재사용하기 위한 pool.
+ *
+ * 1. lease() 한 번은 session 의 channel 1개를 사용할 수 있는 권한이며, session 당 동시 channel 수는
+ *    ssh.pool.max-channels-per-session 으로 제한된다. 제한을 초과한 요청이 ssh.pool.acquire-timeout(ms) 내에 권한을 얻지 못하면
+ *    pool 에 등록되지 않는 별도의 session 을 생성하여 사용 후 종료한다. (connect timeout 만큼 대기하지 않는다.)
+ * 2. 일정 시간 이상 사용되지 않은 session 은 lease 전에 keep-alive 메시지로 상태를 확인하고, 실패하면 재연결한다.
+ * 3. 대여 중인 channel 이 없고 ssh.pool.idle-timeout 이상 사용되지 않은 session 은 evictor 에 의해 종료된다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Slf4j
+public class SSHSessionPool {
+
+    public interface SessionFactory {
+        /**
+         * 연결되지 않은(connect() 호출 전) Session 을 생성한다.
+         */
+        Session create(TargetHost targetHost) throws IOException, JSchException;
+    }
+
+    private final SessionFactory sessionFactory;
+    private final ConcurrentMap<String, PooledSession> sessions = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong handshakes = new AtomicLong();
+    private final AtomicLong handshakeFailures = new AtomicLong();
+    private final AtomicLong healthCheckFailures = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+
+    public SSHSessionPool(SessionFactory sessionFactory) {
+        this.sessionFactory = sessionFactory;
+
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ssh-session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evict, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 대상 서버에 대한 session 을 대여한다. 반환된 lease 는 반드시 close() 되어야 한다.
+     */
+    public SSHSessionLease lease(TargetHost targetHost) throws IOException, JSchException, InterruptedException {
+        String key = getKey(targetHost);
+
+        while (true) {
+            PooledSession pooledSession = sessions.computeIfAbsent(key, k -> new PooledSession(k, CommonProperties.getSshPoolMaxChannelsPerSession()));
+
+            if (!pooledSession.channelPermits.tryAcquire(CommonProperties.getSshPoolAcquireTimeout(), TimeUnit.MILLISECONDS)) {
+                overflows.incrementAndGet();
+                log.debug("All channels of Jsch Session for [{}] are in use. A dedicated session will be created.", key);
+
+                return new SSHSessionLease(this, null, connect(targetHost, null));
+            }
+
+            Session session;
+            try {
+                session = pooledSession.acquire(targetHost);
+            } catch (Throwable t) {
+                pooledSession.channelPermits.release();
+                throw t;
+            }
+
+            // evictor 또는 invalidate() 에 의해 pool 에서 제거된 경우 다시 시도한다.
+            if (session == null) {
+                pooledSession.channelPermits.release();
+                continue;
+            }
+
+            return new SSHSessionLease(this, pooledSession, session);
+        }
+    }
+
+    /**
+     * 오류가 발생한 session 을 pool 에서 제거한다. 대여 중인 channel 이 있으면 모두 반환된 후 연결을 종료한다.
+     */
+    public void invalidate(String key) {
+        PooledSession pooledSession = sessions.remove(key);
+
+        if (pooledSession != null) {
+            pooledSession.retire();
+        }
+    }
+
+    public void invalidate(TargetHost targetHost) {
+        invalidate(getKey(targetHost));
+    }
+
+    public SSHSessionPoolStats getStats() {
+        int activeLeases = 0;
+        for (PooledSession pooledSession : sessions.values()) {
+            activeLeases += pooledSession.activeLeases;
+        }
+
+        return SSHSessionPoolStats.builder()
+                .pooledSessions(sessions.size())
+                .activeLeases(activeLeases)
+                .hits(hits.get())
+                .misses(misses.get())
+                .handshakes(handshakes.get())
+                .handshakeFailures(handshakeFailures.get())
+                .healthCheckFailures(healthCheckFailures.get())
+                .evictions(evictions.get())
+                .overflows(overflows.get())
+                .build();
+    }
+
+    void release(SSHSessionLease lease) {
+        if (lease.isDedicated()) {
+            if (lease.getSession() != null && lease.getSession().isConnected()) {
+                lease.getSession().disconnect();
+            }
+        } else {
+            lease.getPooledSession().release();
+            lease.getPooledSession().channelPermits.release();
+        }
+    }
+
+    private Session connect(TargetHost targetHost, Session session) throws IOException, JSchException {
+        if (session == null || !session.isConnected()) {
+            session = sessionFactory.create(targetHost);
+
+            try {
+                session.connect(CommonProperties.getTimeout() * 1000);
+                handshakes.incrementAndGet();
+            } catch (JSchException e) {
+                handshakeFailures.incrementAndGet();
+                throw e;
+            }
+
+            log.debug("Jsch Session for [{}] has been created.", getKey(targetHost));
+        }
+
+        return session;
+    }
+
+    private void evict() {
+        try {
+            long idleTimeout = TimeUnit.MINUTES.toMillis(CommonProperties.getSshPoolIdleTimeout());
+            long now = System.currentTimeMillis();
+
+            for (PooledSession pooledSession : sessions.values()) {
+                if (pooledSession.retireIfIdle(now - idleTimeout)) {
+                    sessions.remove(pooledSession.key, pooledSession);
+                    evictions.incrementAndGet();
+                }
+            }
+
+            int overSize = sessions.size() - CommonProperties.getSshPoolMaxSessions();
+            if (overSize > 0) {
+                List<PooledSession> candidates = new ArrayList<>(sessions.values());
+                candidates.sort(Comparator.comparingLong(p -> p.lastAccessed));
+
+                for (PooledSession pooledSession : candidates) {
+                    if (overSize <= 0) {
+                        break;
+                    }
+
+                    if (pooledSession.retireIfIdle(Long.MAX_VALUE)) {
+                        sessions.remove(pooledSession.key, pooledSession);
+                        evictions.incrementAndGet();
+                        overSize--;
+                    }
+                }
+            }
+
+            log.debug("SSH session pool stats : {}", getStats());
+        } catch (Throwable t) {
+            log.warn("Unhandled exception occurred while evict idle ssh sessions. [Reason] : {}", t.getMessage());
+        }
+    }
+
+    static String getKey(TargetHost targetHost) {
+        return targetHost.getUsername() + "@" + targetHost.getIpAddress() + ":" + targetHost.getPort();
+    }
+
+    /**
+     * pool 에 등록된 session 과 상태 정보
+     */
+    class PooledSession {
+        private final String key;
+        private final Semaphore channelPermits;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Session session;
+        private volatile int activeLeases;
+        private volatile long lastAccessed = System.currentTimeMillis();
+        private boolean retired;
+
+        PooledSession(String key, int maxChannels) {
+            this.key = key;
+            this.channelPermits = new Semaphore(maxChannels, true);
+        }
+
+        /**
+         * 연결된 session 을 반환한다. 이미 pool 에서 제거된 경우 null 을 반환한다.
+         */
+        private Session acquire(TargetHost targetHost) throws IOException, JSchException {
+            lock.lock();
+            try {
+                if (retired) {
+                    return null;
+                }
+
+                if (session != null && session.isConnected() && needHealthCheck()) {
+                    try {
+                        session.sendKeepAliveMsg();
+                    } catch (Exception e) {
+                        healthCheckFailures.incrementAndGet();
+                        log.debug("Jsch Session for [{}] is not healthy and will be reconnected. [Reason] : {}", key, e.getMessage());
+
+                        disconnect();
+                        session = null;
+                    }
+                }
+
+                if (session != null && session.isConnected()) {
+                    hits.incrementAndGet();
+                } else {
+                    misses.incrementAndGet();
+                    session = connect(targetHost, null);
+                }
+
+                activeLeases++;
+                lastAccessed = System.currentTimeMillis();
+
+                return session;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release() {
+            lock.lock();
+            try {
+                activeLeases--;
+                lastAccessed = System.currentTimeMillis();
+
+                if (retired && activeLeases == 0) {
+                    disconnect();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void retire() {
+            lock.lock();
+            try {
+                retired = true;
+
+                if (activeLeases == 0) {
+                    disconnect();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean retireIfIdle(long idleBefore) {
+            lock.lock();
+            try {
+                if (retired || activeLeases > 0) {
+                    return false;
+                }
+
+                if (lastAccessed < idleBefore || session == null || !session.isConnected()) {
+                    retired = true;
+                    disconnect();
+
+                    return true;
+                }
+
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean needHealthCheck() {
+            return System.currentTimeMillis() - lastAccessed > TimeUnit.SECONDS.toMillis(CommonProperties.getSshPoolHealthCheckInterval());
+        }
+
+        private void disconnect() {
+            if (session != null && session.isConnected()) {
+                log.debug("Jsch Session for [{}] will be disconnected.", key);
+                session.disconnect();
+            }
+        }
+    }
+}
+//end of SSHSessionPool.java
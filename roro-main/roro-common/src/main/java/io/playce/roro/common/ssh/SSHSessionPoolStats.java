@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.ssh;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * <pre>
+ * SSHSessionPool 의 현재 상태 및 누적 지표
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Getter
+@Builder
+@ToString
+public class SSHSessionPoolStats {
+
+    /** pool 에 등록된 session 수 */
+    private int pooledSessions;
+
+    /** 현재 대여 중인 lease 수 */
+    private int activeLeases;
+
+    /** 연결된 session 을 재사용한 횟수 */
+    private long hits;
+
+    /** 새로운 연결이 필요했던 횟수 */
+    private long misses;
+
+    /** SSH handshake(session.connect) 수행 횟수 */
+    private long handshakes;
+
+    /** SSH handshake 실패 횟수 */
+    private long handshakeFailures;
+
+    /** keep-alive 확인에 실패하여 재연결한 횟수 */
+    private long healthCheckFailures;
+
+    /** idle 또는 최대 session 수 초과로 제거된 session 수 */
+    private long evictions;
+
+    /** channel 수 제한으로 별도의 session 을 생성한 횟수 */
+    private long overflows;
+}
+//end of SSHSessionPoolStats.java
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.ssh;
+
+import com.jcraft.jsch.ChannelShell;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.PipedOutputStream;
+
+/**
+ * <pre>
+ * su - 로 root 인증이 완료된 shell channel.
+ *
+ * SuShellPool 로부터 대여한 경우 close() 시 연결을 유지한 채 pool 로 반환되며, 다음 명령은 인증 과정 없이 바로 실행된다.
+ * 명령의 실행 상태를 알 수 없게 된 경우(timeout, 오류 등) invalidate() 를 호출하면 반환 시 연결이 종료된다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Slf4j
+public class SuShell implements AutoCloseable {
+
+    private final SSHSessionLease lease;
+    private final ChannelShell channel;
+    private final PipedOutputStream commandIO;
+    private final ChannelStreamReader output;
+    private final ChannelStreamReader error;
+    private final String rootPassword;
+
+    private SuShellPool.Slot slot;
+    private volatile boolean invalid;
+
+    public SuShell(SSHSessionLease lease, ChannelShell channel, PipedOutputStream commandIO,
+                   ChannelStreamReader output, ChannelStreamReader error, String rootPassword) {
+        this.lease = lease;
+        this.channel = channel;
+        this.commandIO = commandIO;
+        this.output = output;
+        this.error = error;
+        this.rootPassword = rootPassword;
+    }
+
+    public ChannelShell getChannel() {
+        return channel;
+    }
+
+    public PipedOutputStream getCommandIO() {
+        return commandIO;
+    }
+
+    public ChannelStreamReader getOutput() {
+        return output;
+    }
+
+    public ChannelStreamReader getError() {
+        return error;
+    }
+
+    /**
+     * 반환 시 재사용하지 않고 연결을 종료하도록 표시한다.
+     */
+    public void invalidate() {
+        invalid = true;
+    }
+
+    public boolean isAlive() {
+        return !invalid && channel.isConnected() && !channel.isClosed() && !output.isEof();
+    }
+
+    /**
+     * pool 에 등록되지 않고 사용 후 바로 종료되는 shell 인지 여부
+     */
+    public boolean isDedicated() {
+        return slot == null;
+    }
+
+    String getRootPassword() {
+        return rootPassword;
+    }
+
+    void setSlot(SuShellPool.Slot slot) {
+        this.slot = slot;
+    }
+
+    @Override
+    public void close() {
+        if (slot == null) {
+            disconnect();
+        } else {
+            slot.release(this);
+        }
+    }
+
+    void disconnect() {
+        try {
+            if (channel.isConnected()) {
+                // root shell 과 login shell 을 차례로 종료한다.
+                commandIO.write("exit\n".getBytes());
+                commandIO.write("exit\n".getBytes());
+                commandIO.flush();
+            }
+        } catch (IOException e) {
+            log.trace("Unable to send exit command to su shell. [Reason] : {}", e.getMessage());
+        } finally {
+            IOUtils.closeQuietly(commandIO);
+            IOUtils.closeQuietly(error);
+            IOUtils.closeQuietly(output);
+
+            if (channel.isConnected()) {
+                channel.disconnect();
+            }
+
+            lease.close();
+        }
+    }
+}
+//end of SuShell.java
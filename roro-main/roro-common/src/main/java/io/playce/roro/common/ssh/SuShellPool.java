@@ -0,0 +1,290 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.ssh;
+
+import io.playce.roro.common.property.CommonProperties;
+import io.playce.roro.common.util.support.TargetHost;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <pre>
+ * user@host:port 단위로 su - 인증이 완료된 root shell 을 재사용하기 위한 pool.
+ *
+ * 1. shell 은 한 번에 하나의 thread 만 사용할 수 있다. 사용 중인 shell 을 timeout 내에 얻지 못하면
+ *    pool 에 등록되지 않는 별도의 shell 을 생성하여 사용 후 종료한다.
+ * 2. su 인증에 실패한 경우 같은 root password 로는 ssh.pool.su-auth-retry-interval 동안 다시 시도하지 않는다.
+ * 3. ssh.pool.idle-timeout 이상 사용되지 않은 shell 은 evictor 에 의해 종료된다.
+ * 4. 유지되던 shell 은 대여 전에 ShellVerifier 로 root shell 인지 확인하며, 확인에 실패하면 종료하고 새로 생성한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Slf4j
+public class SuShellPool {
+
+    public interface ShellFactory {
+        /**
+         * root 로 switch user 된 shell 을 생성한다. su 실행 권한이 없거나 인증에 실패한 경우 null 을 반환한다.
+         */
+        SuShell create(TargetHost targetHost) throws Exception;
+    }
+
+    public interface ShellVerifier {
+        /**
+         * 유지되던 shell 이 root 로 명령을 실행할 수 있는 상태인지 확인한다.
+         */
+        boolean verify(SuShell shell) throws Exception;
+    }
+
+    private final ShellFactory shellFactory;
+    private final ShellVerifier shellVerifier;
+    private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong authFailures = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong verifyFailures = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+
+    public SuShellPool(ShellFactory shellFactory, ShellVerifier shellVerifier) {
+        this.shellFactory = shellFactory;
+        this.shellVerifier = shellVerifier;
+
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ssh-su-shell-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evict, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 대상 서버의 root shell 을 대여한다. su 를 실행할 수 없는 경우 null 을 반환한다.
+     * 반환된 shell 은 대여한 thread 에서 반드시 close() 되어야 한다.
+     */
+    public SuShell lease(TargetHost targetHost) throws Exception {
+        String key = SSHSessionPool.getKey(targetHost);
+        Slot slot = slots.computeIfAbsent(key, Slot::new);
+
+        if (!slot.lock.tryLock(CommonProperties.getTimeout(), TimeUnit.SECONDS)) {
+            overflows.incrementAndGet();
+            log.debug("Su shell for [{}] is in use. A dedicated su shell will be created.", key);
+
+            return shellFactory.create(targetHost);
+        }
+
+        try {
+            SuShell shell = slot.acquire(targetHost);
+
+            if (shell == null) {
+                slot.lock.unlock();
+            }
+
+            return shell;
+        } catch (Throwable t) {
+            slot.lock.unlock();
+            throw t;
+        }
+    }
+
+    /**
+     * 대상 서버의 root shell 을 종료한다. 사용 중인 경우 반환 시 종료된다.
+     */
+    public void invalidate(String key) {
+        Slot slot = slots.get(key);
+
+        if (slot != null) {
+            slot.retire();
+        }
+    }
+
+    public void invalidate(TargetHost targetHost) {
+        invalidate(SSHSessionPool.getKey(targetHost));
+    }
+
+    private void evict() {
+        try {
+            long idleBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(CommonProperties.getSshPoolIdleTimeout());
+
+            for (Slot slot : slots.values()) {
+                if (slot.retireIfIdle(idleBefore)) {
+                    evictions.incrementAndGet();
+                }
+            }
+
+            log.debug("SSH su shell pool stats : [shells={}, hits={}, misses={}, authFailures={}, verifyFailures={}, evictions={}, overflows={}]",
+                    slots.values().stream().filter(s -> s.shell != null).count(),
+                    hits.get(), misses.get(), authFailures.get(), verifyFailures.get(), evictions.get(), overflows.get());
+        } catch (Throwable t) {
+            log.warn("Unhandled exception occurred while evict idle su shells. [Reason] : {}", t.getMessage());
+        }
+    }
+
+    /**
+     * 서버 별 root shell 과 상태 정보. 서버 수 만큼만 생성되므로 pool 에서 제거하지 않는다.
+     */
+    class Slot {
+        private final String key;
+        private final ReentrantLock lock = new ReentrantLock(true);
+
+        private volatile SuShell shell;
+        private volatile long lastAccessed = System.currentTimeMillis();
+        private long failedAt;
+        private String failedPassword;
+
+        Slot(String key) {
+            this.key = key;
+        }
+
+        /**
+         * lock 을 획득한 상태에서 호출되며, 연결된 shell 이 없으면 새로 생성한다.
+         */
+        private SuShell acquire(TargetHost targetHost) throws Exception {
+            if (shell != null && (!shell.isAlive() || !Objects.equals(shell.getRootPassword(), targetHost.getRootPassword()))) {
+                log.debug("Su shell for [{}] is not available and will be reconnected.", key);
+                shell.disconnect();
+                shell = null;
+            }
+
+            if (shell != null && !verify(shell)) {
+                verifyFailures.incrementAndGet();
+                log.debug("Su shell for [{}] is no longer a root shell and will be reconnected.", key);
+                shell.disconnect();
+                shell = null;
+            }
+
+            lastAccessed = System.currentTimeMillis();
+
+            if (shell != null) {
+                hits.incrementAndGet();
+                return shell;
+            }
+
+            if (failedAt > 0 && Objects.equals(failedPassword, targetHost.getRootPassword()) &&
+                    System.currentTimeMillis() - failedAt < TimeUnit.SECONDS.toMillis(CommonProperties.getSshPoolSuAuthRetryInterval())) {
+                return null;
+            }
+
+            misses.incrementAndGet();
+            SuShell created = shellFactory.create(targetHost);
+
+            if (created == null) {
+                authFailures.incrementAndGet();
+                failedAt = System.currentTimeMillis();
+                failedPassword = targetHost.getRootPassword();
+
+                return null;
+            }
+
+            failedAt = 0;
+            failedPassword = null;
+
+            created.setSlot(this);
+            shell = created;
+
+            return created;
+        }
+
+        private boolean verify(SuShell current) throws InterruptedException {
+            try {
+                return shellVerifier.verify(current);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                log.debug("Unable to verify su shell for [{}]. [Reason] : {}", key, e.getMessage());
+                return false;
+            }
+        }
+
+        /**
+         * 대여한 thread 에서만 반환할 수 있다. 다른 thread 에서 반환하면 slot 의 lock 을 해제할 수 없으므로,
+         * shell 을 반환 시 종료하도록 표시하고 IllegalMonitorStateException 을 발생시킨다.
+         */
+        void release(SuShell released) {
+            if (!lock.isHeldByCurrentThread()) {
+                released.invalidate();
+                log.error("Su shell for [{}] was released by a thread [{}] that did not lease it.", key, Thread.currentThread().getName());
+
+                throw new IllegalMonitorStateException("Su shell for [" + key + "] must be released by the thread that leased it.");
+            }
+
+            try {
+                lastAccessed = System.currentTimeMillis();
+
+                if (!released.isAlive()) {
+                    released.disconnect();
+
+                    if (shell == released) {
+                        shell = null;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void retire() {
+            SuShell current = shell;
+
+            if (current == null) {
+                return;
+            }
+
+            if (lock.tryLock()) {
+                try {
+                    if (shell != null) {
+                        shell.disconnect();
+                        shell = null;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            } else {
+                current.invalidate();
+            }
+        }
+
+        private boolean retireIfIdle(long idleBefore) {
+            if (shell == null || !lock.tryLock()) {
+                return false;
+            }
+
+            try {
+                if (shell != null && (lastAccessed < idleBefore || !shell.isAlive())) {
+                    shell.disconnect();
+                    shell = null;
+
+                    return true;
+                }
+
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
+//end of SuShellPool.java
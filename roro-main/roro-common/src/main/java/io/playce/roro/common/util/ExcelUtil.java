@@ -23,6 +23,7 @@ package io.playce.roro.common.util;
 
 import io.playce.roro.common.dto.common.excel.ListToExcelDto;
 import io.playce.roro.common.util.support.ExcelHelper;
+import io.playce.roro.common.util.support.ExcelWorkbookWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellReference;
@@ -62,13 +63,11 @@ public class ExcelUtil {
      */
     public static ByteArrayOutputStream listToExcel(String sheetName, ListToExcelDto listToExcelDto) throws Exception {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            // -1 means turn off auto-flushing and accumulate all rows in memory
-            SXSSFWorkbook workbook = new SXSSFWorkbook(-1);
+            SXSSFWorkbook workbook = ExcelWorkbookWriter.createWorkbook();
             Map<String, CellStyle> styleMap = ExcelHelper.initCellStyle(workbook);
             Map<String, Font> fontMap = ExcelHelper.initFont(workbook);
 
             SXSSFSheet sheet = workbook.createSheet(sheetName);
-            sheet.trackAllColumnsForAutoSizing();
 
             SXSSFRow row = sheet.createRow(sheet.getLastRowNum() + 1);
             SXSSFCell cell;
@@ -93,9 +92,7 @@ public class ExcelUtil {
             // Adjust Column Size
             ExcelHelper.autoSizeColumn(workbook);
 
-            workbook.write(out);
-
-            // workbook.dispose();
+            ExcelWorkbookWriter.write(workbook, out);
 
             return out;
         } catch (Exception e) {
@@ -37,8 +37,15 @@ import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.ParameterizedType;
 import java.util.*;
 
@@ -163,6 +170,27 @@ public class JsonUtil {
         return outputStream.toString(JsonEncoding.UTF8.getJavaName());
     }
 
+    /**
+     * <pre>
+     * convert Object to json and write it to the file.
+     * 전체 json 을 메모리(String, byte[])에 만들지 않고 파일에 순차적으로 기록한다.
+     * </pre>
+     *
+     * @param file
+     * @param obj
+     * @param pretty
+     */
+    public static void writeJson(File file, Object obj, boolean pretty) throws IOException {
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file));
+             JsonGenerator generator = MAPPER.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            if (pretty) {
+                MAPPER.writerWithDefaultPrettyPrinter().writeValue(generator, obj);
+            } else {
+                MAPPER.writeValue(generator, obj);
+            }
+        }
+    }
+
     /**
      * <pre>
      * Method to deserialize JSON content as tree expressed using set of JsonNode instances.
@@ -179,6 +207,20 @@ public class JsonUtil {
         }
     }
 
+    /**
+     * <pre>
+     * json 파일을 JsonNode 로 읽는다. 파일 내용 전체를 String 으로 만들지 않고 stream 으로 읽는다.
+     * </pre>
+     *
+     * @param file JSON file
+     * @return
+     */
+    public static JsonNode readTree(File file) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+            return MAPPER.readTree(inputStream);
+        }
+    }
+
     public static String writeValueAsString(Object object) {
         try {
             return MAPPER.writeValueAsString(object);
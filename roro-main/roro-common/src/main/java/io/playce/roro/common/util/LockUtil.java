@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.util;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * <pre>
+ * Lock 을 획득한 상태에서 작업을 실행한다.
+ *
+ * synchronized 로 보호하던 DB, SSH 등의 I/O 구간은 virtual thread 를 carrier thread 에 고정(pinning)시키므로
+ * synchronized 메소드 대신 아래와 같이 사용한다.
+ *
+ *     public Result save(Request request) {
+ *         return LockUtil.withLock(lock, () -> saveInternal(request));
+ *     }
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class LockUtil {
+
+    @FunctionalInterface
+    public interface LockedAction<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    @FunctionalInterface
+    public interface LockedRunnable<E extends Exception> {
+        void run() throws E;
+    }
+
+    public static <T, E extends Exception> T withLock(Lock lock, LockedAction<T, E> action) throws E {
+        lock.lock();
+        try {
+            return action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static <E extends Exception> void withLock(Lock lock, LockedRunnable<E> action) throws E {
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
+//end of LockUtil.java
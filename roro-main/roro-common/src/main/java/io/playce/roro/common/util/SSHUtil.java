@@ -25,11 +25,13 @@ import io.playce.roro.common.dto.common.RemoteExecResult;
 import io.playce.roro.common.exception.ConnectionErrorException;
 import io.playce.roro.common.exception.RoRoException;
 import io.playce.roro.common.property.CommonProperties;
+import io.playce.roro.common.ssh.ChannelStreamReader;
+import io.playce.roro.common.ssh.SSHSessionLease;
+import io.playce.roro.common.ssh.SSHSessionPool;
+import io.playce.roro.common.ssh.SuShell;
+import io.playce.roro.common.ssh.SuShellPool;
 import io.playce.roro.common.util.support.TargetHost;
 import lombok.extern.slf4j.Slf4j;
-import net.jodah.expiringmap.ExpirationListener;
-import net.jodah.expiringmap.ExpirationPolicy;
-import net.jodah.expiringmap.ExpiringMap;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
@@ -43,8 +45,6 @@ import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.security.Security;
 import java.util.*;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -69,6 +69,9 @@ public class SSHUtil {
     private static final String UNIQ = "| uniq";
     private static final String UNIQ_REPLACE = "| uniq | egrep \".*\"";
 
+    // su 로 실행하는 명령의 최대 대기 시간 (millis)
+    private static final long SU_COMMAND_TIMEOUT = 30 * 1000L;
+
     private static final String preferredAuthentications;
 
     static {
@@ -81,17 +84,8 @@ public class SSHUtil {
         preferredAuthentications = CommonProperties.getPreferredAuthentications();
     }
 
-    private static ConcurrentMap<String, Session> sessionMap = ExpiringMap.builder()
-            .maxSize(1000)
-            .expirationPolicy(ExpirationPolicy.ACCESSED)
-            .expiration(10, TimeUnit.MINUTES)
-            .expirationListener((ExpirationListener<String, Session>) (key, session) -> {
-                if (session != null && session.isConnected()) {
-                    log.debug("Jsch Session for [{}] will be disconnected by listener.", key);
-                    session.disconnect();
-                }
-            })
-            .build();
+    private static final SSHSessionPool sessionPool = new SSHSessionPool(SSHUtil::createSession);
+    private static final SuShellPool suShellPool = new SuShellPool(SSHUtil::openSuShell, SSHUtil::isRootShell);
 
     /**
      * <pre>
@@ -103,13 +97,11 @@ public class SSHUtil {
      *     <li>sudoer가 아닌 경우</li>
      *     <li>rootPassowrd가 존재하는 경우</li>
      * </ul>
+     * 명령은 SuShellPool 에 유지되는 root shell 에서 실행되며, su 인증은 shell 이 생성될 때 한 번만 수행된다.
      * </pre>
      */
     public static String executeCommandWithSu(TargetHost targetHost, String command) throws InterruptedException {
-        Session session = null;
-        ChannelShell channel = null;
-        PipedOutputStream commandIO = null;
-        InputStream sessionOutput = null;
+        SuShell shell = null;
 
         command = command.replaceAll("bash ", "sh ")
                 .replaceAll("/usr/bin/sudo ", "")
@@ -119,41 +111,33 @@ public class SSHUtil {
 
         String result = null;
         try {
-            // create the IO streams to send input to remote session.
-            commandIO = new PipedOutputStream();
+            shell = suShellPool.lease(targetHost);
 
-            session = getSessionForTimeout(targetHost);
-            channel = getSuChannel(targetHost, session, commandIO);
-
-            // su 실행 권한 및 root password 불일치에 의한 channel 생성 실패
-            if (channel == null) {
+            // su 실행 권한 및 root password 불일치에 의한 switch user 실패
+            if (shell == null) {
                 return StringUtils.EMPTY;
             }
 
-            // this will have the STDOUT from server
-            sessionOutput = channel.getInputStream();
-
-            String str = sendCommand(channel, commandIO, command, sessionOutput);
+            String str = sendCommand(shell, command);
 
             RemoteExecResult remoteExecResult = getShellResult(str.trim(), null, command);
 
             log.debug("SSHUtil.executeCommandWithSu(\"{}\")'s Result : [{}]", cmdMessage, remoteExecResult);
 
             result = remoteExecResult.getResult();
-
-            commandIO.write("exit\n".getBytes());
-            commandIO.write("exit\n".getBytes());
-            commandIO.flush();
         } catch (Exception e) {
+            if (shell != null) {
+                shell.invalidate();
+            }
+
             RoRoException.checkInterruptedException(e);
             log.warn("Unhandled exception occurred while execute command '{}' with '{}' error.", cmdMessage, e.getMessage());
 
             exceptionCheck(e, targetHost);
         } finally {
-            IOUtils.closeQuietly(commandIO);
-            IOUtils.closeQuietly(sessionOutput);
-
-            close(targetHost, channel, session);
+            if (shell != null) {
+                shell.close();
+            }
         }
 
         return result;
@@ -169,31 +153,22 @@ public class SSHUtil {
      *     <li>sudoer가 아닌 경우</li>
      *     <li>rootPassowrd가 존재하는 경우</li>
      * </ul>
+     * 명령은 SuShellPool 에 유지되는 root shell 에서 실행되며, su 인증은 shell 이 생성될 때 한 번만 수행된다.
      * </pre>
      */
     public static <T> T executeCommandsWithSu(TargetHost targetHost, Object commands, Object results) throws InterruptedException {
-        Session session = null;
-        ChannelShell channel = null;
-        PipedOutputStream commandIO = null;
-        InputStream sessionOutput = null;
+        SuShell shell = null;
 
         String str;
 
         try {
-            // create the IO streams to send input to remote session.
-            commandIO = new PipedOutputStream();
-
-            session = getSessionForTimeout(targetHost);
-            channel = getSuChannel(targetHost, session, commandIO);
+            shell = suShellPool.lease(targetHost);
 
-            // su 실행 권한 및 root password 불일치에 의한 channel 생성 실패
-            if (channel == null) {
+            // su 실행 권한 및 root password 불일치에 의한 switch user 실패
+            if (shell == null) {
                 return null;
             }
 
-            // this will have the STDOUT from server
-            sessionOutput = channel.getInputStream();
-
             Map<String, String> commandMap = new LinkedHashMap<>();
             if (commands instanceof List) {
                 for (int idx = 0; idx < ((List) commands).size(); idx++) {
@@ -212,7 +187,7 @@ public class SSHUtil {
 
                 String cmdMessage = "[root@" + targetHost.getIpAddress() + " ~]$ " + command;
 
-                str = sendCommand(channel, commandIO, command, sessionOutput);
+                str = sendCommand(shell, command);
 
                 RemoteExecResult remoteExecResult = getShellResult(str.trim(), key, command);
 
@@ -224,20 +199,19 @@ public class SSHUtil {
                     ((List) results).add(remoteExecResult);
                 }
             }
-
-            commandIO.write("exit\n".getBytes());
-            commandIO.write("exit\n".getBytes());
-            commandIO.flush();
         } catch (Exception e) {
+            if (shell != null) {
+                shell.invalidate();
+            }
+
             RoRoException.checkInterruptedException(e);
             log.warn("Unhandled exception occurred while execute commands with '{}' error.", e.getMessage());
 
             exceptionCheck(e, targetHost);
         } finally {
-            IOUtils.closeQuietly(commandIO);
-            IOUtils.closeQuietly(sessionOutput);
-
-            close(targetHost, channel, session);
+            if (shell != null) {
+                shell.close();
+            }
         }
 
         return (T) results;
@@ -247,6 +221,7 @@ public class SSHUtil {
      * <pre>
      * root로 switch user를 할 수 있는지 여부를 결정한다.
      * root 유저가 su -를 실행할 경우 비밀번호 입력이 필요치 않아 root 유저는 false가 리턴된다.
+     * 확인은 root shell 이 생성될 때 수행되며, 이후에는 SuShellPool 에 유지되는 shell 의 상태로 결정된다.
      * </pre>
      */
     public static Boolean canExecuteCommandWithSu(TargetHost targetHost) throws InterruptedException {
@@ -258,92 +233,23 @@ public class SSHUtil {
             return false;
         }
 
-        Session session = null;
-        ChannelShell channel = null;
-        PipedOutputStream commandIO = null;
-        InputStream sessionOutput = null;
-        InputStream sessionError = null;
-
-        StringBuilder str = new StringBuilder();
+        SuShell shell = null;
 
         try {
-            // create the IO streams to send input to remote session.
-            commandIO = new PipedOutputStream();
-
-            session = getSessionForTimeout(targetHost);
-            channel = getSuChannel(targetHost, session, commandIO);
-
-            // su 실행 권한 및 root password 불일치에 의한 channel 생성 실패
-            if (channel == null) {
-                return false;
-            }
-
-            // this will have the STDOUT from server
-            sessionOutput = channel.getInputStream();
-
-            // this will have the STDERR from server
-            sessionError = channel.getExtInputStream();
-
-            commandIO.write(("echo " + START_WHOAMI_CMD + ";").getBytes());
-            commandIO.write("whoami".getBytes());
-            commandIO.write((";echo " + END_WHOAMI_CMD + "\n").getBytes());
-            commandIO.flush();
-
-            byte[] tmp = new byte[4096];
-            int i, cnt = 0;
-            while (true) {
-                while (sessionOutput.available() > 0) {
-                    i = sessionOutput.read(tmp, 0, tmp.length);
+            shell = suShellPool.lease(targetHost);
 
-                    if (i < 0) {
-                        break;
-                    }
-
-                    str.append(new String(tmp, 0, i));
-                }
-
-                if (channel.isClosed()) {
-                    if (sessionOutput.available() > 0) {
-                        continue;
-                    }
-
-                    break;
-                }
-
-                if (cnt++ >= 30) {
-                    break;
-                }
-
-                Thread.sleep(100);
-            }
-
-            commandIO.write("exit\n".getBytes());
-            commandIO.write("exit\n".getBytes());
-            commandIO.flush();
+            return shell != null;
         } catch (Exception e) {
             RoRoException.checkInterruptedException(e);
 
             exceptionCheck(e, targetHost);
         } finally {
-            IOUtils.closeQuietly(commandIO);
-            IOUtils.closeQuietly(sessionError);
-            IOUtils.closeQuietly(sessionOutput);
-
-            close(targetHost, channel, session);
-        }
-
-        String result = str.toString().trim();
-        int startIdx, endIdx;
-
-        startIdx = result.lastIndexOf(START_WHOAMI_CMD) + START_WHOAMI_CMD.length();
-        endIdx = result.lastIndexOf(END_WHOAMI_CMD);
-
-        String whoami = targetHost.getUsername();
-        if (startIdx > -1 && endIdx > -1 && startIdx < endIdx) {
-            whoami = result.substring(startIdx, endIdx).trim();
+            if (shell != null) {
+                shell.close();
+            }
         }
 
-        return "root".equals(whoami);
+        return false;
     }
 
     /**
@@ -353,18 +259,18 @@ public class SSHUtil {
      */
     public static Boolean healthCheck(TargetHost targetHost) throws InterruptedException {
         boolean healthy = false;
-        Session session = null;
+        SSHSessionLease lease = null;
         //JSch jsch = new JSch();
 
         try {
-            session = getSessionForTimeout(targetHost);
+            lease = leaseSession(targetHost);
 
             healthy = true;
         } catch (Exception e) {
             RoRoException.checkInterruptedException(e);
             log.warn("[{}] Health check failed with '{}'.", targetHost.getIpAddress(), e.getMessage());
         } finally {
-            close(targetHost, null, session);
+            close(null, lease);
         }
 
         return healthy;
@@ -404,8 +310,9 @@ public class SSHUtil {
             return executeCommandWithSu(targetHost, command);
         }
 
-        Session session = null;
+        SSHSessionLease lease = null;
         Channel channel = null;
+        ChannelStreamReader in = null;
 
         //JSch jsch = new JSch();
         StringBuilder str = new StringBuilder();
@@ -441,9 +348,9 @@ public class SSHUtil {
         PrintStream errStream = new PrintStream(baos);
 
         try {
-            session = getSessionForTimeout(targetHost);
+            lease = leaseSession(targetHost);
 
-            channel = session.openChannel("exec");
+            channel = lease.getSession().openChannel("exec");
 
             ((ChannelExec) channel).setCommand(command);
             channel.setInputStream(null);
@@ -455,34 +362,28 @@ public class SSHUtil {
                 }
             }
 
-            InputStream in = channel.getInputStream();
+            in = new ChannelStreamReader();
+            channel.setOutputStream(in.getOutputStream());
 
             channel.connect();
 
-            byte[] tmp = new byte[4096];
-            int cnt = 0;
+            // checkSudoer 가 false 인 경우 ssh connect timeout 만큼만 대기한다.
+            long timeout = checkSudoer ? 0 : getPromptTimeout();
+            long deadline = System.currentTimeMillis() + timeout;
             while (true) {
-                while (in.available() > 0) {
-                    int i = in.read(tmp, 0, 4096);
-
-                    if (i < 0) {
-                        break;
-                    }
+                String line = in.poll(checkSudoer ? 0 : Math.max(1, deadline - System.currentTimeMillis()));
 
-                    String line = new String(tmp, 0, i);
+                if (line != null && line.length() > 0) {
                     if (writer != null) {
                         writer.write(line);
                         writer.flush();
                     }
 
-                    str.append(new String(tmp, 0, i));
+                    str.append(line);
                 }
 
-                if (channel.isClosed()) {
-                    if (in.available() > 0) {
-                        continue;
-                    }
-
+                // 출력 stream 은 channel 이 종료될 때 닫힌다.
+                if (line == null) {
                     if (checkSudoer) {
                         if (str.toString().length() > 0) {
                             log.debug("SSHUtil.executeCommand(\"{}\")'s Exit Status: [{}], Result : [{}]", cmdMessage, channel.getExitStatus(), str.toString().trim());
@@ -502,11 +403,9 @@ public class SSHUtil {
                     break;
                 }
 
-                if (!checkSudoer && cnt++ >= 20) {
+                if (!checkSudoer && System.currentTimeMillis() >= deadline) {
                     break;
                 }
-
-                Thread.sleep(500);
             }
         } catch (Exception e) {
             RoRoException.checkInterruptedException(e);
@@ -514,7 +413,8 @@ public class SSHUtil {
 
             exceptionCheck(e, targetHost);
         } finally {
-            close(targetHost, channel, session);
+            IOUtils.closeQuietly(in);
+            close(channel, lease);
 
             if (writer != null) {
                 IOUtils.closeQuietly(writer);
@@ -530,7 +430,7 @@ public class SSHUtil {
      * </pre>
      */
     public static void putFile(TargetHost targetHost, File source, String target) throws RoRoException, InterruptedException {
-        Session session = null;
+        SSHSessionLease lease = null;
         Channel channel = null;
 
         try {
@@ -538,9 +438,9 @@ public class SSHUtil {
                     targetHost.getUsername() + "@" + targetHost.getIpAddress() + ":" + target);
 
             //JSch jsch = new JSch();
-            session = getSession(targetHost, 20 * 1000);
+            lease = leaseSession(targetHost);
 
-            channel = session.openChannel("sftp");
+            channel = lease.getSession().openChannel("sftp");
             channel.connect();
 
             ((ChannelSftp) channel).put(source.getAbsolutePath(), target);
@@ -552,7 +452,7 @@ public class SSHUtil {
 
             exceptionCheck(e, targetHost);
         } finally {
-            closeExplicit(channel, session);
+            close(channel, lease);
         }
     }
 
@@ -562,7 +462,7 @@ public class SSHUtil {
      * </pre>
      */
     public static void getFile(TargetHost targetHost, String source, String target) throws RoRoException, InterruptedException {
-        Session session = null;
+        SSHSessionLease lease = null;
         Channel channel = null;
 
         try {
@@ -571,9 +471,9 @@ public class SSHUtil {
                     target);
 
             //JSch jsch = new JSch();
-            session = getSession(targetHost, 20 * 1000);
+            lease = leaseSession(targetHost);
 
-            channel = session.openChannel("sftp");
+            channel = lease.getSession().openChannel("sftp");
             channel.connect();
 
             FileUtils.forceMkdirParent(new File(target));
@@ -586,7 +486,7 @@ public class SSHUtil {
 
             exceptionCheck(e, targetHost);
         } finally {
-            closeExplicit(channel, session);
+            close(channel, lease);
         }
     }
 
@@ -599,7 +499,7 @@ public class SSHUtil {
      * @throws RoRoException the ro ro exception
      */
     public static void getDir(TargetHost targetHost, String source, String target) throws RoRoException, InterruptedException {
-        Session session = null;
+        SSHSessionLease lease = null;
         Channel channel = null;
 
         try {
@@ -610,9 +510,9 @@ public class SSHUtil {
                     target);
 
             //JSch jsch = new JSch();
-            session = getSession(targetHost, 20 * 1000);
+            lease = leaseSession(targetHost);
 
-            channel = session.openChannel("sftp");
+            channel = lease.getSession().openChannel("sftp");
             channel.connect();
 
             File targetFile = new File(target);
@@ -631,7 +531,7 @@ public class SSHUtil {
 
             exceptionCheck(e, targetHost);
         } finally {
-            closeExplicit(channel, session);
+            close(channel, lease);
         }
     }
 
@@ -644,7 +544,7 @@ public class SSHUtil {
      * @throws RoRoException the ro ro exception
      */
     public static void putDir(TargetHost targetHost, String source, String target) throws RoRoException, InterruptedException {
-        Session session = null;
+        SSHSessionLease lease = null;
         Channel channel = null;
 
         try {
@@ -655,9 +555,9 @@ public class SSHUtil {
                     targetHost.getUsername() + "@" + targetHost.getIpAddress() + ":" + target);
 
             //JSch jsch = new JSch();
-            session = getSession(targetHost, 20 * 1000);
+            lease = leaseSession(targetHost);
 
-            channel = session.openChannel("sftp");
+            channel = lease.getSession().openChannel("sftp");
             channel.connect();
             ((ChannelSftp) channel).setFilenameEncoding("UTF-8");
 
@@ -670,7 +570,7 @@ public class SSHUtil {
 
             exceptionCheck(e, targetHost);
         } finally {
-            closeExplicit(channel, session);
+            close(channel, lease);
         }
     }
 
@@ -825,77 +725,158 @@ public class SSHUtil {
     }
 
     /**
-     * Gets session for timeout.
+     * Lease session.
      *
      * @param targetHost the target host
-     * @return the session
+     * @return the session lease (must be closed after use)
      * @throws Exception the exception
      */
-    public static Session getSessionForTimeout(TargetHost targetHost) throws IOException, JSchException {
-        Session session = getSessionWithoutConnect(targetHost);
-        if (!session.isConnected()) {
-            session.connect(CommonProperties.getTimeout() * 1000);
-        }
+    public static SSHSessionLease leaseSession(TargetHost targetHost) throws IOException, JSchException, InterruptedException {
+        return sessionPool.lease(targetHost);
+    }
+
+    public static SSHSessionPool getSessionPool() {
+        return sessionPool;
+    }
+
+    private static Session createSession(TargetHost targetHost) throws IOException, JSchException {
+        JSch jsch = getjSch(targetHost);
+
+        Properties config = new Properties();
+        config.put("StrictHostKeyChecking", "no");
+        config.put("HashKnownHosts", "yes");
+        config.put("PreferredAuthentications", preferredAuthentications);
+        // https://serverfault.com/questions/515604/ssh-client-option-to-suppress-server-banners
+        //config.put("LogLevel", "error");
+
+        Session session = jsch.getSession(targetHost.getUsername(), targetHost.getIpAddress(), targetHost.getPort());
+        session.setPassword(targetHost.getPassword());
+        //session.setConfig("StrictHostKeyChecking", "no");
+        // https://stackoverflow.com/questions/42451456/jschexception-timeout-socket-is-not-established
+        session.setConfig(config);
 
         return session;
     }
 
-    private static Session getSessionWithoutConnect(TargetHost targetHost) throws IOException, JSchException {
-        Session session = sessionMap.get(getKey(targetHost));
+    public static void clearSession(TargetHost targetHost) {
+        suShellPool.invalidate(targetHost);
+        sessionPool.invalidate(targetHost);
+    }
 
-        if (session == null || !session.isConnected()) {
-            JSch jsch = getjSch(targetHost);
 
-            Properties config = new Properties();
-            config.put("StrictHostKeyChecking", "no");
-            config.put("HashKnownHosts", "yes");
-            config.put("PreferredAuthentications", preferredAuthentications);
-            // https://serverfault.com/questions/515604/ssh-client-option-to-suppress-server-banners
-            //config.put("LogLevel", "error");
+    public static void clearSession(String key) {
+        suShellPool.invalidate(key);
+        sessionPool.invalidate(key);
+    }
 
-            session = jsch.getSession(targetHost.getUsername(), targetHost.getIpAddress(), targetHost.getPort());
-            session.setPassword(targetHost.getPassword());
-            //session.setConfig("StrictHostKeyChecking", "no");
-            // https://stackoverflow.com/questions/42451456/jschexception-timeout-socket-is-not-established
-            session.setConfig(config);
+    /**
+     * <pre>
+     * root 로 switch user 된 shell 을 생성한다. (SuShellPool.ShellFactory)
+     * su 실행 권한이 없거나, root password 가 일치하지 않거나, switch user 후 whoami 가 root 가 아닌 경우 null 을 반환한다.
+     * </pre>
+     */
+    private static SuShell openSuShell(TargetHost targetHost) throws Exception {
+        SSHSessionLease lease = null;
+        ChannelShell channel = null;
+        PipedOutputStream commandIO = null;
+        ChannelStreamReader sessionOutput = null;
+        ChannelStreamReader sessionError = null;
 
-            log.debug("Jsch Session for [{}] has been created.", getKey(targetHost));
+        boolean opened = false;
+        try {
+            // create the IO streams to send input to remote session.
+            commandIO = new PipedOutputStream();
 
-            sessionMap.put(getKey(targetHost), session);
+            lease = leaseSession(targetHost);
+            channel = getSuChannel(lease.getSession(), commandIO);
 
-            return session;
-        } else {
-            return session;
+            // this will have the STDOUT from server
+            sessionOutput = new ChannelStreamReader();
+            channel.setOutputStream(sessionOutput.getOutputStream());
+
+            // this will have the STDERR from server
+            sessionError = new ChannelStreamReader();
+            channel.setExtOutputStream(sessionError.getOutputStream());
+
+            if (!switchUser(targetHost, channel, commandIO, sessionOutput, sessionError)) {
+                return null;
+            }
+
+            if (!"root".equals(whoami(commandIO, sessionOutput))) {
+                return null;
+            }
+
+            opened = true;
+            return new SuShell(lease, channel, commandIO, sessionOutput, sessionError, targetHost.getRootPassword());
+        } finally {
+            if (!opened) {
+                IOUtils.closeQuietly(commandIO);
+                IOUtils.closeQuietly(sessionError);
+                IOUtils.closeQuietly(sessionOutput);
+
+                close(channel, lease);
+            }
         }
     }
 
-    public static void clearSession(TargetHost targetHost) {
-        clearSession(getKey(targetHost));
+    /**
+     * <pre>
+     * pool 에 유지되던 shell 이 root shell 인지 확인한다. (SuShellPool.ShellVerifier)
+     * 명령은 subshell 에서 실행되므로 exit 등으로 root shell 이 종료되지 않지만, 확인되지 않은 shell 은 재사용하지 않는다.
+     * </pre>
+     */
+    private static boolean isRootShell(SuShell shell) throws Exception {
+        return "root".equals(whoami(shell.getCommandIO(), shell.getOutput()));
     }
 
+    /**
+     * shell 에서 whoami 를 실행한다. 결과를 확인할 수 없으면 null 을 반환한다.
+     */
+    private static String whoami(PipedOutputStream commandIO, ChannelStreamReader sessionOutput) throws Exception {
+        sessionOutput.take();
 
-    public static void clearSession(String key) {
-        sessionMap.remove(key);
+        commandIO.write(("echo " + START_WHOAMI_CMD + ";").getBytes());
+        commandIO.write("whoami".getBytes());
+        commandIO.write((";echo " + END_WHOAMI_CMD + "\n").getBytes());
+        commandIO.flush();
+
+        // 입력한 명령이 echo 된 line 이 아닌, END_WHOAMI_CMD 의 출력 line 이 도착하면 즉시 종료한다.
+        sessionOutput.await(s -> hasLineStartsWith(s, END_WHOAMI_CMD), getPromptTimeout());
+
+        String result = sessionOutput.take().trim();
+        int startIdx, endIdx;
+
+        startIdx = result.lastIndexOf(START_WHOAMI_CMD) + START_WHOAMI_CMD.length();
+        endIdx = result.lastIndexOf(END_WHOAMI_CMD);
+
+        if (startIdx > -1 && endIdx > -1 && startIdx < endIdx) {
+            return result.substring(startIdx, endIdx).trim();
+        }
+
+        return null;
     }
 
-    private static ChannelShell getSuChannel(TargetHost targetHost, Session session, PipedOutputStream commandIO) throws Exception {
+    private static ChannelShell getSuChannel(Session session, PipedOutputStream commandIO) throws Exception {
         ChannelShell channel = (ChannelShell) session.openChannel("shell");
         channel.setPty(true);
         // 기본값 : 80, 24, 640, 480
         channel.setPtySize(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
 
-        InputStream sessionInput, sessionError, sessionOutput;
-
-        sessionInput = new PipedInputStream(commandIO);
         // this set's the InputStream the remote server will read from.
-        channel.setInputStream(sessionInput);
+        channel.setInputStream(new PipedInputStream(commandIO));
 
-        // this will have the STDERR from server
-        sessionError = channel.getExtInputStream();
-
-        // this will have the STDOUT from server
-        sessionOutput = channel.getInputStream();
+        return channel;
+    }
 
+    /**
+     * <pre>
+     * shell channel 을 연결하고 root 로 switch user 한다.
+     * 각 단계는 기대하는 prompt 가 출력되는 즉시 다음 단계로 진행하며, prompt 가 출력되지 않으면 ssh connect timeout 만큼 대기한다.
+     * sessionOutput, sessionError 는 channel 연결 전에 생성되어야 한다.
+     * </pre>
+     */
+    private static boolean switchUser(TargetHost targetHost, ChannelShell channel, PipedOutputStream commandIO,
+                                      ChannelStreamReader sessionOutput, ChannelStreamReader sessionError) throws Exception {
         channel.connect();
 
         // 2022.12.08 도로공사에서 일부 시스템에 SSH 접속 시 "-sh -l: ulimit: open files: cannot modify limit: Operation not permitted" 문구가
@@ -905,81 +886,25 @@ public class SSHUtil {
         commandIO.write("\n".getBytes());
         commandIO.flush();
 
-        byte[] tmp = new byte[4096];
-        StringBuilder stdOut = new StringBuilder();
-        StringBuilder stdErr = new StringBuilder();
-        String result = null;
-        int i, cnt = 0;
-        while (true) {
-            if (sessionError.available() > 0) {
-                i = sessionError.read(tmp, 0, tmp.length);
-                if (i < 0) {
-                    log.warn("input stream closed earlier than expected");
-                    break;
-                }
-
-                stdErr.append(new String(tmp, 0, i));
-            }
-
-            if (sessionOutput.available() > 0) {
-                i = sessionOutput.read(tmp, 0, tmp.length);
-                if (i < 0) {
-                    log.warn("input stream closed earlier than expected");
-                    break;
-                }
-
-                stdOut.append(new String(tmp, 0, i));
-            }
-
-            result = removeInvisibleCharacters(stdOut.toString());
-
-            boolean isMatch = result.lines().collect(Collectors.toList()).stream().anyMatch(l -> l.startsWith(targetHost.getUsername()));
-            if (isMatch || cnt++ >= 50) {
-                break;
-            }
-
-            Thread.sleep(100);
+        if (!sessionOutput.await(s -> hasLineStartsWith(s, targetHost.getUsername()), getPromptTimeout()) && sessionOutput.isEof()) {
+            log.warn("input stream closed earlier than expected");
         }
 
+        sessionOutput.take();
+        sessionError.take();
+
         // 언어 설정에 따라 root 비밀번호 입력 프롬프트가 Password: 가 아닌 암호: 와 같은 형태일 수 있음.
         commandIO.write("LANG=C;export LANG;su -".getBytes());
         commandIO.write(CMD_ERROR_SCRIPT.getBytes());
         commandIO.write("\n".getBytes());
         commandIO.flush();
 
-        tmp = new byte[4096];
-        stdOut = new StringBuilder();
-        stdErr = new StringBuilder();
-        result = null;
-        cnt = 0;
-        while (true) {
-            if (sessionError.available() > 0) {
-                i = sessionError.read(tmp, 0, tmp.length);
-                if (i < 0) {
-                    log.warn("input stream closed earlier than expected");
-                    break;
-                }
-
-                stdErr.append(new String(tmp, 0, i));
-            }
-
-            if (sessionOutput.available() > 0) {
-                i = sessionOutput.read(tmp, 0, tmp.length);
-                if (i < 0) {
-                    log.warn("input stream closed earlier than expected");
-                    break;
-                }
-
-                stdOut.append(new String(tmp, 0, i));
-            }
-
-            result = removeInvisibleCharacters(stdOut.toString());
-            if (result.contains("assword") || result.contains("암호") || cnt++ >= 100) {
-                break;
-            }
+        // 패스워드 프롬프트가 출력되거나 su 실행 실패에 의해 CMD_ERROR 가 출력되면 즉시 종료한다.
+        long start = System.currentTimeMillis();
+        sessionOutput.await(s -> isPasswordPrompt(s) || hasLineStartsWith(s, CMD_ERROR), getPromptTimeout());
 
-            Thread.sleep(100);
-        }
+        String stdOut = sessionOutput.take();
+        String result = removeInvisibleCharacters(stdOut);
 
         //*
         // 2022.12.08 도로공사에서 su - 명령 실행시 passowrd: 프롬프트 없이 패스워드를 입력하도록 되어 있음.
@@ -992,21 +917,21 @@ public class SSHUtil {
         } else {
             log.warn("su(switch user) failed. Please check '{}@{}' has permission to execute su command and below information.", targetHost.getUsername(), targetHost.getIpAddress());
             log.warn("Command : [LANG=C;export LANG;su -{}]", CMD_ERROR_SCRIPT);
-            log.warn("Sleep Count : [{}]", cnt);
-            log.warn("Standard Error : [{}]", stdErr);
+            log.warn("Elapsed Time : [{} ms]", System.currentTimeMillis() - start);
+            log.warn("Standard Error : [{}]", sessionError.getText());
             log.warn("Standard Output : [{}]", stdOut);
             log.warn("Standard Output with removeInvisibleCharacters : [{}]", result);
-            return null;
+            return false;
         }
         /*/
         if (!result.contains("assword") && !result.contains("암호")) {
             log.warn("su(switch user) failed. Please check '{}@{}' has permission to execute su command and below information.", targetHost.getUsername(), targetHost.getIpAddress());
             log.warn("Command : [LANG=C;export LANG;su -{}]", CMD_ERROR_SCRIPT);
-            log.warn("Sleep Count : [{}]", cnt);
-            log.warn("Standard Error : [{}]", stdErr);
+            log.warn("Elapsed Time : [{} ms]", System.currentTimeMillis() - start);
+            log.warn("Standard Error : [{}]", sessionError.getText());
             log.warn("Standard Output : [{}]", stdOut);
             log.warn("Standard Output with removeInvisibleCharacters : [{}]", result);
-            return null;
+            return false;
         }
 
         commandIO.write(targetHost.getRootPassword().getBytes());
@@ -1014,45 +939,24 @@ public class SSHUtil {
         commandIO.flush();
         //*/
 
-        StringBuilder str = new StringBuilder();
-        cnt = 0;
-        while (true) {
-            while (sessionOutput.available() > 0) {
-                i = sessionOutput.read(tmp, 0, tmp.length);
-
-                if (i < 0) {
-                    break;
-                }
-
-                str.append(new String(tmp, 0, i));
-            }
-
-            if (channel.isClosed()) {
-                if (sessionOutput.available() > 0) {
-                    continue;
-                }
-
-                break;
-            }
-
-            // su - 에 대한 output는 사이즈가 크지 않고 한번에 출력된다. 따라서 5초를 대기하지 않고 적당한 크기(5)를 넘어선 경우 loop 를 종료한다.
-            if (cnt++ >= 50 || str.toString().length() > 5) {
-                break;
-            }
-
-            Thread.sleep(100);
-        }
+        // su - 에 대한 output는 사이즈가 크지 않고 한번에 출력된다.
+        // root 의 shell prompt 가 출력되거나 인증 실패에 의해 CMD_ERROR 가 출력되면 즉시 종료한다.
+        sessionOutput.await(s -> s.contains(CMD_ERROR) || isShellPrompt(s), getPromptTimeout());
 
-        if (str.toString().contains(CMD_ERROR)) {
+        String str = sessionOutput.getText();
+        if (str.contains(CMD_ERROR)) {
             log.warn("su(switch user) authentication failed. Please check root password is correct and below information.");
             log.warn("Standard Output : [{}]", str);
-            return null;
+            return false;
         }
 
-        return channel;
+        return true;
     }
 
-    private static String sendCommand(ChannelShell channel, PipedOutputStream commandIO, String command, InputStream sessionOutput) throws Exception {
+    private static String sendCommand(SuShell shell, String command) throws Exception {
+        PipedOutputStream commandIO = shell.getCommandIO();
+        ChannelStreamReader sessionOutput = shell.getOutput();
+
         StringBuilder sb = new StringBuilder();
 
         // "entstat -d lo0 | egrep Hardware | uniq" 와 같이 uniq가 뒤에 들어가면 exit code가 0으로 넘어온다.
@@ -1060,77 +964,121 @@ public class SSHUtil {
         // Solaris에는 grep에 -E 옵션이 없음. egrep은 존재
         command = command.replace(UNIQ, UNIQ_REPLACE);
 
+        // root shell 은 여러 명령에서 재사용되므로, cd, export, umask, set -e, exit 등이 다음 명령에 영향을 주지 않도록 subshell 에서 실행한다.
+        // "((" 는 산술 연산으로 해석되므로 공백을 둔다.
         sb.append("echo " + START_CMD + ";")
                 .append("\\\n")
+                .append("( ")
                 .append(command)
                 .append("\\\n")
+                .append(")")
+                .append("\\\n")
                 .append(CMD_ERROR_SCRIPT)
                 .append("\\\n")
                 .append(";echo " + END_CMD);
 
+        // 이전 명령 이후에 출력된 prompt 등은 버린다.
+        sessionOutput.take();
+
         commandIO.write(sb.toString().getBytes());
         commandIO.write("\n".getBytes());
         commandIO.flush();
 
-        StringBuilder str = new StringBuilder();
+        // 일부 오래 걸리는 명령이 존재하며, 최대 30초 대기한다.
+        boolean completed = awaitCommandCompleted(sessionOutput, SU_COMMAND_TIMEOUT);
 
-        byte[] tmp = new byte[4096];
-        int i, cnt = 0;
-        String result = null;
-        while (true) {
-            while (sessionOutput.available() > 0) {
-                i = sessionOutput.read(tmp, 0, tmp.length);
+        String str = sessionOutput.getText();
+        String result = removeInvisibleCharacters(str);
 
-                if (i < 0) {
-                    break;
-                }
+        if (completed) {
+            return result;
+        }
 
-                str.append(new String(tmp, 0, i));
-                result = removeInvisibleCharacters(str.toString());
-            }
+        // 명령이 완료되지 않은 shell 은 재사용할 수 없다.
+        shell.invalidate();
 
-            if (channel.isClosed()) {
-                if (sessionOutput.available() > 0) {
-                    continue;
-                }
+        if (!sessionOutput.isEof() && !shell.getChannel().isClosed()) {
+            log.warn("Command({}) execute failed with timeout.", command);
 
-                break;
-            }
+            log.warn("Timeout : [{} ms]", SU_COMMAND_TIMEOUT);
+            log.warn("Standard Output : [{}]", str);
+            log.warn("Standard Output with removeInvisibleCharacters : [{}]", result);
 
-            // 일부 오래 걸리는 명령이 존재하며, 최대 30초 대기한다.
-            if (cnt++ >= 300) {
-                log.warn("Command({}) execute failed with timeout.", command);
+            return CMD_ERROR + "Command(" + command + ") execute failed with timeout.";
+        }
 
-                log.warn("Sleep Count : [{}]", cnt);
-                log.warn("Standard Output : [{}]", str);
-                log.warn("Standard Output with removeInvisibleCharacters : [{}]", result);
+        // 비 정상적인 메시지의 경우 parsing 오류를 방지하기 위해 값을 비운다. (Exit Code는 정상이지만 END_CMD가 2개가 아님)
+        if (StringUtils.countMatches(result, END_CMD) < 2 && StringUtils.countMatches(result, CMD_ERROR) < 2) {
+            result = StringUtils.EMPTY;
+        }
+
+        return result;
+    }
+
+    /**
+     * 명령이 완료될 때까지 대기한다.
+     * START_CMD, END_CMD 의 개수는 전체 출력으로 비교해야 하므로, 새로 도착한 line 에 START_CMD 또는 END_CMD 가 출력된 경우에만
+     * 전체 출력을 확인한다. (두 문자열이 출력되지 않으면 완료 여부가 바뀌지 않는다.)
+     */
+    private static boolean awaitCommandCompleted(ChannelStreamReader sessionOutput, long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        int from = 0;
 
-                return CMD_ERROR + "Command(" + command + ") execute failed with timeout.";
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
             }
 
-            // 간헐적으로 command가 한번 더 출력되는 경우가 있어 StringUtils.countMatches(str, END_CMD) > 1 조건만 있는 경우 정상 응답을 받지 못하게 된다.
-            if (StringUtils.countMatches(result, START_CMD) == StringUtils.countMatches(result, END_CMD) && StringUtils.countMatches(result, END_CMD) > 1) {
-                break;
+            from = sessionOutput.await(s -> {
+                String result = removeInvisibleCharacters(s);
+                return result.contains(END_CMD) || result.contains(START_CMD);
+            }, from, remaining);
+            if (from < 0) {
+                return false;
             }
 
-            // 간헐적으로 결과내의 START_CMD, END_CMD 값이 깨지는 경우가 있음.
-            // 마지막 START_CMD 뒤의 문자열에 END_CMD가 있고 CMD_ERROR가 없으면 정상 응답으로 처리
-            if (StringUtils.isNotEmpty(result) && result.length() > START_CMD.length()) {
-                int idx = result.lastIndexOf(START_CMD) + START_CMD.length();
-                if (result.substring(idx).contains(END_CMD) && !result.substring(idx).contains(CMD_ERROR)) {
-                    return result;
-                }
+            if (isCommandCompleted(removeInvisibleCharacters(sessionOutput.getText()))) {
+                return true;
             }
+        }
+    }
 
-            Thread.sleep(100);
+    private static boolean isCommandCompleted(String result) {
+        // 간헐적으로 command가 한번 더 출력되는 경우가 있어 StringUtils.countMatches(str, END_CMD) > 1 조건만 있는 경우 정상 응답을 받지 못하게 된다.
+        if (StringUtils.countMatches(result, START_CMD) == StringUtils.countMatches(result, END_CMD) && StringUtils.countMatches(result, END_CMD) > 1) {
+            return true;
         }
 
-        // 비 정상적인 메시지의 경우 parsing 오류를 방지하기 위해 값을 비운다. (Exit Code는 정상이지만 END_CMD가 2개가 아님)
-        if (StringUtils.countMatches(result, END_CMD) < 2 && StringUtils.countMatches(result, CMD_ERROR) < 2) {
-            result = StringUtils.EMPTY;
+        // 간헐적으로 결과내의 START_CMD, END_CMD 값이 깨지는 경우가 있음.
+        // 마지막 START_CMD 뒤의 문자열에 END_CMD가 있고 CMD_ERROR가 없으면 정상 응답으로 처리
+        if (StringUtils.isNotEmpty(result) && result.length() > START_CMD.length()) {
+            int idx = result.lastIndexOf(START_CMD) + START_CMD.length();
+            return result.substring(idx).contains(END_CMD) && !result.substring(idx).contains(CMD_ERROR);
         }
 
-        return result;
+        return false;
+    }
+
+    private static boolean hasLineStartsWith(String str, String prefix) {
+        return removeInvisibleCharacters(str).lines().anyMatch(l -> l.startsWith(prefix));
+    }
+
+    private static boolean isPasswordPrompt(String str) {
+        String result = removeInvisibleCharacters(str);
+        return result.contains("assword") || result.contains("암호");
+    }
+
+    private static boolean isShellPrompt(String str) {
+        String result = removeInvisibleCharacters(str).trim();
+        return result.endsWith("#") || result.endsWith("$") || result.endsWith(">") || result.endsWith("%");
+    }
+
+    /**
+     * prompt 대기 시간 (millis), ssh connect timeout 과 동일하다.
+     */
+    private static long getPromptTimeout() {
+        return CommonProperties.getTimeout() * 1000L;
     }
 
     private static RemoteExecResult getShellResult(String result, String key, String command) {
@@ -1179,33 +1127,17 @@ public class SSHUtil {
         return remoteExecResult;
     }
 
-    public static void close(TargetHost targetHost, Channel channel, Session session) {
+    public static void close(Channel channel, SSHSessionLease lease) {
         if (channel != null && channel.isConnected()) {
             channel.disconnect();
         }
 
-        // session의 종료는 sessionMap의 expiringListener에 의해서 자동 종료됨.
-        if (sessionMap.get(getKey(targetHost)) == null) {
-            if (session != null && session.isConnected()) {
-                session.disconnect();
-            }
+        // session의 종료는 SSHSessionPool의 evictor에 의해서 자동 종료됨.
+        if (lease != null) {
+            lease.close();
         }
     }
 
-    public static void closeExplicit(Channel channel, Session session) {
-        if (channel != null && channel.isConnected()) {
-            channel.disconnect();
-        }
-
-        if (session != null && session.isConnected()) {
-            session.disconnect();
-        }
-    }
-
-    private static String getKey(TargetHost targetHost) {
-        return targetHost.getUsername() + "@" + targetHost.getIpAddress() + ":" + targetHost.getPort();
-    }
-
     private static String removeInvisibleCharacters(String str) {
         /*
          * 리눅스 시스템에서 grep은 일반적으로 Alias로 등록되어 있음. (`grep --color=auto')
@@ -21,20 +21,41 @@
 
 package io.playce.roro.common.util;
 
+import com.jcraft.jsch.Channel;
 import com.jcraft.jsch.ChannelExec;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 import io.playce.roro.common.dto.common.RemoteExecResult;
 import io.playce.roro.common.exception.RoRoException;
+import io.playce.roro.common.property.CommonProperties;
+import io.playce.roro.common.ssh.ChannelStreamReader;
+import io.playce.roro.common.ssh.CommandBundle;
+import io.playce.roro.common.ssh.SSHSessionLease;
 import io.playce.roro.common.util.support.TargetHost;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <pre>
@@ -47,6 +68,18 @@ import java.util.Map;
 @Slf4j
 public class SSHUtil2 {
 
+    private static final int RUNNING = 0;
+    private static final int COMPLETED = 1;
+    private static final int TIMED_OUT = 2;
+
+    private static final ThreadPoolExecutor channelExecutor = createChannelExecutor();
+
+    private static final ScheduledExecutorService timeoutScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ssh-channel-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     public static List<RemoteExecResult> runCommands(TargetHost targetHost, List<String> commandList, boolean sudo) throws JSchException, IOException, InterruptedException {
         return runCommands(targetHost, false, commandList, sudo);
     }
@@ -62,17 +95,17 @@ public class SSHUtil2 {
             return SSHUtil.executeCommandsWithSu(targetHost, commandList, results);
         }
 
-        Session session = null;
+        SSHSessionLease lease = null;
         try {
-            session = SSHUtil.getSessionForTimeout(targetHost);
+            lease = SSHUtil.leaseSession(targetHost);
 
             for (int i = 0; i < commandList.size(); i++) {
                 String cmd = commandList.get(i);
-                RemoteExecResult result = runCommand(session, tty, Integer.toString(i), cmd, sudo);
+                RemoteExecResult result = runCommand(lease.getSession(), tty, Integer.toString(i), cmd, sudo);
                 results.add(result);
             }
         } finally {
-            SSHUtil.close(targetHost, null, session);
+            SSHUtil.close(null, lease);
         }
 
         return results;
@@ -97,39 +130,185 @@ public class SSHUtil2 {
             return SSHUtil.executeCommandsWithSu(targetHost, commandMap, results);
         }
 
-        Session session = null;
+        SSHSessionLease lease = null;
         try {
-            session = SSHUtil.getSessionForTimeout(targetHost);
+            lease = SSHUtil.leaseSession(targetHost);
 
             for (String key : commandMap.keySet()) {
                 String cmd = commandMap.get(key);
 
-                RemoteExecResult result = runCommand(session, tty, key, cmd, sudo);
+                RemoteExecResult result = runCommand(lease.getSession(), tty, key, cmd, sudo);
                 results.put(key, result);
                 log.trace("[{}]: {}\nresult: [{}]\nerror: [{}]", result.getCommand(), result.isErr(), result.getResult(), result.getError());
             }
         } finally {
-            SSHUtil.close(targetHost, null, session);
+            SSHUtil.close(null, lease);
         }
 
         return results;
     }
 
-    public static RemoteExecResult runCommand(TargetHost targetHost, String cmd, boolean sudo) throws JSchException, IOException, InterruptedException {
-        Session session = SSHUtil.getSessionForTimeout(targetHost);
+    public static Map<String, RemoteExecResult> runCommandsInParallel(TargetHost targetHost, Map<String, String> commandMap, boolean sudo) throws JSchException, IOException, InterruptedException {
+        return runCmdsInParallel(targetHost, false, commandMap, sudo, CommonProperties.getSshExecParallelChannels(), CommonProperties.getSshExecCommandTimeout());
+    }
+
+    /**
+     * <pre>
+     * 서로 의존성이 없는 명령들을 같은 session 의 여러 exec channel 에서 동시에 실행한다.
+     * 동시에 사용하는 channel 수는 parallelism 과 ssh.pool.max-channels-per-session 중 작은 값으로 제한되며,
+     * timeout(초) 내에 완료되지 않은 명령은 channel 을 종료하고 오류 결과로 반환한다.
+     * su 로 실행해야 하는 경우에는 하나의 shell channel 을 사용해야 하므로 순차 실행한다.
+     * </pre>
+     */
+    public static Map<String, RemoteExecResult> runCmdsInParallel(TargetHost targetHost, boolean tty, Map<String, String> commandMap, boolean sudo, int parallelism, int timeout) throws JSchException, IOException, InterruptedException {
+        if (!sudo && SSHUtil.canExecuteCommandWithSu(targetHost)) {
+            return SSHUtil.executeCommandsWithSu(targetHost, commandMap, new HashMap<>());
+        }
+
+        int window = Math.min(Math.min(parallelism, CommonProperties.getSshPoolMaxChannelsPerSession()), commandMap.size());
+
+        Map<String, RemoteExecResult> results = new ConcurrentHashMap<>();
+        Queue<String> keys = new ConcurrentLinkedQueue<>(commandMap.keySet());
 
+        if (window <= 1) {
+            runQueuedCommands(targetHost, tty, commandMap, keys, results, sudo, timeout);
+            return new HashMap<>(results);
+        }
+
+        List<Future<Void>> futures = new ArrayList<>(window - 1);
         try {
-            if (SSHUtil.canExecuteCommandWithSu(targetHost)) {
-                sudo = false;
+            // channelExecutor 의 thread 가 모두 사용 중이어도 진행되도록 호출한 thread 에서도 명령을 실행한다.
+            for (int i = 0; i < window - 1; i++) {
+                futures.add(channelExecutor.submit(() -> {
+                    runQueuedCommands(targetHost, tty, commandMap, keys, results, sudo, timeout);
+                    return null;
+                }));
+            }
+
+            runQueuedCommands(targetHost, tty, commandMap, keys, results, sudo, timeout);
+
+            for (Future<Void> future : futures) {
+                future.get();
             }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
 
-            return runCommand(session, false, null, cmd, sudo);
+            if (cause instanceof JSchException) {
+                throw (JSchException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new RoRoException(cause.getMessage(), cause);
+            }
         } finally {
-            SSHUtil.close(targetHost, null, session);
+            // 오류 또는 interrupt 로 종료되는 경우 남은 명령을 실행하지 않도록 한다.
+            keys.clear();
+            for (Future<Void> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        return new HashMap<>(results);
+    }
+
+    private static void runQueuedCommands(TargetHost targetHost, boolean tty, Map<String, String> commandMap, Queue<String> keys,
+                                          Map<String, RemoteExecResult> results, boolean sudo, int timeout) throws JSchException, IOException, InterruptedException {
+        SSHSessionLease lease = null;
+        try {
+            lease = SSHUtil.leaseSession(targetHost);
+
+            String key;
+            while ((key = keys.poll()) != null) {
+                RemoteExecResult result = runCommand(lease.getSession(), tty, key, commandMap.get(key), sudo, timeout);
+                results.put(key, result);
+                log.trace("[{}]: {}\nresult: [{}]\nerror: [{}]", result.getCommand(), result.isErr(), result.getResult(), result.getError());
+            }
+        } finally {
+            SSHUtil.close(null, lease);
+        }
+    }
+
+    public static Map<String, RemoteExecResult> runCommandsInBundle(TargetHost targetHost, Map<String, String> commandMap, boolean sudo) throws JSchException, IOException, InterruptedException {
+        return runCmdsInBundle(targetHost, commandMap, sudo, CommonProperties.getSshExecCommandTimeout());
+    }
+
+    /**
+     * <pre>
+     * 모든 명령을 하나의 script 로 묶어 단일 exec channel 에서 실행하고, 결과를 명령 별로 분리한다. (CommandBundle 참고)
+     * 명령 수 만큼의 channel 생성 및 응답 대기(RTT)가 한 번으로 줄어들기 때문에 지연 시간이 큰 원격지 서버에 유리하다.
+     * timeout(초) 은 명령 별로 적용되며, 이전 명령이 완료된 후 timeout 내에 다음 명령이 완료되지 않으면
+     * channel 을 종료하고 그때까지 완료된 명령의 결과만 반환한다. 나머지는 오류로 처리한다.
+     * </pre>
+     */
+    public static Map<String, RemoteExecResult> runCmdsInBundle(TargetHost targetHost, Map<String, String> commandMap, boolean sudo, int timeout) throws JSchException, IOException, InterruptedException {
+        if (!sudo && SSHUtil.canExecuteCommandWithSu(targetHost)) {
+            return SSHUtil.executeCommandsWithSu(targetHost, commandMap, new HashMap<>());
+        }
+
+        Map<String, String> bundleCommandMap = new LinkedHashMap<>();
+        for (String key : commandMap.keySet()) {
+            bundleCommandMap.put(key, commandMap.get(key).replaceAll("/usr/bin/sudo ", "").replaceAll("sudo ", ""));
+        }
+
+        CommandBundle bundle = new CommandBundle(bundleCommandMap);
+
+        SSHSessionLease lease = null;
+        ChannelExec channel = null;
+        ChannelStreamReader std = null;
+        try {
+            lease = SSHUtil.leaseSession(targetHost);
+
+            channel = (ChannelExec) lease.getSession().openChannel("exec");
+            channel.setCommand(bundle.getCommand(sudo && !lease.getSession().getUserName().equals("root")));
+
+            OutputStream script = channel.getOutputStream();
+            std = new ChannelStreamReader();
+            channel.setOutputStream(std.getOutputStream());
+            channel.connect();
+
+            script.write(bundle.getScript().getBytes());
+            script.flush();
+            script.close();
+
+            if (!bundle.awaitCompletion(std, timeout > 0 ? timeout * 1000L : 0)) {
+                log.warn("Command bundle for [{}] execute failed with timeout({} sec per command).", targetHost.getIpAddress(), timeout);
+                channel.disconnect();
+            }
+
+            Map<String, RemoteExecResult> results = bundle.demultiplex(std.getText());
+            results.values().forEach(result ->
+                    log.debug("execute command: [{}], \nresult : [{}], \nerrorMessage : [{}]", result.getCommand(), result.getResult(), result.getError()));
+
+            return results;
+        } finally {
+            IOUtils.closeQuietly(std);
+            SSHUtil.close(channel, lease);
+        }
+    }
+
+    public static RemoteExecResult runCommand(TargetHost targetHost, String cmd, boolean sudo) throws JSchException, IOException, InterruptedException {
+        if (SSHUtil.canExecuteCommandWithSu(targetHost)) {
+            sudo = false;
+        }
+
+        SSHSessionLease lease = SSHUtil.leaseSession(targetHost);
+
+        try {
+            return runCommand(lease.getSession(), false, null, cmd, sudo);
+        } finally {
+            SSHUtil.close(null, lease);
         }
     }
 
     private static RemoteExecResult runCommand(Session session, boolean tty, String key, String cmd, boolean sudo) throws JSchException, IOException, InterruptedException {
+        return runCommand(session, tty, key, cmd, sudo, 0);
+    }
+
+    private static RemoteExecResult runCommand(Session session, boolean tty, String key, String cmd, boolean sudo, int timeout) throws JSchException, IOException, InterruptedException {
         cmd = cmd.replaceAll("/usr/bin/sudo ", "").replaceAll("sudo ", "");
 
         cmd = sudo && !session.getUserName().equals("root") ? "sudo " + cmd : cmd;
@@ -142,8 +321,39 @@ public class SSHUtil2 {
         channel.setCommand(cmd);
         channel.connect();
 
-        String stdStr = readStream(std);
-        String errStr = readStream(err);
+        AtomicInteger state = new AtomicInteger(RUNNING);
+        ScheduledFuture<?> timeoutFuture = scheduleTimeout(channel, timeout, state);
+
+        String stdStr = StringUtils.EMPTY;
+        String errStr = StringUtils.EMPTY;
+        try {
+            stdStr = readStream(std);
+            errStr = readStream(err);
+
+            // timeout 과 동시에 완료된 경우 완료된 결과를 사용한다.
+            state.compareAndSet(RUNNING, COMPLETED);
+        } catch (InterruptedException e) {
+            if (state.get() != TIMED_OUT) {
+                throw e;
+            }
+        } finally {
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+        }
+
+        // timeout 에 의해 channel 이 종료되었더라도 exit status 를 받았으면 명령은 완료된 것이다.
+        if (state.get() == TIMED_OUT && channel.getExitStatus() < 0) {
+            log.warn("Command({}) execute failed with timeout({} sec).", cmd, timeout);
+
+            return RemoteExecResult.builder()
+                    .command(cmd)
+                    .key(key)
+                    .err(true)
+                    .result(StringUtils.EMPTY)
+                    .error("Command(" + cmd + ") execute failed with timeout.")
+                    .build();
+        }
 
         RemoteExecResult result = RemoteExecResult.builder()
                 .command(cmd)
@@ -159,6 +369,38 @@ public class SSHUtil2 {
         return result;
     }
 
+    /**
+     * timeout(초) 이후 channel 을 종료한다. channel 이 종료되면 stream 이 닫히면서 readStream() 이 반환된다.
+     */
+    private static ScheduledFuture<?> scheduleTimeout(Channel channel, int timeout, AtomicInteger state) {
+        if (timeout <= 0) {
+            return null;
+        }
+
+        return timeoutScheduler.schedule(() -> {
+            if (state.compareAndSet(RUNNING, TIMED_OUT)) {
+                channel.disconnect();
+            }
+        }, timeout, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 병렬 실행에 사용되는 thread 는 ssh.exec.max-threads 개로 제한되며, 사용되지 않는 thread 는 종료된다.
+     */
+    private static ThreadPoolExecutor createChannelExecutor() {
+        AtomicInteger sequence = new AtomicInteger();
+        int maxThreads = CommonProperties.getSshExecMaxThreads();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "ssh-channel-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
     private static String readStream(InputStream is) throws InterruptedException {
         StringBuilder sb = new StringBuilder();
         byte[] buff = new byte[1024];
@@ -26,6 +26,7 @@ import io.playce.roro.common.dto.thirdparty.ThirdPartyDiscoveryResult;
 import io.playce.roro.common.dto.thirdparty.ThirdPartySearchTypeResponse;
 import io.playce.roro.common.property.CommonProperties;
 import io.playce.roro.common.util.support.TargetHost;
+import io.playce.roro.common.util.support.ThirdPartySearchMatcher;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -112,9 +113,17 @@ public class ThirdPartySolutionUtil {
             }
         }
 
+        // PROCESS, RUNUSER, PKG, SVC, SCHEDULE 검색 조건은 수집된 목록을 유형별로 한 번씩만 검색한 결과를 사용한다.
+        ThirdPartySearchMatcher searchMatcher = ThirdPartySearchMatcher.of(thirdPartySearchTypeList);
+        String[] matchedProcesses = null, matchedUsers = null, matchedPackages = null;
+        boolean[] matchedServices = null, matchedSchedules = null;
+        Set<Integer> listenPorts = null;
+
         String command = null, result, message;
         boolean detected;
+        int index = -1;
         for (ThirdPartySearchTypeResponse thirdPartySearchType : thirdPartySearchTypeList) {
+            index++;
             detected = false;
             result = null;
             message = null;
@@ -125,27 +134,13 @@ public class ThirdPartySolutionUtil {
                         continue;
                     }
 
-                    List<String> searchList = Arrays.stream(thirdPartySearchType.getSearchValue().split(","))
-                            .map(String::trim)
-                            .filter(s -> StringUtils.isNotEmpty(s))
-                            .collect(Collectors.toList());
-
-                    int matchCount;
-
-                    for (String p : processList) {
-                        matchCount = 0;
-
-                        for (String s : searchList) {
-                            if (p.contains(s)) {
-                                matchCount++;
-                            }
-                        }
+                    if (matchedProcesses == null) {
+                        matchedProcesses = searchMatcher.findProcesses(processList);
+                    }
 
-                        if (matchCount == searchList.size()) {
-                            detected = true;
-                            message = "[" + p + "] process is running.";
-                            break;
-                        }
+                    if (matchedProcesses[index] != null) {
+                        detected = true;
+                        message = "[" + matchedProcesses[index] + "] process is running.";
                     }
                 } catch (Exception e) {
                     log.warn("Unhandled exception occurred while check 3rd party solutions by process. [Reason] : {}", e.getMessage());
@@ -156,12 +151,13 @@ public class ThirdPartySolutionUtil {
                         continue;
                     }
 
-                    for (String username : processUserList) {
-                        if (username.equalsIgnoreCase(thirdPartySearchType.getSearchValue())) {
-                            detected = true;
-                            message = "[" + username + "] user's process is running.";
-                            break;
-                        }
+                    if (matchedUsers == null) {
+                        matchedUsers = searchMatcher.findRunUsers(processUserList);
+                    }
+
+                    if (matchedUsers[index] != null) {
+                        detected = true;
+                        message = "[" + matchedUsers[index] + "] user's process is running.";
                     }
                 } catch (Exception e) {
                     log.warn("Unhandled exception occurred while check 3rd party solutions by process runtime user. [Reason] : {}", e.getMessage());
@@ -169,10 +165,13 @@ public class ThirdPartySolutionUtil {
             } else if (Domain1201.PKG.name().equals(thirdPartySearchType.getSearchType())) {
                 try {
                     if (installedSoftwareList != null) {
-                        List<String> swList = installedSoftwareList.stream().filter(s -> s.toLowerCase().contains(thirdPartySearchType.getSearchValue().toLowerCase().trim())).collect(Collectors.toList());
-                        if (swList != null && swList.size() > 0) {
+                        if (matchedPackages == null) {
+                            matchedPackages = searchMatcher.findPackages(installedSoftwareList);
+                        }
+
+                        if (matchedPackages[index] != null) {
                             detected = true;
-                            message = "[" + swList.get(0) + "] package installed.";
+                            message = "[" + matchedPackages[index] + "] package installed.";
                         }
                     } else {
                         if (componentName.toLowerCase().contains("windows")) {
@@ -211,7 +210,11 @@ public class ThirdPartySolutionUtil {
                 }
             } else if (Domain1201.SVC.name().equals(thirdPartySearchType.getSearchType())) {
                 try {
-                    if (serviceList != null && serviceList.stream().anyMatch(s -> s.toLowerCase().contains(thirdPartySearchType.getSearchValue().toLowerCase().replaceAll("\\*", StringUtils.EMPTY)))) {
+                    if (matchedServices == null) {
+                        matchedServices = searchMatcher.findServices(serviceList);
+                    }
+
+                    if (matchedServices[index]) {
                         detected = true;
                         message = "[" + thirdPartySearchType.getSearchValue() + "] service exists.";
                     }
@@ -236,18 +239,26 @@ public class ThirdPartySolutionUtil {
                     log.warn("Unhandled exception occurred while check 3rd party solutions by command. [Reason] : {}", e.getMessage());
                 }
             } else if (Domain1201.PORT.name().equals(thirdPartySearchType.getSearchType())) {
-                if (portList != null && portList.stream().anyMatch(p -> p == Integer.parseInt(thirdPartySearchType.getSearchValue()))) {
+                if (portList != null && listenPorts == null) {
+                    listenPorts = new HashSet<>(portList);
+                }
+
+                if (listenPorts != null && listenPorts.contains(Integer.parseInt(thirdPartySearchType.getSearchValue()))) {
                     detected = true;
                     message = "[" + thirdPartySearchType.getSearchValue() + "] port is listening.";
                 }
             } else if (Domain1201.SCHEDULE.name().equals(thirdPartySearchType.getSearchType())) {
+                if (matchedSchedules == null) {
+                    matchedSchedules = searchMatcher.findSchedules(scheduleMap == null ? null : isWindows ? scheduleMap.keySet() : scheduleMap.values());
+                }
+
                 if (isWindows) {
-                    if (scheduleMap != null && scheduleMap.keySet().stream().filter(c -> c.contains(thirdPartySearchType.getSearchValue().trim())).count() > 0) {
+                    if (matchedSchedules[index]) {
                         detected = true;
                         message = "[" + thirdPartySearchType.getSearchValue() + "] task exists in schedules.";
                     }
                 } else {
-                    if (scheduleMap != null && scheduleMap.values().stream().filter(c -> c.contains(thirdPartySearchType.getSearchValue().trim())).count() > 0) {
+                    if (matchedSchedules[index]) {
                         detected = true;
                         message = "[" + thirdPartySearchType.getSearchValue() + "] string exists in crontab.";
                     }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <pre>
+ * JDK 21 이상에서 실행되는 경우 virtual thread 를 생성하기 위한 ThreadFactory 를 제공한다.
+ *
+ * 기본 build(JDK 11)에서도 compile 될 수 있도록 Thread.ofVirtual() API 는 reflection 으로 호출하며,
+ * 지원하지 않는 JVM 에서는 isSupported() 가 false 를 반환한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class VirtualThreadUtil {
+
+    private static final Method OF_VIRTUAL = findOfVirtual();
+
+    /**
+     * 현재 JVM 에서 virtual thread 를 사용할 수 있는지 여부
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * threadNamePrefix 뒤에 1부터 증가하는 번호가 붙는 virtual thread 를 생성하는 ThreadFactory 를 반환한다.
+     */
+    public static ThreadFactory threadFactory(String threadNamePrefix) {
+        if (OF_VIRTUAL == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported on Java " + System.getProperty("java.version"));
+        }
+
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create virtual thread factory.", e);
+        }
+    }
+
+    private static Method findOfVirtual() {
+        // JDK 19, 20 의 virtual thread 는 preview 기능이므로 사용하지 않는다.
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+
+        try {
+            return Thread.class.getMethod("ofVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
+//end of VirtualThreadUtil.java
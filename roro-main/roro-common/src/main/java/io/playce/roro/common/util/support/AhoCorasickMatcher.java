@@ -0,0 +1,293 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.util.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * <pre>
+ * 여러 개의 문자열 pattern 을 한 번에 검색하기 위한 Aho-Corasick automaton.
+ *
+ * 문자열 하나를 한 번만 읽으면서 등록된 모든 pattern 의 포함 여부를 확인하므로,
+ * 검색 대상 문자열(process, package, service 등) 수 x pattern 수 만큼 contains() 를 반복하는 경우보다 빠르다.
+ * 생성 후에는 변경되지 않으므로 여러 thread 에서 공유할 수 있다.
+ *
+ * 빈 문자열 pattern 은 String.contains("") 와 동일하게 모든 문자열에 포함된 것으로 처리한다.
+ * </pre>
+ *
+ * @param <T> pattern 에 연결된 값의 type
+ *
+ * @version 3.0
+ */
+public final class AhoCorasickMatcher<T> {
+
+    private final boolean ignoreCase;
+    private final List<T> values;
+
+    // node 별 child (문자 오름차순) 및 failure link
+    private final char[][] childKeys;
+    private final int[][] childNodes;
+    private final int[] failures;
+    // node 에서 끝나는 pattern 의 index (failure link 를 따라가며 끝나는 pattern 포함)
+    private final int[][] outputs;
+
+    private AhoCorasickMatcher(Builder<T> builder) {
+        this.ignoreCase = builder.ignoreCase;
+        this.values = new ArrayList<>(builder.values);
+
+        int size = builder.children.size();
+        childKeys = new char[size][];
+        childNodes = new int[size][];
+        failures = new int[size];
+        outputs = new int[size][];
+
+        for (int i = 0; i < size; i++) {
+            Map<Character, Integer> children = builder.children.get(i);
+            childKeys[i] = new char[children.size()];
+            childNodes[i] = new int[children.size()];
+
+            int j = 0;
+            for (Map.Entry<Character, Integer> entry : children.entrySet()) {
+                childKeys[i][j] = entry.getKey();
+                childNodes[i][j] = entry.getValue();
+                j++;
+            }
+        }
+
+        buildFailures(builder.terminals);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>(false);
+    }
+
+    /**
+     * 대소문자를 구분하지 않는 matcher 를 생성하기 위한 builder
+     */
+    public static <T> Builder<T> ignoreCaseBuilder() {
+        return new Builder<>(true);
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * text 에 포함된 pattern 의 값을 pattern 이 처음 발견된 순서대로 중복 없이 반환한다.
+     */
+    public Set<T> match(String text) {
+        Set<T> result = new LinkedHashSet<>();
+
+        if (text == null || values.isEmpty()) {
+            return result;
+        }
+
+        boolean[] found = new boolean[values.size()];
+        scan(text, index -> {
+            if (!found[index]) {
+                found[index] = true;
+                result.add(values.get(index));
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * text 에 포함된 pattern 의 index(등록 순서)를 발견될 때마다 전달한다. 같은 pattern 이 여러 번 전달될 수 있다.
+     */
+    public void scan(String text, IndexConsumer consumer) {
+        if (text == null) {
+            return;
+        }
+
+        int state = 0;
+        emit(state, consumer);
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = ignoreCase ? Character.toLowerCase(text.charAt(i)) : text.charAt(i);
+
+            int next;
+            while ((next = child(state, c)) < 0 && state != 0) {
+                state = failures[state];
+            }
+
+            state = next < 0 ? 0 : next;
+            emit(state, consumer);
+        }
+    }
+
+    /**
+     * 등록 순서(index)에 해당하는 값
+     */
+    public T getValue(int index) {
+        return values.get(index);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * 문자열 목록을 순서대로 검색하여, 각 pattern 이 처음으로 포함된 문자열을 pattern 의 값과 함께 전달한다.
+     * 모든 pattern 이 발견되면 나머지 문자열은 검색하지 않는다.
+     */
+    public void forEachFirstMatch(Iterable<String> texts, FirstMatchConsumer<T> consumer) {
+        boolean[] found = new boolean[values.size()];
+        int[] remaining = {values.size()};
+
+        for (String text : texts) {
+            if (remaining[0] == 0) {
+                break;
+            }
+
+            scan(text, index -> {
+                if (!found[index]) {
+                    found[index] = true;
+                    remaining[0]--;
+                    consumer.accept(values.get(index), text);
+                }
+            });
+        }
+    }
+
+    private void emit(int state, IndexConsumer consumer) {
+        for (int index : outputs[state]) {
+            consumer.accept(index);
+        }
+    }
+
+    private int child(int state, char c) {
+        int idx = Arrays.binarySearch(childKeys[state], c);
+        return idx < 0 ? -1 : childNodes[state][idx];
+    }
+
+    private void buildFailures(List<List<Integer>> terminals) {
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        outputs[0] = toArray(terminals.get(0));
+
+        for (int child : childNodes[0]) {
+            failures[child] = 0;
+            queue.add(child);
+        }
+
+        // 너비 우선으로 failure link 를 계산하며, 상위 node 의 output 은 항상 먼저 계산되어 있다.
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+
+            List<Integer> output = new ArrayList<>(terminals.get(node));
+            for (int index : outputs[failures[node]]) {
+                output.add(index);
+            }
+            outputs[node] = toArray(output);
+
+            for (int i = 0; i < childKeys[node].length; i++) {
+                char c = childKeys[node][i];
+                int child = childNodes[node][i];
+
+                int state = failures[node];
+                int next;
+                while ((next = child(state, c)) < 0 && state != 0) {
+                    state = failures[state];
+                }
+
+                failures[child] = next < 0 ? 0 : next;
+                queue.add(child);
+            }
+        }
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    @FunctionalInterface
+    public interface IndexConsumer {
+        void accept(int index);
+    }
+
+    @FunctionalInterface
+    public interface FirstMatchConsumer<T> {
+        void accept(T value, String text);
+    }
+
+    public static class Builder<T> {
+        private final boolean ignoreCase;
+        private final List<T> values = new ArrayList<>();
+        private final List<Map<Character, Integer>> children = new ArrayList<>();
+        private final List<List<Integer>> terminals = new ArrayList<>();
+
+        private Builder(boolean ignoreCase) {
+            this.ignoreCase = ignoreCase;
+            newNode();
+        }
+
+        /**
+         * pattern 과 pattern 이 발견되었을 때 반환할 값을 등록한다. 같은 pattern 을 여러 값으로 등록할 수 있다.
+         */
+        public Builder<T> add(String pattern, T value) {
+            int state = 0;
+
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = ignoreCase ? Character.toLowerCase(pattern.charAt(i)) : pattern.charAt(i);
+                Integer next = children.get(state).get(c);
+
+                if (next == null) {
+                    next = newNode();
+                    children.get(state).put(c, next);
+                }
+
+                state = next;
+            }
+
+            terminals.get(state).add(values.size());
+            values.add(value);
+
+            return this;
+        }
+
+        public Builder<T> addAll(Iterable<String> patterns, T value) {
+            for (String pattern : patterns) {
+                add(pattern, value);
+            }
+            return this;
+        }
+
+        public AhoCorasickMatcher<T> build() {
+            return new AhoCorasickMatcher<>(this);
+        }
+
+        private int newNode() {
+            children.add(new TreeMap<>());
+            terminals.add(new ArrayList<>());
+            return children.size() - 1;
+        }
+    }
+}
+//end of AhoCorasickMatcher.java
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.util.support;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <pre>
+ * Assessment 결과(json 파일)를 최상위 항목 단위로 압축하여 저장하고, 필요한 항목만 읽을 수 있도록 한다.
+ *
+ * 1. 결과 파일과 같은 경로에 확장자가 .rrs 인 파일로 저장하며, 각 최상위 항목은 Smile(binary json)으로 encoding 한 후 Deflate 로 압축한다.
+ * 2. 파일 끝에 항목 별 위치, 크기를 기록한 index 가 있으므로, 요청한 항목의 block 만 읽어서 복원한다.
+ * 3. json 파일은 streaming 으로 읽으므로 결과 전체를 메모리에 올리지 않는다.
+ * 4. 저장 파일이 없거나(이전 버전의 결과 등) 읽을 수 없는 경우 read 계열 메소드는 null 을 반환하며, 호출하는 쪽에서 기존 json 을 사용한다.
+ *
+ * File layout : MAGIC(4) VERSION(1) [block]... [index] INDEX_OFFSET(8) MAGIC(4)
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Slf4j
+public class AssessmentResultStore {
+
+    public static final String EXTENSION = "rrs";
+
+    private static final int MAGIC = 0x52525331; // "RRS1"
+    private static final byte VERSION = 1;
+    private static final int TRAILER_LENGTH = 12;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper(JSON_FACTORY);
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(SMILE_FACTORY);
+
+    /**
+     * json 결과 파일에 대응하는 저장 파일
+     */
+    public static File getStoreFile(String jsonFilePath) {
+        return new File(FilenameUtils.removeExtension(jsonFilePath) + "." + EXTENSION);
+    }
+
+    /**
+     * json 결과 파일을 읽어 저장 파일을 생성한다. 최상위가 객체가 아닌 경우 생성하지 않는다.
+     *
+     * @return 생성된 저장 파일, 생성하지 않은 경우 null
+     */
+    public static File write(File jsonFile) throws IOException {
+        File storeFile = getStoreFile(jsonFile.getAbsolutePath());
+        File tempFile = new File(storeFile.getAbsolutePath() + ".tmp");
+
+        try (JsonParser parser = JSON_FACTORY.createParser(jsonFile)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            List<Entry> entries = new ArrayList<>();
+            ByteArrayOutputStream block = new ByteArrayOutputStream(64 * 1024);
+
+            try (CountingOutputStream out = new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                DataOutputStream data = new DataOutputStream(out);
+                data.writeInt(MAGIC);
+                data.writeByte(VERSION);
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+
+                    block.reset();
+                    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                    try (JsonGenerator generator = SMILE_FACTORY.createGenerator(new DeflaterOutputStream(block, deflater))) {
+                        generator.copyCurrentStructure(parser);
+                    } finally {
+                        deflater.end();
+                    }
+
+                    entries.add(new Entry(name, out.getCount(), block.size()));
+                    block.writeTo(out);
+                }
+
+                long indexOffset = out.getCount();
+                data.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    data.writeUTF(entry.name);
+                    data.writeLong(entry.offset);
+                    data.writeInt(entry.length);
+                }
+                data.writeLong(indexOffset);
+                data.writeInt(MAGIC);
+                data.flush();
+            }
+
+            Files.move(tempFile.toPath(), storeFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return storeFile;
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    /**
+     * 요청한 최상위 항목만 읽는다. fields 가 비어 있으면 모든 항목을 읽는다.
+     *
+     * @return 요청한 항목으로 구성된 객체 (결과에 없는 항목은 제외), 저장 파일이 없거나 읽을 수 없는 경우 null
+     */
+    public static ObjectNode read(String jsonFilePath, String... fields) {
+        if (StringUtils.isEmpty(jsonFilePath)) {
+            return null;
+        }
+
+        File storeFile = getStoreFile(jsonFilePath);
+
+        if (!storeFile.exists()) {
+            return null;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(storeFile, "r")) {
+            Map<String, Entry> index = readIndex(file);
+            List<Entry> entries = new ArrayList<>();
+
+            if (fields == null || fields.length == 0) {
+                entries.addAll(index.values());
+            } else {
+                for (String field : fields) {
+                    Entry entry = index.get(field);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+            }
+
+            // 파일을 앞에서부터 순서대로 읽도록 위치 순으로 정렬한다.
+            entries.sort((e1, e2) -> Long.compare(e1.offset, e2.offset));
+
+            ObjectNode node = JSON_MAPPER.createObjectNode();
+            for (Entry entry : entries) {
+                byte[] block = new byte[entry.length];
+                file.seek(entry.offset);
+                file.readFully(block);
+
+                try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(block))) {
+                    node.set(entry.name, SMILE_MAPPER.readTree(in));
+                }
+            }
+
+            return node;
+        } catch (IOException e) {
+            log.warn("Unable to read [{}]. Reason : [{}]", storeFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 요청한 최상위 항목만 읽어서 json 문자열로 반환한다.
+     *
+     * @return 요청한 항목으로 구성된 json, 저장 파일이 없거나 읽을 수 없는 경우 null
+     */
+    public static String readAsJson(String jsonFilePath, String... fields) {
+        JsonNode node = read(jsonFilePath, fields);
+
+        if (node == null) {
+            return null;
+        }
+
+        try {
+            return JSON_MAPPER.writeValueAsString(node);
+        } catch (IOException e) {
+            log.warn("Unable to write the assessment result of [{}]. Reason : [{}]", jsonFilePath, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Map<String, Entry> readIndex(RandomAccessFile file) throws IOException {
+        long length = file.length();
+
+        if (length < 5 + TRAILER_LENGTH) {
+            throw new IOException("Invalid file length : " + length);
+        }
+
+        file.seek(0);
+        if (file.readInt() != MAGIC || file.readByte() != VERSION) {
+            throw new IOException("Unsupported file format.");
+        }
+
+        file.seek(length - TRAILER_LENGTH);
+        long indexOffset = file.readLong();
+        if (file.readInt() != MAGIC || indexOffset < 5 || indexOffset > length - TRAILER_LENGTH) {
+            throw new IOException("Invalid file trailer.");
+        }
+
+        byte[] indexBytes = new byte[(int) (length - TRAILER_LENGTH - indexOffset)];
+        file.seek(indexOffset);
+        file.readFully(indexBytes);
+
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(indexBytes));
+        int count = data.readInt();
+        Map<String, Entry> index = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            Entry entry = new Entry(data.readUTF(), data.readLong(), data.readInt());
+            index.put(entry.name, entry);
+        }
+
+        return Collections.unmodifiableMap(index);
+    }
+
+    private static class Entry {
+        private final String name;
+        private final long offset;
+        private final int length;
+
+        private Entry(String name, long offset, int length) {
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        @Getter
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
+//end of AssessmentResultStore.java
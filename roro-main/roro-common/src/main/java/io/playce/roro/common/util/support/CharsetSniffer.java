@@ -0,0 +1,349 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.util.support;
+
+import com.ibm.icu.text.CharsetDetector;
+import com.ibm.icu.text.CharsetMatch;
+import org.apache.commons.io.IOUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * 파일 내용의 charset 을 판별하여 문자열 또는 Reader 로 변환한다.
+ *
+ * 아래 순서로 판별하며, 앞 단계에서 판별되면 뒤 단계는 수행하지 않는다.
+ * 1. BOM 이 있으면 BOM 의 charset
+ * 2. 유효한 UTF-8 이면 UTF-8 (byte 배열을 복사하지 않고 확인하며, ASCII 로만 구성된 파일도 여기에 해당한다.)
+ * 3. 같은 디렉토리의 다른 파일에서 판별된 multi-byte charset(EUC-KR 등) 으로 오류 없이 decode 되면 해당 charset
+ * 4. 앞부분(DETECT_LIMIT) 만 ICU CharsetDetector 로 판별하며, EUC-KR 후보가 있으면 EUC-KR 을 사용한다.
+ *
+ * 디렉토리별 판별 결과는 instance 에 저장되므로 분석 단위로 생성하여 사용하며, 여러 thread 에서 공유할 수 있다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class CharsetSniffer {
+
+    /**
+     * ICU CharsetDetector 로 판별할 최대 크기
+     */
+    private static final int DETECT_LIMIT = 32 * 1024;
+    /**
+     * newReader(File) 에서 charset 판별을 위해 미리 읽는 최대 크기. 이보다 큰 파일은 앞부분으로 판별한다.
+     */
+    private static final int READ_AHEAD_LIMIT = 1024 * 1024;
+
+    private final Map<String, Charset> directoryCharsets = new ConcurrentHashMap<>();
+
+    /**
+     * 파일 내용을 문자열로 변환한다.
+     *
+     * @param data      파일 내용
+     * @param directory 파일이 위치한 디렉토리 (null 이면 디렉토리별 판별 결과를 사용하지 않는다.)
+     */
+    public String toString(byte[] data, String directory) {
+        Charset charset = detect(data, data.length, true, directory);
+        int bom = getBomLength(data, data.length);
+
+        return new String(data, bom, data.length - bom, charset);
+    }
+
+    /**
+     * 파일 내용을 line 단위로 읽기 위한 Reader 를 생성한다.
+     *
+     * @param data      파일 내용
+     * @param directory 파일이 위치한 디렉토리 (null 이면 디렉토리별 판별 결과를 사용하지 않는다.)
+     */
+    public BufferedReader newReader(byte[] data, String directory) {
+        Charset charset = detect(data, data.length, true, directory);
+        int bom = getBomLength(data, data.length);
+
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(data, bom, data.length - bom), charset));
+    }
+
+    /**
+     * 파일을 line 단위로 읽기 위한 Reader 를 생성한다.
+     * 파일 전체를 문자열로 변환하지 않으며, READ_AHEAD_LIMIT 보다 큰 파일은 앞부분으로 charset 을 판별한 후 나머지를 이어서 읽는다.
+     *
+     * @param file the file
+     */
+    public BufferedReader newReader(File file) throws IOException {
+        InputStream input = new FileInputStream(file);
+
+        try {
+            boolean complete = file.length() <= READ_AHEAD_LIMIT;
+            byte[] head = new byte[(int) Math.min(file.length(), READ_AHEAD_LIMIT)];
+            int length = IOUtils.read(input, head);
+
+            Charset charset = detect(head, length, complete, file.getParent());
+            int bom = getBomLength(head, length);
+
+            InputStream stream = new ByteArrayInputStream(head, bom, length - bom);
+            if (complete) {
+                input.close();
+            } else {
+                stream = new SequenceInputStream(stream, input);
+            }
+
+            return new BufferedReader(new InputStreamReader(stream, charset));
+        } catch (IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param data      the data
+     * @param length    data 중 판별에 사용할 길이
+     * @param complete  data 가 파일 전체인지 여부 (false 이면 마지막의 불완전한 multi-byte 문자를 허용한다.)
+     * @param directory the directory
+     */
+    private Charset detect(byte[] data, int length, boolean complete, String directory) {
+        Charset charset = getBomCharset(data, length);
+        if (charset != null) {
+            return charset;
+        }
+
+        if (isUtf8(data, length, complete)) {
+            return StandardCharsets.UTF_8;
+        }
+
+        if (directory != null) {
+            charset = directoryCharsets.get(directory);
+
+            if (charset != null && canDecode(charset, data, length, complete)) {
+                return charset;
+            }
+        }
+
+        charset = detectByIcu(data, length);
+
+        if (directory != null && isRememberable(charset)) {
+            directoryCharsets.put(directory, charset);
+        }
+
+        return charset;
+    }
+
+    /**
+     * 디렉토리별 판별 결과로 저장할 수 있는 charset 인지 여부
+     *
+     * 1. single-byte charset 은 모든 byte 를 decode 할 수 있어 검증할 수 없으므로 저장하지 않는다.
+     * 2. ISO-2022-CN 과 같이 encode 를 지원하지 않는 charset 은 newEncoder() 에서 오류가 발생하므로 저장하지 않는다.
+     */
+    static boolean isRememberable(Charset charset) {
+        return charset.canEncode() && charset.newEncoder().maxBytesPerChar() > 1 && !StandardCharsets.UTF_8.equals(charset);
+    }
+
+    /**
+     * directory 에 저장된 판별 결과
+     */
+    Charset getDirectoryCharset(String directory) {
+        return directoryCharsets.get(directory);
+    }
+
+    private static Charset detectByIcu(byte[] data, int length) {
+        byte[] text = data;
+
+        if (length > DETECT_LIMIT) {
+            // multi-byte 문자의 중간에서 자르지 않도록 마지막 ASCII 문자까지만 사용한다.
+            int end = DETECT_LIMIT;
+            while (end > DETECT_LIMIT / 2 && data[end - 1] < 0) {
+                end--;
+            }
+            text = Arrays.copyOf(data, end);
+        } else if (length < data.length) {
+            text = Arrays.copyOf(data, length);
+        }
+
+        CharsetDetector detector = new CharsetDetector();
+        detector.setDeclaredEncoding("UTF-8");
+        detector.setText(text);
+
+        CharsetMatch[] matches = detector.detectAll();
+
+        String name = null;
+        for (CharsetMatch m : matches) {
+            if (m.getName().equalsIgnoreCase("euc-kr")) {
+                name = m.getName();
+                break;
+            }
+        }
+
+        if (name == null && matches.length > 0) {
+            name = matches[0].getName();
+        }
+
+        try {
+            if (name != null && Charset.isSupported(name)) {
+                return Charset.forName(name);
+            }
+        } catch (IllegalArgumentException e) {
+            // ignore
+        }
+
+        // JVM 에서 지원하지 않는 charset(IBM424_rtl 등) 은 byte 를 그대로 문자로 변환한다.
+        return name == null ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1;
+    }
+
+    private static Charset getBomCharset(byte[] data, int length) {
+        if (length >= 3 && (data[0] & 0xFF) == 0xEF && (data[1] & 0xFF) == 0xBB && (data[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+
+        if (length >= 2 && (data[0] & 0xFF) == 0xFE && (data[1] & 0xFF) == 0xFF) {
+            return StandardCharsets.UTF_16BE;
+        }
+
+        if (length >= 2 && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xFE) {
+            return StandardCharsets.UTF_16LE;
+        }
+
+        return null;
+    }
+
+    private static int getBomLength(byte[] data, int length) {
+        Charset charset = getBomCharset(data, length);
+
+        if (charset == null) {
+            return 0;
+        }
+
+        return StandardCharsets.UTF_8.equals(charset) ? 3 : 2;
+    }
+
+    /**
+     * 유효한 UTF-8 인지 확인한다. (overlong, surrogate 등 Java 의 UTF-8 decoder 가 거부하는 sequence 는 유효하지 않다.)
+     */
+    static boolean isUtf8(byte[] data, int length, boolean complete) {
+        int i = 0;
+
+        while (i < length) {
+            // ASCII 는 8 byte 단위로 건너뛴다.
+            while (i + 8 <= length && ((data[i] | data[i + 1] | data[i + 2] | data[i + 3] |
+                    data[i + 4] | data[i + 5] | data[i + 6] | data[i + 7]) & 0x80) == 0) {
+                i += 8;
+            }
+
+            if (i >= length) {
+                break;
+            }
+
+            int b = data[i] & 0xFF;
+
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+
+            int size;
+            int min = 0x80;
+            int max = 0xBF;
+
+            if (b >= 0xC2 && b <= 0xDF) {
+                size = 2;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                size = 3;
+                if (b == 0xE0) {
+                    min = 0xA0;
+                } else if (b == 0xED) {
+                    max = 0x9F;
+                }
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                size = 4;
+                if (b == 0xF0) {
+                    min = 0x90;
+                } else if (b == 0xF4) {
+                    max = 0x8F;
+                }
+            } else {
+                return false;
+            }
+
+            if (i + size > length) {
+                // 파일의 앞부분인 경우 마지막 문자가 잘렸을 수 있다.
+                if (complete) {
+                    return false;
+                }
+                size = length - i;
+            }
+
+            for (int j = 1; j < size; j++) {
+                int c = data[i + j] & 0xFF;
+
+                if (j == 1 ? (c < min || c > max) : (c < 0x80 || c > 0xBF)) {
+                    return false;
+                }
+            }
+
+            i += size;
+        }
+
+        return true;
+    }
+
+    /**
+     * 문자열을 생성하지 않고 decode 오류 여부만 확인한다.
+     */
+    private static boolean canDecode(Charset charset, byte[] data, int length, boolean complete) {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+        ByteBuffer in = ByteBuffer.wrap(data, 0, length);
+        CharBuffer out = CharBuffer.allocate(4096);
+
+        while (true) {
+            CoderResult result = decoder.decode(in, out, complete);
+
+            if (result.isError()) {
+                return false;
+            }
+
+            if (result.isUnderflow()) {
+                break;
+            }
+
+            out.clear();
+        }
+
+        if (complete) {
+            out.clear();
+            return !decoder.flush(out).isError();
+        }
+
+        return true;
+    }
+}
+//end of CharsetSniffer.java
@@ -36,6 +36,7 @@ import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.text.SimpleDateFormat;
 import java.util.*;
@@ -698,7 +699,6 @@ public class ExcelHelper {
         linkFont.setColor(IndexedColors.BLUE.getIndex());
 
         SXSSFSheet contentsSheet = workbook.getSheetAt(1);
-        contentsSheet.trackAllColumnsForAutoSizing();
         SXSSFRow row = contentsSheet.createRow(contentsSheet.getLastRowNum() + 1);
 
         SXSSFCell cell = createCellWithBorder(workbook, row, HorizontalAlignment.CENTER, BorderStyle.THIN, true, styleMap);
@@ -747,7 +747,8 @@ public class ExcelHelper {
 
         if (refSheet == null) {
             refSheet = workbook.createSheet(REF_SHEET_NAME);
-            refSheet.trackAllColumnsForAutoSizing();
+            // 값을 추가할 때마다 첫번째 row 부터 다시 조회하므로 모든 row 를 메모리에 유지한다.
+            refSheet.setRandomAccessWindowSize(-1);
             refSheet.setTabColor(IndexedColors.SKY_BLUE.getIndex());
         }
 
@@ -808,6 +809,21 @@ public class ExcelHelper {
     public static void autoSizeColumn(SXSSFWorkbook workbook) throws InterruptedException {
         SXSSFSheet sheet;
 
+        // Move "Cell Reference" sheet to last
+        if (workbook.getSheet(REF_SHEET_NAME) != null) {
+            workbook.setSheetOrder(REF_SHEET_NAME, workbook.getNumberOfSheets() - 1);
+        }
+
+        // ExcelWorkbookWriter 로 생성된 workbook 은 기록된 cell 값의 길이로 column 폭을 설정한다.
+        try {
+            if (ExcelWorkbookWriter.autoSizeColumn(workbook)) {
+                return;
+            }
+        } catch (IOException e) {
+            log.warn("Unable to flush rows for column sizing. Reason : [{}]", e.getMessage());
+            return;
+        }
+
         int start = 0;
         if (workbook.getNumberOfSheets() > 1) {
             start = 1;
@@ -855,11 +871,6 @@ public class ExcelHelper {
                 // ignore
             }
         }
-
-        // Move "Cell Reference" sheet to last
-        if (workbook.getSheet(REF_SHEET_NAME) != null) {
-            workbook.setSheetOrder(REF_SHEET_NAME, workbook.getNumberOfSheets() - 1);
-        }
     }
 
     /**
@@ -892,28 +903,20 @@ public class ExcelHelper {
                     if (node.isInt()) {
                         cell.setCellValue(node.asInt());
                         if (!nodeName.toLowerCase().contains("port") && !nodeName.toLowerCase().contains("id")) {
-                            CellStyle style = copyCellStyle(workbook, cell.getCellStyle());
-                            style.setDataFormat(styleMap.get("#,##0").getDataFormat());
-                            cell.setCellStyle(style);
+                            cell.setCellStyle(getDerivedCellStyle(workbook, cell.getCellStyle(), styleMap, styleMap.get("#,##0").getDataFormat(), null, false));
                             // cell.getCellStyle().setDataFormat(styleMap.get("#,##0").getDataFormat());
                         }
                     } else if (node.isLong()) {
                         cell.setCellValue(node.asLong());
-                        CellStyle style = copyCellStyle(workbook, cell.getCellStyle());
-                        style.setDataFormat(styleMap.get("#,##0").getDataFormat());
-                        cell.setCellStyle(style);
+                        cell.setCellStyle(getDerivedCellStyle(workbook, cell.getCellStyle(), styleMap, styleMap.get("#,##0").getDataFormat(), null, false));
                         // cell.getCellStyle().setDataFormat(styleMap.get("#,##0").getDataFormat());
                     } else if (node.isFloat()) {
                         cell.setCellValue(node.asDouble());
-                        CellStyle style = copyCellStyle(workbook, cell.getCellStyle());
-                        style.setDataFormat(styleMap.get("#,##0.00").getDataFormat());
-                        cell.setCellStyle(style);
+                        cell.setCellStyle(getDerivedCellStyle(workbook, cell.getCellStyle(), styleMap, styleMap.get("#,##0.00").getDataFormat(), null, false));
                         // cell.getCellStyle().setDataFormat(styleMap.get("#,##0.00").getDataFormat());
                     } else if (node.isDouble()) {
                         cell.setCellValue(node.asDouble());
-                        CellStyle style = copyCellStyle(workbook, cell.getCellStyle());
-                        style.setDataFormat(styleMap.get("#,##0.00").getDataFormat());
-                        cell.setCellStyle(style);
+                        cell.setCellStyle(getDerivedCellStyle(workbook, cell.getCellStyle(), styleMap, styleMap.get("#,##0.00").getDataFormat(), null, false));
                         // cell.getCellStyle().setDataFormat(styleMap.get("#,##0.00").getDataFormat());
                     } else if (node.isShort()) {
                         cell.setCellValue(node.asInt());
@@ -939,9 +942,7 @@ public class ExcelHelper {
                 }
 
                 if (cell.getStringCellValue().startsWith("-") && !NumberUtils.isCreatable(cell.getStringCellValue())) {
-                    CellStyle style = copyCellStyle(workbook, cell.getCellStyle());
-                    style.setQuotePrefixed(true);
-                    cell.setCellStyle(style);
+                    cell.setCellStyle(getDerivedCellStyle(workbook, cell.getCellStyle(), styleMap, null, null, true));
                 }
             } else if (node.isArray()) {
                 List<String> nodeList = new ArrayList<>();
@@ -969,9 +970,7 @@ public class ExcelHelper {
                 }
 
                 if (cell.getStringCellValue().startsWith("-") && !NumberUtils.isCreatable(cell.getStringCellValue())) {
-                    CellStyle style = copyCellStyle(workbook, cell.getCellStyle());
-                    style.setQuotePrefixed(true);
-                    cell.setCellStyle(style);
+                    cell.setCellStyle(getDerivedCellStyle(workbook, cell.getCellStyle(), styleMap, null, null, true));
                 }
             }
         }
@@ -987,8 +986,7 @@ public class ExcelHelper {
     public static void setCellData(SXSSFWorkbook workbook, SXSSFCell cell, Map<String, CellStyle> styleMap, Object value, String nodeName) {
         if (value != null) {
             if (value instanceof Integer || value instanceof Long || value instanceof Float || value instanceof Double) {
-                CellStyle style = copyCellStyle(workbook, cell.getCellStyle());
-                style.setAlignment(HorizontalAlignment.RIGHT);
+                CellStyle style = getDerivedCellStyle(workbook, cell.getCellStyle(), styleMap, null, HorizontalAlignment.RIGHT, false);
 
                 if (nodeName != null && !nodeName.toLowerCase().endsWith("id") && !nodeName.toLowerCase().contains("port")) {
                     try {
@@ -1010,9 +1008,7 @@ public class ExcelHelper {
 
                 // 음수가 아닌 -로 시작하는 문자는 ' 문자를 붙여준다.
                 if (cell.getStringCellValue().startsWith("-") && !NumberUtils.isCreatable(cell.getStringCellValue())) {
-                    CellStyle style = copyCellStyle(workbook, cell.getCellStyle());
-                    style.setQuotePrefixed(true);
-                    cell.setCellStyle(style);
+                    cell.setCellStyle(getDerivedCellStyle(workbook, cell.getCellStyle(), styleMap, null, null, true));
                 }
             }
         }
@@ -1078,6 +1074,43 @@ public class ExcelHelper {
         return rowIdx;
     }
 
+    /**
+     * origin 스타일에 data format, 정렬, quote prefix 를 적용한 스타일을 반환한다.
+     * 같은 조합의 스타일은 styleMap 에 보관하여 cell 마다 새로운 스타일을 생성하지 않도록 한다.
+     *
+     * @param workbook      the workbook
+     * @param origin        the origin
+     * @param styleMap      the style map
+     * @param dataFormat    the data format (null 이면 origin 의 data format)
+     * @param align         the align (null 이면 origin 의 align)
+     * @param quotePrefixed the quote prefixed
+     * @return the cell style
+     */
+    public static CellStyle getDerivedCellStyle(SXSSFWorkbook workbook, CellStyle origin, Map<String, CellStyle> styleMap, Short dataFormat, HorizontalAlignment align, boolean quotePrefixed) {
+        String key = "DERIVED_" + origin.getIndex() + "_" + dataFormat + "_" + align + "_" + quotePrefixed;
+
+        CellStyle style = styleMap != null ? styleMap.get(key) : null;
+        if (style == null) {
+            style = copyCellStyle(workbook, origin);
+
+            if (dataFormat != null) {
+                style.setDataFormat(dataFormat);
+            }
+            if (align != null) {
+                style.setAlignment(align);
+            }
+            if (quotePrefixed) {
+                style.setQuotePrefixed(true);
+            }
+
+            if (styleMap != null) {
+                styleMap.put(key, style);
+            }
+        }
+
+        return style;
+    }
+
     /**
      * Copy cell style.
      *
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.util.support;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * <pre>
+ * Excel report 생성을 위한 SXSSFWorkbook 을 생성하고 기록한다.
+ *
+ * 1. Sheet 별로 ROW_ACCESS_WINDOW_SIZE 개의 row 만 메모리에 유지하며, 나머지 row 는 임시 파일로 기록된다.
+ *    이미 기록된 row 를 다시 조회해야 하는 sheet 는 setRandomAccessWindowSize(-1) 로 window 를 해제해야 한다.
+ * 2. row 가 임시 파일로 기록될 때 cell 값의 문자열 길이로 column 별 최대 길이를 계산하므로,
+ *    trackAllColumnsForAutoSizing(), autoSizeColumn() 과 같이 font 로 문자열 폭을 계산하지 않는다.
+ * 3. autoSizeColumn() 은 남은 row 를 모두 기록한 후 계산된 길이로 column 폭을 설정하며, 이후 row 를 조회할 수 없다.
+ * 4. SXSSF row 를 사용하지 않고 XSSFWorkbook 에 직접 row 를 생성하는 report 는 autoSizeColumn(Sheet, int) 로 같은 방식의 폭을 설정한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class ExcelWorkbookWriter {
+
+    public static final int ROW_ACCESS_WINDOW_SIZE = 500;
+
+    // 12pt font 기준의 대략적인 문자 폭 (1/256 character)
+    private static final int CHARACTER_WIDTH = 280;
+    private static final int COLUMN_WIDTH_PADDING = 2500;
+    private static final int MAX_COLUMN_WIDTH = 30000;
+    private static final int DATE_LENGTH = 19;
+
+    /**
+     * 빈 workbook 을 생성한다.
+     */
+    public static SXSSFWorkbook createWorkbook() {
+        return new ColumnWidthTrackingWorkbook(null);
+    }
+
+    /**
+     * template(기존 파일) 으로 workbook 을 생성한다. template 의 row 는 column 폭 계산에 포함되지 않는다.
+     */
+    public static SXSSFWorkbook createWorkbook(XSSFWorkbook template) {
+        return new ColumnWidthTrackingWorkbook(template);
+    }
+
+    /**
+     * 기록된 cell 값의 길이로 column 폭을 설정한다. Sheet 가 2개 이상인 경우 첫번째(Cover) sheet 는 제외한다.
+     *
+     * @return createWorkbook() 으로 생성된 workbook 이 아니면 false
+     */
+    public static boolean autoSizeColumn(SXSSFWorkbook workbook) throws IOException {
+        if (!(workbook instanceof ColumnWidthTrackingWorkbook)) {
+            return false;
+        }
+
+        ColumnWidthTrackingWorkbook trackingWorkbook = (ColumnWidthTrackingWorkbook) workbook;
+
+        int start = 0;
+        if (workbook.getNumberOfSheets() > 1) {
+            start = 1;
+        }
+
+        for (int i = start; i < workbook.getNumberOfSheets(); i++) {
+            SXSSFSheet sheet = workbook.getSheetAt(i);
+            sheet.flushRows();
+
+            Map<Integer, Integer> lengths = trackingWorkbook.columnLengths.get(sheet);
+            if (lengths != null) {
+                setColumnWidth(sheet, lengths, COLUMN_WIDTH_PADDING);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 메모리에 있는 row(XSSFWorkbook 의 sheet 등)의 cell 값 길이로 column 폭을 설정한다.
+     * 여러 column 이 병합된 cell 은 길이를 병합된 column 수로 나누어 계산한다.
+     *
+     * @param sheet   the sheet
+     * @param padding 계산된 폭에 추가할 여백 (1/256 character)
+     */
+    public static void autoSizeColumn(Sheet sheet, int padding) {
+        Map<CellAddress, Integer> colspans = new HashMap<>();
+        for (CellRangeAddress region : sheet.getMergedRegions()) {
+            if (region.getLastColumn() > region.getFirstColumn()) {
+                colspans.put(new CellAddress(region.getFirstRow(), region.getFirstColumn()), region.getLastColumn() - region.getFirstColumn() + 1);
+            }
+        }
+
+        Map<Integer, Integer> lengths = new HashMap<>();
+        for (Row row : sheet) {
+            for (Cell cell : row) {
+                int length = getLength(cell);
+
+                if (length > 0) {
+                    Integer colspan = colspans.get(cell.getAddress());
+                    if (colspan != null) {
+                        length = (length + colspan - 1) / colspan;
+                    }
+
+                    lengths.merge(cell.getColumnIndex(), length, Math::max);
+                }
+            }
+        }
+
+        setColumnWidth(sheet, lengths, padding);
+    }
+
+    /**
+     * workbook 을 기록하고 임시 파일을 삭제한다.
+     */
+    public static void write(SXSSFWorkbook workbook, OutputStream out) throws IOException {
+        try {
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    private static void setColumnWidth(Sheet sheet, Map<Integer, Integer> lengths, int padding) {
+        for (Map.Entry<Integer, Integer> entry : lengths.entrySet()) {
+            sheet.setColumnWidth(entry.getKey(), Math.min(entry.getValue() * CHARACTER_WIDTH + padding, MAX_COLUMN_WIDTH));
+        }
+    }
+
+    private static int getLength(Cell cell) {
+        CellType cellType = cell.getCellType();
+
+        if (cellType == CellType.STRING) {
+            return getLength(cell.getStringCellValue());
+        } else if (cellType == CellType.NUMERIC) {
+            if (DateUtil.isCellDateFormatted(cell)) {
+                return DATE_LENGTH;
+            }
+
+            // 천 단위 구분자를 포함한 길이
+            String value = NumberToTextConverter.toText(cell.getNumericCellValue());
+            return value.length() + value.length() / 3;
+        } else if (cellType == CellType.BOOLEAN) {
+            return 5;
+        }
+
+        return 0;
+    }
+
+    /**
+     * 가장 긴 line 의 길이. 한글 등 전각 문자는 2로 계산한다.
+     */
+    private static int getLength(String value) {
+        if (value == null) {
+            return 0;
+        }
+
+        int max = 0;
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == '\n') {
+                max = Math.max(max, length);
+                length = 0;
+            } else if (c != '\r') {
+                length += c < 0x1100 ? 1 : 2;
+            }
+        }
+
+        return Math.max(max, length);
+    }
+
+    private static class ColumnWidthTrackingWorkbook extends SXSSFWorkbook {
+
+        // createSheetDataWriter() 가 super constructor 에서 호출될 수 있으므로 writer 는 이 필드를 기록 시점에만 사용한다.
+        private final Map<SXSSFSheet, Map<Integer, Integer>> columnLengths = new IdentityHashMap<>();
+
+        private ColumnWidthTrackingWorkbook(XSSFWorkbook template) {
+            super(template, ROW_ACCESS_WINDOW_SIZE);
+        }
+
+        @Override
+        protected SheetDataWriter createSheetDataWriter() throws IOException {
+            return new SheetDataWriter() {
+                @Override
+                public void writeRow(int rownum, SXSSFRow row) throws IOException {
+                    Map<Integer, Integer> lengths = columnLengths.computeIfAbsent(row.getSheet(), s -> new HashMap<>());
+
+                    Iterator<Cell> cellIterator = row.cellIterator();
+                    while (cellIterator.hasNext()) {
+                        Cell cell = cellIterator.next();
+                        int length = getLength(cell);
+
+                        if (length > 0) {
+                            lengths.merge(cell.getColumnIndex(), length, Math::max);
+                        }
+                    }
+
+                    super.writeRow(rownum, row);
+                }
+            };
+        }
+    }
+}
+//end of ExcelWorkbookWriter.java
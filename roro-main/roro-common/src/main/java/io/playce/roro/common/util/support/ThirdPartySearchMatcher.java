@@ -0,0 +1,267 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.util.support;
+
+import io.playce.roro.common.code.Domain1201;
+import io.playce.roro.common.dto.thirdparty.ThirdPartySearchTypeResponse;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * <pre>
+ * 3rd Party Solution 의 PROCESS, PKG, SVC, SCHEDULE, RUNUSER 검색 조건을 한 번에 검사하기 위한 matcher.
+ *
+ * 1. 검색 조건 목록(catalogue)으로부터 검색 유형별 AhoCorasickMatcher 를 생성하며, 같은 catalogue 에 대해서는 생성된 matcher 를 재사용한다.
+ * 2. process, package 등 서버에서 수집된 목록은 유형별로 한 번씩만 검색하며, 결과는 catalogue 의 순서(index)대로 반환한다.
+ * 3. 각 유형의 판단 기준(포함 여부, 대소문자 구분, 최초로 일치한 항목)은 검색 조건을 하나씩 검사하는 경우와 동일하다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public final class ThirdPartySearchMatcher {
+
+    private static volatile ThirdPartySearchMatcher cached;
+
+    private final String signature;
+    private final int size;
+
+    // PROCESS : "," 로 구분된 모든 검색어를 포함하는 process 를 찾으며, 검색어는 중복 없이 하나의 matcher 에 등록한다.
+    private final AhoCorasickMatcher<Integer> processMatcher;
+    private final Map<Integer, int[]> processTerms = new HashMap<>();
+
+    // PKG, SVC, SCHEDULE : 검색 조건의 index 를 값으로 등록한다.
+    private final AhoCorasickMatcher<Integer> packageMatcher;
+    private final AhoCorasickMatcher<Integer> serviceMatcher;
+    private final AhoCorasickMatcher<Integer> scheduleMatcher;
+
+    // RUNUSER : 소문자로 변환된 사용자명과 검색 조건의 index 목록
+    private final Map<String, List<Integer>> runUsers = new HashMap<>();
+
+    private ThirdPartySearchMatcher(String signature, List<ThirdPartySearchTypeResponse> thirdPartySearchTypeList) {
+        this.signature = signature;
+        this.size = thirdPartySearchTypeList.size();
+
+        AhoCorasickMatcher.Builder<Integer> processBuilder = AhoCorasickMatcher.builder();
+        AhoCorasickMatcher.Builder<Integer> packageBuilder = AhoCorasickMatcher.builder();
+        AhoCorasickMatcher.Builder<Integer> serviceBuilder = AhoCorasickMatcher.builder();
+        AhoCorasickMatcher.Builder<Integer> scheduleBuilder = AhoCorasickMatcher.builder();
+        Map<String, Integer> termIds = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            ThirdPartySearchTypeResponse thirdPartySearchType = thirdPartySearchTypeList.get(i);
+            String searchType = thirdPartySearchType.getSearchType();
+            String searchValue = thirdPartySearchType.getSearchValue();
+
+            if (searchValue == null) {
+                continue;
+            }
+
+            if (Domain1201.PROCESS.name().equals(searchType)) {
+                List<String> searchList = Arrays.stream(searchValue.split(","))
+                        .map(String::trim)
+                        .filter(StringUtils::isNotEmpty)
+                        .collect(Collectors.toList());
+
+                int[] ids = new int[searchList.size()];
+                for (int j = 0; j < ids.length; j++) {
+                    String term = searchList.get(j);
+                    Integer id = termIds.get(term);
+
+                    if (id == null) {
+                        id = termIds.size();
+                        termIds.put(term, id);
+                        processBuilder.add(term, id);
+                    }
+
+                    ids[j] = id;
+                }
+                processTerms.put(i, ids);
+            } else if (Domain1201.PKG.name().equals(searchType)) {
+                packageBuilder.add(searchValue.toLowerCase().trim(), i);
+            } else if (Domain1201.SVC.name().equals(searchType)) {
+                serviceBuilder.add(searchValue.toLowerCase().replaceAll("\\*", StringUtils.EMPTY), i);
+            } else if (Domain1201.SCHEDULE.name().equals(searchType)) {
+                scheduleBuilder.add(searchValue.trim(), i);
+            } else if (Domain1201.RUNUSER.name().equals(searchType)) {
+                runUsers.computeIfAbsent(searchValue.toLowerCase(), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        processMatcher = processBuilder.build();
+        packageMatcher = packageBuilder.build();
+        serviceMatcher = serviceBuilder.build();
+        scheduleMatcher = scheduleBuilder.build();
+    }
+
+    /**
+     * 검색 조건 목록에 해당하는 matcher 를 반환한다. 직전에 사용된 목록과 내용이 같으면 생성된 matcher 를 재사용한다.
+     */
+    public static ThirdPartySearchMatcher of(List<ThirdPartySearchTypeResponse> thirdPartySearchTypeList) {
+        String signature = signatureOf(thirdPartySearchTypeList);
+        ThirdPartySearchMatcher matcher = cached;
+
+        if (matcher == null || !matcher.signature.equals(signature)) {
+            matcher = new ThirdPartySearchMatcher(signature, thirdPartySearchTypeList);
+            cached = matcher;
+        }
+
+        return matcher;
+    }
+
+    /**
+     * PROCESS 검색 조건별로 모든 검색어를 포함하는 첫 번째 process 를 반환한다.
+     */
+    public String[] findProcesses(List<String> processList) {
+        String[] result = new String[size];
+
+        if (processList == null || processTerms.isEmpty()) {
+            return result;
+        }
+
+        List<Integer> remaining = new ArrayList<>(processTerms.keySet());
+        boolean[] found = new boolean[processMatcher.size()];
+
+        for (String process : processList) {
+            if (process == null) {
+                continue;
+            }
+
+            Arrays.fill(found, false);
+            processMatcher.scan(process, index -> found[processMatcher.getValue(index)] = true);
+
+            remaining.removeIf(i -> {
+                for (int id : processTerms.get(i)) {
+                    if (!found[id]) {
+                        return false;
+                    }
+                }
+
+                result[i] = process;
+                return true;
+            });
+
+            if (remaining.isEmpty()) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * PKG 검색 조건별로 대소문자 구분 없이 검색어를 포함하는 첫 번째 package 를 반환한다.
+     */
+    public String[] findPackages(List<String> installedSoftwareList) {
+        return findFirst(packageMatcher, installedSoftwareList, true);
+    }
+
+    /**
+     * SVC 검색 조건별로 대소문자 구분 없이 검색어를 포함하는 service 가 있는지 여부를 반환한다.
+     */
+    public boolean[] findServices(Collection<String> serviceList) {
+        return exists(findFirst(serviceMatcher, serviceList, true));
+    }
+
+    /**
+     * SCHEDULE 검색 조건별로 검색어를 포함하는 schedule 이 있는지 여부를 반환한다.
+     */
+    public boolean[] findSchedules(Collection<String> schedules) {
+        return exists(findFirst(scheduleMatcher, schedules, false));
+    }
+
+    /**
+     * RUNUSER 검색 조건별로 대소문자 구분 없이 일치하는 첫 번째 사용자를 반환한다.
+     */
+    public String[] findRunUsers(List<String> processUserList) {
+        String[] result = new String[size];
+
+        if (processUserList == null || runUsers.isEmpty()) {
+            return result;
+        }
+
+        for (String username : processUserList) {
+            List<Integer> indexes = username == null ? null : runUsers.get(username.toLowerCase());
+
+            if (indexes != null) {
+                for (int i : indexes) {
+                    if (result[i] == null) {
+                        result[i] = username;
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private String[] findFirst(AhoCorasickMatcher<Integer> matcher, Collection<String> texts, boolean ignoreCase) {
+        String[] result = new String[size];
+
+        if (texts == null || matcher.isEmpty()) {
+            return result;
+        }
+
+        int[] remaining = {matcher.size()};
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+
+            matcher.scan(ignoreCase ? text.toLowerCase() : text, index -> {
+                int i = matcher.getValue(index);
+
+                if (result[i] == null) {
+                    result[i] = text;
+                    remaining[0]--;
+                }
+            });
+
+            if (remaining[0] == 0) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean[] exists(String[] found) {
+        boolean[] result = new boolean[found.length];
+        for (int i = 0; i < found.length; i++) {
+            result[i] = found[i] != null;
+        }
+        return result;
+    }
+
+    private static String signatureOf(List<ThirdPartySearchTypeResponse> thirdPartySearchTypeList) {
+        StringBuilder sb = new StringBuilder();
+
+        for (ThirdPartySearchTypeResponse thirdPartySearchType : thirdPartySearchTypeList) {
+            sb.append(thirdPartySearchType.getThirdPartySearchTypeId()).append('\u0000')
+                    .append(thirdPartySearchType.getSearchType()).append('\u0000')
+                    .append(thirdPartySearchType.getSearchValue()).append('\u0001');
+        }
+
+        return sb.toString();
+    }
+}
+//end of ThirdPartySearchMatcher.java
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.ssh;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * ChannelStreamReader 의 출력 수신 및 조건 대기를 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class ChannelStreamReaderTest {
+
+    @Test
+    void multiByteCharacterSplitAcrossWrites() throws IOException {
+        // platform 기본 charset 이 multi-byte charset 이 아니면 확인할 수 없다.
+        if (!Charset.defaultCharset().newEncoder().canEncode("암호")) {
+            return;
+        }
+
+        ChannelStreamReader reader = new ChannelStreamReader();
+        byte[] bytes = "암호:".getBytes(Charset.defaultCharset());
+
+        OutputStream out = reader.getOutputStream();
+        for (byte b : bytes) {
+            out.write(b);
+        }
+
+        assertEquals("암호:", reader.getText());
+    }
+
+    @Test
+    void matcherReceivesLinesWithNewOutput() throws Exception {
+        ChannelStreamReader reader = new ChannelStreamReader();
+        OutputStream out = reader.getOutputStream();
+        List<String> tested = new ArrayList<>();
+
+        out.write("first line\nsecond ".getBytes());
+        assertEquals(-1, reader.await(s -> {
+            tested.add(s);
+            return false;
+        }, 0, 1));
+
+        out.write("line\nthird".getBytes());
+        assertEquals(-1, reader.await(s -> {
+            tested.add(s);
+            return false;
+        }, "first line\nsecond ".length(), 1));
+
+        assertEquals("first line\nsecond ", tested.get(0));
+        // 새로운 출력이 시작된 line 의 처음부터 전달한다.
+        assertEquals("second line\nthird", tested.get(1));
+    }
+
+    @Test
+    void awaitFromDoesNotMatchTestedOutputAgain() throws Exception {
+        ChannelStreamReader reader = new ChannelStreamReader();
+        OutputStream out = reader.getOutputStream();
+
+        out.write("END\n".getBytes());
+        int end = reader.await(s -> s.contains("END"), 0, 1);
+        assertEquals(4, end);
+
+        assertEquals(-1, reader.await(s -> s.contains("END"), end, 50));
+
+        out.write("prompt $ END".getBytes());
+        assertEquals(reader.getText().length(), reader.await(s -> s.contains("END"), end, 1));
+    }
+
+    @Test
+    void awaitWakesUpOnWrite() throws Exception {
+        ChannelStreamReader reader = new ChannelStreamReader();
+        OutputStream out = reader.getOutputStream();
+
+        Thread writer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                out.write("[root@host ~]# ".getBytes());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        writer.start();
+
+        long start = System.currentTimeMillis();
+        assertTrue(reader.await(s -> s.trim().endsWith("#"), 10000));
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        writer.join();
+    }
+
+    @Test
+    void closeEndsWaiting() throws Exception {
+        ChannelStreamReader reader = new ChannelStreamReader();
+        OutputStream out = reader.getOutputStream();
+
+        out.write("output".getBytes());
+        out.close();
+
+        assertFalse(reader.await(s -> s.contains("never"), 0));
+        assertTrue(reader.isEof());
+        assertEquals("output", reader.poll(0));
+        assertNull(reader.poll(0));
+
+        // close 이후의 출력은 무시한다.
+        out.write("ignored".getBytes());
+        assertEquals("", reader.getText());
+    }
+}
+//end of ChannelStreamReaderTest.java
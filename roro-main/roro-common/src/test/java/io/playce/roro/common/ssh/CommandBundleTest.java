@@ -0,0 +1,219 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.ssh;
+
+import io.playce.roro.common.dto.common.RemoteExecResult;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * CommandBundle 이 생성한 script 를 local shell 에서 실행하여 명령 별 결과 분리와 명령 별 timeout 을 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class CommandBundleTest {
+
+    private Process process;
+
+    @AfterEach
+    void tearDown() {
+        if (process != null) {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+        }
+    }
+
+    @Test
+    void outputContainingMarkerText() throws Exception {
+        // /bin/sh 가 없으면(Windows 등) 확인할 수 없다.
+        if (!new File("/bin/sh").canExecute()) {
+            return;
+        }
+
+        String markers = "RORO_BUNDLE_0123:END:0:0\n:ERR:0\n:END:1:0";
+        Map<String, String> commandMap = new LinkedHashMap<>();
+        commandMap.put("marker", "echo 'RORO_BUNDLE_0123:END:0:0'; echo ':ERR:0'; echo ':END:1:0'");
+        commandMap.put("noNewLine", "printf 'no new line'");
+        commandMap.put("empty", "true");
+
+        CommandBundle bundle = new CommandBundle(commandMap);
+        ChannelStreamReader reader = start(bundle);
+
+        assertTrue(bundle.awaitCompletion(reader, 10_000));
+        Map<String, RemoteExecResult> results = bundle.demultiplex(reader.getText());
+
+        // 다른 boundary 로 시작하거나 boundary 가 없는 marker 문자열은 명령의 출력으로 처리한다.
+        assertEquals(markers, results.get("marker").getResult());
+        assertFalse(results.get("marker").isErr());
+        assertEquals("no new line", results.get("noNewLine").getResult());
+        assertEquals("", results.get("empty").getResult());
+        assertFalse(results.get("empty").isErr());
+    }
+
+    @Test
+    void nonZeroExitStatus() throws Exception {
+        if (!new File("/bin/sh").canExecute()) {
+            return;
+        }
+
+        Map<String, String> commandMap = new LinkedHashMap<>();
+        commandMap.put("partial", "echo partial; echo failed 1>&2; exit 3");
+        commandMap.put("missing", "ls /roro-bundle-not-exists");
+        commandMap.put("next", "echo next");
+
+        CommandBundle bundle = new CommandBundle(commandMap);
+        ChannelStreamReader reader = start(bundle);
+
+        assertTrue(bundle.awaitCompletion(reader, 10_000));
+        Map<String, RemoteExecResult> results = bundle.demultiplex(reader.getText());
+
+        // 표준 출력이 있으면 오류로 처리하지 않는다.
+        assertEquals("partial", results.get("partial").getResult());
+        assertEquals("failed", results.get("partial").getError());
+        assertFalse(results.get("partial").isErr());
+
+        assertEquals("", results.get("missing").getResult());
+        assertFalse(results.get("missing").getError().isEmpty());
+        assertTrue(results.get("missing").isErr());
+
+        // 명령의 exit 는 다음 명령의 실행에 영향을 주지 않는다.
+        assertEquals("next", results.get("next").getResult());
+        assertFalse(results.get("next").isErr());
+    }
+
+    @Test
+    void truncatedLastSection() throws Exception {
+        if (!new File("/bin/sh").canExecute()) {
+            return;
+        }
+
+        Map<String, String> commandMap = new LinkedHashMap<>();
+        commandMap.put("first", "echo first");
+        commandMap.put("second", "echo second; echo warning 1>&2");
+        commandMap.put("third", "echo third");
+
+        CommandBundle bundle = new CommandBundle(commandMap);
+        ChannelStreamReader reader = start(bundle);
+
+        assertTrue(bundle.awaitCompletion(reader, 10_000));
+        String payload = reader.getText();
+
+        // 마지막 명령의 END boundary 가 잘린 경우
+        Map<String, RemoteExecResult> results = bundle.demultiplex(payload.substring(0, payload.indexOf(":END:2:") - 3));
+        assertEquals("first", results.get("first").getResult());
+        assertEquals("second", results.get("second").getResult());
+        assertEquals("warning", results.get("second").getError());
+        assertNotCompleted(results.get("third"));
+
+        // 명령의 표준 에러 출력 도중에 잘린 경우
+        results = bundle.demultiplex(payload.substring(0, payload.indexOf("warning") + 4));
+        assertEquals("first", results.get("first").getResult());
+        assertNotCompleted(results.get("second"));
+        assertNotCompleted(results.get("third"));
+    }
+
+    @Test
+    void timeoutIsAppliedPerCommand() throws Exception {
+        if (!new File("/bin/sh").canExecute()) {
+            return;
+        }
+
+        Map<String, String> commandMap = new LinkedHashMap<>();
+        commandMap.put("first", "sleep 1; echo first");
+        commandMap.put("second", "sleep 1; echo second");
+        commandMap.put("third", "sleep 1; echo third");
+
+        CommandBundle bundle = new CommandBundle(commandMap);
+        ChannelStreamReader reader = start(bundle);
+
+        // 전체 실행 시간은 timeout 보다 길지만 각 명령은 timeout 내에 완료된다.
+        assertTrue(bundle.awaitCompletion(reader, 2_000));
+        Map<String, RemoteExecResult> results = bundle.demultiplex(reader.getText());
+        assertEquals("first", results.get("first").getResult());
+        assertEquals("second", results.get("second").getResult());
+        assertEquals("third", results.get("third").getResult());
+    }
+
+    @Test
+    void hungCommandTimesOut() throws Exception {
+        if (!new File("/bin/sh").canExecute()) {
+            return;
+        }
+
+        Map<String, String> commandMap = new LinkedHashMap<>();
+        commandMap.put("quick", "echo quick");
+        commandMap.put("hung", "sleep 30");
+        commandMap.put("after", "echo after");
+
+        CommandBundle bundle = new CommandBundle(commandMap);
+        ChannelStreamReader reader = start(bundle);
+
+        long started = System.currentTimeMillis();
+        assertFalse(bundle.awaitCompletion(reader, 500));
+        assertTrue(System.currentTimeMillis() - started < 10_000);
+
+        // 완료된 명령의 결과는 유지되고, 나머지는 완료되지 않은 것으로 처리한다.
+        Map<String, RemoteExecResult> results = bundle.demultiplex(reader.getText());
+        assertEquals("quick", results.get("quick").getResult());
+        assertFalse(results.get("quick").isErr());
+        assertNotCompleted(results.get("hung"));
+        assertNotCompleted(results.get("after"));
+    }
+
+    private static void assertNotCompleted(RemoteExecResult result) {
+        assertTrue(result.isErr());
+        assertEquals("", result.getResult());
+        assertTrue(result.getError().contains("was not completed"), result.getError());
+    }
+
+    /**
+     * exec channel 대신 local shell 로 getCommand() 를 실행하고 script 를 stdin 으로 전달한다. 출력은 channel 과 같이 reader 로 전달된다.
+     */
+    private ChannelStreamReader start(CommandBundle bundle) throws IOException {
+        ChannelStreamReader reader = new ChannelStreamReader();
+        process = new ProcessBuilder("/bin/sh", "-c", bundle.getCommand(false)).start();
+
+        Process started = process;
+        Thread pump = new Thread(() -> {
+            try (InputStream in = started.getInputStream(); OutputStream out = reader.getOutputStream()) {
+                IOUtils.copy(in, out);
+            } catch (IOException ignored) {
+                // 실행이 중단된 경우
+            }
+        });
+        pump.setDaemon(true);
+        pump.start();
+
+        try (OutputStream script = process.getOutputStream()) {
+            script.write(bundle.getScript().getBytes());
+        }
+
+        return reader;
+    }
+}
+//end of CommandBundleTest.java
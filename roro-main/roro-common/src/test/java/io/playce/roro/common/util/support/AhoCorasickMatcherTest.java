@@ -0,0 +1,177 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.util.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * AhoCorasickMatcher 의 검색 결과가 pattern 마다 String.contains() 를 적용한 결과와 같은지 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class AhoCorasickMatcherTest {
+
+    @Test
+    void overlappingPatterns() {
+        List<String> patterns = Arrays.asList("he", "she", "his", "hers", "h", "e", "sheh");
+        AhoCorasickMatcher<String> matcher = build(AhoCorasickMatcher.builder(), patterns);
+
+        assertEquals(new LinkedHashSet<>(Arrays.asList("h", "she", "he", "e", "hers")), matcher.match("ushers"));
+        assertEquals(new LinkedHashSet<>(Arrays.asList("h", "his")), matcher.match("his"));
+        assertTrue(matcher.match("xyz").isEmpty());
+
+        for (String text : Arrays.asList("ushers", "shehis", "hhhhe", "sheh", "ahishers", "", "s")) {
+            assertEquals(contains(patterns, text, false), matcher.match(text), text);
+        }
+    }
+
+    @Test
+    void emptyPattern() {
+        AhoCorasickMatcher<String> matcher = build(AhoCorasickMatcher.builder(), Arrays.asList("", "abc"));
+
+        // String.contains("") 와 같이 빈 문자열을 포함한 모든 문자열에 포함된다.
+        assertEquals(Collections.singleton(""), matcher.match(""));
+        assertEquals(new LinkedHashSet<>(Arrays.asList("", "abc")), matcher.match("xabcx"));
+        assertTrue(matcher.match(null).isEmpty());
+    }
+
+    @Test
+    void scanReportsEveryOccurrence() {
+        AhoCorasickMatcher<String> matcher = build(AhoCorasickMatcher.builder(), Arrays.asList("aa", "a"));
+        List<String> found = new ArrayList<>();
+
+        matcher.scan("aaa", index -> found.add(matcher.getValue(index)));
+
+        assertEquals(Arrays.asList("a", "aa", "a", "aa", "a"), found);
+    }
+
+    @Test
+    void samePatternWithSeveralValues() {
+        AhoCorasickMatcher<Integer> matcher = AhoCorasickMatcher.<Integer>builder()
+                .add("java", 1)
+                .add("java", 2)
+                .add("jav", 3)
+                .build();
+
+        assertEquals(new LinkedHashSet<>(Arrays.asList(3, 1, 2)), matcher.match("/usr/bin/java"));
+        assertEquals(3, matcher.size());
+    }
+
+    @Test
+    void ignoreCase() {
+        List<String> patterns = Arrays.asList("Redis", "TOMCAT", "mysql-server", "아파치");
+        AhoCorasickMatcher<String> matcher = build(AhoCorasickMatcher.ignoreCaseBuilder(), patterns);
+
+        assertEquals(new LinkedHashSet<>(Arrays.asList("Redis")), matcher.match("REDIS-SERVER"));
+        assertEquals(new LinkedHashSet<>(Arrays.asList("TOMCAT", "mysql-server")), matcher.match("Apache Tomcat, MySQL-Server"));
+        assertEquals(new LinkedHashSet<>(Arrays.asList("아파치")), matcher.match("아파치 웹서버"));
+
+        AhoCorasickMatcher<String> caseSensitive = build(AhoCorasickMatcher.builder(), patterns);
+        assertTrue(caseSensitive.match("REDIS-SERVER").isEmpty());
+    }
+
+    @Test
+    void forEachFirstMatch() {
+        AhoCorasickMatcher<String> matcher = build(AhoCorasickMatcher.builder(), Arrays.asList("java", "httpd", "ja"));
+        Map<String, String> first = new LinkedHashMap<>();
+
+        matcher.forEachFirstMatch(Arrays.asList("/usr/sbin/httpd -k start", "/usr/bin/java -jar a.jar", "/opt/java/bin/java"), first::put);
+
+        assertEquals("/usr/sbin/httpd -k start", first.get("httpd"));
+        assertEquals("/usr/bin/java -jar a.jar", first.get("java"));
+        assertEquals("/usr/bin/java -jar a.jar", first.get("ja"));
+        assertEquals(3, first.size());
+    }
+
+    @Test
+    void randomTextsMatchContains() {
+        Random random = new Random(20231017L);
+
+        for (int round = 0; round < 200; round++) {
+            List<String> patterns = new ArrayList<>();
+            int count = 1 + random.nextInt(12);
+            for (int i = 0; i < count; i++) {
+                patterns.add(randomString(random, random.nextInt(5)));
+            }
+
+            boolean ignoreCase = random.nextBoolean();
+            AhoCorasickMatcher<String> matcher = build(ignoreCase ? AhoCorasickMatcher.ignoreCaseBuilder() : AhoCorasickMatcher.builder(), patterns);
+
+            for (int i = 0; i < 20; i++) {
+                String text = randomString(random, random.nextInt(30));
+                assertEquals(contains(patterns, text, ignoreCase), matcher.match(text), patterns + " / " + text);
+            }
+        }
+    }
+
+    private static AhoCorasickMatcher<String> build(AhoCorasickMatcher.Builder<String> builder, List<String> patterns) {
+        for (String pattern : patterns) {
+            builder.add(pattern, pattern);
+        }
+        return builder.build();
+    }
+
+    /**
+     * pattern 이 text 에서 처음 발견되는 위치(끝 위치, 길이가 짧은 순)의 순서대로 포함된 pattern 을 반환한다.
+     */
+    private static Set<String> contains(List<String> patterns, String text, boolean ignoreCase) {
+        String target = ignoreCase ? text.toLowerCase() : text;
+        List<String> found = new ArrayList<>();
+
+        for (String pattern : patterns) {
+            String p = ignoreCase ? pattern.toLowerCase() : pattern;
+            if (target.contains(p) && !found.contains(pattern)) {
+                found.add(pattern);
+            }
+        }
+
+        found.sort((a, b) -> {
+            int endA = firstEnd(target, ignoreCase ? a.toLowerCase() : a);
+            int endB = firstEnd(target, ignoreCase ? b.toLowerCase() : b);
+            return endA != endB ? Integer.compare(endA, endB) : Integer.compare(b.length(), a.length());
+        });
+
+        return new LinkedHashSet<>(found);
+    }
+
+    private static int firstEnd(String text, String pattern) {
+        return text.indexOf(pattern) + pattern.length();
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = {'a', 'b', 'c', 'A', 'B'};
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(chars[random.nextInt(chars.length)]);
+        }
+        return sb.toString();
+    }
+}
+//end of AhoCorasickMatcherTest.java
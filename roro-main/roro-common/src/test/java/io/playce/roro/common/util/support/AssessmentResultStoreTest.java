@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.util.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * AssessmentResultStore 로 저장한 결과를 항목 단위로 읽었을 때 원래 json 과 같은지 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class AssessmentResultStoreTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void readAllFields() throws IOException {
+        File jsonFile = writeJson("result.json", sample());
+        JsonNode json = MAPPER.readTree(jsonFile);
+
+        File storeFile = AssessmentResultStore.write(jsonFile);
+
+        assertEquals(new File(tempDir, "result." + AssessmentResultStore.EXTENSION).getAbsolutePath(), storeFile.getAbsolutePath());
+        assertFalse(new File(storeFile.getAbsolutePath() + ".tmp").exists());
+
+        ObjectNode node = AssessmentResultStore.read(jsonFile.getAbsolutePath());
+        assertEquals(json, node);
+        assertEquals(fieldNames(json), fieldNames(node));
+        assertEquals(json, MAPPER.readTree(AssessmentResultStore.readAsJson(jsonFile.getAbsolutePath())));
+    }
+
+    @Test
+    void readSelectedFields() throws IOException {
+        File jsonFile = writeJson("result.json", sample());
+        JsonNode json = MAPPER.readTree(jsonFile);
+        AssessmentResultStore.write(jsonFile);
+
+        ObjectNode node = AssessmentResultStore.read(jsonFile.getAbsolutePath(), "processes", "missing", "name");
+
+        // 결과에 없는 항목은 제외되며, 파일에 저장된 순서대로 반환한다.
+        assertEquals(Arrays.asList("name", "processes"), fieldNames(node));
+        assertEquals(json.get("name"), node.get("name"));
+        assertEquals(json.get("processes"), node.get("processes"));
+
+        assertEquals(0, AssessmentResultStore.read(jsonFile.getAbsolutePath(), "missing").size());
+    }
+
+    @Test
+    void largeArray() throws IOException {
+        ObjectNode json = MAPPER.createObjectNode();
+        ArrayNode files = json.putArray("files");
+        for (int i = 0; i < 50_000; i++) {
+            files.addObject().put("path", "/app/WEB-INF/lib/library-" + i + ".jar").put("size", i * 1024L);
+        }
+        json.put("summary", "done");
+
+        File jsonFile = writeJson("large.json", json);
+        AssessmentResultStore.write(jsonFile);
+        json = (ObjectNode) MAPPER.readTree(jsonFile);
+
+        assertEquals(json.get("files"), AssessmentResultStore.read(jsonFile.getAbsolutePath(), "files").get("files"));
+        assertEquals("done", AssessmentResultStore.read(jsonFile.getAbsolutePath(), "summary").get("summary").asText());
+    }
+
+    @Test
+    void rewriteReplacesStoreFile() throws IOException {
+        File jsonFile = writeJson("result.json", sample());
+        AssessmentResultStore.write(jsonFile);
+
+        ObjectNode changed = MAPPER.createObjectNode().put("name", "changed");
+        writeJson("result.json", changed);
+        AssessmentResultStore.write(jsonFile);
+
+        assertEquals(changed, AssessmentResultStore.read(jsonFile.getAbsolutePath()));
+    }
+
+    @Test
+    void topLevelIsNotAnObject() throws IOException {
+        File jsonFile = new File(tempDir, "list.json");
+        Files.write(jsonFile.toPath(), "[1, 2, 3]".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(AssessmentResultStore.write(jsonFile));
+        assertFalse(AssessmentResultStore.getStoreFile(jsonFile.getAbsolutePath()).exists());
+        assertFalse(new File(tempDir, "list." + AssessmentResultStore.EXTENSION + ".tmp").exists());
+    }
+
+    @Test
+    void missingStoreFile() throws IOException {
+        File jsonFile = writeJson("result.json", sample());
+
+        assertNull(AssessmentResultStore.read(jsonFile.getAbsolutePath()));
+        assertNull(AssessmentResultStore.readAsJson(jsonFile.getAbsolutePath(), "name"));
+        assertNull(AssessmentResultStore.read(null));
+    }
+
+    @Test
+    void corruptedStoreFile() throws IOException {
+        File jsonFile = writeJson("result.json", sample());
+        File storeFile = AssessmentResultStore.write(jsonFile);
+
+        // 끝부분(index, trailer)이 잘린 경우
+        try (RandomAccessFile file = new RandomAccessFile(storeFile, "rw")) {
+            file.setLength(file.length() - 5);
+        }
+        assertNull(AssessmentResultStore.read(jsonFile.getAbsolutePath()));
+
+        // 다른 형식의 파일인 경우
+        Files.write(storeFile.toPath(), "{\"name\":\"not a store file\"}".getBytes(StandardCharsets.UTF_8));
+        assertNull(AssessmentResultStore.read(jsonFile.getAbsolutePath(), "name"));
+
+        Files.write(storeFile.toPath(), new byte[3]);
+        assertNull(AssessmentResultStore.read(jsonFile.getAbsolutePath()));
+    }
+
+    private static ObjectNode sample() {
+        ObjectNode json = MAPPER.createObjectNode();
+        json.put("name", "web01 한글");
+        json.put("cpuCount", 8);
+        json.putNull("empty");
+
+        ObjectNode os = json.putObject("os");
+        os.put("name", "Red Hat Enterprise Linux");
+        os.put("version", "8.6");
+        os.putArray("kernels").add("4.18.0-372").add("4.18.0-305");
+
+        ArrayNode processes = json.putArray("processes");
+        for (int i = 0; i < 1000; i++) {
+            processes.addObject().put("pid", i).put("cmd", "/usr/bin/java -jar app-" + i + ".jar").put("cpu", i / 10.0);
+        }
+        json.putArray("emptyList");
+
+        return json;
+    }
+
+    private File writeJson(String name, JsonNode json) throws IOException {
+        File file = new File(tempDir, name);
+        MAPPER.writeValue(file, json);
+        return file;
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        Iterator<String> iterator = node.fieldNames();
+        iterator.forEachRemaining(names::add);
+        return names;
+    }
+}
+//end of AssessmentResultStoreTest.java
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.util.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * CharsetSniffer 의 BOM, UTF-8 검증, 디렉토리별 판별 결과와 큰 파일의 Reader 생성을 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class CharsetSnifferTest {
+
+    private static final Charset EUC_KR = Charset.forName("EUC-KR");
+    // CharsetSniffer.READ_AHEAD_LIMIT
+    private static final int READ_AHEAD_LIMIT = 1024 * 1024;
+    private static final String KOREAN = "가나다라 마바사 아자차카 타파하. 한글 주석이 포함된 설정 파일입니다.\n" +
+            "데이터베이스 연결 정보와 서버 주소를 확인합니다.\n";
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void bom() throws IOException {
+        CharsetSniffer sniffer = new CharsetSniffer();
+
+        assertEquals("한글\nline", sniffer.toString(concat(bytes(0xEF, 0xBB, 0xBF), "한글\nline".getBytes(StandardCharsets.UTF_8)), null));
+        assertEquals("한글", sniffer.toString(concat(bytes(0xFE, 0xFF), "한글".getBytes(StandardCharsets.UTF_16BE)), null));
+        assertEquals("한글", sniffer.toString(concat(bytes(0xFF, 0xFE), "한글".getBytes(StandardCharsets.UTF_16LE)), null));
+
+        // BOM 은 첫 번째 line 에 포함되지 않는다.
+        try (BufferedReader reader = sniffer.newReader(concat(bytes(0xEF, 0xBB, 0xBF), "key=값\n".getBytes(StandardCharsets.UTF_8)), null)) {
+            assertEquals("key=값", reader.readLine());
+            assertNull(reader.readLine());
+        }
+
+        File file = new File(tempDir, "bom.properties");
+        Files.write(file.toPath(), concat(bytes(0xFF, 0xFE), "key=값\n".getBytes(StandardCharsets.UTF_16LE)));
+        try (BufferedReader reader = sniffer.newReader(file)) {
+            assertEquals("key=값", reader.readLine());
+        }
+    }
+
+    @Test
+    void validUtf8() {
+        for (String text : Arrays.asList("", "ascii only", "한글", "a\u00e9\u0800\uffff", "😀 emoji", repeat("12345678", 5) + "한")) {
+            byte[] data = text.getBytes(StandardCharsets.UTF_8);
+
+            assertTrue(CharsetSniffer.isUtf8(data, data.length, true), text);
+            assertTrue(CharsetSniffer.isUtf8(data, data.length, false), text);
+        }
+    }
+
+    @Test
+    void invalidUtf8() {
+        byte[][] invalid = {
+                // overlong
+                bytes(0xC0, 0x80), bytes(0xC1, 0xBF), bytes(0xE0, 0x80, 0x80), bytes(0xE0, 0x9F, 0xBF), bytes(0xF0, 0x80, 0x80, 0x80), bytes(0xF0, 0x8F, 0xBF, 0xBF),
+                // surrogate
+                bytes(0xED, 0xA0, 0x80), bytes(0xED, 0xBF, 0xBF),
+                // U+10FFFF 초과
+                bytes(0xF4, 0x90, 0x80, 0x80), bytes(0xF5, 0x80, 0x80, 0x80), bytes(0xFF),
+                // continuation byte 로 시작하거나 continuation byte 가 아닌 경우
+                bytes(0x80), bytes(0xBF, 0x41), bytes(0xEA, 0x41, 0x80), bytes(0xEA, 0xB0, 0x41),
+                // EUC-KR
+                "가".getBytes(EUC_KR)
+        };
+
+        for (byte[] data : invalid) {
+            byte[] text = concat(repeat("ascii text ", 3).getBytes(StandardCharsets.US_ASCII), data, "tail".getBytes(StandardCharsets.US_ASCII));
+
+            assertFalse(CharsetSniffer.isUtf8(text, text.length, true), Arrays.toString(data));
+            assertFalse(CharsetSniffer.isUtf8(text, text.length, false), Arrays.toString(data));
+            assertFalse(canDecode(StandardCharsets.UTF_8, text), Arrays.toString(data));
+        }
+    }
+
+    @Test
+    void truncatedLastCharacter() {
+        byte[] data = "abc가".getBytes(StandardCharsets.UTF_8);
+        byte[] emoji = "abc😀".getBytes(StandardCharsets.UTF_8);
+
+        for (int length = data.length - 2; length < data.length; length++) {
+            // 파일 전체이면 잘린 문자는 유효하지 않으며, 파일의 앞부분이면 허용한다.
+            assertFalse(CharsetSniffer.isUtf8(data, length, true));
+            assertTrue(CharsetSniffer.isUtf8(data, length, false));
+        }
+
+        for (int length = emoji.length - 3; length < emoji.length; length++) {
+            assertFalse(CharsetSniffer.isUtf8(emoji, length, true));
+            assertTrue(CharsetSniffer.isUtf8(emoji, length, false));
+        }
+
+        // 잘린 부분도 유효한 byte 여야 한다.
+        assertFalse(CharsetSniffer.isUtf8(bytes(0xE0, 0x80), 2, false));
+        assertFalse(CharsetSniffer.isUtf8(bytes(0xED, 0xA0), 2, false));
+        assertFalse(CharsetSniffer.isUtf8(bytes(0xF4, 0x90), 2, false));
+        assertFalse(CharsetSniffer.isUtf8(bytes(0xEA, 0x41), 2, false));
+
+        // length 이후의 byte 는 확인하지 않는다.
+        assertTrue(CharsetSniffer.isUtf8(bytes(0x41, 0x42, 0xFF), 2, true));
+    }
+
+    @Test
+    void eucKrIsRememberedForDirectory() {
+        CharsetSniffer sniffer = new CharsetSniffer();
+        String directory = new File(tempDir, "WEB-INF").getAbsolutePath();
+
+        assertEquals(repeat(KOREAN, 20), sniffer.toString(repeat(KOREAN, 20).getBytes(EUC_KR), directory));
+        assertEquals(EUC_KR, sniffer.getDirectoryCharset(directory));
+
+        // 짧은 파일도 같은 디렉토리에서 판별된 charset 으로 decode 된다.
+        assertEquals("값=가", sniffer.toString("값=가".getBytes(EUC_KR), directory));
+
+        // 디렉토리가 없으면 저장하지 않는다.
+        CharsetSniffer other = new CharsetSniffer();
+        other.toString(repeat(KOREAN, 20).getBytes(EUC_KR), null);
+        assertNull(other.getDirectoryCharset(directory));
+    }
+
+    @Test
+    void rememberedCharsetIsRejectedWhenItCannotDecode() {
+        CharsetSniffer sniffer = new CharsetSniffer();
+        String directory = new File(tempDir, "conf").getAbsolutePath();
+
+        sniffer.toString(repeat(KOREAN, 20).getBytes(EUC_KR), directory);
+        assertEquals(EUC_KR, sniffer.getDirectoryCharset(directory));
+
+        // EUC-KR 로 decode 할 수 없으므로 저장된 charset 을 사용하지 않고 다시 판별한다.
+        String french = repeat("Le café est très chaud. L'été à Paris, où est la forêt ? Voilà la fenêtre.\n", 10);
+        byte[] data = french.getBytes(StandardCharsets.ISO_8859_1);
+        assertFalse(canDecode(EUC_KR, data));
+
+        assertEquals(french, sniffer.toString(data, directory));
+
+        // single-byte charset 은 저장하지 않는다.
+        assertEquals(EUC_KR, sniffer.getDirectoryCharset(directory));
+    }
+
+    @Test
+    void decodeOnlyCharsetIsNotRemembered() {
+        Charset iso2022cn = Charset.forName("ISO-2022-CN");
+
+        assertFalse(iso2022cn.canEncode());
+        assertFalse(CharsetSniffer.isRememberable(iso2022cn));
+        assertFalse(CharsetSniffer.isRememberable(StandardCharsets.ISO_8859_1));
+        assertFalse(CharsetSniffer.isRememberable(StandardCharsets.UTF_8));
+        assertTrue(CharsetSniffer.isRememberable(EUC_KR));
+
+        // ISO-2022-CN 으로 판별될 수 있는 내용이어도 오류가 발생하지 않아야 한다.
+        CharsetSniffer sniffer = new CharsetSniffer();
+        String directory = new File(tempDir, "cn").getAbsolutePath();
+        byte[] shifted = concat(bytes(0x1B, '$', ')', 'A', 0x0E), repeat("VP9z", 30).getBytes(StandardCharsets.US_ASCII), bytes(0x0F));
+        byte[] data = concat(shifted, shifted, bytes(0xFF));
+
+        assertDoesNotThrow(() -> sniffer.toString(data, directory));
+        assertNotEquals(iso2022cn, sniffer.getDirectoryCharset(directory));
+    }
+
+    @Test
+    void largeFileIsReadAcrossReadAheadLimit() throws IOException {
+        CharsetSniffer sniffer = new CharsetSniffer();
+
+        // READ_AHEAD_LIMIT 의 경계에서 multi-byte 문자가 나뉘는 UTF-8 파일
+        String text = asciiLines(READ_AHEAD_LIMIT - 1) + "가나다\n끝\n";
+        byte[] data = text.getBytes(StandardCharsets.UTF_8);
+        assertEquals((byte) 0xEA, data[READ_AHEAD_LIMIT - 1]);
+
+        File file = new File(tempDir, "large.txt");
+        Files.write(file.toPath(), data);
+
+        assertEquals(text, read(sniffer.newReader(file)));
+
+        // BOM 이 있는 경우
+        text = asciiLines(READ_AHEAD_LIMIT - 4) + "가나다\n끝\n";
+        data = concat(bytes(0xEF, 0xBB, 0xBF), text.getBytes(StandardCharsets.UTF_8));
+        assertEquals((byte) 0xEA, data[READ_AHEAD_LIMIT - 1]);
+
+        Files.write(file.toPath(), data);
+
+        assertEquals(text, read(sniffer.newReader(file)));
+    }
+
+    @Test
+    void largeFileUsesRememberedCharsetForHead() throws IOException {
+        CharsetSniffer sniffer = new CharsetSniffer();
+        File dir = new File(tempDir, "sql");
+        assertTrue(dir.mkdirs());
+
+        File small = new File(dir, "small.sql");
+        Files.write(small.toPath(), repeat(KOREAN, 20).getBytes(EUC_KR));
+        assertEquals(repeat(KOREAN, 20), read(sniffer.newReader(small)));
+        assertEquals(EUC_KR, sniffer.getDirectoryCharset(dir.getAbsolutePath()));
+
+        // 앞부분의 마지막 byte 가 EUC-KR 문자의 첫 번째 byte 인 경우
+        String text = asciiLines(READ_AHEAD_LIMIT - 1) + "가나다\n끝\n";
+        byte[] data = text.getBytes(EUC_KR);
+        assertEquals((byte) 0xB0, data[READ_AHEAD_LIMIT - 1]);
+
+        File large = new File(dir, "large.sql");
+        Files.write(large.toPath(), data);
+
+        assertEquals(text, read(sniffer.newReader(large)));
+    }
+
+    @Test
+    void fileAroundReadAheadLimit() throws IOException {
+        CharsetSniffer sniffer = new CharsetSniffer();
+        File file = new File(tempDir, "limit.txt");
+
+        // 파일 크기가 READ_AHEAD_LIMIT 와 같으면 한 번에, 크면 앞부분과 나머지를 이어서 읽는다.
+        for (int length = READ_AHEAD_LIMIT - 1; length <= READ_AHEAD_LIMIT + 2; length++) {
+            String text = asciiLines(length - 3) + "가";
+            Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+            assertEquals(length, file.length());
+
+            assertEquals(text, read(sniffer.newReader(file)), String.valueOf(length));
+        }
+    }
+
+    private static String read(BufferedReader reader) throws IOException {
+        try (BufferedReader r = reader) {
+            StringWriter writer = new StringWriter();
+            char[] buffer = new char[8192];
+            int n;
+            while ((n = r.read(buffer)) != -1) {
+                writer.write(buffer, 0, n);
+            }
+            return writer.toString();
+        }
+    }
+
+    /**
+     * length 길이의 ASCII 문자열을 생성한다. (64 자 마다 줄바꿈)
+     */
+    private static String asciiLines(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            builder.append(builder.length() % 64 == 63 ? '\n' : (char) ('a' + builder.length() % 26));
+        }
+        return builder.toString();
+    }
+
+    private static boolean canDecode(Charset charset, byte[] data) {
+        try {
+            charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(data));
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    private static String repeat(String text, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] array : arrays) {
+            out.write(array, 0, array.length);
+        }
+        return out.toByteArray();
+    }
+}
+//end of CharsetSnifferTest.java
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.common.util.support;
+
+import io.playce.roro.common.code.Domain1201;
+import io.playce.roro.common.dto.thirdparty.ThirdPartySearchTypeResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * ThirdPartySearchMatcher 의 결과가 검색 조건을 하나씩 검사하던 ThirdPartySolutionUtil 의 기존 방식과 같은지 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class ThirdPartySearchMatcherTest {
+
+    private static final List<String> PROCESSES = Arrays.asList(
+            "/usr/sbin/httpd -k start",
+            "/usr/lib/jvm/java-11/bin/java -Dcatalina.base=/opt/tomcat org.apache.catalina.startup.Bootstrap start",
+            "/usr/bin/java -jar /opt/jenkins/jenkins.war",
+            "ora_pmon_ORCL",
+            "/opt/redis/bin/redis-server *:6379",
+            "/usr/sbin/sshd -D"
+    );
+    private static final List<String> PACKAGES = Arrays.asList(
+            "Microsoft Visual C++ 2015 Redistributable",
+            "redis-6.2.7-1.el8.x86_64",
+            "httpd-2.4.37-43.el8.x86_64",
+            "Apache-Tomcat 9.0",
+            "MySQL-Server 8.0"
+    );
+    private static final List<String> SERVICES = Arrays.asList(
+            "RedisService", "Tomcat9", "MSSQLSERVER", "sshd.service", "AmazonSSMAgent"
+    );
+    private static final List<String> SCHEDULES = Arrays.asList(
+            "0 2 * * * /opt/backup/run.sh", "*/5 * * * * /usr/local/bin/agent --check", "@reboot /opt/ctm/start"
+    );
+    private static final List<String> USERS = Arrays.asList("root", "Tomcat", "oracle", "jenkins", "APACHE");
+
+    @Test
+    void process() {
+        List<ThirdPartySearchTypeResponse> catalogue = Arrays.asList(
+                searchType(1, Domain1201.PROCESS, "httpd"),
+                searchType(2, Domain1201.PROCESS, "java, catalina.base"),
+                searchType(3, Domain1201.PROCESS, "java,jenkins.war"),
+                searchType(4, Domain1201.PROCESS, "java"),
+                searchType(5, Domain1201.PROCESS, "ora_pmon, missing"),
+                // 검색어 중복 및 겹치는 검색어
+                searchType(6, Domain1201.PROCESS, "redis,redis-server,is-se"),
+                // 빈 검색어만 있으면 첫 번째 process 와 일치한다.
+                searchType(7, Domain1201.PROCESS, " , "),
+                searchType(8, Domain1201.PROCESS, "HTTPD")
+        );
+
+        ThirdPartySearchMatcher matcher = ThirdPartySearchMatcher.of(catalogue);
+        String[] result = matcher.findProcesses(PROCESSES);
+
+        assertArrayEquals(processes(catalogue, PROCESSES), result);
+        assertEquals(PROCESSES.get(1), result[1]);
+        assertEquals(PROCESSES.get(1), result[3]);
+        assertNull(result[4]);
+        assertEquals(PROCESSES.get(0), result[6]);
+        assertNull(result[7]);
+
+        assertArrayEquals(new String[catalogue.size()], matcher.findProcesses(null));
+    }
+
+    @Test
+    void packageIgnoresCase() {
+        List<ThirdPartySearchTypeResponse> catalogue = Arrays.asList(
+                searchType(1, Domain1201.PKG, "Redis"),
+                searchType(2, Domain1201.PKG, " httpd "),
+                searchType(3, Domain1201.PKG, "TOMCAT"),
+                searchType(4, Domain1201.PKG, "mysql-server"),
+                searchType(5, Domain1201.PKG, "mysql"),
+                searchType(6, Domain1201.PKG, "oracle"),
+                searchType(7, Domain1201.PKG, "")
+        );
+
+        String[] result = ThirdPartySearchMatcher.of(catalogue).findPackages(PACKAGES);
+
+        assertArrayEquals(packages(catalogue, PACKAGES), result);
+        assertEquals(PACKAGES.get(0), result[0]);
+        assertEquals(PACKAGES.get(3), result[2]);
+        assertNull(result[5]);
+        assertEquals(PACKAGES.get(0), result[6]);
+    }
+
+    @Test
+    void serviceIgnoresCaseAndWildcard() {
+        List<ThirdPartySearchTypeResponse> catalogue = Arrays.asList(
+                searchType(1, Domain1201.SVC, "redis*"),
+                searchType(2, Domain1201.SVC, "*Tomcat*"),
+                searchType(3, Domain1201.SVC, "mssql*server"),
+                searchType(4, Domain1201.SVC, "SSHD"),
+                searchType(5, Domain1201.SVC, "httpd"),
+                searchType(6, Domain1201.SVC, "*")
+        );
+
+        boolean[] result = ThirdPartySearchMatcher.of(catalogue).findServices(SERVICES);
+
+        assertArrayEquals(services(catalogue, SERVICES), result);
+        assertTrue(result[0]);
+        assertTrue(result[1]);
+        assertTrue(result[2]);
+        assertTrue(result[3]);
+        assertFalse(result[4]);
+        assertTrue(result[5]);
+    }
+
+    @Test
+    void scheduleIsCaseSensitive() {
+        List<ThirdPartySearchTypeResponse> catalogue = Arrays.asList(
+                searchType(1, Domain1201.SCHEDULE, "/opt/backup/run.sh"),
+                searchType(2, Domain1201.SCHEDULE, " agent "),
+                searchType(3, Domain1201.SCHEDULE, "AGENT"),
+                searchType(4, Domain1201.SCHEDULE, "ctm")
+        );
+
+        boolean[] result = ThirdPartySearchMatcher.of(catalogue).findSchedules(SCHEDULES);
+
+        assertArrayEquals(schedules(catalogue, SCHEDULES), result);
+        assertTrue(result[0]);
+        assertFalse(result[2]);
+    }
+
+    @Test
+    void runUserIgnoresCase() {
+        List<ThirdPartySearchTypeResponse> catalogue = Arrays.asList(
+                searchType(1, Domain1201.RUNUSER, "tomcat"),
+                searchType(2, Domain1201.RUNUSER, "ORACLE"),
+                searchType(3, Domain1201.RUNUSER, "apache"),
+                searchType(4, Domain1201.RUNUSER, "tomcat"),
+                searchType(5, Domain1201.RUNUSER, "jenkin")
+        );
+
+        String[] result = ThirdPartySearchMatcher.of(catalogue).findRunUsers(USERS);
+
+        assertArrayEquals(runUsers(catalogue, USERS), result);
+        assertEquals("Tomcat", result[0]);
+        assertEquals("Tomcat", result[3]);
+        assertNull(result[4]);
+    }
+
+    @Test
+    void mixedCatalogue() {
+        List<ThirdPartySearchTypeResponse> catalogue = Arrays.asList(
+                searchType(1, Domain1201.PROCESS, "java"),
+                searchType(2, Domain1201.PKG, "redis"),
+                searchType(3, Domain1201.SVC, "redis"),
+                searchType(4, Domain1201.SCHEDULE, "redis"),
+                searchType(5, Domain1201.RUNUSER, "redis"),
+                searchType(6, Domain1201.PORT, "6379"),
+                searchType(7, Domain1201.CMD, "redis-cli"),
+                searchType(8, Domain1201.PKG, null)
+        );
+
+        ThirdPartySearchMatcher matcher = ThirdPartySearchMatcher.of(catalogue);
+
+        assertArrayEquals(processes(catalogue, PROCESSES), matcher.findProcesses(PROCESSES));
+        assertArrayEquals(packages(catalogue, PACKAGES), matcher.findPackages(PACKAGES));
+        assertArrayEquals(services(catalogue, SERVICES), matcher.findServices(SERVICES));
+        assertArrayEquals(schedules(catalogue, SCHEDULES), matcher.findSchedules(SCHEDULES));
+        assertArrayEquals(runUsers(catalogue, USERS), matcher.findRunUsers(USERS));
+
+        // 같은 검색 조건이면 생성된 matcher 를 재사용한다.
+        assertSame(matcher, ThirdPartySearchMatcher.of(new ArrayList<>(catalogue)));
+    }
+
+    @Test
+    void randomCatalogue() {
+        Random random = new Random(20231017L);
+        Domain1201[] types = {Domain1201.PROCESS, Domain1201.PKG, Domain1201.SVC, Domain1201.SCHEDULE, Domain1201.RUNUSER};
+
+        for (int round = 0; round < 100; round++) {
+            List<ThirdPartySearchTypeResponse> catalogue = new ArrayList<>();
+            int count = 1 + random.nextInt(15);
+            for (int i = 0; i < count; i++) {
+                Domain1201 type = types[random.nextInt(types.length)];
+                String value = randomString(random, random.nextInt(4));
+                if (type == Domain1201.PROCESS && random.nextBoolean()) {
+                    value += "," + randomString(random, random.nextInt(3));
+                }
+                catalogue.add(searchType(round * 100L + i, type, value));
+            }
+
+            List<String> texts = new ArrayList<>();
+            int size = random.nextInt(10);
+            for (int i = 0; i < size; i++) {
+                texts.add(randomString(random, random.nextInt(12)));
+            }
+
+            ThirdPartySearchMatcher matcher = ThirdPartySearchMatcher.of(catalogue);
+            String message = catalogue.stream().map(s -> s.getSearchType() + "=" + s.getSearchValue()).collect(Collectors.joining(", ")) + " / " + texts;
+
+            assertArrayEquals(processes(catalogue, texts), matcher.findProcesses(texts), message);
+            assertArrayEquals(packages(catalogue, texts), matcher.findPackages(texts), message);
+            assertArrayEquals(services(catalogue, texts), matcher.findServices(texts), message);
+            assertArrayEquals(schedules(catalogue, texts), matcher.findSchedules(texts), message);
+            assertArrayEquals(runUsers(catalogue, texts), matcher.findRunUsers(texts), message);
+        }
+    }
+
+    // 이하 기존 ThirdPartySolutionUtil.detectThirdPartySolutionsFromServer() 의 검색 조건별 판단 방식
+
+    private static String[] processes(List<ThirdPartySearchTypeResponse> catalogue, List<String> processList) {
+        String[] result = new String[catalogue.size()];
+
+        for (int i = 0; i < catalogue.size(); i++) {
+            ThirdPartySearchTypeResponse searchType = catalogue.get(i);
+            if (!Domain1201.PROCESS.name().equals(searchType.getSearchType()) || searchType.getSearchValue() == null) {
+                continue;
+            }
+
+            List<String> searchList = Arrays.stream(searchType.getSearchValue().split(","))
+                    .map(String::trim)
+                    .filter(s -> StringUtils.isNotEmpty(s))
+                    .collect(Collectors.toList());
+
+            int matchCount;
+            for (String p : processList) {
+                matchCount = 0;
+
+                for (String s : searchList) {
+                    if (p.contains(s)) {
+                        matchCount++;
+                    }
+                }
+
+                if (matchCount == searchList.size()) {
+                    result[i] = p;
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static String[] packages(List<ThirdPartySearchTypeResponse> catalogue, List<String> installedSoftwareList) {
+        String[] result = new String[catalogue.size()];
+
+        for (int i = 0; i < catalogue.size(); i++) {
+            ThirdPartySearchTypeResponse searchType = catalogue.get(i);
+            if (!Domain1201.PKG.name().equals(searchType.getSearchType()) || searchType.getSearchValue() == null) {
+                continue;
+            }
+
+            List<String> swList = installedSoftwareList.stream().filter(s -> s.toLowerCase().contains(searchType.getSearchValue().toLowerCase().trim())).collect(Collectors.toList());
+            if (swList.size() > 0) {
+                result[i] = swList.get(0);
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean[] services(List<ThirdPartySearchTypeResponse> catalogue, Collection<String> serviceList) {
+        boolean[] result = new boolean[catalogue.size()];
+
+        for (int i = 0; i < catalogue.size(); i++) {
+            ThirdPartySearchTypeResponse searchType = catalogue.get(i);
+            if (!Domain1201.SVC.name().equals(searchType.getSearchType()) || searchType.getSearchValue() == null) {
+                continue;
+            }
+
+            result[i] = serviceList.stream().anyMatch(s -> s.toLowerCase().contains(searchType.getSearchValue().toLowerCase().replaceAll("\\*", StringUtils.EMPTY)));
+        }
+
+        return result;
+    }
+
+    private static boolean[] schedules(List<ThirdPartySearchTypeResponse> catalogue, Collection<String> schedules) {
+        boolean[] result = new boolean[catalogue.size()];
+
+        for (int i = 0; i < catalogue.size(); i++) {
+            ThirdPartySearchTypeResponse searchType = catalogue.get(i);
+            if (!Domain1201.SCHEDULE.name().equals(searchType.getSearchType()) || searchType.getSearchValue() == null) {
+                continue;
+            }
+
+            result[i] = schedules.stream().filter(c -> c.contains(searchType.getSearchValue().trim())).count() > 0;
+        }
+
+        return result;
+    }
+
+    private static String[] runUsers(List<ThirdPartySearchTypeResponse> catalogue, List<String> processUserList) {
+        String[] result = new String[catalogue.size()];
+
+        for (int i = 0; i < catalogue.size(); i++) {
+            ThirdPartySearchTypeResponse searchType = catalogue.get(i);
+            if (!Domain1201.RUNUSER.name().equals(searchType.getSearchType()) || searchType.getSearchValue() == null) {
+                continue;
+            }
+
+            for (String username : processUserList) {
+                if (username.equalsIgnoreCase(searchType.getSearchValue())) {
+                    result[i] = username;
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static ThirdPartySearchTypeResponse searchType(long id, Domain1201 type, String value) {
+        ThirdPartySearchTypeResponse searchType = new ThirdPartySearchTypeResponse();
+        searchType.setThirdPartySearchTypeId(id);
+        searchType.setThirdPartySolutionId(id);
+        searchType.setSearchType(type.name());
+        searchType.setSearchValue(value);
+        return searchType;
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = {'a', 'b', 'A', 'B', '*', ' ', '-'};
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(chars[random.nextInt(chars.length)]);
+        }
+        return sb.toString();
+    }
+}
+//end of ThirdPartySearchMatcherTest.java
@@ -23,8 +23,12 @@ package io.playce.roro.jpa.repository;
 import io.playce.roro.jpa.entity.InventoryProcess;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
 import java.util.List;
 
 @Repository
@@ -34,6 +38,18 @@ public interface InventoryProcessRepository extends JpaRepository<InventoryProce
 
     List<InventoryProcess> findAllByInventoryProcessResultCode(String inventoryProcessTypeCode);
 
+    /**
+     * 현재 상태가 fromResultCode 인 경우에만 상태를 변경한다.
+     *
+     * @return 변경된 row 수 (0 또는 1)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryProcess i SET i.inventoryProcessResultCode = :toResultCode, i.modifyUserId = :modifyUserId, i.modifyDatetime = :modifyDatetime " +
+            "WHERE i.inventoryProcessId = :inventoryProcessId AND i.inventoryProcessResultCode = :fromResultCode")
+    int updateInventoryProcessResultCode(@Param("inventoryProcessId") Long inventoryProcessId, @Param("fromResultCode") String fromResultCode,
+                                         @Param("toResultCode") String toResultCode, @Param("modifyUserId") Long modifyUserId,
+                                         @Param("modifyDatetime") Date modifyDatetime);
+
     @Deprecated
     InventoryProcess findTopByInventoryIdAndInventoryProcessTypeCodeAndInventoryProcessResultCodeOrderByInventoryProcessIdDesc(Long inventoryId, String inventoryProcessTypeCode, String inventoryProcessResultCode);
 
@@ -23,6 +23,8 @@ package io.playce.roro.jpa.repository;
 import io.playce.roro.jpa.entity.InventoryProcessResult;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import org.springframework.stereotype.Repository;
 
@@ -30,5 +32,8 @@ import org.springframework.stereotype.Repository;
 public interface InventoryProcessResultRepository extends JpaRepository<InventoryProcessResult, Long>, JpaSpecificationExecutor<InventoryProcessResult> {
 
     InventoryProcessResult findByInventoryProcessId(Long inventoryProcessId);
+
+    @Query(value = "select inventory_process_result_json_path from inventory_process_result where inventory_process_id = :inventoryProcessId", nativeQuery = true)
+    String selectInventoryProcessResultJsonPath(@Param("inventoryProcessId") Long inventoryProcessId);
 }
 //end of InventoryProcessResultRepository.java
\ No newline at end of file
@@ -24,6 +24,7 @@ package io.playce.roro.mw.asmt.util;
 import com.jcraft.jsch.JSchException;
 import io.playce.roro.common.dto.common.RemoteExecResult;
 import io.playce.roro.common.exception.RoRoException;
+import io.playce.roro.common.util.SSHUtil;
 import io.playce.roro.common.util.support.TargetHost;
 import io.playce.roro.mw.asmt.component.CommandConfig;
 import io.playce.roro.mw.asmt.enums.COMMAND;
@@ -53,6 +54,12 @@ public class MWCommonUtil {
         } catch (JSchException | IOException e) {
             RoRoException.checkInterruptedException(e);
             log.error(e.getMessage());
+
+            // 연결 오류가 발생한 session은 pool에서 제거하여 다음 명령 실행 시 재연결 되도록 한다.
+            if (e instanceof JSchException && !strategy.isWindows()) {
+                SSHUtil.clearSession(targetHost);
+            }
+
             throw new RoRoException(e.getMessage());
         }
     }
@@ -23,6 +23,7 @@ package io.playce.roro.svr.asmt;
 import com.jcraft.jsch.JSchException;
 import io.playce.roro.common.dto.common.RemoteExecResult;
 import io.playce.roro.common.exception.RoRoException;
+import io.playce.roro.common.property.CommonProperties;
 import io.playce.roro.common.util.SSHUtil;
 import io.playce.roro.common.util.SSHUtil2;
 import io.playce.roro.common.util.support.TargetHost;
@@ -53,11 +54,21 @@ public abstract class AbstractServerAssessment implements ServerAssessment {
 
     public abstract Map<String, String> generateCommand();
 
+    /**
+     * <pre>
+     * 명령 목록을 실행한다. 각 명령은 서로 독립적이므로 ssh.exec.parallel-channels 수 만큼의 channel 에서 동시에 실행된다.
+     * ssh.exec.bundle-mode 가 true 인 경우 모든 명령을 하나의 script 로 묶어 한 번에 실행한다.
+     * </pre>
+     */
     public Map<String, RemoteExecResult> runCommands(TargetHost targetHost, Map<String, String> cmdMap) throws InterruptedException {
         Map<String, RemoteExecResult> resultMap = new HashMap<>();
         try {
             boolean sudo = SSHUtil.isSudoer(targetHost);
-            resultMap = SSHUtil2.runCommands(targetHost, cmdMap, sudo);
+            if (CommonProperties.getSshExecBundleMode()) {
+                resultMap = SSHUtil2.runCommandsInBundle(targetHost, cmdMap, sudo);
+            } else {
+                resultMap = SSHUtil2.runCommandsInParallel(targetHost, cmdMap, sudo);
+            }
 
         } catch (JSchException | IOException e) {
             RoRoException.checkInterruptedException(e);
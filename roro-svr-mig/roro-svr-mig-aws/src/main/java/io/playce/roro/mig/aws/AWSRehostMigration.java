@@ -47,6 +47,7 @@ import org.springframework.stereotype.Component;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <pre>
@@ -61,6 +62,8 @@ import java.util.List;
 @Scope("prototype")
 public class AWSRehostMigration extends AbstractRehostMigration {
 
+    private static final long PROGRESS_UPDATE_INTERVAL = 10 * 1000L;
+
     private List<S3Upload> uploadThreadList = new ArrayList<>();
 
     private EC2Client ec2;
@@ -278,14 +281,23 @@ public class AWSRehostMigration extends AbstractRehostMigration {
 
         List<MigrationProcessDto.Volume> volumeList = migration.getVolumes();
 
+        long uploadSize = 0;
+        for (MigrationProcessDto.Volume volume : volumeList) {
+            uploadSize += new File(volume.getRawFileName()).length();
+        }
+        migration.setUploadSize(uploadSize);
+        migration.setUploadedSize(0L);
+
         for (MigrationProcessDto.Volume volume : volumeList) {
             S3Upload uploadThread = new S3Upload(folderName, volume, credentials, MigrationManager.getBucketRegion());
             uploadThreadList.add(uploadThread);
             uploadThread.start();
         }
 
+        long lastProgressUpdated = System.currentTimeMillis();
         while (true) {
             int cnt = 0;
+            long uploadedSize = 0;
             for (S3Upload uploadThread : uploadThreadList) {
                 if (uploadThread.isError()) {
                     throw new RuntimeException(uploadThread.getException());
@@ -294,12 +306,21 @@ public class AWSRehostMigration extends AbstractRehostMigration {
                 if (!uploadThread.isAlive() || uploadThread.isDone()) {
                     cnt++;
                 }
+
+                uploadedSize += uploadThread.getUploadedSize();
             }
 
             if (cnt == uploadThreadList.size()) {
                 break;
             }
 
+            // 전송된 bytes 기준의 진행률을 주기적으로 갱신한다.
+            migration.setUploadedSize(uploadedSize);
+            if (System.currentTimeMillis() - lastProgressUpdated > PROGRESS_UPDATE_INTERVAL) {
+                lastProgressUpdated = System.currentTimeMillis();
+                updateStatus(StatusType.UPLOAD_TO_S3);
+            }
+
             try {
                 Thread.sleep(1000);
             } catch (Exception e) {
@@ -662,6 +683,7 @@ public class AWSRehostMigration extends AbstractRehostMigration {
         private boolean isError = false;
         private Exception exception = null;
         private S3Client s3;
+        private final AtomicLong uploadedSize = new AtomicLong();
 
         public S3Upload(String folderName, MigrationProcessDto.Volume volume, AWSCredentials credentials, String region) {
             this.folderName = folderName;
@@ -676,7 +698,8 @@ public class AWSRehostMigration extends AbstractRehostMigration {
 
                 // if (StringUtils.isNullOrEmpty(volume.getManifestUrl())) {
                 // S3 Upload as multipart
-                s3.putObjectAsMultiPart(MigrationManager.getBucketName(), folderName, file);
+                s3.putObjectAsMultiPart(MigrationManager.getBucketName(), folderName, file,
+                        (transferredBytes, totalBytes, bytesPerSecond) -> uploadedSize.set(transferredBytes));
 
                 // S3 Upload with Transfer Acceleration
                 //s3.putObject(bucketName, folderName + "/" + file.getName(), file);
@@ -725,6 +748,13 @@ public class AWSRehostMigration extends AbstractRehostMigration {
         public Exception getException() {
             return exception;
         }
+
+        /**
+         * @return the uploadedSize
+         */
+        public long getUploadedSize() {
+            return uploadedSize.get();
+        }
     }
 }
 //end of AWSRehostMigration.java
\ No newline at end of file
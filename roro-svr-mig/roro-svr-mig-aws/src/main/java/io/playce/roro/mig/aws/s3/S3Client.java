@@ -29,10 +29,8 @@ import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.*;
-import com.amazonaws.services.s3.transfer.TransferManager;
-import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
-import com.amazonaws.services.s3.transfer.Upload;
 import io.playce.roro.common.util.CommandUtil;
+import io.playce.roro.mig.MigrationManager;
 import io.playce.roro.mig.aws.ec2.entity.*;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.exec.CommandLine;
@@ -57,14 +55,8 @@ import java.util.*;
 @Slf4j
 public class S3Client {
 
-    private static final long MAX_THREADS = 20L;
-    private static final long MIN_PART_SIZE = 10 * 1024 * 1024;
-    private static final long MAX_PART_SIZE = 5000000000L;
-
     private AmazonS3 s3;
 
-    private TransferManager tm;
-
     public S3Client(AWSCredentials credentials, String region) {
         if (StringUtils.isEmpty(region)) {
             log.warn("Please check 'BUCKET_REGION' or 'roro.migration.bucket.region' property has been set in setenv.sh ");
@@ -85,13 +77,9 @@ public class S3Client {
 			.withCredentials(new DefaultAWSCredentialsProviderChain())
 			.build();
 		//*/
-
-        tm = TransferManagerBuilder.standard()
-                .withS3Client(s3)
-                .build();
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
         ch.qos.logback.classic.Logger root = (ch.qos.logback.classic.Logger) org.slf4j.LoggerFactory.getLogger("org.apache.http");
         root.setLevel(ch.qos.logback.classic.Level.INFO);
 
@@ -293,112 +281,38 @@ public class S3Client {
      * @param folderName
      * @param file
      */
-    public void putObjectAsMultiPart(String bucketName, String folderName, File file) {
-        /*
-        long partSize = file.length() / MAX_THREADS;
-
-        if (partSize < MIN_PART_SIZE) {
-            partSize = MIN_PART_SIZE;
-        }
-
-        // https://docs.aws.amazon.com/AmazonS3/latest/userguide/upload-objects.html
-        // With a single PUT operation, you can upload a single object up to 5 GB in size.
-        if (partSize > MAX_PART_SIZE) {
-            partSize = MAX_PART_SIZE;
-        }
-
-        putObjectAsMultiPart(bucketName, folderName, file, partSize);
-        /*/
-        try {
-            log.info("Upload will be start for file " + "\"" + folderName + "/" + file.getName() + "\".");
-
-            // TransferManager processes all transfers asynchronously,
-            // so this call returns immediately.
-            //tm.getConfiguration().setMinimumUploadPartSize(50 * 1024 * 1024);
-            Upload upload = tm.upload(bucketName, folderName + "/" + file.getName(), file);
-
-            String migrationId = file.getParentFile().getParentFile().getName();
-            log.info("Migration ID : [{}], bucketName : [{}]", migrationId, bucketName);
-            log.info("Migration ID : [{}], folderName : [{}]", migrationId, folderName);
-            log.info("Migration ID : [{}], file.getAbsolutePath() : [{}]", migrationId, file.getAbsolutePath());
-            log.info("Migration ID : [{}], file.length() : [{}]", migrationId, file.length());
-
-            upload.addProgressListener(new UploadProgressListener(file, upload));
-
-            // Optionally, wait for the upload to finish before continuing.
-            upload.waitForCompletion();
-            log.info("Upload completed for file " + "\"" + folderName + "/" + file.getName() + "\"" + ", " + file.length()
-                    + " bytes data has been transferred.");
-        } catch (Exception e) {
-            log.info("Upload failed for file " + "\"" + folderName + "/" + file.getName() + "\".");
-        }
-        //*/
+    public void putObjectAsMultiPart(String bucketName, String folderName, File file) throws IOException, InterruptedException {
+        putObjectAsMultiPart(bucketName, folderName, file, null);
     }
 
     /**
      * <pre>
      * 버킷에 오브젝트를 멀티파트로 업로드한다.
+     * 동시 전송 part 수와 재시도 횟수는 roro.migration.upload.parallelism, roro.migration.upload.max-retries 를 따르며,
+     * 업로드가 실패한 경우 같은 파일을 다시 업로드하면 완료된 part 이후부터 이어서 업로드한다.
      * </pre>
      *
      * @param bucketName
      * @param folderName
      * @param file
-     * @param partSize
+     * @param listener   전송량 변경 시 호출된다. (null 허용)
      */
-    @Deprecated
-    private void putObjectAsMultiPart(String bucketName, String folderName, File file, long partSize) {
-        List<PartETag> partETags = new ArrayList<PartETag>();
-        List<MultiPartFileUploader> uploaders = new ArrayList<MultiPartFileUploader>();
+    public void putObjectAsMultiPart(String bucketName, String folderName, File file, S3MultipartUploader.Listener listener) throws IOException, InterruptedException {
+        String migrationId = file.getParentFile().getParentFile().getName();
+        log.info("Migration ID : [{}], bucketName : [{}]", migrationId, bucketName);
+        log.info("Migration ID : [{}], folderName : [{}]", migrationId, folderName);
+        log.info("Migration ID : [{}], file.getAbsolutePath() : [{}]", migrationId, file.getAbsolutePath());
+        log.info("Migration ID : [{}], file.length() : [{}]", migrationId, file.length());
 
-        // Step 1: Initialize.
-        InitiateMultipartUploadRequest initRequest = new InitiateMultipartUploadRequest(bucketName, folderName + "/" + file.getName());
-        InitiateMultipartUploadResult initResponse = s3.initiateMultipartUpload(initRequest);
-        long contentLength = file.length();
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, MigrationManager.getUploadParallelism(), MigrationManager.getUploadMaxRetries());
 
         try {
-            createFolder(bucketName, folderName);
-
-            // Step 2: Upload parts.
-            long filePosition = 0;
-            for (int i = 1; filePosition < contentLength; i++) {
-                // Last part can be less than part size. Adjust part size.
-                partSize = Math.min(partSize, (contentLength - filePosition));
-
-                // Create request to upload a part.
-                UploadPartRequest uploadRequest = new UploadPartRequest().withBucketName(bucketName)
-                        .withKey(folderName + "/" + file.getName()).withUploadId(initResponse.getUploadId()).withPartNumber(i)
-                        .withFileOffset(filePosition).withFile(file).withPartSize(partSize);
-
-                uploadRequest.setGeneralProgressListener(new UploadProgressListener(file, i, partSize));
-
-                // Upload part and add response to our list.
-                MultiPartFileUploader uploader = new MultiPartFileUploader(uploadRequest, s3);
-                uploaders.add(uploader);
-                uploader.upload();
-
-                filePosition += partSize;
-            }
-
-            for (MultiPartFileUploader uploader : uploaders) {
-                uploader.join();
-                partETags.add(uploader.getPartETag());
-            }
-
-            String migrationId = file.getParentFile().getParentFile().getName();
-
-            log.info("[{}] buckerName : [{}]", migrationId, bucketName);
-            log.info("[{}] folderName : [{}]", migrationId, folderName);
-            log.info("[{}] file.getAbsolutePath() : [{}]", migrationId, file.getAbsolutePath());
-            log.info("[{}] file.length() : [{}]", migrationId, file.length());
-
-            // Step 3: complete.
-            CompleteMultipartUploadRequest compRequest = new CompleteMultipartUploadRequest(bucketName, folderName + "/" + file.getName(),
-                    initResponse.getUploadId(), partETags);
+            uploader.upload(bucketName, folderName + "/" + file.getName(), file, listener);
+        } catch (AmazonServiceException ase) {
+            log.error("Upload failed for file \"{}/{}\". HTTP Status Code : [{}], AWS Error Code : [{}], Request ID : [{}]",
+                    folderName, file.getName(), ase.getStatusCode(), ase.getErrorCode(), ase.getRequestId());
 
-            s3.completeMultipartUpload(compRequest);
-        } catch (Throwable t) {
-            log.error("Unable to put object as multipart to Amazon S3 for file " + folderName + "/" + file.getName(), t);
-            s3.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, folderName + "/" + file.getName(), initResponse.getUploadId()));
+            throw ase;
         }
     }
 
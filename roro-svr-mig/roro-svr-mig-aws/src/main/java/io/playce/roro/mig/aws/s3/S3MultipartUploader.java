@@ -0,0 +1,569 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.mig.aws.s3;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.event.ProgressEventType;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import io.playce.roro.mig.RawImage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <pre>
+ * 파일을 S3 multipart upload 로 업로드한다.
+ *
+ * 1. 동시에 전송하는 part 는 parallelism 개로 제한하며, 각 part 는 전송할 차례가 되었을 때 요청을 생성한다.
+ * 2. part 크기는 파일 크기에 따라 MIN_PART_SIZE ~ MAX_PART_SIZE 범위에서 part 수가 TARGET_PART_COUNT 내외가 되도록 결정한다.
+ * 3. 실패한 part 는 maxRetries 회까지 exponential backoff 후 다시 전송한다. (재시도해도 성공할 수 없는 4xx 오류 제외)
+ * 4. uploadId 와 완료된 part 의 ETag 는 "파일명.upload" 파일에 기록하며, 업로드가 실패한 후 같은 파일을 다시 업로드하면
+ *    S3 에 남아있는 part 는 전송하지 않고 이어서 업로드한다. 업로드가 완료되면 기록 파일을 삭제한다.
+ * 5. 업로드가 중단(interrupt)된 경우에는 이어서 업로드하지 않으므로 multipart upload 를 abort 한다.
+ * 6. 0 으로만 채워진 part(raw image 의 빈 영역)는 전송하지 않고, 0 으로 채워진 object 를 한 번 업로드한 후 S3 에서 복사(UploadPartCopy)한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Slf4j
+public class S3MultipartUploader {
+
+    private static final long MIN_PART_SIZE = 16L * 1024 * 1024;
+    // https://docs.aws.amazon.com/AmazonS3/latest/userguide/qfacts.html
+    private static final long MAX_PART_SIZE = 5L * 1024 * 1024 * 1024;
+    private static final int MAX_PART_COUNT = 10000;
+    private static final int TARGET_PART_COUNT = 2000;
+
+    private static final long BASE_BACKOFF_MILLIS = 1000L;
+    private static final long MAX_BACKOFF_MILLIS = 30000L;
+    private static final long LOG_INTERVAL_MILLIS = 60 * 1000L;
+
+    private static final String STATE_FILE_SUFFIX = ".upload";
+    private static final String ZERO_OBJECT_SUFFIX = ".zero";
+
+    private final AmazonS3 s3;
+    private final int parallelism;
+    private final int maxRetries;
+
+    public S3MultipartUploader(AmazonS3 s3, int parallelism, int maxRetries) {
+        this.s3 = s3;
+        this.parallelism = Math.max(parallelism, 1);
+        this.maxRetries = Math.max(maxRetries, 0);
+    }
+
+    /**
+     * 파일을 업로드한다. 업로드가 완료될 때까지 반환하지 않는다.
+     *
+     * @param listener 전송량 변경 시 호출된다. (null 허용)
+     */
+    public void upload(String bucketName, String key, File file, Listener listener) throws IOException, InterruptedException {
+        long contentLength = file.length();
+        long partSize = getPartSize(contentLength);
+        int partCount = (int) Math.max((contentLength + partSize - 1) / partSize, 1);
+
+        UploadState state = UploadState.load(getStateFile(file), bucketName, key, file, partSize);
+        if (state != null && !verify(state)) {
+            state = null;
+        }
+
+        if (state == null) {
+            String uploadId = s3.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key)).getUploadId();
+            state = UploadState.create(getStateFile(file), bucketName, key, file, partSize, uploadId);
+        } else {
+            log.info("Resume the upload of [{}]. {}/{} parts have already been uploaded.", file.getAbsolutePath(), state.partETags.size(), partCount);
+        }
+
+        Progress progress = new Progress(file, contentLength, listener);
+        for (int partNumber : state.partETags.keySet()) {
+            progress.skip(getPartLength(partNumber, partSize, contentLength));
+        }
+
+        ZeroObject zeroObject = new ZeroObject(bucketName, key + ZERO_OBJECT_SUFFIX, partSize);
+
+        log.info("Upload will be start for file [{}] to [{}/{}]. size : [{}], partSize : [{}], partCount : [{}], parallelism : [{}]",
+                file.getAbsolutePath(), bucketName, key, contentLength, partSize, partCount, parallelism);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, partCount), threadFactory(file.getName()));
+        CompletionService<PartETag> completionService = new ExecutorCompletionService<>(executor);
+
+        try {
+            int nextPartNumber = 1;
+            int inFlight = 0;
+
+            while (true) {
+                // 전송 중인 part 가 parallelism 개가 되도록 다음 part 를 요청한다.
+                while (nextPartNumber <= partCount && inFlight < parallelism) {
+                    int partNumber = nextPartNumber++;
+
+                    if (!state.partETags.containsKey(partNumber)) {
+                        final UploadState uploadState = state;
+                        completionService.submit(() -> uploadPart(uploadState, zeroObject, file, partNumber, partSize, contentLength, progress));
+                        inFlight++;
+                    }
+                }
+
+                if (inFlight == 0) {
+                    break;
+                }
+
+                Future<PartETag> future = completionService.take();
+                inFlight--;
+
+                try {
+                    state.add(future.get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    log.error("Upload failed for file [{}]. The upload can be resumed with uploadId [{}].", file.getAbsolutePath(), state.uploadId);
+
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new IOException(cause);
+                }
+            }
+
+            List<PartETag> partETags = new ArrayList<>();
+            for (Map.Entry<Integer, String> entry : state.partETags.entrySet()) {
+                partETags.add(new PartETag(entry.getKey(), entry.getValue()));
+            }
+
+            s3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, state.uploadId, partETags));
+            state.delete();
+
+            log.info("Upload completed for file [{}], {} bytes data has been transferred, {} zero parts have been copied. ({})",
+                    file.getAbsolutePath(), contentLength, zeroObject.copiedParts.get(), progress.getThroughput());
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            abort(state);
+            throw e;
+        } finally {
+            executor.shutdownNow();
+            // 이어서 업로드할 때는 새로 생성하므로 실패한 경우에도 삭제한다.
+            zeroObject.delete();
+        }
+    }
+
+    /**
+     * part 하나를 전송한다. 전송에 실패하면 전송한 만큼의 전송량을 되돌리고 backoff 후 다시 전송한다.
+     * 0 으로만 채워진 part 는 zero object 에서 복사한다.
+     */
+    private PartETag uploadPart(UploadState state, ZeroObject zeroObject, File file, int partNumber, long partSize, long contentLength, Progress progress) throws InterruptedException {
+        long offset = (partNumber - 1) * partSize;
+        long length = getPartLength(partNumber, partSize, contentLength);
+        boolean zero = length > 0 && isZero(file, offset, length);
+
+        for (int attempt = 0; ; attempt++) {
+            if (zero) {
+                try {
+                    PartETag partETag = zeroObject.copyPart(state, partNumber, length);
+                    progress.skip(length);
+                    return partETag;
+                } catch (AmazonClientException e) {
+                    backoff(e, attempt, partNumber, file);
+                    continue;
+                }
+            }
+
+            AtomicLong transferred = new AtomicLong();
+
+            UploadPartRequest request = new UploadPartRequest()
+                    .withBucketName(state.bucketName)
+                    .withKey(state.key)
+                    .withUploadId(state.uploadId)
+                    .withPartNumber(partNumber)
+                    .withFile(file)
+                    .withFileOffset(offset)
+                    .withPartSize(length);
+
+            // SDK 내부 재시도로 stream 이 reset 되면 음수의 전송량이 전달된다.
+            request.setGeneralProgressListener(event -> {
+                if (event.getEventType() == ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT
+                        || event.getEventType() == ProgressEventType.HTTP_REQUEST_CONTENT_RESET_EVENT) {
+                    transferred.addAndGet(event.getBytesTransferred());
+                    progress.add(event.getBytesTransferred());
+                }
+            });
+
+            try {
+                return s3.uploadPart(request).getPartETag();
+            } catch (AmazonClientException e) {
+                progress.add(-transferred.get());
+                backoff(e, attempt, partNumber, file);
+            }
+        }
+    }
+
+    /**
+     * 재시도할 수 없으면 예외를 다시 던지고, 재시도할 수 있으면 backoff 시간만큼 대기한다.
+     */
+    private void backoff(AmazonClientException e, int attempt, int partNumber, File file) throws InterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException("Upload interrupted at part " + partNumber + ".");
+        }
+
+        if (attempt >= maxRetries || !isRetryable(e)) {
+            throw e;
+        }
+
+        long backoff = Math.min(BASE_BACKOFF_MILLIS << attempt, MAX_BACKOFF_MILLIS);
+        backoff += ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+
+        log.warn("Upload failed at {}. part for file [{}]. Retry {}/{} after {} ms. Reason : [{}]",
+                partNumber, file.getName(), attempt + 1, maxRetries, backoff, e.getMessage());
+
+        Thread.sleep(backoff);
+    }
+
+    private static boolean isZero(File file, long offset, long length) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return RawImage.isZero(channel, offset, length);
+        } catch (IOException e) {
+            // 읽을 수 없는 경우 uploadPart 에서 오류를 처리하도록 전송한다.
+            return false;
+        }
+    }
+
+    /**
+     * 기록된 uploadId 가 유효한지 확인하고, S3 에 없는 part 는 다시 전송하도록 기록에서 제외한다.
+     */
+    private boolean verify(UploadState state) {
+        Map<Integer, String> uploaded = new HashMap<>();
+
+        try {
+            ListPartsRequest request = new ListPartsRequest(state.bucketName, state.key, state.uploadId);
+            PartListing listing;
+            do {
+                listing = s3.listParts(request);
+                for (PartSummary part : listing.getParts()) {
+                    uploaded.put(part.getPartNumber(), part.getETag());
+                }
+                request.setPartNumberMarker(listing.getNextPartNumberMarker());
+            } while (listing.isTruncated());
+        } catch (AmazonServiceException e) {
+            log.info("Unable to resume the upload [{}] of [{}]. A new upload will be started. Reason : [{}]", state.uploadId, state.key, e.getErrorCode());
+            state.delete();
+            return false;
+        }
+
+        state.partETags.entrySet().removeIf(entry -> !entry.getValue().equals(uploaded.get(entry.getKey())));
+        return true;
+    }
+
+    private void abort(UploadState state) {
+        try {
+            s3.abortMultipartUpload(new AbortMultipartUploadRequest(state.bucketName, state.key, state.uploadId));
+        } catch (Exception e) {
+            log.warn("Unable to abort the multipart upload [{}] of [{}]. Reason : [{}]", state.uploadId, state.key, e.getMessage());
+        }
+
+        state.delete();
+    }
+
+    /**
+     * part 수가 TARGET_PART_COUNT 내외가 되는 1MB 단위의 크기
+     */
+    static long getPartSize(long contentLength) {
+        long partSize = (contentLength / TARGET_PART_COUNT + 0xFFFFF) & ~0xFFFFFL;
+        partSize = Math.max(partSize, (contentLength + MAX_PART_COUNT - 1) / MAX_PART_COUNT);
+
+        return Math.min(Math.max(partSize, MIN_PART_SIZE), MAX_PART_SIZE);
+    }
+
+    private static long getPartLength(int partNumber, long partSize, long contentLength) {
+        return Math.max(Math.min(partSize, contentLength - (partNumber - 1) * partSize), 0);
+    }
+
+    private static boolean isRetryable(AmazonClientException e) {
+        if (e instanceof AmazonServiceException) {
+            AmazonServiceException ase = (AmazonServiceException) e;
+            int statusCode = ase.getStatusCode();
+
+            return statusCode >= 500 || statusCode == 408 || statusCode == 429
+                    || "RequestTimeout".equals(ase.getErrorCode()) || "SlowDown".equals(ase.getErrorCode());
+        }
+
+        return e.isRetryable();
+    }
+
+    private static File getStateFile(File file) {
+        return new File(file.getAbsolutePath() + STATE_FILE_SUFFIX);
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, "s3-upload-" + name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 전송량 변경을 전달받는다.
+     */
+    public interface Listener {
+        /**
+         * @param transferredBytes 전송된 bytes (이전에 업로드된 part 포함)
+         * @param totalBytes       파일 크기
+         * @param bytesPerSecond   업로드 시작 후 평균 전송 속도
+         */
+        void onProgress(long transferredBytes, long totalBytes, double bytesPerSecond);
+    }
+
+    private static class Progress {
+        private final File file;
+        private final long totalBytes;
+        private final Listener listener;
+        private final AtomicLong transferredBytes = new AtomicLong();
+        private final AtomicLong sentBytes = new AtomicLong();
+        private final long startTime = System.currentTimeMillis();
+        private volatile long lastLogTime = startTime;
+
+        private Progress(File file, long totalBytes, Listener listener) {
+            this.file = file;
+            this.totalBytes = totalBytes;
+            this.listener = listener;
+        }
+
+        private void add(long bytes) {
+            update(transferredBytes.addAndGet(bytes), sentBytes.addAndGet(bytes));
+        }
+
+        /**
+         * 전송하지 않고 완료된 bytes (이미 업로드된 part, 복사된 part)
+         */
+        private void skip(long bytes) {
+            update(transferredBytes.addAndGet(bytes), sentBytes.get());
+        }
+
+        private void update(long transferred, long sent) {
+            double bytesPerSecond = getBytesPerSecond(sent);
+
+            if (listener != null) {
+                listener.onProgress(transferred, totalBytes, bytesPerSecond);
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastLogTime > LOG_INTERVAL_MILLIS) {
+                lastLogTime = now;
+                log.info("Upload in progress for file [{}], {}/{} bytes ({}%) has been transferred. ({})", file.getName(), transferred, totalBytes,
+                        String.format("%.2f", totalBytes == 0 ? 100.0 : transferred * 100.0 / totalBytes), getThroughput());
+            }
+        }
+
+        private double getBytesPerSecond(long sent) {
+            long elapsed = Math.max(System.currentTimeMillis() - startTime, 1);
+            return sent * 1000.0 / elapsed;
+        }
+
+        private String getThroughput() {
+            return String.format("%.2f MB/s", getBytesPerSecond(sentBytes.get()) / 1024 / 1024);
+        }
+    }
+
+    /**
+     * 0 으로 채워진 part 를 복사하기 위한 object. 처음 복사할 때 part 크기로 업로드하고, 업로드가 끝나면 삭제한다.
+     */
+    private class ZeroObject {
+        private final String bucketName;
+        private final String key;
+        private final long size;
+        private final AtomicInteger copiedParts = new AtomicInteger();
+        private volatile boolean created;
+
+        private ZeroObject(String bucketName, String key, long size) {
+            this.bucketName = bucketName;
+            this.key = key;
+            this.size = size;
+        }
+
+        private PartETag copyPart(UploadState state, int partNumber, long length) {
+            create();
+
+            CopyPartRequest request = new CopyPartRequest()
+                    .withSourceBucketName(bucketName)
+                    .withSourceKey(key)
+                    .withDestinationBucketName(state.bucketName)
+                    .withDestinationKey(state.key)
+                    .withUploadId(state.uploadId)
+                    .withPartNumber(partNumber)
+                    .withFirstByte(0L)
+                    .withLastByte(length - 1);
+
+            PartETag partETag = s3.copyPart(request).getPartETag();
+            copiedParts.incrementAndGet();
+            return partETag;
+        }
+
+        private synchronized void create() {
+            if (created) {
+                return;
+            }
+
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentLength(size);
+            s3.putObject(new PutObjectRequest(bucketName, key, new ZeroInputStream(size), metadata));
+            created = true;
+        }
+
+        private void delete() {
+            if (created) {
+                try {
+                    s3.deleteObject(bucketName, key);
+                } catch (Exception e) {
+                    log.warn("Unable to delete [{}/{}]. Reason : [{}]", bucketName, key, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static class ZeroInputStream extends InputStream {
+        private long remaining;
+
+        private ZeroInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return 0;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining <= 0) {
+                return -1;
+            }
+
+            int read = (int) Math.min(len, remaining);
+            Arrays.fill(b, off, off + read, (byte) 0);
+            remaining -= read;
+            return read;
+        }
+    }
+
+    /**
+     * 이어서 업로드하기 위한 기록. 첫 줄부터 대상 정보와 uploadId 를 기록하고, part 가 완료될 때마다 "part.번호=ETag" 를 추가한다.
+     */
+    private static class UploadState {
+        private final File stateFile;
+        private final String bucketName;
+        private final String key;
+        private final String uploadId;
+        private final Map<Integer, String> partETags = new ConcurrentSkipListMap<>();
+
+        private UploadState(File stateFile, String bucketName, String key, String uploadId) {
+            this.stateFile = stateFile;
+            this.bucketName = bucketName;
+            this.key = key;
+            this.uploadId = uploadId;
+        }
+
+        private static UploadState create(File stateFile, String bucketName, String key, File file, long partSize, String uploadId) throws IOException {
+            Properties properties = getTarget(bucketName, key, file, partSize);
+            properties.setProperty("uploadId", uploadId);
+
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(stateFile), StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+
+            return new UploadState(stateFile, bucketName, key, uploadId);
+        }
+
+        /**
+         * @return 같은 대상(bucket, key, 파일 크기 및 수정 시간, part 크기)에 대한 기록, 없으면 null
+         */
+        private static UploadState load(File stateFile, String bucketName, String key, File file, long partSize) {
+            if (!stateFile.exists()) {
+                return null;
+            }
+
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(new FileInputStream(stateFile), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Unable to read [{}]. Reason : [{}]", stateFile, e.getMessage());
+                return null;
+            }
+
+            for (Map.Entry<Object, Object> entry : getTarget(bucketName, key, file, partSize).entrySet()) {
+                if (!entry.getValue().equals(properties.get(entry.getKey()))) {
+                    return null;
+                }
+            }
+
+            String uploadId = properties.getProperty("uploadId");
+            if (uploadId == null) {
+                return null;
+            }
+
+            UploadState state = new UploadState(stateFile, bucketName, key, uploadId);
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith("part.")) {
+                    try {
+                        state.partETags.put(Integer.parseInt(name.substring(5)), properties.getProperty(name));
+                    } catch (NumberFormatException e) {
+                        // 기록 중 중단된 part 는 다시 전송된다.
+                        log.warn("Ignore the invalid entry [{}] in [{}].", name, stateFile);
+                    }
+                }
+            }
+
+            return state;
+        }
+
+        private static Properties getTarget(String bucketName, String key, File file, long partSize) {
+            Properties properties = new Properties();
+            properties.setProperty("bucketName", bucketName);
+            properties.setProperty("key", key);
+            properties.setProperty("length", Long.toString(file.length()));
+            properties.setProperty("lastModified", Long.toString(file.lastModified()));
+            properties.setProperty("partSize", Long.toString(partSize));
+            return properties;
+        }
+
+        private synchronized void add(PartETag partETag) {
+            partETags.put(partETag.getPartNumber(), partETag.getETag());
+
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(stateFile, true), StandardCharsets.UTF_8)) {
+                writer.write("part." + partETag.getPartNumber() + "=" + partETag.getETag() + System.lineSeparator());
+            } catch (IOException e) {
+                // 기록하지 못한 part 는 재개 시 다시 전송된다.
+                log.warn("Unable to write the upload state to [{}]. Reason : [{}]", stateFile, e.getMessage());
+            }
+        }
+
+        private void delete() {
+            if (stateFile.exists() && !stateFile.delete()) {
+                log.warn("Unable to delete [{}].", stateFile);
+            }
+        }
+    }
+}
+//end of S3MultipartUploader.java
@@ -0,0 +1,557 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.mig.aws.s3;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.event.ProgressEvent;
+import com.amazonaws.event.ProgressEventType;
+import com.amazonaws.event.ProgressListener;
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * S3MultipartUploader 가 실패한 업로드를 "파일명.upload" 기록으로 이어서 업로드하는지 확인한다.
+ *
+ * 메모리에 object 와 part 를 보관하는 AmazonS3 로 업로드하며, part 크기는 최소 크기(16MB)이다.
+ * 테스트 파일은 4 개의 part 로 나뉘고 2 번째 part 는 0 으로만 채워져 있다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class S3MultipartUploaderTest {
+
+    private static final String BUCKET = "roro-bucket";
+    private static final String KEY = "images/disk.tar.gz";
+    private static final long PART_SIZE = 16L * 1024 * 1024;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void upload() throws Exception {
+        File file = createFile();
+        FakeS3 s3 = new FakeS3();
+        List<Long> transferred = new CopyOnWriteArrayList<>();
+
+        new S3MultipartUploader(s3, 4, 0).upload(BUCKET, KEY, file, (bytes, total, bytesPerSecond) -> {
+            transferred.add(bytes);
+            assertEquals(file.length(), total);
+        });
+
+        assertArrayEquals(Files.readAllBytes(file.toPath()), s3.objects.get(KEY));
+        assertEquals(1, s3.initiated.get());
+        assertEquals(Arrays.asList(1, 3, 4), sorted(s3.uploadedParts));
+
+        // 0 으로 채워진 part 는 복사하며, 복사에 사용한 object 는 완료 후 삭제한다.
+        assertEquals(Collections.singletonList(2), s3.copiedParts);
+        assertEquals(Collections.singleton(KEY), s3.objects.keySet());
+        assertFalse(stateFile(file).exists());
+        assertEquals(Long.valueOf(file.length()), Collections.max(transferred));
+    }
+
+    @Test
+    void resumeSkipsUploadedParts() throws Exception {
+        File file = createFile();
+        FakeS3 s3 = new FakeS3();
+        s3.failPart = 3;
+
+        AmazonServiceException e = assertThrows(AmazonServiceException.class, () -> new S3MultipartUploader(s3, 1, 0).upload(BUCKET, KEY, file, null));
+        assertEquals(403, e.getStatusCode());
+
+        // uploadId 와 완료된 part 가 기록되어 있고, multipart upload 는 abort 하지 않는다.
+        Properties state = loadState(file);
+        String uploadId = state.getProperty("uploadId");
+        assertNotNull(uploadId);
+        assertEquals(s3.etag(uploadId, 1), state.getProperty("part.1"));
+        assertEquals(s3.etag(uploadId, 2), state.getProperty("part.2"));
+        assertNull(state.getProperty("part.3"));
+        assertEquals(0, s3.aborted.get());
+
+        // 0 으로 채워진 part 를 복사한 object 는 실패한 경우에도 삭제한다.
+        assertTrue(s3.objects.isEmpty());
+
+        s3.failPart = 0;
+        s3.uploadedParts.clear();
+        s3.copiedParts.clear();
+        List<Long> transferred = new CopyOnWriteArrayList<>();
+
+        new S3MultipartUploader(s3, 1, 0).upload(BUCKET, KEY, file, (bytes, total, bytesPerSecond) -> transferred.add(bytes));
+
+        assertEquals(1, s3.initiated.get());
+        assertEquals(Arrays.asList(3, 4), sorted(s3.uploadedParts));
+        assertTrue(s3.copiedParts.isEmpty());
+        assertArrayEquals(Files.readAllBytes(file.toPath()), s3.objects.get(KEY));
+        assertFalse(stateFile(file).exists());
+
+        // 이전에 업로드된 part 는 전송량에 포함된다.
+        assertEquals(Long.valueOf(PART_SIZE), transferred.get(0));
+        assertEquals(Long.valueOf(file.length()), Collections.max(transferred));
+    }
+
+    @Test
+    void partsMissingInS3AreUploadedAgain() throws Exception {
+        File file = createFile();
+        FakeS3 s3 = new FakeS3();
+        s3.failPart = 4;
+
+        assertThrows(AmazonServiceException.class, () -> new S3MultipartUploader(s3, 1, 0).upload(BUCKET, KEY, file, null));
+        String uploadId = loadState(file).getProperty("uploadId");
+
+        // 1 번 part 는 S3 에 없고, 3 번 part 는 기록과 ETag 가 다르다.
+        s3.uploads.get(uploadId).remove(1);
+        s3.uploads.get(uploadId).put(3, new byte[]{1, 2, 3});
+
+        s3.failPart = 0;
+        s3.uploadedParts.clear();
+        s3.listPageSize = 1;
+
+        new S3MultipartUploader(s3, 2, 0).upload(BUCKET, KEY, file, null);
+
+        assertEquals(1, s3.initiated.get());
+        assertEquals(Arrays.asList(1, 3, 4), sorted(s3.uploadedParts));
+        assertTrue(s3.listRequests.get() > 1);
+        assertArrayEquals(Files.readAllBytes(file.toPath()), s3.objects.get(KEY));
+        assertFalse(stateFile(file).exists());
+    }
+
+    @Test
+    void unknownUploadIdStartsNewUpload() throws Exception {
+        File file = createFile();
+        FakeS3 s3 = new FakeS3();
+        s3.failPart = 3;
+
+        assertThrows(AmazonServiceException.class, () -> new S3MultipartUploader(s3, 1, 0).upload(BUCKET, KEY, file, null));
+        String uploadId = loadState(file).getProperty("uploadId");
+
+        // lifecycle rule 등으로 multipart upload 가 삭제된 경우
+        s3.uploads.remove(uploadId);
+
+        s3.failPart = 0;
+        s3.uploadedParts.clear();
+        s3.copiedParts.clear();
+
+        new S3MultipartUploader(s3, 2, 0).upload(BUCKET, KEY, file, null);
+
+        assertEquals(2, s3.initiated.get());
+        assertEquals(Arrays.asList(1, 3, 4), sorted(s3.uploadedParts));
+        assertEquals(Collections.singletonList(2), s3.copiedParts);
+        assertArrayEquals(Files.readAllBytes(file.toPath()), s3.objects.get(KEY));
+        assertFalse(stateFile(file).exists());
+    }
+
+    @Test
+    void stateOfAnotherTargetIsIgnored() throws Exception {
+        File file = createFile();
+        FakeS3 s3 = new FakeS3();
+        s3.failPart = 3;
+
+        assertThrows(AmazonServiceException.class, () -> new S3MultipartUploader(s3, 1, 0).upload(BUCKET, KEY, file, null));
+
+        s3.failPart = 0;
+        s3.uploadedParts.clear();
+
+        // 다른 key 로 업로드하는 경우
+        new S3MultipartUploader(s3, 2, 0).upload(BUCKET, "other.tar.gz", file, null);
+
+        assertEquals(2, s3.initiated.get());
+        assertEquals(Arrays.asList(1, 3, 4), sorted(s3.uploadedParts));
+        assertEquals(0, s3.listRequests.get());
+        assertFalse(stateFile(file).exists());
+
+        // 파일이 변경된 경우
+        s3.failPart = 3;
+        assertThrows(AmazonServiceException.class, () -> new S3MultipartUploader(s3, 1, 0).upload(BUCKET, KEY, file, null));
+        assertTrue(file.setLastModified(file.lastModified() - 60_000));
+
+        s3.failPart = 0;
+        s3.uploadedParts.clear();
+
+        new S3MultipartUploader(s3, 2, 0).upload(BUCKET, KEY, file, null);
+
+        assertEquals(4, s3.initiated.get());
+        assertEquals(Arrays.asList(1, 3, 4), sorted(s3.uploadedParts));
+        assertEquals(0, s3.listRequests.get());
+    }
+
+    @Test
+    void corruptedStateFileStartsNewUpload() throws Exception {
+        File file = createFile();
+        Files.write(stateFile(file).toPath(), "uploadId\u0000=\\u00zz".getBytes(StandardCharsets.ISO_8859_1));
+
+        FakeS3 s3 = new FakeS3();
+        new S3MultipartUploader(s3, 2, 0).upload(BUCKET, KEY, file, null);
+
+        assertEquals(1, s3.initiated.get());
+        assertArrayEquals(Files.readAllBytes(file.toPath()), s3.objects.get(KEY));
+        assertFalse(stateFile(file).exists());
+    }
+
+    @Test
+    void invalidPartEntryIsIgnored() throws Exception {
+        File file = createFile();
+        FakeS3 s3 = new FakeS3();
+        s3.failPart = 3;
+
+        assertThrows(AmazonServiceException.class, () -> new S3MultipartUploader(s3, 1, 0).upload(BUCKET, KEY, file, null));
+
+        // 기록 중 중단된 경우
+        Files.write(stateFile(file).toPath(), "part.=\npart.3".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        s3.failPart = 0;
+        s3.uploadedParts.clear();
+
+        new S3MultipartUploader(s3, 2, 0).upload(BUCKET, KEY, file, null);
+
+        assertEquals(1, s3.initiated.get());
+        assertEquals(Arrays.asList(3, 4), sorted(s3.uploadedParts));
+        assertArrayEquals(Files.readAllBytes(file.toPath()), s3.objects.get(KEY));
+        assertFalse(stateFile(file).exists());
+    }
+
+    @Test
+    void retryableErrorIsRetried() throws Exception {
+        File file = createFile();
+        FakeS3 s3 = new FakeS3();
+        s3.failPart = 3;
+        s3.failStatusCode = 503;
+        s3.failCount = 1;
+
+        List<Long> transferred = new CopyOnWriteArrayList<>();
+
+        new S3MultipartUploader(s3, 2, 1).upload(BUCKET, KEY, file, (bytes, total, bytesPerSecond) -> transferred.add(bytes));
+
+        assertEquals(Arrays.asList(1, 3, 3, 4), sorted(s3.uploadedParts));
+
+        // 실패한 전송량은 되돌리므로 파일 크기를 넘지 않는다.
+        assertEquals(Long.valueOf(file.length()), Collections.max(transferred));
+        assertArrayEquals(Files.readAllBytes(file.toPath()), s3.objects.get(KEY));
+        assertFalse(stateFile(file).exists());
+    }
+
+    @Test
+    void interruptAbortsUpload() throws Exception {
+        File file = createFile();
+        FakeS3 s3 = new FakeS3();
+        s3.blockPart = 1;
+
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                new S3MultipartUploader(s3, 1, 0).upload(BUCKET, KEY, file, null);
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        thread.start();
+
+        assertTrue(s3.blocked.await(30, TimeUnit.SECONDS));
+        thread.interrupt();
+        thread.join(30_000);
+
+        assertFalse(thread.isAlive());
+        assertTrue(thrown.get() instanceof InterruptedException);
+        assertEquals(1, s3.aborted.get());
+        assertTrue(s3.uploads.isEmpty());
+        assertFalse(stateFile(file).exists());
+        assertTrue(s3.objects.isEmpty());
+    }
+
+    @Test
+    void partSize() {
+        assertEquals(PART_SIZE, S3MultipartUploader.getPartSize(0));
+        assertEquals(PART_SIZE, S3MultipartUploader.getPartSize(1024L * 1024 * 1024));
+
+        // 100GB 는 약 2000 개의 part 가 되도록 1MB 단위로 올림한다.
+        assertEquals(52L * 1024 * 1024, S3MultipartUploader.getPartSize(100L * 1024 * 1024 * 1024));
+
+        for (long contentLength : new long[]{1, PART_SIZE * 2000 + 1, 3_000_000_000_000L, 5L * 1024 * 1024 * 1024 * 1024}) {
+            long partSize = S3MultipartUploader.getPartSize(contentLength);
+
+            assertTrue(partSize >= PART_SIZE);
+            assertTrue(partSize <= 5L * 1024 * 1024 * 1024);
+            assertEquals(0, partSize % (1024 * 1024));
+            assertTrue((contentLength + partSize - 1) / partSize <= 10000);
+        }
+    }
+
+    /**
+     * 3 개의 16MB part 와 1000 bytes 의 마지막 part 로 나뉘는 파일. 2 번째 part 는 0 으로만 채워져 있다.
+     */
+    private File createFile() throws IOException {
+        File file = new File(tempDir, "disk.tar.gz");
+        Random random = new Random(file.getName().hashCode());
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(3 * PART_SIZE + 1000);
+
+            byte[] data = new byte[4096];
+            for (long position : new long[]{0, PART_SIZE - data.length, 2 * PART_SIZE + 12345, 3 * PART_SIZE}) {
+                random.nextBytes(data);
+                raf.seek(position);
+                raf.write(data, 0, (int) Math.min(data.length, raf.length() - position));
+            }
+        }
+
+        return file;
+    }
+
+    private static File stateFile(File file) {
+        return new File(file.getAbsolutePath() + ".upload");
+    }
+
+    private static Properties loadState(File file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(stateFile(file).toPath())) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    private static List<Integer> sorted(List<Integer> partNumbers) {
+        List<Integer> sorted = new ArrayList<>(partNumbers);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * object 와 multipart upload 의 part 를 메모리에 보관한다.
+     */
+    private static class FakeS3 extends AbstractAmazonS3 {
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+        private final AtomicInteger initiated = new AtomicInteger();
+        private final AtomicInteger aborted = new AtomicInteger();
+        private final AtomicInteger listRequests = new AtomicInteger();
+        private final List<Integer> uploadedParts = new CopyOnWriteArrayList<>();
+        private final List<Integer> copiedParts = new CopyOnWriteArrayList<>();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        private volatile int failPart;
+        private volatile int failStatusCode = 403;
+        private volatile int failCount = Integer.MAX_VALUE;
+        private volatile int blockPart;
+        private volatile int listPageSize = 1000;
+
+        @Override
+        public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+            String uploadId = "upload-" + initiated.incrementAndGet();
+            uploads.put(uploadId, new ConcurrentHashMap<>());
+
+            InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+            result.setBucketName(request.getBucketName());
+            result.setKey(request.getKey());
+            result.setUploadId(uploadId);
+            return result;
+        }
+
+        @Override
+        public UploadPartResult uploadPart(UploadPartRequest request) {
+            uploadedParts.add(request.getPartNumber());
+
+            if (request.getPartNumber() == blockPart) {
+                blocked.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AmazonServiceException("interrupted");
+                }
+            }
+
+            byte[] data = new byte[(int) request.getPartSize()];
+            try (RandomAccessFile raf = new RandomAccessFile(request.getFile(), "r")) {
+                raf.seek(request.getFileOffset());
+                raf.readFully(data);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+
+            // 실패한 경우 절반만 전송한 것으로 전달한다.
+            if (request.getPartNumber() == failPart && failCount-- > 0) {
+                transfer(request, data.length / 2);
+
+                AmazonS3Exception e = new AmazonS3Exception("Part " + request.getPartNumber() + " failed.");
+                e.setStatusCode(failStatusCode);
+                e.setErrorCode(failStatusCode == 403 ? "AccessDenied" : "ServiceUnavailable");
+                throw e;
+            }
+
+            transfer(request, data.length);
+            getParts(request.getUploadId()).put(request.getPartNumber(), data);
+
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag(md5(data));
+            return result;
+        }
+
+        @Override
+        public CopyPartResult copyPart(CopyPartRequest request) {
+            copiedParts.add(request.getPartNumber());
+
+            byte[] source = objects.get(request.getSourceKey());
+            byte[] data = Arrays.copyOfRange(source, request.getFirstByte().intValue(), request.getLastByte().intValue() + 1);
+            getParts(request.getUploadId()).put(request.getPartNumber(), data);
+
+            CopyPartResult result = new CopyPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag(md5(data));
+            return result;
+        }
+
+        @Override
+        public PartListing listParts(ListPartsRequest request) {
+            listRequests.incrementAndGet();
+
+            Map<Integer, byte[]> parts = getParts(request.getUploadId());
+            int marker = request.getPartNumberMarker() == null ? 0 : request.getPartNumberMarker();
+
+            List<PartSummary> summaries = new ArrayList<>();
+            for (Map.Entry<Integer, byte[]> entry : new TreeMap<>(parts).tailMap(marker, false).entrySet()) {
+                if (summaries.size() == listPageSize) {
+                    break;
+                }
+
+                PartSummary summary = new PartSummary();
+                summary.setPartNumber(entry.getKey());
+                summary.setETag(md5(entry.getValue()));
+                summary.setSize(entry.getValue().length);
+                summaries.add(summary);
+            }
+
+            PartListing listing = new PartListing();
+            listing.setParts(summaries);
+            if (!summaries.isEmpty()) {
+                int last = summaries.get(summaries.size() - 1).getPartNumber();
+                listing.setNextPartNumberMarker(last);
+                listing.setTruncated(!new TreeMap<>(parts).tailMap(last, false).isEmpty());
+            }
+            return listing;
+        }
+
+        @Override
+        public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
+            Map<Integer, byte[]> parts = getParts(request.getUploadId());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            int expected = 1;
+            for (PartETag partETag : request.getPartETags()) {
+                byte[] data = parts.get(partETag.getPartNumber());
+                assertEquals(expected++, partETag.getPartNumber());
+                assertNotNull(data, "part " + partETag.getPartNumber());
+                assertEquals(md5(data), partETag.getETag());
+                out.write(data, 0, data.length);
+            }
+
+            uploads.remove(request.getUploadId());
+            objects.put(request.getKey(), out.toByteArray());
+
+            CompleteMultipartUploadResult result = new CompleteMultipartUploadResult();
+            result.setKey(request.getKey());
+            return result;
+        }
+
+        @Override
+        public void abortMultipartUpload(AbortMultipartUploadRequest request) {
+            aborted.incrementAndGet();
+            uploads.remove(request.getUploadId());
+        }
+
+        @Override
+        public PutObjectResult putObject(PutObjectRequest request) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = request.getInputStream()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+
+            assertEquals(request.getMetadata().getContentLength(), out.size());
+            objects.put(request.getKey(), out.toByteArray());
+            return new PutObjectResult();
+        }
+
+        @Override
+        public void deleteObject(String bucketName, String key) {
+            objects.remove(key);
+        }
+
+        /**
+         * SDK 와 같이 전송한 bytes 를 progress event 로 전달한다.
+         */
+        private static void transfer(UploadPartRequest request, long bytes) {
+            ProgressListener listener = request.getGeneralProgressListener();
+            for (long sent = 0; sent < bytes; sent += 8192) {
+                listener.progressChanged(new ProgressEvent(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, Math.min(8192, bytes - sent)));
+            }
+        }
+
+        private String etag(String uploadId, int partNumber) {
+            return md5(getParts(uploadId).get(partNumber));
+        }
+
+        private Map<Integer, byte[]> getParts(String uploadId) {
+            Map<Integer, byte[]> parts = uploads.get(uploadId);
+            if (parts == null) {
+                AmazonS3Exception e = new AmazonS3Exception("The specified upload does not exist.");
+                e.setStatusCode(404);
+                e.setErrorCode("NoSuchUpload");
+                throw e;
+            }
+            return parts;
+        }
+
+        private static String md5(byte[] data) {
+            try {
+                StringBuilder sb = new StringBuilder();
+                for (byte b : MessageDigest.getInstance("MD5").digest(data)) {
+                    sb.append(String.format("%02x", b));
+                }
+                return sb.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
+//end of S3MultipartUploaderTest.java
@@ -54,6 +54,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <pre>
@@ -72,6 +73,8 @@ public class GCPRehostMigration extends AbstractRehostMigration {
     private StorageClient storageClient;
     private String bucketName;
     private String folderName;
+    private static final long PROGRESS_UPDATE_INTERVAL = 10 * 1000L;
+
     private final String DEFAULT_ZONE = "a";
     private final String RAW_FILE = "disk.raw";
     private final String BOOT_TAR_GZ = "bootable.tar.gz";
@@ -252,46 +255,6 @@ public class GCPRehostMigration extends AbstractRehostMigration {
             }
         }
 
-        if (migration.getInternalStatus().equals(StatusType.COMPRESSING)) {
-            for (MigrationProcessDto.Volume volume : migration.getVolumes()) {
-                GCPVolume gcpVolume = gcpVolumeMap.get(volume.getVolumeId());
-                try {
-                    DefaultExecutor executor = new DefaultExecutor();
-
-                    CommandLine cl = CommandUtil.getCommandLine(CommandUtil.findCommand("sudo"),
-                            CommandUtil.findCommand("sh"),
-                            MigrationManager.getCancelMigrationFile().getAbsolutePath(),
-                            String.format("tar -czf %s", gcpVolume.getTarGz().getName()));
-
-                    log.debug("Execute shell script for GCP rehost migration process kill : [{}]", cl);
-
-                    int exitCode = executor.execute(cl);
-
-                    if (exitCode == 0) {
-                        log.debug("GCP rehost migration({}) has been cancelled.", migration.getInventoryProcessId());
-                    } else {
-                        log.debug("GCP rehost migration({}) cancel failed.", migration.getInventoryProcessId());
-                    }
-                } catch (Exception e) {
-                    log.error("Unhandled exception occurred while execute cancel_migration.sh.", e);
-                } finally {
-                    if (gcpVolume.getTarGz().delete()) {
-                        log.debug("Delete compress raw file : [{}]", gcpVolume.getTarGz().getAbsoluteFile());
-                    }
-
-                    File source = new File(volume.getRawFileName());
-                    if (source.exists()) {
-                        String targetFileName = source.getAbsoluteFile().getParentFile().getPath() + File.separator + RAW_FILE;
-                        try {
-                            rename(targetFileName, volume.getRawFileName());
-                        } catch (Exception e) {
-                            // ignore
-                        }
-                    }
-                }
-            }
-        }
-
         if (migration.getInternalStatus().equals(StatusType.UPLOAD_TO_STORAGE)) {
             for (BucketUpload uploadThread : uploadThreadList) {
                 if (uploadThread.isAlive()) {
@@ -310,6 +273,13 @@ public class GCPRehostMigration extends AbstractRehostMigration {
         // Storage Bucket 생성
         storageClient.createBucket(bucketName, migration.getInventoryProcessId().toString());
 
+        long uploadSize = 0;
+        for (GCPVolume gcpVolume : gcpVolumeMap.values()) {
+            uploadSize += gcpVolume.getRawImage().getDataSize();
+        }
+        migration.setUploadSize(uploadSize);
+        migration.setUploadedSize(0L);
+
         for (MigrationProcessDto.Volume volume : migration.getVolumes()) {
             if (gcpVolumeMap.get(volume.getMigrationVolumeId()) != null) {
                 BucketUpload uploadThread = new BucketUpload(gcpVolumeMap.get(volume.getMigrationVolumeId()));
@@ -318,8 +288,10 @@ public class GCPRehostMigration extends AbstractRehostMigration {
             }
         }
 
+        long lastProgressUpdated = System.currentTimeMillis();
         while (true) {
             int cnt = 0;
+            long uploadedSize = 0;
             for (BucketUpload uploadThread : uploadThreadList) {
                 if (uploadThread.isError()) {
                     throw new RuntimeException(uploadThread.getException());
@@ -328,12 +300,21 @@ public class GCPRehostMigration extends AbstractRehostMigration {
                 if (!uploadThread.isAlive() || uploadThread.isDone()) {
                     cnt++;
                 }
+
+                uploadedSize += uploadThread.getUploadedSize();
             }
 
             if (cnt == uploadThreadList.size()) {
                 break;
             }
 
+            // 압축하여 업로드한 raw 데이터 bytes 기준의 진행률을 주기적으로 갱신한다.
+            migration.setUploadedSize(uploadedSize);
+            if (System.currentTimeMillis() - lastProgressUpdated > PROGRESS_UPDATE_INTERVAL) {
+                lastProgressUpdated = System.currentTimeMillis();
+                updateStatus(StatusType.UPLOAD_TO_STORAGE);
+            }
+
             try {
                 Thread.sleep(1000);
             } catch (Exception e) {
@@ -477,74 +458,32 @@ public class GCPRehostMigration extends AbstractRehostMigration {
         migration.setPrivateIp(instance.getNetworkInterfaces().get(0).getNetworkIP());
     }
 
+    /**
+     * <pre>
+     * raw image 파일의 데이터 영역을 scan 한다.
+     * 압축은 upload() 에서 업로드와 함께 진행되며, 압축 파일은 디스크에 생성하지 않는다.
+     * </pre>
+     *
+     * @throws Exception
+     */
     private void compress() throws Exception {
         List<MigrationProcessDto.Volume> volumeList = migration.getVolumes();
 
-        String bootTarGzPath = null;
-        String dataTarGzPath = null;
-
         for (MigrationProcessDto.Volume volume : volumeList) {
             int idx = volumeList.indexOf(volume);
 
             File source = new File(volume.getRawFileName());
             if (source.exists()) {
-                String parentPath = source.getAbsoluteFile().getParentFile().getPath();
-                String targetPath = parentPath + File.separator + RAW_FILE;
-                rename(source.getAbsolutePath(), targetPath);
+                GCPVolume gcpVol = new GCPVolume(migration.getGcpProjectId(), migration.getInventoryProcessId().toString());
+                gcpVol.setRawImage(getRawImage(volume));
+                gcpVol.setVol(volume);
+                gcpVol.setRegion(migration.getRegion());
 
                 if (volume.getRootYn().equals("Y")) {
-                    bootTarGzPath = parentPath + File.separator + BOOT_TAR_GZ;
-                    compress(volume, parentPath, bootTarGzPath);
+                    gcpVol.setTarGzName(BOOT_TAR_GZ);
                 } else {
-                    dataTarGzPath = parentPath + File.separator + String.format(DATA_TAR_GZ, idx);
-                    compress(volume, parentPath, dataTarGzPath);
+                    gcpVol.setTarGzName(String.format(DATA_TAR_GZ, idx));
                 }
-            }
-        }
-
-        chmod();
-    }
-
-    /**
-     * Compress tar gz.
-     *
-     * @param volume the volume
-     * @param source the source
-     * @param target the target
-     */
-    private void compress(MigrationProcessDto.Volume volume, String source, String target) throws Exception {
-        try {
-            DefaultExecutor executor = new DefaultExecutor();
-
-            CommandLine cl = CommandUtil.getCommandLine(CommandUtil.findCommand("sudo"),
-                    CommandUtil.findCommand("tar"),
-                    "-czf",
-                    target,
-                    "-C",
-                    source,
-                    RAW_FILE,
-                    "--format=oldgnu");
-
-            /*
-            CommandLine cl = new CommandLine(CollectionHelper.findCommand("sudo"))
-                    .addArguments(CollectionHelper.findCommand("tar"))
-                    .addArguments("-czf")
-                    .addArguments(target)
-                    .addArguments("-C")
-                    .addArguments(source)
-                    .addArguments(RAW_FILE)
-                    .addArguments("--format=oldgnu");
-             */
-
-            log.debug("Command for tar.gz raw file(s) : [{}]", cl);
-
-            int result = executor.execute(cl);
-
-            if (result == 0) {
-                GCPVolume gcpVol = new GCPVolume(migration.getGcpProjectId(), migration.getInventoryProcessId().toString());
-                gcpVol.setTarGz(new File(target));
-                gcpVol.setVol(volume);
-                gcpVol.setRegion(migration.getRegion());
 
                 if (migration.getAvailabilityZone() == null || migration.getAvailabilityZone().equals("")) {
                     log.debug("[{}] Migration set default zone ", migration.getInventoryProcessId());
@@ -555,43 +494,6 @@ public class GCPRehostMigration extends AbstractRehostMigration {
 
                 gcpVolumeMap.put(volume.getMigrationVolumeId(), gcpVol);
             }
-        } catch (Exception e) {
-            log.error("Unhandled exception occurred while tar.gz the raw file.", e);
-            throw e;
-        } finally {
-            rename(source + File.separator + RAW_FILE, volume.getRawFileName());
-        }
-    }
-
-    /**
-     * Rename.
-     *
-     * @param sourceFileName the source file name
-     * @param targetFileName the target file name
-     */
-    private void rename(String sourceFileName, String targetFileName) throws Exception {
-
-        try {
-            DefaultExecutor executor = new DefaultExecutor();
-
-            CommandLine cl = CommandUtil.getCommandLine(CommandUtil.findCommand("sudo"),
-                    "mv",
-                    sourceFileName,
-                    targetFileName);
-
-            /*
-            CommandLine cl = new CommandLine(CollectionHelper.findCommand("sudo"))
-                    .addArguments("mv")
-                    .addArguments(sourceFileName)
-                    .addArguments(targetFileName);
-            */
-
-            log.debug("Command for rename raw file(s) : [{}]", cl);
-
-            executor.execute(cl);
-        } catch (Exception e) {
-            log.error("Unhandled exception occurred while rename the raw file.", e);
-            throw e;
         }
     }
 
@@ -678,6 +580,7 @@ public class GCPRehostMigration extends AbstractRehostMigration {
         private boolean isDone = false;
         private boolean isError = false;
         private Exception exception = null;
+        private final AtomicLong uploadedSize = new AtomicLong();
 
         /**
          * Instantiates a new Bucket upload.
@@ -691,9 +594,10 @@ public class GCPRehostMigration extends AbstractRehostMigration {
         @Override
         public void run() {
             try {
-                storageClient.uploadObject(bucketName, gcpVolume.getMigrationId(), gcpVolume.getTarGz());
+                storageClient.uploadRawImage(bucketName, gcpVolume.getMigrationId(), gcpVolume.getTarGzName(),
+                        gcpVolume.getRawImage(), RAW_FILE, uploadedSize::set);
 
-                log.debug("[{}] file upload is done.", gcpVolume.getTarGz().getAbsolutePath());
+                log.debug("[{}] file upload is done.", gcpVolume.getVol().getRawFileName());
 
                 isDone = true;
             } catch (Exception e) {
@@ -729,6 +633,15 @@ public class GCPRehostMigration extends AbstractRehostMigration {
         public Exception getException() {
             return exception;
         }
+
+        /**
+         * Gets uploaded size.
+         *
+         * @return the uploadedSize
+         */
+        public long getUploadedSize() {
+            return uploadedSize.get();
+        }
     }
 }
 //end of GCPRehostMigration.java
\ No newline at end of file
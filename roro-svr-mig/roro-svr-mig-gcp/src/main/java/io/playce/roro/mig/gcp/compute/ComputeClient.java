@@ -1627,7 +1627,7 @@ public class ComputeClient extends BaseClient {
                     + gcpVolume.getMigrationId() + "-"
                     + gcpVolume.getVol().getVolumeId() + "-"
                     + DATE_FORMAT.format(new Date());
-            Image.RawDisk rawDisk = GCPRequestGenerator.DiskRequest.generateRawDiskRequest(bucketName, gcpVolume.getMigrationId(), gcpVolume.getTarGz().getName());
+            Image.RawDisk rawDisk = GCPRequestGenerator.DiskRequest.generateRawDiskRequest(bucketName, gcpVolume.getMigrationId(), gcpVolume.getTarGzName());
             Image requestBody = GCPRequestGenerator.ImageRequest.generateCreateDiskImageRequest(rawDisk, diskImageName);
             Operation response = createDiskImage(projectId, requestBody);
             gcpVolume.getVol().setTaskId(response.getId().toString());
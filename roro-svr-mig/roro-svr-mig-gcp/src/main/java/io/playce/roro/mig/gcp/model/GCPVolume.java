@@ -23,13 +23,12 @@ package io.playce.roro.mig.gcp.model;
 import com.google.api.services.compute.model.Operation;
 import io.playce.roro.common.dto.migration.MigrationProcessDto;
 import io.playce.roro.mig.MigrationManager;
+import io.playce.roro.mig.RawImage;
 import io.playce.roro.mig.gcp.enums.ResourceType;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
-import java.io.File;
-
 /**
  * <pre>
  *
@@ -48,7 +47,10 @@ public class GCPVolume {
     private String zone;
     private String migrationId;
 
-    private File tarGz;
+    // Storage 에 업로드할 tar.gz object 이름
+    private String tarGzName;
+    @ToString.Exclude
+    private RawImage rawImage;
     private MigrationProcessDto.Volume vol;
 
     // private String imageName;
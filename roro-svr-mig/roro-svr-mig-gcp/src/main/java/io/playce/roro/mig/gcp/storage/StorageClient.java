@@ -24,15 +24,20 @@ import com.google.api.gax.paging.Page;
 import com.google.api.services.storage.StorageScopes;
 import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.*;
+import io.playce.roro.mig.RawImage;
+import io.playce.roro.mig.RawImageArchiver;
 import io.playce.roro.mig.gcp.common.BaseClient;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.function.LongConsumer;
 
 /**
  * <pre>
@@ -44,6 +49,8 @@ import java.nio.file.Paths;
  */
 @Slf4j
 public class StorageClient extends BaseClient {
+    private static final int UPLOAD_CHUNK_SIZE = 16 * 1024 * 1024;
+
     private Storage storage;
 
     public StorageClient(String projectId, String accountKey, String region) {
@@ -134,6 +141,30 @@ public class StorageClient extends BaseClient {
         }
     }
 
+    /**
+     * <pre>
+     * raw image 를 sparse tar.gz 로 압축하면서 업로드한다. (압축 파일을 디스크에 생성하지 않는다.)
+     * 업로드 중 오류가 발생하거나 interrupt 된 경우 object 를 생성하지 않도록 channel 을 닫지 않는다.
+     * </pre>
+     *
+     * @param listener 압축한 raw 데이터 bytes 가 증가할 때마다 누적 bytes 로 호출된다. (null 허용)
+     */
+    public void uploadRawImage(String bucketName, String folderName, String objectName, RawImage rawImage, String entryName, LongConsumer listener) throws IOException, InterruptedException {
+        log.debug("Start upload raw image " + rawImage.getFile().getAbsolutePath() + " to " + bucketName + "/" + folderName + "/" + objectName);
+
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, folderName + "/" + objectName))
+                .setContentType("application/gzip")
+                .build();
+
+        WriteChannel writer = storage.writer(blobInfo);
+        writer.setChunkSize(UPLOAD_CHUNK_SIZE);
+
+        RawImageArchiver.writeTarGz(rawImage, entryName, Channels.newOutputStream(writer), listener);
+        writer.close();
+
+        log.debug("Upload done " + rawImage.getFile().getAbsolutePath());
+    }
+
     public void deleteFolder(String bucketName, String folderName) {
         try {
 //      StorageBatch batch = storage.batch();
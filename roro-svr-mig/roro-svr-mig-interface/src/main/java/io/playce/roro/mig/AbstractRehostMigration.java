@@ -36,8 +36,10 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <pre>
@@ -51,6 +53,7 @@ import java.util.List;
 public abstract class AbstractRehostMigration extends AbstractMigration {
     protected String bucketName;
     protected String folderName;
+    private final Map<String, RawImage> rawImages = new HashMap<>();
 
     public void init() {
         // nothing to do
@@ -122,6 +125,31 @@ public abstract class AbstractRehostMigration extends AbstractMigration {
         }
     }
 
+    /**
+     * <pre>
+     * raw image 파일의 데이터 영역을 scan 한 결과를 반환한다. (volume 별로 한 번만 scan 한다.)
+     * </pre>
+     *
+     * @param volume the volume
+     *
+     * @return the raw image
+     *
+     * @throws Exception the exception
+     */
+    protected RawImage getRawImage(MigrationProcessDto.Volume volume) throws Exception {
+        RawImage rawImage = rawImages.get(volume.getRawFileName());
+
+        if (rawImage == null) {
+            rawImage = RawImage.scan(new File(volume.getRawFileName()));
+            rawImages.put(volume.getRawFileName(), rawImage);
+
+            log.info("[{}] raw image : [{}], size : [{}], data size : [{}]", migration.getInventoryProcessId(),
+                    volume.getRawFileName(), rawImage.getSize(), rawImage.getDataSize());
+        }
+
+        return rawImage;
+    }
+
     /**
      * <pre>
      * Worker 서버에 저장된 raw image 파일을 삭제한다.
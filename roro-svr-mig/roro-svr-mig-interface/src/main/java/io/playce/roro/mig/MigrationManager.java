@@ -65,6 +65,8 @@ public class MigrationManager implements InitializingBean {
     private static String bucketName;
     private static String bucketRegion;
     private static Boolean bucketRemove;
+    private static int uploadParallelism = 8;
+    private static int uploadMaxRetries = 5;
 
     @Override
     public void afterPropertiesSet() throws InterruptedException {
@@ -196,6 +198,30 @@ public class MigrationManager implements InitializingBean {
         bucketRemove = remove;
     }
 
+    /**
+     * @return the uploadParallelism
+     */
+    public static int getUploadParallelism() {
+        return uploadParallelism;
+    }
+
+    @Value("${roro.migration.upload.parallelism:8}")
+    public void setUploadParallelism(int parallelism) {
+        uploadParallelism = parallelism;
+    }
+
+    /**
+     * @return the uploadMaxRetries
+     */
+    public static int getUploadMaxRetries() {
+        return uploadMaxRetries;
+    }
+
+    @Value("${roro.migration.upload.max-retries:5}")
+    public void setUploadMaxRetries(int maxRetries) {
+        uploadMaxRetries = maxRetries;
+    }
+
     /**
      * @param migrationProcessDto
      * @return
@@ -403,10 +429,16 @@ public class MigrationManager implements InitializingBean {
                         } else if (migrationProcessDto.getInternalStatus().equals(StatusType.CREATED_RAW_FILES)) {
                             progress = 20.0;
                         } else if (migrationProcessDto.getInternalStatus().equals(StatusType.UPLOAD_TO_S3)) {
-                            float totalSec = (diskSize / UPLOAD_SPEED);
-                            float diff = (System.currentTimeMillis() - migrationProcessDto.getLastStatusChanged()) / 1000;
-                            double subPercentage = (diff / totalSec) * 30.0;
-                            progress = 20.0 + (subPercentage > 30.0 ? 30.0 : subPercentage);
+                            if (migrationProcessDto.getUploadSize() != null && migrationProcessDto.getUploadSize() > 0) {
+                                // 실제 전송된 bytes 기준
+                                double subPercentage = (double) migrationProcessDto.getUploadedSize() / migrationProcessDto.getUploadSize() * 30.0;
+                                progress = 20.0 + (subPercentage > 30.0 ? 30.0 : subPercentage);
+                            } else {
+                                float totalSec = (diskSize / UPLOAD_SPEED);
+                                float diff = (System.currentTimeMillis() - migrationProcessDto.getLastStatusChanged()) / 1000;
+                                double subPercentage = (diff / totalSec) * 30.0;
+                                progress = 20.0 + (subPercentage > 30.0 ? 30.0 : subPercentage);
+                            }
                         } else if (migrationProcessDto.getInternalStatus().equals(StatusType.DOWNLOAD_FROM_S3)
                                 || migrationProcessDto.getInternalStatus().equals(StatusType.CONVERTING)
                                 || migrationProcessDto.getInternalStatus().equals(StatusType.INITIATE_INSTANCE)) {
@@ -448,10 +480,16 @@ public class MigrationManager implements InitializingBean {
                             double subPercentage = (diff / totalSec) * 25.0;
                             progress = 20.0 + (subPercentage > 25.0 ? 25.0 : subPercentage);
                         } else if (migrationProcessDto.getInternalStatus().equals(StatusType.UPLOAD_TO_STORAGE)) {
-                            float totalSec = (diskSize / UPLOAD_SPEED);
-                            float diff = (System.currentTimeMillis() - migrationProcessDto.getLastStatusChanged()) / 1000;
-                            double subPercentage = (diff / totalSec) * 15.0;
-                            progress = 45.0 + (subPercentage > 15.0 ? 15.0 : subPercentage);
+                            if (migrationProcessDto.getUploadSize() != null && migrationProcessDto.getUploadSize() > 0) {
+                                // 압축하여 전송된 raw 데이터 bytes 기준
+                                double subPercentage = (double) migrationProcessDto.getUploadedSize() / migrationProcessDto.getUploadSize() * 15.0;
+                                progress = 45.0 + (subPercentage > 15.0 ? 15.0 : subPercentage);
+                            } else {
+                                float totalSec = (diskSize / UPLOAD_SPEED);
+                                float diff = (System.currentTimeMillis() - migrationProcessDto.getLastStatusChanged()) / 1000;
+                                double subPercentage = (diff / totalSec) * 15.0;
+                                progress = 45.0 + (subPercentage > 15.0 ? 15.0 : subPercentage);
+                            }
                         } else if (migrationProcessDto.getInternalStatus().equals(StatusType.CREATING_DISK_IMAGE) ||
                                 migrationProcessDto.getInternalStatus().equals(StatusType.CREATED_DISK_IMAGE)) {
                             float totalSec = 30;
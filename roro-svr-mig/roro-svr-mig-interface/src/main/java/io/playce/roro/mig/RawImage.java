@@ -0,0 +1,179 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.mig;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <pre>
+ * raw image 파일에서 데이터가 있는 영역(extent)을 찾는다.
+ *
+ * raw image 는 볼륨 크기로 생성된 sparse 파일이며 대부분이 비어있다.
+ * BLOCK_SIZE 단위로 파일을 읽어 0 으로만 채워진 block 을 제외한 영역을 extent 로 기록하며,
+ * sparse 파일의 hole 은 디스크 I/O 없이 0 으로 읽히므로 파일 크기에 비해 빠르게 scan 된다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+@Slf4j
+@Getter
+public class RawImage {
+
+    public static final int BLOCK_SIZE = 64 * 1024;
+    private static final int READ_BUFFER_SIZE = 16 * BLOCK_SIZE;
+
+    private final File file;
+    private final long size;
+    private final List<Extent> extents;
+    private final long dataSize;
+
+    private RawImage(File file, long size, List<Extent> extents) {
+        this.file = file;
+        this.size = size;
+        this.extents = Collections.unmodifiableList(extents);
+        this.dataSize = extents.stream().mapToLong(Extent::getLength).sum();
+    }
+
+    /**
+     * raw image 파일을 scan 한다. scan 중 thread 가 interrupt 되면 InterruptedException 이 발생한다.
+     */
+    public static RawImage scan(File file) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        List<Extent> extents = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+            long position = 0;
+            Extent last = null;
+            while (position < size) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Scan interrupted for " + file.getAbsolutePath());
+                }
+
+                int read = read(channel, buffer, position, (int) Math.min(READ_BUFFER_SIZE, size - position));
+                if (read == 0) {
+                    throw new IOException(file.getAbsolutePath() + " has been truncated while scanning.");
+                }
+
+                for (int blockOffset = 0; blockOffset < read; blockOffset += BLOCK_SIZE) {
+                    int blockLength = Math.min(BLOCK_SIZE, read - blockOffset);
+
+                    if (!isZero(buffer, blockOffset, blockLength)) {
+                        long blockPosition = position + blockOffset;
+
+                        if (last != null && last.offset + last.length == blockPosition) {
+                            last.length += blockLength;
+                        } else {
+                            last = new Extent(blockPosition, blockLength);
+                            extents.add(last);
+                        }
+                    }
+                }
+
+                position += read;
+            }
+
+            RawImage image = new RawImage(file, size, extents);
+            log.debug("[{}] has been scanned. size : [{}], data size : [{}], extents : [{}], elapsed : [{} ms]",
+                    file.getAbsolutePath(), size, image.dataSize, extents.size(), System.currentTimeMillis() - start);
+
+            return image;
+        }
+    }
+
+    /**
+     * 파일의 해당 영역이 0 으로만 채워져 있는지 확인한다. 파일이 해당 영역보다 짧으면 IOException 이 발생한다.
+     */
+    public static boolean isZero(FileChannel channel, long offset, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(READ_BUFFER_SIZE, Math.max(length, 1)));
+
+        long position = offset;
+        long end = offset + length;
+        while (position < end) {
+            int read = read(channel, buffer, position, (int) Math.min(buffer.capacity(), end - position));
+            if (read == 0) {
+                throw new IOException("The file has been truncated. expected : [" + end + "], position : [" + position + "]");
+            }
+
+            if (!isZero(buffer, 0, read)) {
+                return false;
+            }
+
+            position += read;
+        }
+
+        return true;
+    }
+
+    /**
+     * position 부터 length 만큼 buffer 에 읽는다. 파일이 먼저 끝나면 읽은 만큼 반환한다.
+     */
+    static int read(FileChannel channel, ByteBuffer buffer, long position, int length) throws IOException {
+        buffer.clear();
+        buffer.limit(length);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+
+        buffer.flip();
+        return buffer.limit();
+    }
+
+    private static boolean isZero(ByteBuffer buffer, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            if (buffer.getLong(i) != 0) {
+                return false;
+            }
+        }
+        for (; i < end; i++) {
+            if (buffer.get(i) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Getter
+    public static class Extent {
+        private final long offset;
+        private long length;
+
+        Extent(long offset, long length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
+//end of RawImage.java
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.mig;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <pre>
+ * raw image 를 sparse tar.gz 로 압축하여 OutputStream 에 바로 기록한다.
+ *
+ * "tar --format=oldgnu -Sczf" 와 같은 GNU sparse 형식이며, RawImage 의 extent 만 압축하므로
+ * 비어있는 영역은 읽거나 압축하지 않고, 압축 파일을 디스크에 생성하지 않고 upload stream 으로 전달할 수 있다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+public class RawImageArchiver {
+
+    private static final int RECORD_SIZE = 512;
+    private static final int HEADER_SPARSE_COUNT = 4;
+    private static final int EXTENDED_SPARSE_COUNT = 21;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * image 를 entryName 의 tar.gz 로 압축하여 out 에 기록한다. out 은 닫지 않는다.
+     *
+     * @param listener 압축한 raw 데이터 bytes 가 증가할 때마다 누적 bytes 로 호출된다. (null 허용)
+     */
+    public static void writeTarGz(RawImage image, String entryName, OutputStream out, LongConsumer listener) throws IOException, InterruptedException {
+        GZIPOutputStream gzip = new GZIPOutputStream(new NonClosingOutputStream(out), BUFFER_SIZE) {
+            {
+                // 압축률보다 upload 속도에 맞춰 압축하는 것이 중요하므로 가장 빠른 level 을 사용한다.
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+
+        try (OutputStream tar = new BufferedOutputStream(gzip, BUFFER_SIZE)) {
+            List<RawImage.Extent> sparseMap = new ArrayList<>(image.getExtents());
+
+            // 파일 끝이 비어있는 경우 GNU tar 와 같이 크기가 0 인 마지막 entry 로 파일 크기를 표시한다.
+            if (sparseMap.isEmpty() || getEnd(sparseMap.get(sparseMap.size() - 1)) < image.getSize()) {
+                sparseMap.add(new RawImage.Extent(image.getSize(), 0));
+            }
+
+            writeHeader(tar, image, entryName, sparseMap);
+            writeData(tar, image, listener);
+
+            // end of archive
+            tar.write(new byte[RECORD_SIZE * 2]);
+        }
+    }
+
+    private static void writeHeader(OutputStream tar, RawImage image, String entryName, List<RawImage.Extent> sparseMap) throws IOException {
+        byte[] header = new byte[RECORD_SIZE];
+
+        putString(header, 0, 100, entryName);
+        putNumber(header, 100, 8, 0644);
+        putNumber(header, 108, 8, 0);
+        putNumber(header, 116, 8, 0);
+        putNumber(header, 124, 12, image.getDataSize());
+        putNumber(header, 136, 12, image.getFile().lastModified() / 1000);
+        header[156] = 'S';
+        // oldgnu magic ("ustar" + 2 spaces + NUL)
+        putString(header, 257, 8, "ustar  ");
+        putString(header, 265, 32, "root");
+        putString(header, 297, 32, "root");
+
+        int index = putSparse(header, 386, sparseMap, 0, HEADER_SPARSE_COUNT);
+        header[482] = (byte) (index < sparseMap.size() ? 1 : 0);
+        putNumber(header, 483, 12, image.getSize());
+        putChecksum(header);
+        tar.write(header);
+
+        while (index < sparseMap.size()) {
+            byte[] extended = new byte[RECORD_SIZE];
+            index = putSparse(extended, 0, sparseMap, index, EXTENDED_SPARSE_COUNT);
+            extended[504] = (byte) (index < sparseMap.size() ? 1 : 0);
+            tar.write(extended);
+        }
+    }
+
+    private static void writeData(OutputStream tar, RawImage image, LongConsumer listener) throws IOException, InterruptedException {
+        long written = 0;
+
+        try (FileChannel channel = FileChannel.open(image.getFile().toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+            for (RawImage.Extent extent : image.getExtents()) {
+                long position = extent.getOffset();
+                long end = getEnd(extent);
+
+                while (position < end) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException("Compression interrupted for " + image.getFile().getAbsolutePath());
+                    }
+
+                    int read = RawImage.read(channel, buffer, position, (int) Math.min(BUFFER_SIZE, end - position));
+                    if (read == 0) {
+                        throw new IOException(image.getFile().getAbsolutePath() + " has been truncated while compressing.");
+                    }
+
+                    tar.write(buffer.array(), 0, read);
+                    position += read;
+                    written += read;
+
+                    if (listener != null) {
+                        listener.accept(written);
+                    }
+                }
+            }
+        }
+
+        int padding = (int) (written % RECORD_SIZE);
+        if (padding > 0) {
+            tar.write(new byte[RECORD_SIZE - padding]);
+        }
+    }
+
+    private static int putSparse(byte[] record, int offset, List<RawImage.Extent> sparseMap, int index, int count) {
+        for (int i = 0; i < count && index < sparseMap.size(); i++, index++) {
+            RawImage.Extent extent = sparseMap.get(index);
+            putNumber(record, offset + i * 24, 12, extent.getOffset());
+            putNumber(record, offset + i * 24 + 12, 12, extent.getLength());
+        }
+        return index;
+    }
+
+    private static long getEnd(RawImage.Extent extent) {
+        return extent.getOffset() + extent.getLength();
+    }
+
+    private static void putString(byte[] record, int offset, int length, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(bytes, 0, record, offset, Math.min(bytes.length, length));
+    }
+
+    /**
+     * octal 로 기록하며, 필드 크기를 넘는 값(8GB 이상의 size 등)은 GNU base-256 형식으로 기록한다.
+     */
+    private static void putNumber(byte[] record, int offset, int length, long value) {
+        String octal = Long.toOctalString(value);
+
+        if (octal.length() < length) {
+            int padding = length - 1 - octal.length();
+            for (int i = 0; i < padding; i++) {
+                record[offset + i] = '0';
+            }
+            putString(record, offset + padding, octal.length(), octal);
+            record[offset + length - 1] = 0;
+        } else {
+            for (int i = length - 1; i > 0; i--) {
+                record[offset + i] = (byte) value;
+                value >>>= 8;
+            }
+            record[offset] = (byte) 0x80;
+        }
+    }
+
+    private static void putChecksum(byte[] header) {
+        for (int i = 148; i < 156; i++) {
+            header[i] = ' ';
+        }
+
+        long checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xFF;
+        }
+
+        String octal = String.format("%06o", checksum);
+        putString(header, 148, 6, octal);
+        header[154] = 0;
+        header[155] = ' ';
+    }
+
+    /**
+     * gzip trailer 를 기록한 후 upload stream 은 호출한 쪽에서 닫도록 close 를 전달하지 않는다.
+     */
+    private static class NonClosingOutputStream extends OutputStream {
+        private final OutputStream out;
+
+        private NonClosingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
+//end of RawImageArchiver.java
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.mig;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * RawImageArchiver 가 생성한 sparse tar.gz 를 GNU tar 형식대로 풀었을 때 원래 raw image 와 같은지 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class RawImageArchiverTest {
+
+    private static final int RECORD_SIZE = 512;
+    private static final int BLOCK_SIZE = RawImage.BLOCK_SIZE;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void emptyRegionsAreNotStored() throws Exception {
+        File file = new File(tempDir, "disk.raw");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(40L * BLOCK_SIZE);
+            write(raf, 0, random(1, 100));
+            write(raf, 5L * BLOCK_SIZE + 10, random(2, BLOCK_SIZE));
+        }
+
+        RawImage image = RawImage.scan(file);
+        Archive archive = extract(archive(image));
+
+        assertEquals("disk.raw", archive.name);
+        assertEquals('S', archive.type);
+        assertEquals(file.length(), archive.realSize);
+        assertEquals(3L * BLOCK_SIZE, archive.size);
+        assertEquals(image.getDataSize(), archive.size);
+
+        // block 0, block 5~6 과 파일 끝을 표시하는 크기 0 의 마지막 entry
+        assertEquals(Arrays.asList(0L, (long) BLOCK_SIZE, 5L * BLOCK_SIZE, 2L * BLOCK_SIZE, 40L * BLOCK_SIZE, 0L), archive.sparseMap);
+        assertFalse(archive.extended);
+        assertArrayEquals(Files.readAllBytes(file.toPath()), archive.content);
+    }
+
+    @Test
+    void manyExtentsUseExtendedHeaders() throws Exception {
+        File file = new File(tempDir, "fragmented.raw");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(132L * BLOCK_SIZE + 123);
+            for (int block = 1; block < 132; block += 2) {
+                write(raf, (long) block * BLOCK_SIZE + block, random(block, 1 + block * 7));
+            }
+        }
+
+        RawImage image = RawImage.scan(file);
+        Archive archive = extract(archive(image));
+
+        // 66 개의 extent 와 마지막 entry 는 header(4 개) 와 extended header 3 개(21 개 씩)에 나누어 기록된다.
+        assertEquals(66, image.getExtents().size());
+        assertEquals(67 * 2, archive.sparseMap.size());
+        assertTrue(archive.extended);
+        assertEquals(3, archive.extendedHeaders);
+        assertEquals(file.length(), archive.realSize);
+        assertArrayEquals(Files.readAllBytes(file.toPath()), archive.content);
+    }
+
+    @Test
+    void dataUntilEndOfFile() throws Exception {
+        File file = new File(tempDir, "full.raw");
+        byte[] data = random(3, 3 * BLOCK_SIZE + 777);
+        Files.write(file.toPath(), data);
+
+        RawImage image = RawImage.scan(file);
+        Archive archive = extract(archive(image));
+
+        // 파일 끝까지 데이터가 있으면 마지막 entry 를 추가하지 않는다.
+        assertEquals(Arrays.asList(0L, (long) data.length), archive.sparseMap);
+        assertEquals(data.length, archive.size);
+        assertArrayEquals(data, archive.content);
+    }
+
+    @Test
+    void emptyImage() throws Exception {
+        File file = new File(tempDir, "empty.raw");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(10L * BLOCK_SIZE);
+        }
+
+        RawImage image = RawImage.scan(file);
+        List<Long> reported = new ArrayList<>();
+        Archive archive = extract(archive(image, reported::add));
+
+        assertTrue(image.getExtents().isEmpty());
+        assertTrue(reported.isEmpty());
+        assertEquals(0, archive.size);
+        assertEquals(Arrays.asList(10L * BLOCK_SIZE, 0L), archive.sparseMap);
+        assertArrayEquals(new byte[10 * BLOCK_SIZE], archive.content);
+    }
+
+    @Test
+    void listenerReportsArchivedDataBytes() throws Exception {
+        File file = new File(tempDir, "disk.raw");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(64L * BLOCK_SIZE);
+            write(raf, 3L * BLOCK_SIZE, random(4, 20 * BLOCK_SIZE));
+            write(raf, 50L * BLOCK_SIZE, random(5, 1));
+        }
+
+        RawImage image = RawImage.scan(file);
+        List<Long> reported = new ArrayList<>();
+        archive(image, reported::add);
+
+        // 누적 bytes 로 증가하며, 마지막 값은 extent 크기의 합이다.
+        assertFalse(reported.isEmpty());
+        assertEquals(Long.valueOf(image.getDataSize()), reported.get(reported.size() - 1));
+        for (int i = 1; i < reported.size(); i++) {
+            assertTrue(reported.get(i - 1) < reported.get(i));
+        }
+    }
+
+    @Test
+    void outputStreamIsNotClosed() throws Exception {
+        File file = new File(tempDir, "disk.raw");
+        Files.write(file.toPath(), random(6, 1000));
+
+        RawImage image = RawImage.scan(file);
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                fail("The upload stream must not be closed.");
+            }
+        };
+
+        RawImageArchiver.writeTarGz(image, "disk.raw", out, null);
+
+        // gzip trailer 까지 기록되어 있어야 한다.
+        assertArrayEquals(Files.readAllBytes(file.toPath()), extract(out.toByteArray()).content);
+    }
+
+    private static byte[] archive(RawImage image) throws Exception {
+        return archive(image, null);
+    }
+
+    private static byte[] archive(RawImage image, LongConsumer listener) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RawImageArchiver.writeTarGz(image, image.getFile().getName(), out, listener);
+        return out.toByteArray();
+    }
+
+    /**
+     * GNU tar 의 oldgnu sparse 형식대로 entry 하나를 읽어 원래 파일 내용으로 복원한다.
+     */
+    private static Archive extract(byte[] tarGz) throws IOException {
+        Archive archive = new Archive();
+
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(tarGz)))) {
+            byte[] header = new byte[RECORD_SIZE];
+            in.readFully(header);
+            assertChecksum(header);
+
+            archive.name = getString(header, 0, 100);
+            archive.type = (char) header[156];
+            archive.size = getNumber(header, 124, 12);
+            archive.realSize = getNumber(header, 483, 12);
+            assertEquals("ustar  ", getString(header, 257, 8));
+
+            getSparse(header, 386, 4, archive.sparseMap);
+            archive.extended = header[482] == 1;
+
+            boolean extended = archive.extended;
+            while (extended) {
+                byte[] record = new byte[RECORD_SIZE];
+                in.readFully(record);
+                getSparse(record, 0, 21, archive.sparseMap);
+                extended = record[504] == 1;
+                archive.extendedHeaders++;
+            }
+
+            archive.content = new byte[(int) archive.realSize];
+            long read = 0;
+            for (int i = 0; i < archive.sparseMap.size(); i += 2) {
+                int offset = archive.sparseMap.get(i).intValue();
+                int length = archive.sparseMap.get(i + 1).intValue();
+                in.readFully(archive.content, offset, length);
+                read += length;
+            }
+            assertEquals(archive.size, read);
+
+            int padding = (int) (read % RECORD_SIZE);
+            if (padding > 0) {
+                assertTrue(isZero(readBytes(in, RECORD_SIZE - padding)));
+            }
+
+            // end of archive
+            assertTrue(isZero(readBytes(in, RECORD_SIZE * 2)));
+            assertEquals(-1, in.read());
+        }
+
+        return archive;
+    }
+
+    private static void getSparse(byte[] record, int offset, int count, List<Long> sparseMap) {
+        for (int i = 0; i < count; i++) {
+            if (record[offset + i * 24] == 0) {
+                return;
+            }
+            sparseMap.add(getNumber(record, offset + i * 24, 12));
+            sparseMap.add(getNumber(record, offset + i * 24 + 12, 12));
+        }
+    }
+
+    private static long getNumber(byte[] record, int offset, int length) {
+        if ((record[offset] & 0x80) != 0) {
+            long value = 0;
+            for (int i = 1; i < length; i++) {
+                value = (value << 8) | (record[offset + i] & 0xFF);
+            }
+            return value;
+        }
+        return Long.parseLong(getString(record, offset, length).trim(), 8);
+    }
+
+    private static String getString(byte[] record, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && record[end] != 0) {
+            end++;
+        }
+        return new String(record, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static void assertChecksum(byte[] header) {
+        long expected = Long.parseLong(getString(header, 148, 6), 8);
+
+        long checksum = 0;
+        for (int i = 0; i < header.length; i++) {
+            checksum += i >= 148 && i < 156 ? ' ' : header[i] & 0xFF;
+        }
+
+        assertEquals(expected, checksum);
+    }
+
+    private static byte[] readBytes(DataInputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static boolean isZero(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void write(RandomAccessFile raf, long position, byte[] data) throws IOException {
+        raf.seek(position);
+        raf.write(data);
+    }
+
+    /**
+     * 0 이 포함되지 않은 데이터를 생성한다.
+     */
+    private static byte[] random(long seed, int length) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == 0) {
+                bytes[i] = 1;
+            }
+        }
+        return bytes;
+    }
+
+    private static class Archive {
+        private String name;
+        private char type;
+        private long size;
+        private long realSize;
+        private final List<Long> sparseMap = new ArrayList<>();
+        private boolean extended;
+        private int extendedHeaders;
+        private byte[] content;
+    }
+}
+//end of RawImageArchiverTest.java
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 The playce-roro-v3 Project.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.playce.roro.mig;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <pre>
+ * RawImage 의 0 영역 확인과 파일이 짧아진 경우의 처리를 확인한다.
+ * </pre>
+ *
+ * @version 3.0
+ */
+class RawImageTest {
+
+    private static final int BLOCK_SIZE = RawImage.BLOCK_SIZE;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void isZero() throws Exception {
+        File file = new File(tempDir, "disk.raw");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(4L * BLOCK_SIZE);
+            raf.seek(2L * BLOCK_SIZE + 1);
+            raf.write(1);
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            assertTrue(RawImage.isZero(channel, 0, 2L * BLOCK_SIZE + 1));
+            assertFalse(RawImage.isZero(channel, 0, 4L * BLOCK_SIZE));
+            assertTrue(RawImage.isZero(channel, 2L * BLOCK_SIZE + 2, 2L * BLOCK_SIZE - 2));
+        }
+    }
+
+    @Test
+    void isZeroFailsWhenFileIsShorter() throws Exception {
+        File file = new File(tempDir, "disk.raw");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(BLOCK_SIZE);
+        }
+
+        // 파일 끝 이후의 영역을 확인하면 더 이상 진행하지 못하므로 반복하지 않고 실패해야 한다.
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            assertThrows(IOException.class, () -> RawImage.isZero(channel, 0, 2L * BLOCK_SIZE));
+            assertThrows(IOException.class, () -> RawImage.isZero(channel, 2L * BLOCK_SIZE, 10));
+        }
+    }
+}
+//end of RawImageTest.java